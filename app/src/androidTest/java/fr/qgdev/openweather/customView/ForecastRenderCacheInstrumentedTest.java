@@ -0,0 +1,66 @@
+package fr.qgdev.openweather.customView;
+
+import android.graphics.Bitmap;
+import android.graphics.Color;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * The atlas must rasterize a bitmap once for each key and keep no more bytes of bitmaps than its limit<br>
+ * Run on a device, bitmaps need the real framework
+ */
+@RunWith(AndroidJUnit4.class)
+public class ForecastRenderCacheInstrumentedTest {
+
+	private static final int ICON_SIZE = 16;
+	private static final int ICON_BYTES = ICON_SIZE * ICON_SIZE * 4;
+
+	private static final ForecastRenderCache.BitmapRenderer NOT_RENDERED = () -> {
+		fail("Rendered again");
+		return null;
+	};
+
+
+	@Test
+	public void sameKey_givesSameBitmap() {
+		ForecastRenderCache renderCache = new ForecastRenderCache(ICON_BYTES * 8);
+		Bitmap moonPhase = renderCache.getMoonPhase(50, ICON_SIZE, Color.WHITE, ForecastRenderCacheInstrumentedTest::createIcon);
+
+		assertSame(moonPhase, renderCache.getMoonPhase(50, ICON_SIZE, Color.WHITE, NOT_RENDERED));
+		assertNotSame(moonPhase, renderCache.getMoonPhase(51, ICON_SIZE, Color.WHITE, ForecastRenderCacheInstrumentedTest::createIcon));
+		assertNotSame(moonPhase, renderCache.getMoonPhase(50, ICON_SIZE * 2, Color.WHITE, ForecastRenderCacheInstrumentedTest::createIcon));
+		assertNotSame(moonPhase, renderCache.getMoonPhase(50, ICON_SIZE, Color.BLACK, ForecastRenderCacheInstrumentedTest::createIcon));
+		assertNotSame(moonPhase, renderCache.getUvIndex(50, ICON_SIZE, Color.WHITE, ForecastRenderCacheInstrumentedTest::createIcon));
+	}
+
+	@Test
+	public void leastRecentlyUsedBitmaps_areEvictedByByteSize() {
+		ForecastRenderCache renderCache = new ForecastRenderCache(ICON_BYTES * 3);
+		Bitmap newMoon = renderCache.getMoonPhase(0, ICON_SIZE, Color.WHITE, ForecastRenderCacheInstrumentedTest::createIcon);
+		Bitmap firstQuarter = renderCache.getMoonPhase(25, ICON_SIZE, Color.WHITE, ForecastRenderCacheInstrumentedTest::createIcon);
+		Bitmap fullMoon = renderCache.getMoonPhase(50, ICON_SIZE, Color.WHITE, ForecastRenderCacheInstrumentedTest::createIcon);
+		assertEquals(ICON_BYTES, newMoon.getAllocationByteCount());
+
+		//  Three icons fit, the new moon becomes the most recently used
+		assertSame(newMoon, renderCache.getMoonPhase(0, ICON_SIZE, Color.WHITE, NOT_RENDERED));
+
+		//  An arrow of two icons evicts the two least recently used
+		renderCache.getWindDirection(ICON_SIZE, Color.WHITE, () -> Bitmap.createBitmap(ICON_SIZE * 2, ICON_SIZE, Bitmap.Config.ARGB_8888));
+		assertSame(newMoon, renderCache.getMoonPhase(0, ICON_SIZE, Color.WHITE, NOT_RENDERED));
+		assertNotSame(firstQuarter, renderCache.getMoonPhase(25, ICON_SIZE, Color.WHITE, ForecastRenderCacheInstrumentedTest::createIcon));
+		assertNotSame(fullMoon, renderCache.getMoonPhase(50, ICON_SIZE, Color.WHITE, ForecastRenderCacheInstrumentedTest::createIcon));
+	}
+
+
+	private static Bitmap createIcon() {
+		return Bitmap.createBitmap(ICON_SIZE, ICON_SIZE, Bitmap.Config.ARGB_8888);
+	}
+}
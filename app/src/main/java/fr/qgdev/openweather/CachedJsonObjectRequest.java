@@ -0,0 +1,58 @@
+package fr.qgdev.openweather;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.android.volley.NetworkResponse;
+import com.android.volley.Response;
+import com.android.volley.toolbox.JsonObjectRequest;
+
+import org.json.JSONObject;
+
+/**
+ * CachedJsonObjectRequest
+ * <p>
+ * JsonObjectRequest whose response is cached with app-defined cache times instead of the ones of the server<br>
+ * The time OWM sent the last parsed response can be read by the listener with getResponseTime()
+ * </p>
+ *
+ * @author Quentin GOMES DOS REIS
+ * @version 1
+ * @see OWMCachePolicy
+ */
+public class CachedJsonObjectRequest extends JsonObjectRequest {
+
+	private final long softTtl;
+	private final long ttl;
+	//  Written on the dispatcher thread parsing the response, read by the listener on the main thread
+	private volatile long responseTime;
+
+
+	public CachedJsonObjectRequest(String url, long softTtl, long ttl, @NonNull Response.Listener<JSONObject> listener, @Nullable Response.ErrorListener errorListener) {
+		super(Method.GET, url, null, listener, errorListener);
+		this.softTtl = softTtl;
+		this.ttl = ttl;
+	}
+
+	@Override
+	protected Response<JSONObject> parseNetworkResponse(NetworkResponse response) {
+		Response<JSONObject> parsedResponse = super.parseNetworkResponse(response);
+		if (!parsedResponse.isSuccess()) return parsedResponse;
+
+		responseTime = OWMCachePolicy.getResponseTime(response);
+		return Response.success(parsedResponse.result, OWMCachePolicy.parseCacheHeaders(response, softTtl, ttl));
+	}
+
+	/**
+	 * getResponseTime()
+	 * <p>
+	 * Used by the listener to know when OWM sent the response it receives, see OWMCachePolicy.getResponseTime()<br>
+	 * A soft-expired response is parsed again for its refresh only after it is delivered
+	 * </p>
+	 *
+	 * @return Time of the last parsed response in milliseconds, 0 if there is none
+	 */
+	public long getResponseTime() {
+		return responseTime;
+	}
+}
@@ -2,243 +2,209 @@ package fr.qgdev.openweather;
 
 import android.content.Context;
 import android.content.SharedPreferences;
+import android.content.res.Resources;
 import android.preference.PreferenceManager;
 
-import java.math.BigDecimal;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.TimeZone;
 
 public class FormattingService {
 
-	private final Context context;
-	private TemperatureConversion temperatureConversion;
-	private MeasureConversion measureConversion;
-	private PressureConversion pressureConversion;
-	private DirectionConversion directionConversion;
-	//  Pressure format specifier for int or float format
-	private String temperatureFormatSpecifierInt;
-	private String temperatureFormatSpecifierFloat;
-	//  Short distance format specifier for int or float format
-	private String shortDistanceFormatSpecifierInt;
-	private String shortDistanceFormatSpecifierFloat;
-	//  Distance format specifier for int or float format
-	private String distanceFormatSpecifierInt;
-	private String distanceFormatSpecifierFloat;
-	//  Speed format specifier for int or float format
-	private String speedFormatSpecifierInt;
-	private String speedFormatSpecifierFloat;
-	//  Pressure format specifier
-	private String pressureFormatSpecifier;
-	//  TimeHour format specifier
-	private SimpleDateFormat hourFormat;
-	private SimpleDateFormat timeFormat;
-	private SimpleDateFormat shortDayNameFormat;
-	private SimpleDateFormat dayMonthFormat;
-	private SimpleDateFormat fullTimeHourFormat;
+	//  Date formats kept for each pattern, one by time zone of the places
+	private static final int MAX_DATE_FORMATS_BY_PATTERN = 16;
+
+	//  Units chosen in the settings
+	private final UnitConverter unitConverter;
+	//  TimeHour patterns
+	private String hourPattern;
+	private String timePattern;
+	private String shortDayNamePattern;
+	private String dayMonthPattern;
+	private String fullTimeHourPattern;
+
+	//  Locale of the formats, the default one when the service is created like String.format and SimpleDateFormat use
+	private final Locale locale;
+	private final NumberAppender numberAppender;
+	//  SimpleDateFormat and StringBuilder aren't thread safe, each thread formatting has its own
+	private final ThreadLocal<HashMap<String, Map<TimeZone, SimpleDateFormat>>> dateFormats = ThreadLocal.withInitial(HashMap::new);
+	private final ThreadLocal<StringBuilder> stringBuilders = ThreadLocal.withInitial(StringBuilder::new);
 
 	public FormattingService(Context context) {
-		this.context = context;
+		this.locale = Locale.getDefault(Locale.Category.FORMAT);
+		this.numberAppender = new NumberAppender(this.locale);
 
 		SharedPreferences userPref = PreferenceManager.getDefaultSharedPreferences(context);
 
-		temperatureUnitInit(userPref);
-		measureUnitInit(userPref);
-		pressureUnitInit(userPref);
-		directionUnitInit(userPref);
+		this.unitConverter = new UnitConverter(userPref.getString("temperature_unit", ""),
+				userPref.getString("measure_unit", ""),
+				userPref.getString("pressure_unit", ""),
+				userPref.getString("direction_unit", ""),
+				getCardinalPoints(context));
 		timeDateFormatInit(userPref);
 	}
 
-	//  Temperature conversion
-	private float toCelsius(float temperature) {
-		return temperature - 273.15F;
-	}
-
-	private float toFahrenheit(float temperature) {
-		return toCelsius(temperature) * (9F / 5F) + 32;
-	}
-
-	//  Measure conversion
-	////    Distance, Length
-	private float distanceToMiles(float distance) {
-		return distance * 0.000621371F;
-	}
+	//  Names of the cardinal points, resolved once
+	private static String[] getCardinalPoints(Context context) {
+		Resources resources = context.getResources();
 
-	private float distanceToInches(float distance) {
-		return distance * 0.0393701F;
+		return new String[]{
+				resources.getString(R.string.wind_direction_north),
+				resources.getString(R.string.wind_direction_northnortheast),
+				resources.getString(R.string.wind_direction_northeast),
+				resources.getString(R.string.wind_direction_eastnortheast),
+				resources.getString(R.string.wind_direction_east),
+				resources.getString(R.string.wind_direction_eastsoutheast),
+				resources.getString(R.string.wind_direction_southeast),
+				resources.getString(R.string.wind_direction_southsoutheast),
+				resources.getString(R.string.wind_direction_south),
+				resources.getString(R.string.wind_direction_southsouthwest),
+				resources.getString(R.string.wind_direction_southwest),
+				resources.getString(R.string.wind_direction_westsouthwest),
+				resources.getString(R.string.wind_direction_west),
+				resources.getString(R.string.wind_direction_westnorthwest),
+				resources.getString(R.string.wind_direction_northwest),
+				resources.getString(R.string.wind_direction_northnorthwest)
+		};
 	}
 
-	private float distanceToMetric(float distance) {
-		return distance / 1000F;
-	}
-
-	////    Speed
-	private float speedToImperial(float speed) {
-		return speed * 2.23694F;
-	}
-
-	private float speedToMetric(float speed) {
-		return speed * 3.6F;
-	}
-
-	//  Pressure conversion
-	private float toHpa(float pressure) {
-		return pressure;
-	}
-
-	private float toMbar(float pressure) {
-		return pressure;
-	}
-
-	private float toPsi(float pressure) {
-		return pressure * 0.0145038F;
-	}
-
-	private float toInhg(float pressure) {
-		return pressure * 0.02953F;
+	//  Converter of the units chosen in the settings, usable without a Context
+	public UnitConverter getUnitConverter() {
+		return this.unitConverter;
 	}
 
 	//  Wind direction conversion
 	private String toDegrees(short direction) {
-		return String.format("%d°", direction);
+		return numberAppender.appendInt(getStringBuilder(), direction).append('°').toString();
 	}
 
 	private String toCardinal(short direction) {
-		//  N
-		if (direction > 348.75 || direction < 11.25)
-			return context.getResources().getString(R.string.wind_direction_north);
-			//  NNE
-		else if (direction >= 11.25 && direction < 33.75)
-			return context.getResources().getString(R.string.wind_direction_northnortheast);
-			//  NE
-		else if (direction >= 33.75 && direction <= 56.25)
-			return context.getResources().getString(R.string.wind_direction_northeast);
-
-			//  ENE
-		else if (direction > 56.25 && direction <= 78.75)
-			return context.getResources().getString(R.string.wind_direction_eastnortheast);
-			//  E
-		else if (direction > 78.75 && direction < 101.25)
-			return context.getResources().getString(R.string.wind_direction_east);
-			//  ESE
-		else if (direction >= 101.25 && direction < 123.75)
-			return context.getResources().getString(R.string.wind_direction_eastsoutheast);
-
-			//  SE
-		else if (direction >= 123.75 && direction <= 146.25)
-			return context.getResources().getString(R.string.wind_direction_southeast);
-			// SSE
-		else if (direction > 146.25 && direction <= 168.75)
-			return context.getResources().getString(R.string.wind_direction_southsoutheast);
-			//  S
-		else if (direction > 168.75 && direction < 191.25)
-			return context.getResources().getString(R.string.wind_direction_south);
-			//  SSW
-		else if (direction >= 191.25 && direction < 213.75)
-			return context.getResources().getString(R.string.wind_direction_southsouthwest);
-			//  SW
-		else if (direction >= 213.75 && direction <= 236.25)
-			return context.getResources().getString(R.string.wind_direction_southwest);
-
-			//  WSW
-		else if (direction > 236.25 && direction <= 258.75)
-			return context.getResources().getString(R.string.wind_direction_westsouthwest);
-			//  W
-		else if (direction > 258.75 && direction < 281.25)
-			return context.getResources().getString(R.string.wind_direction_west);
-			//  WNW
-		else if (direction >= 281.25 && direction < 303.75)
-			return context.getResources().getString(R.string.wind_direction_westnorthwest);
-
-			//  NW
-		else if (direction >= 303.75 && direction <= 326.25)
-			return context.getResources().getString(R.string.wind_direction_northwest);
-			//  NNW
-		else if (direction > 326.25 && direction <= 348.75)
-			return context.getResources().getString(R.string.wind_direction_northnorthwest);
-
-		else return "N/A";
+		return this.unitConverter.getCardinalPoint(direction);
 	}
 
 	public float convertTemperature(float temperature) {
-		return this.temperatureConversion.temperatureConversion(temperature);
+		return this.unitConverter.convertTemperature(temperature);
 	}
 
 	public float convertDistance(float distance) {
-		return this.measureConversion.distanceConversion(distance);
+		return this.unitConverter.convertDistance(distance);
 	}
 
 	public float convertShortDistance(float distance) {
-		return this.measureConversion.shortDistanceConversion(distance);
+		return this.unitConverter.convertShortDistance(distance);
 	}
 
 	public float convertSpeed(float speed) {
-		return this.measureConversion.speedConversion(speed);
+		return this.unitConverter.convertSpeed(speed);
 	}
 
 	public float convertPressure(float pressure) {
-		return this.pressureConversion.pressureConversion(pressure);
+		return this.unitConverter.convertPressure(pressure);
 	}
 
 	public String convertDirection(short direction, boolean isReadable) {
 		if (direction >= 0 && direction <= 360 && isReadable)
-			return this.directionConversion.directionConversion(direction);
+			return this.unitConverter.isDirectionInDegrees() ? toDegrees(direction) : toCardinal(direction);
 		else return "N/A";
 	}
 
-	private SimpleDateFormat getSimpleDateFormatForTimeZone(SimpleDateFormat simpleDateFormat, TimeZone timeZone) {
-		SimpleDateFormat clonedSimpleDateFormat = (SimpleDateFormat) simpleDateFormat.clone();
-		clonedSimpleDateFormat.setTimeZone(timeZone);
-		return clonedSimpleDateFormat;
+	//  Date format of a pattern set to a time zone, created once by thread
+	private SimpleDateFormat getDateFormat(String pattern, TimeZone timeZone) {
+		Map<String, Map<TimeZone, SimpleDateFormat>> threadDateFormats = this.dateFormats.get();
+		Map<TimeZone, SimpleDateFormat> patternDateFormats = threadDateFormats.get(pattern);
+
+		if (patternDateFormats == null) {
+			//  Least recently used time zones are forgotten first
+			patternDateFormats = new LinkedHashMap<TimeZone, SimpleDateFormat>(MAX_DATE_FORMATS_BY_PATTERN, 0.75F, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<TimeZone, SimpleDateFormat> eldest) {
+					return size() > MAX_DATE_FORMATS_BY_PATTERN;
+				}
+			};
+			threadDateFormats.put(pattern, patternDateFormats);
+		}
+
+		SimpleDateFormat dateFormat = patternDateFormats.get(timeZone);
+		if (dateFormat == null) {
+			//  The time zone used as key must not be changed by the caller
+			TimeZone storedTimeZone = (TimeZone) timeZone.clone();
+			dateFormat = new SimpleDateFormat(pattern, this.locale);
+			dateFormat.setTimeZone(storedTimeZone);
+			patternDateFormats.put(storedTimeZone, dateFormat);
+		}
+		return dateFormat;
+	}
+
+	//  Cleared StringBuilder of the current thread
+	private StringBuilder getStringBuilder() {
+		StringBuilder stringBuilder = this.stringBuilders.get();
+		stringBuilder.setLength(0);
+		return stringBuilder;
+	}
+
+	private String formatInt(float value, boolean spaceBetween, String unit) {
+		StringBuilder stringBuilder = numberAppender.appendInt(getStringBuilder(), value);
+		if (spaceBetween) stringBuilder.append(' ');
+		return stringBuilder.append(unit).toString();
+	}
+
+	private String formatFloat(float value, int decimals, boolean spaceBetween, String unit) {
+		StringBuilder stringBuilder = numberAppender.appendFloat(getStringBuilder(), value, decimals);
+		if (spaceBetween) stringBuilder.append(' ');
+		return stringBuilder.append(unit).toString();
 	}
 
 	//  Temperature formatting
 	////    Int
 	public String getIntFormattedTemperature(float temperature, boolean spaceBetween) {
-		return String.format(temperatureFormatSpecifierInt, BigDecimal.valueOf(convertTemperature(temperature)).intValue(), (spaceBetween) ? " " : "");
+		return formatInt(convertTemperature(temperature), spaceBetween, this.unitConverter.getTemperatureUnit());
 	}
 
 	////    Float
 	public String getFloatFormattedTemperature(float temperature, boolean spaceBetween) {
-		return String.format(temperatureFormatSpecifierFloat, convertTemperature(temperature), (spaceBetween) ? " " : "");
+		return formatFloat(convertTemperature(temperature), this.unitConverter.getTemperatureDecimals(), spaceBetween, this.unitConverter.getTemperatureUnit());
 	}
 
 	//  Short Distance formatting
 	////    Int
 	public String getIntFormattedShortDistance(float shortDistance, boolean spaceBetween) {
-		return String.format(shortDistanceFormatSpecifierInt, BigDecimal.valueOf(convertShortDistance(shortDistance)).intValue(), (spaceBetween) ? " " : "");
+		return formatInt(convertShortDistance(shortDistance), spaceBetween, this.unitConverter.getShortDistanceUnit());
 	}
 
 	////    Float
 	public String getFloatFormattedShortDistance(float shortDistance, boolean spaceBetween) {
-		return String.format(shortDistanceFormatSpecifierFloat, convertShortDistance(shortDistance), (spaceBetween) ? " " : "");
+		return formatFloat(convertShortDistance(shortDistance), this.unitConverter.getShortDistanceDecimals(), spaceBetween, this.unitConverter.getShortDistanceUnit());
 	}
 
 	//  Distance formatting
 	////    Int
 	public String getIntFormattedDistance(float distance, boolean spaceBetween) {
-		return String.format(distanceFormatSpecifierInt, BigDecimal.valueOf(convertDistance(distance)).intValue(), (spaceBetween) ? " " : "");
+		return formatInt(convertDistance(distance), spaceBetween, this.unitConverter.getDistanceUnit());
 	}
 
 	////    Float
 	public String getFloatFormattedDistance(float distance, boolean spaceBetween) {
-		return String.format(distanceFormatSpecifierFloat, convertDistance(distance), (spaceBetween) ? " " : "");
+		return formatFloat(convertDistance(distance), this.unitConverter.getDistanceDecimals(), spaceBetween, this.unitConverter.getDistanceUnit());
 	}
 
 	//  Speed formatting
 	////    Int
 	public String getIntFormattedSpeed(float speed, boolean spaceBetween) {
-		return String.format(speedFormatSpecifierInt, BigDecimal.valueOf(convertSpeed(speed)).intValue(), (spaceBetween) ? " " : "");
+		return formatInt(convertSpeed(speed), spaceBetween, this.unitConverter.getSpeedUnit());
 	}
 
 	////    Float
 	public String getFloatFormattedSpeed(float speed, boolean spaceBetween) {
-		return String.format(speedFormatSpecifierFloat, convertSpeed(speed), (spaceBetween) ? " " : "");
+		return formatFloat(convertSpeed(speed), this.unitConverter.getSpeedDecimals(), spaceBetween, this.unitConverter.getSpeedUnit());
 	}
 
 	//  Pressure formatting
 	public String getFormattedPressure(float pressure, boolean spaceBetween) {
-		return String.format(pressureFormatSpecifier, convertPressure(pressure), (spaceBetween) ? " " : "");
+		return formatFloat(convertPressure(pressure), this.unitConverter.getPressureDecimals(), spaceBetween, this.unitConverter.getPressureUnit());
 	}
 
 	//  Direction formatting
@@ -264,197 +230,50 @@ public class FormattingService {
 	//  TimeHour formatting
 	////    Hour
 	public String getFormattedHour(Date date, TimeZone timeZone) {
-		return getSimpleDateFormatForTimeZone(this.hourFormat, timeZone).format(date);
+		return getDateFormat(this.hourPattern, timeZone).format(date);
 	}
 
 	////    Time
 	public String getFormattedTime(Date date, TimeZone timeZone) {
-		return getSimpleDateFormatForTimeZone(this.timeFormat, timeZone).format(date);
+		return getDateFormat(this.timePattern, timeZone).format(date);
 	}
 
 	////    Day short name formatting
 	public String getFormattedShortDayName(Date date, TimeZone timeZone) {
-		return getSimpleDateFormatForTimeZone(this.shortDayNameFormat, timeZone).format(date);
+		return getDateFormat(this.shortDayNamePattern, timeZone).format(date);
 	}
 
 	////    Day month formatting
 	public String getFormattedDayMonth(Date date, TimeZone timeZone) {
-		return getSimpleDateFormatForTimeZone(this.dayMonthFormat, timeZone).format(date);
+		return getDateFormat(this.dayMonthPattern, timeZone).format(date);
 	}
 
 	////    Full time hour  formatting
 	public String getFormattedFullTimeHour(Date date, TimeZone timeZone) {
-		return getSimpleDateFormatForTimeZone(this.fullTimeHourFormat, timeZone).format(date);
-	}
-
-	private void temperatureUnitInit(SharedPreferences userPref) {
-		//  Temperature
-		switch (userPref.getString("temperature_unit", "")) {
-			case "fahrenheit": {
-				temperatureFormatSpecifierInt = "%d%s°F";
-				temperatureFormatSpecifierFloat = "%.1f%s°F";
-
-				this.temperatureConversion = temperature -> toFahrenheit(temperature);
-				break;
-			}
-			default:    //  Default case is using Celsius unit
-			{
-				temperatureFormatSpecifierInt = "%d%s°C";
-				temperatureFormatSpecifierFloat = "%.1f%s°C";
-
-				this.temperatureConversion = temperature -> toCelsius(temperature);
-				break;
-			}
-		}
-	}
-
-	private void measureUnitInit(SharedPreferences userPref) {
-		//  Measure
-		switch (userPref.getString("measure_unit", "")) {
-			case "imperial": {
-				shortDistanceFormatSpecifierInt = "%d%sin.";
-				shortDistanceFormatSpecifierFloat = "%.2f%sin.";
-				distanceFormatSpecifierInt = "%d%smi.";
-				distanceFormatSpecifierFloat = "%.1f%smi.";
-				speedFormatSpecifierInt = "%d%smph";
-				speedFormatSpecifierFloat = "%.1f%smph";
-
-				this.measureConversion = new MeasureConversion() {
-					@Override
-					public float distanceConversion(float distance) {
-						return distanceToMiles(distance);
-					}
-
-					@Override
-					public float shortDistanceConversion(float distance) {
-						return distanceToInches(distance);
-					}
-
-					@Override
-					public float speedConversion(float speed) {
-						return speedToImperial(speed);
-					}
-				};
-				break;
-			}
-			default:    //  Default case is using metric units
-			{
-				shortDistanceFormatSpecifierInt = "%d%smm";
-				shortDistanceFormatSpecifierFloat = "%.1f%smm";
-				distanceFormatSpecifierInt = "%d%skm";
-				distanceFormatSpecifierFloat = "%.1f%skm";
-				speedFormatSpecifierInt = "%d%skm/h";
-				speedFormatSpecifierFloat = "%.1f%skm/h";
-				this.measureConversion = new MeasureConversion() {
-					@Override
-					public float distanceConversion(float distance) {
-						return distanceToMetric(distance);
-					}
-
-					@Override
-					public float shortDistanceConversion(float distance) {
-						return distance;
-					}
-
-					@Override
-					public float speedConversion(float speed) {
-						return speedToMetric(speed);
-					}
-				};
-				break;
-			}
-		}
-	}
-
-	private void pressureUnitInit(SharedPreferences userPref) {
-		//  Pressure
-		switch (userPref.getString("pressure_unit", "")) {
-			case "mbar": {
-				pressureFormatSpecifier = "%.0f%smBar";
-				this.pressureConversion = pressure -> toMbar(pressure);
-				break;
-			}
-			case "psi": {
-				pressureFormatSpecifier = "%.2f%spsi";
-				this.pressureConversion = pressure -> toPsi(pressure);
-				break;
-			}
-			case "inhg": {
-				pressureFormatSpecifier = "%.2f%sinHg";
-				this.pressureConversion = pressure -> toInhg(pressure);
-				break;
-			}
-			default:    //  Default case is using pascal unit
-			{
-				pressureFormatSpecifier = "%.0f%shPa";
-				this.pressureConversion = pressure -> toHpa(pressure);
-				break;
-			}
-		}
-	}
-
-	private void directionUnitInit(SharedPreferences userPref) {
-		//  Direction
-		switch (userPref.getString("direction_unit", "")) {
-			case "angular": {
-				this.directionConversion = direction -> toDegrees(direction);
-				break;
-			}
-			default:    //  Default case is using cardinal
-			{
-				this.directionConversion = direction -> toCardinal(direction);
-				break;
-			}
-		}
+		return getDateFormat(this.fullTimeHourPattern, timeZone).format(date);
 	}
 
 	private void timeDateFormatInit(SharedPreferences userPref) {
 		//  timeDate
 		switch (userPref.getString("time_format", "")) {
 			case "12": {
-				this.hourFormat = new SimpleDateFormat("KK:00 a");
-				this.timeFormat = new SimpleDateFormat("KK:mm a");
-				this.fullTimeHourFormat = new SimpleDateFormat("dd/MM/yy KK:mm a");
+				this.hourPattern = "KK:00 a";
+				this.timePattern = "KK:mm a";
+				this.fullTimeHourPattern = "dd/MM/yy KK:mm a";
 
 				break;
 			}
 
 			default:    //  Default case is using 24 hours format
 			{
-				this.hourFormat = new SimpleDateFormat("HH:00");
-				this.timeFormat = new SimpleDateFormat("HH:mm");
-				this.fullTimeHourFormat = new SimpleDateFormat("dd/MM/yy HH:mm");
+				this.hourPattern = "HH:00";
+				this.timePattern = "HH:mm";
+				this.fullTimeHourPattern = "dd/MM/yy HH:mm";
 
 				break;
 			}
 		}
-		this.shortDayNameFormat = new SimpleDateFormat("EE");
-		this.dayMonthFormat = new SimpleDateFormat("dd/MM");
-	}
-
-	private interface TemperatureConversion {
-		//  Converting for temperature
-		float temperatureConversion(float temperature);
-	}
-
-	private interface MeasureConversion {
-		//  Converting for short distances like precipitations quantities
-		float shortDistanceConversion(float distance);
-
-		//  Converting for distances like visibility
-		float distanceConversion(float distance);
-
-		//  Converting speed like wind speeds
-		float speedConversion(float speed);
-	}
-
-	private interface PressureConversion {
-		//  Converting for pressure
-		float pressureConversion(float pressure);
-	}
-
-	private interface DirectionConversion {
-		//  Converting for direction
-		String directionConversion(short direction);
+		this.shortDayNamePattern = "EE";
+		this.dayMonthPattern = "dd/MM";
 	}
 }
@@ -0,0 +1,130 @@
+package fr.qgdev.openweather;
+
+import androidx.annotation.NonNull;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * NumberAppender
+ * <p>
+ * Append numbers to a StringBuilder exactly like String.format would with %d and %.Nf in a given locale<br>
+ * Digits and decimal separator of the locale are used, half are rounded up and negative values keep their sign like
+ * Formatter does, without parsing a format nor allocating anything<br>
+ * Values too large to be rounded exactly are still formatted by String.format
+ * </p>
+ *
+ * @author Quentin GOMES DOS REIS
+ * @version 1
+ * @see FormattingService
+ */
+final class NumberAppender {
+
+	//  Maximum number of decimals
+	static final int MAX_DECIMALS = 3;
+
+	private static final long[] POWERS_OF_TEN = {1, 10, 100, 1000};
+	//  A float multiplied by a power of ten up to 1000 is an exact double below this
+	private static final double MAX_EXACT_SCALED_VALUE = 1L << 52;
+
+	private final Locale locale;
+	private final char zeroDigit;
+	private final char decimalSeparator;
+
+
+	/**
+	 * NumberAppender Constructor
+	 * <p>
+	 * Build a NumberAppender for the digits and the decimal separator of a locale
+	 * </p>
+	 *
+	 * @param locale Locale used by String.format
+	 */
+	NumberAppender(@NonNull Locale locale) {
+		DecimalFormatSymbols decimalFormatSymbols = DecimalFormatSymbols.getInstance(locale);
+
+		this.locale = locale;
+		this.zeroDigit = decimalFormatSymbols.getZeroDigit();
+		this.decimalSeparator = decimalFormatSymbols.getDecimalSeparator();
+	}
+
+
+	/**
+	 * appendFloat(@NonNull StringBuilder builder, float value, int decimals)
+	 * <p>
+	 * Append value like String.format("%.Nf", value) with N decimals
+	 * </p>
+	 *
+	 * @param builder  Where value is appended
+	 * @param value    The value
+	 * @param decimals Number of decimals, between 0 and MAX_DECIMALS
+	 * @return builder
+	 */
+	@NonNull
+	StringBuilder appendFloat(@NonNull StringBuilder builder, float value, int decimals) {
+		long powerOfTen = POWERS_OF_TEN[decimals];
+		double scaledValue = Math.abs((double) value) * powerOfTen;
+
+		//  NaN, infinities and huge values
+		if (!(scaledValue < MAX_EXACT_SCALED_VALUE))
+			return builder.append(String.format(locale, "%." + decimals + "f", value));
+
+		//  Both are exact, a half is rounded up like Formatter does
+		long roundedValue = (long) scaledValue;
+		if (scaledValue - roundedValue >= 0.5) roundedValue++;
+
+		//  Formatter writes -0.0 for a negative value rounded to 0
+		if (Float.compare(value, 0F) < 0) builder.append('-');
+
+		appendDigits(builder, roundedValue / powerOfTen);
+		if (decimals > 0) {
+			long fraction = roundedValue % powerOfTen;
+			builder.append(decimalSeparator);
+			for (long digitPower = powerOfTen / 10; digitPower > fraction && digitPower > 1; digitPower /= 10) {
+				builder.append(zeroDigit);
+			}
+			appendDigits(builder, fraction);
+		}
+		return builder;
+	}
+
+
+	/**
+	 * appendInt(@NonNull StringBuilder builder, float value)
+	 * <p>
+	 * Append the integer part of value like String.format("%d", BigDecimal.valueOf(value).intValue())
+	 * </p>
+	 *
+	 * @param builder Where value is appended
+	 * @param value   The value
+	 * @return builder
+	 */
+	@NonNull
+	StringBuilder appendInt(@NonNull StringBuilder builder, float value) {
+		int intValue;
+
+		//  Outside of the int range intValue() keeps the low bits
+		if (Math.abs(value) < Integer.MAX_VALUE) intValue = (int) value;
+		else intValue = BigDecimal.valueOf(value).intValue();
+
+		if (intValue < 0) {
+			builder.append('-');
+			//  -Integer.MIN_VALUE can't be stored in an int
+			appendDigits(builder, -(long) intValue);
+		} else appendDigits(builder, intValue);
+		return builder;
+	}
+
+
+	private void appendDigits(@NonNull StringBuilder builder, long positiveValue) {
+		int start = builder.length();
+		builder.append(positiveValue);
+
+		if (zeroDigit != '0') {
+			for (int index = start; index < builder.length(); index++) {
+				builder.setCharAt(index, (char) (builder.charAt(index) - '0' + zeroDigit));
+			}
+		}
+	}
+}
@@ -0,0 +1,100 @@
+package fr.qgdev.openweather;
+
+import androidx.annotation.NonNull;
+
+import com.android.volley.Cache;
+import com.android.volley.NetworkResponse;
+import com.android.volley.toolbox.HttpHeaderParser;
+
+/**
+ * OWMCachePolicy
+ * <p>
+ * Cache times of OpenWeatherMap responses in the Volley Cache<br>
+ * OWM headers don't give useful cache times so they are defined by the app for each endpoint<br>
+ * -  Before the soft TTL, the cached response is delivered and no request is sent<br>
+ * -  Between the soft TTL and the TTL, the cached response is delivered at once and the request is sent to refresh it<br>
+ * -  After the TTL, the cached response is not used anymore<br>
+ * ETag and Last-Modified headers are kept so Volley can revalidate the entry with a conditional request
+ * </p>
+ *
+ * @author Quentin GOMES DOS REIS
+ * @version 2
+ * @see com.android.volley.CacheDispatcher
+ */
+public final class OWMCachePolicy {
+
+	private static final long MINUTE = 60 * 1000L;
+	private static final long HOUR = 60 * MINUTE;
+
+	//  One Call API, the soft TTL is not longer than the smallest window of RefreshScheduler so a stale tier is not served
+	//  from the cache without a request
+	public static final long ONE_CALL_SOFT_TTL = 5 * MINUTE;
+	public static final long ONE_CALL_TTL = 12 * HOUR;
+
+	//  Air pollution API
+	public static final long AIR_QUALITY_SOFT_TTL = HOUR;
+	public static final long AIR_QUALITY_TTL = 12 * HOUR;
+
+
+	private OWMCachePolicy() {
+	}
+
+
+	/**
+	 * parseCacheHeaders(@NonNull NetworkResponse response, long softTtl, long ttl)
+	 * <p>
+	 * Used to build the cache entry of an OWM response with the cache times of its endpoint
+	 * </p>
+	 *
+	 * @param response The network response
+	 * @param softTtl  Time in milliseconds before the entry needs to be refreshed
+	 * @param ttl      Time in milliseconds before the entry cannot be used anymore
+	 * @return The cache entry of the response
+	 */
+	@NonNull
+	public static Cache.Entry parseCacheHeaders(@NonNull NetworkResponse response, long softTtl, long ttl) {
+		Cache.Entry entry = HttpHeaderParser.parseCacheHeaders(response);
+
+		//  The server asked to not store the response, the app decides anyway
+		if (entry == null) {
+			entry = new Cache.Entry();
+			entry.data = response.data;
+			if (response.headers != null) {
+				entry.etag = response.headers.get("ETag");
+				//  Kept like Volley does, for the conditional request and getResponseTime()
+				String lastModified = response.headers.get("Last-Modified");
+				if (lastModified != null) entry.lastModified = HttpHeaderParser.parseDateAsEpoch(lastModified);
+				String serverDate = response.headers.get("Date");
+				if (serverDate != null) entry.serverDate = HttpHeaderParser.parseDateAsEpoch(serverDate);
+			}
+			entry.responseHeaders = response.headers;
+			entry.allResponseHeaders = response.allHeaders;
+		}
+
+		long now = System.currentTimeMillis();
+		entry.softTtl = now + softTtl;
+		entry.ttl = now + Math.max(softTtl, ttl);
+
+		return entry;
+	}
+
+
+	/**
+	 * getResponseTime(@NonNull NetworkResponse response)
+	 * <p>
+	 * Used to know when OWM sent a response, it is older than now when the response comes from the cache<br>
+	 * The Date header is kept in the cache entry, now is used if there is none
+	 * </p>
+	 *
+	 * @param response The network or cached response
+	 * @return Time of the response in milliseconds, never after now
+	 */
+	public static long getResponseTime(@NonNull NetworkResponse response) {
+		long now = System.currentTimeMillis();
+		String date = response.headers != null ? response.headers.get("Date") : null;
+		long responseTime = date != null ? HttpHeaderParser.parseDateAsEpoch(date) : 0;
+
+		//  A server clock ahead of the device would make the data fresh for longer
+		return responseTime > 0 ? Math.min(responseTime, now) : now;
+	}
+}
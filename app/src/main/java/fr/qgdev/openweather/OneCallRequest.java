@@ -0,0 +1,212 @@
+package fr.qgdev.openweather;
+
+import android.util.JsonReader;
+
+import androidx.annotation.GuardedBy;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.android.volley.NetworkResponse;
+import com.android.volley.ParseError;
+import com.android.volley.Request;
+import com.android.volley.Response;
+import com.android.volley.toolbox.HttpHeaderParser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.EnumSet;
+
+import fr.qgdev.openweather.weather.CurrentWeather;
+import fr.qgdev.openweather.weather.DailyForecastColumns;
+import fr.qgdev.openweather.weather.HourlyForecastColumns;
+import fr.qgdev.openweather.weather.MinutelyWeatherForecast;
+import fr.qgdev.openweather.weather.WeatherAlert;
+
+/**
+ * OneCallRequest
+ * <p>
+ * Volley request for the OpenWeatherMap One Call API<br>
+ * The response is tokenized once with a JsonReader and decoded directly into the weather classes,
+ * no JSONObject tree is built in between, hourly and daily forecasts are decoded straight into columns<br>
+ * Decoding is done on the network dispatcher thread, the listener receives the decoded data<br>
+ * Responses are cached with the One Call times of OWMCachePolicy, a soft-expired response is delivered before its refresh
+ * </p>
+ *
+ * @author Quentin GOMES DOS REIS
+ * @version 1
+ * @see JsonReader
+ */
+public class OneCallRequest extends Request<OneCallRequest.OneCallData> {
+
+	private static final String DEFAULT_CHARSET = "utf-8";
+
+	private final Object lock = new Object();
+
+	@Nullable
+	@GuardedBy("lock")
+	private Response.Listener<OneCallData> listener;
+
+	//  Tiers the response must contain, the others are excluded from the url
+	private final EnumSet<WeatherService.DataTier> dataTiers;
+
+
+	public OneCallRequest(String url, @NonNull Response.Listener<OneCallData> listener, @Nullable Response.ErrorListener errorListener) {
+		this(url, WeatherService.DataTier.ONE_CALL_TIERS, listener, errorListener);
+	}
+
+	public OneCallRequest(String url, @NonNull EnumSet<WeatherService.DataTier> dataTiers, @NonNull Response.Listener<OneCallData> listener, @Nullable Response.ErrorListener errorListener) {
+		super(Method.GET, url, errorListener);
+		this.listener = listener;
+		this.dataTiers = EnumSet.copyOf(dataTiers);
+	}
+
+	@Override
+	public void cancel() {
+		super.cancel();
+		synchronized (lock) {
+			listener = null;
+		}
+	}
+
+	@Override
+	protected Response<OneCallData> parseNetworkResponse(NetworkResponse response) {
+		try (JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(response.data), HttpHeaderParser.parseCharset(response.headers, DEFAULT_CHARSET)))) {
+			OneCallData oneCallData = readOneCallData(reader, dataTiers);
+			oneCallData.responseTime = OWMCachePolicy.getResponseTime(response);
+			return Response.success(oneCallData, OWMCachePolicy.parseCacheHeaders(response, OWMCachePolicy.ONE_CALL_SOFT_TTL, OWMCachePolicy.ONE_CALL_TTL));
+		}
+		//  IllegalStateException and NumberFormatException are thrown by JsonReader on unexpected tokens
+		catch (IOException | IllegalStateException | NumberFormatException e) {
+			return Response.error(new ParseError(e));
+		}
+	}
+
+	@Override
+	protected void deliverResponse(OneCallData response) {
+		Response.Listener<OneCallData> listener;
+		synchronized (lock) {
+			listener = this.listener;
+		}
+		if (listener != null) {
+			listener.onResponse(response);
+		}
+	}
+
+
+	/**
+	 * readOneCallData(@NonNull JsonReader reader, @NonNull EnumSet<WeatherService.DataTier> dataTiers) throws IOException
+	 * <p>
+	 * Decode a One Call response where only some parts were asked<br>
+	 * timezone_offset is mandatory, current, hourly and daily are mandatory only if their tier is asked
+	 * </p>
+	 *
+	 * @param reader    JsonReader positioned at the beginning of the response
+	 * @param dataTiers Tiers asked in the request
+	 * @return The decoded data, parts that were not asked are null
+	 * @throws IOException If the response is malformed or an asked part is missing
+	 */
+	@NonNull
+	static OneCallData readOneCallData(@NonNull JsonReader reader, @NonNull EnumSet<WeatherService.DataTier> dataTiers) throws IOException {
+		OneCallData oneCallData = new OneCallData();
+		boolean hasTimeZoneOffset = false;
+
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+				//  TimeOffSet
+				case "timezone_offset":
+					oneCallData.timeZoneOffset = reader.nextInt();
+					hasTimeZoneOffset = true;
+					break;
+
+				//  Current Weather
+				case "current":
+					oneCallData.currentWeather = new CurrentWeather();
+					oneCallData.currentWeather.fillWithOWMData(reader);
+					break;
+
+				//  Minutely Weather Forecast
+				case "minutely":
+					oneCallData.minutelyWeatherForecastArrayList = new ArrayList<>(61);
+					reader.beginArray();
+					while (reader.hasNext()) {
+						MinutelyWeatherForecast minutelyWeatherForecast = new MinutelyWeatherForecast();
+						minutelyWeatherForecast.fillWithOWMData(reader);
+						oneCallData.minutelyWeatherForecastArrayList.add(minutelyWeatherForecast);
+					}
+					reader.endArray();
+					break;
+
+				//  Hourly Weather Forecast
+				case "hourly":
+					HourlyForecastColumns.Builder hourlyForecastColumnsBuilder = new HourlyForecastColumns.Builder(48);
+					reader.beginArray();
+					while (reader.hasNext()) {
+						hourlyForecastColumnsBuilder.addOWMData(reader);
+					}
+					reader.endArray();
+					oneCallData.hourlyForecastColumns = hourlyForecastColumnsBuilder.build();
+					break;
+
+				//  Daily Weather Forecast
+				case "daily":
+					DailyForecastColumns.Builder dailyForecastColumnsBuilder = new DailyForecastColumns.Builder(8);
+					reader.beginArray();
+					while (reader.hasNext()) {
+						dailyForecastColumnsBuilder.addOWMData(reader);
+					}
+					reader.endArray();
+					oneCallData.dailyForecastColumns = dailyForecastColumnsBuilder.build();
+					break;
+
+				//  Weather Alert
+				case "alerts":
+					reader.beginArray();
+					while (reader.hasNext()) {
+						WeatherAlert weatherAlert = new WeatherAlert();
+						weatherAlert.fillWithOWMData(reader);
+						oneCallData.weatherAlertArrayList.add(weatherAlert);
+					}
+					reader.endArray();
+					break;
+
+				default:
+					reader.skipValue();
+					break;
+			}
+		}
+		reader.endObject();
+
+		if (!hasTimeZoneOffset
+				|| (dataTiers.contains(WeatherService.DataTier.CURRENT) && oneCallData.currentWeather == null)
+				|| (dataTiers.contains(WeatherService.DataTier.HOURLY) && oneCallData.hourlyForecastColumns == null)
+				|| (dataTiers.contains(WeatherService.DataTier.DAILY) && oneCallData.dailyForecastColumns == null)) {
+			throw new IOException("Incomplete One Call response");
+		}
+
+		return oneCallData;
+	}
+
+
+	/**
+	 * OneCallData
+	 * <p>
+	 * Weather data decoded from a One Call response<br>
+	 * minutelyWeatherForecastArrayList is null when OWM doesn't send minutely forecast<br>
+	 * Parts that were excluded from the request are null<br>
+	 * responseTime is when OWM sent the response, see OWMCachePolicy.getResponseTime()
+	 * </p>
+	 */
+	public static class OneCallData {
+		public long responseTime;
+		public int timeZoneOffset;
+		public CurrentWeather currentWeather;
+		@Nullable
+		public ArrayList<MinutelyWeatherForecast> minutelyWeatherForecastArrayList;
+		public HourlyForecastColumns hourlyForecastColumns;
+		public DailyForecastColumns dailyForecastColumns;
+		public final ArrayList<WeatherAlert> weatherAlertArrayList = new ArrayList<>();
+	}
+}
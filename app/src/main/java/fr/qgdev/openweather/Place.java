@@ -11,7 +11,9 @@ import java.util.TimeZone;
 
 import fr.qgdev.openweather.weather.AirQuality;
 import fr.qgdev.openweather.weather.CurrentWeather;
+import fr.qgdev.openweather.weather.DailyForecastColumns;
 import fr.qgdev.openweather.weather.DailyWeatherForecast;
+import fr.qgdev.openweather.weather.HourlyForecastColumns;
 import fr.qgdev.openweather.weather.HourlyWeatherForecast;
 import fr.qgdev.openweather.weather.MinutelyWeatherForecast;
 import fr.qgdev.openweather.weather.WeatherAlert;
@@ -32,18 +34,21 @@ public class Place {
 	private CurrentWeather currentWeather;
 	private AirQuality airQuality;
 	private ArrayList<MinutelyWeatherForecast> minutelyWeatherForecastArrayList;
-	private ArrayList<HourlyWeatherForecast> hourlyWeatherForecastArrayList;
-	private ArrayList<DailyWeatherForecast> dailyWeatherForecastArrayList;
+	private HourlyForecastColumns hourlyForecastColumns;
+	private DailyForecastColumns dailyForecastColumns;
 	private ArrayList<WeatherAlert> weatherAlertsArrayList;
 
+	//  False while the forecasts of a place read from the place index are not decoded yet
+	private boolean forecastsLoaded = true;
+
 
 	public Place(String city, String countryCode) {
 
 		this.currentWeather = new CurrentWeather();
 		this.airQuality = new AirQuality();
 		this.minutelyWeatherForecastArrayList = new ArrayList<>();
-		this.hourlyWeatherForecastArrayList = new ArrayList<>();
-		this.dailyWeatherForecastArrayList = new ArrayList<>();
+		this.hourlyForecastColumns = HourlyForecastColumns.EMPTY;
+		this.dailyForecastColumns = DailyForecastColumns.EMPTY;
 		this.weatherAlertsArrayList = new ArrayList<>();
 
 		this.city = city;
@@ -55,8 +60,8 @@ public class Place {
 		this.currentWeather = new CurrentWeather();
 		this.airQuality = new AirQuality();
 		this.minutelyWeatherForecastArrayList = new ArrayList<>();
-		this.hourlyWeatherForecastArrayList = new ArrayList<>();
-		this.dailyWeatherForecastArrayList = new ArrayList<>();
+		this.hourlyForecastColumns = HourlyForecastColumns.EMPTY;
+		this.dailyForecastColumns = DailyForecastColumns.EMPTY;
 		this.weatherAlertsArrayList = new ArrayList<>();
 
 		//  Place data set
@@ -135,9 +140,11 @@ public class Place {
 
 		if (placeObjectJSON.has("hourly_weather_forecast")) {
 			JSONArray hourlyWeatherJSON = placeObjectJSON.getJSONArray("hourly_weather_forecast");
+			ArrayList<HourlyWeatherForecast> hourlyWeatherForecastArrayList = new ArrayList<>(hourlyWeatherJSON.length());
 			for (int i = 0; i < hourlyWeatherJSON.length(); i++) {
-				this.hourlyWeatherForecastArrayList.add(i, new HourlyWeatherForecast(hourlyWeatherJSON.getJSONObject(i)));
+				hourlyWeatherForecastArrayList.add(i, new HourlyWeatherForecast(hourlyWeatherJSON.getJSONObject(i)));
 			}
+			this.hourlyForecastColumns = new HourlyForecastColumns(hourlyWeatherForecastArrayList);
 		} else {
 			throw new JSONException("Cannot find hourly weather forecast data in PlaceObjectJSON");
 		}
@@ -149,10 +156,12 @@ public class Place {
 
 		if (placeObjectJSON.has("daily_weather_forecast")) {
 			JSONArray dailyWeatherJSON = placeObjectJSON.getJSONArray("daily_weather_forecast");
+			ArrayList<DailyWeatherForecast> dailyWeatherForecastArrayList = new ArrayList<>(dailyWeatherJSON.length());
 
 			for (int i = 0; i < dailyWeatherJSON.length(); i++) {
-				this.dailyWeatherForecastArrayList.add(i, new DailyWeatherForecast(dailyWeatherJSON.getJSONObject(i)));
+				dailyWeatherForecastArrayList.add(i, new DailyWeatherForecast(dailyWeatherJSON.getJSONObject(i)));
 			}
+			this.dailyForecastColumns = new DailyForecastColumns(dailyWeatherForecastArrayList);
 		} else {
 			throw new JSONException("Cannot find daily weather forecast data in PlaceObjectJSON");
 		}
@@ -228,6 +237,10 @@ public class Place {
 		return new SimpleTimeZone(this.timeOffset * 1000, "UTC");
 	}
 
+	public int getTimeZoneOffset() {
+		return this.timeOffset;
+	}
+
 	public void setTimeZoneOffset(int timeZoneOffset) {
 		this.timeOffset = timeZoneOffset;
 	}
@@ -256,20 +269,53 @@ public class Place {
 		this.minutelyWeatherForecastArrayList = (ArrayList<MinutelyWeatherForecast>) minutelyWeatherForecastArrayList.clone();
 	}
 
+	/** @deprecated Every hour is copied from the columns at each call, use getHourlyForecastColumns() */
+	@Deprecated
 	public ArrayList<HourlyWeatherForecast> getHourlyWeatherForecastArrayList() {
-		return (ArrayList<HourlyWeatherForecast>) this.hourlyWeatherForecastArrayList.clone();
+		return this.hourlyForecastColumns.toArrayList();
 	}
 
+	/** @deprecated Use setHourlyForecastColumns() */
+	@Deprecated
 	public void setHourlyWeatherForecastArrayList(ArrayList<HourlyWeatherForecast> hourlyWeatherForecastArrayList) {
-		this.hourlyWeatherForecastArrayList = (ArrayList<HourlyWeatherForecast>) hourlyWeatherForecastArrayList.clone();
+		this.hourlyForecastColumns = new HourlyForecastColumns(hourlyWeatherForecastArrayList);
 	}
 
+	/** @deprecated Every day is copied from the columns at each call, use getDailyForecastColumns() */
+	@Deprecated
 	public ArrayList<DailyWeatherForecast> getDailyWeatherForecastArrayList() {
-		return (ArrayList<DailyWeatherForecast>) this.dailyWeatherForecastArrayList.clone();
+		return this.dailyForecastColumns.toArrayList();
 	}
 
+	/** @deprecated Use setDailyForecastColumns() */
+	@Deprecated
 	public void setDailyWeatherForecastArrayList(ArrayList<DailyWeatherForecast> dailyWeatherForecastArrayList) {
-		this.dailyWeatherForecastArrayList = (ArrayList<DailyWeatherForecast>) dailyWeatherForecastArrayList.clone();
+		this.dailyForecastColumns = new DailyForecastColumns(dailyWeatherForecastArrayList);
+	}
+
+	//  Columns are immutable, they are shared and not copied
+	public HourlyForecastColumns getHourlyForecastColumns() {
+		return this.hourlyForecastColumns;
+	}
+
+	public void setHourlyForecastColumns(HourlyForecastColumns hourlyForecastColumns) {
+		this.hourlyForecastColumns = hourlyForecastColumns;
+	}
+
+	public DailyForecastColumns getDailyForecastColumns() {
+		return this.dailyForecastColumns;
+	}
+
+	public void setDailyForecastColumns(DailyForecastColumns dailyForecastColumns) {
+		this.dailyForecastColumns = dailyForecastColumns;
+	}
+
+	public boolean areForecastsLoaded() {
+		return this.forecastsLoaded;
+	}
+
+	public void setForecastsLoaded(boolean forecastsLoaded) {
+		this.forecastsLoaded = forecastsLoaded;
 	}
 
 	public ArrayList<WeatherAlert> getWeatherAlertsArrayList() {
@@ -287,11 +333,11 @@ public class Place {
 
 	public HourlyWeatherForecast getHourlyWeatherForecast(int hour) {
 
-		return hourlyWeatherForecastArrayList.get(hour).clone();
+		return hourlyForecastColumns.get(hour);
 	}
 
 	public DailyWeatherForecast getDailyWeatherForecast(int day) {
-		return dailyWeatherForecastArrayList.get(day).clone();
+		return dailyForecastColumns.get(day);
 	}
 
 	public WeatherAlert getMWeatherAlert(int index) {
@@ -306,12 +352,20 @@ public class Place {
 		this.minutelyWeatherForecastArrayList.set(minute, minutelyWeatherForecast.clone());
 	}
 
+	/** @deprecated The columns are rebuilt at each call, use setHourlyForecastColumns() with a HourlyForecastColumns.Builder */
+	@Deprecated
 	public void setHourlyWeatherForecast(int hour, HourlyWeatherForecast hourlyWeatherForecast) {
-		this.hourlyWeatherForecastArrayList.set(hour, hourlyWeatherForecast.clone());
+		ArrayList<HourlyWeatherForecast> hourlyWeatherForecastArrayList = this.hourlyForecastColumns.toArrayList();
+		hourlyWeatherForecastArrayList.set(hour, hourlyWeatherForecast);
+		this.hourlyForecastColumns = new HourlyForecastColumns(hourlyWeatherForecastArrayList);
 	}
 
+	/** @deprecated The columns are rebuilt at each call, use setDailyForecastColumns() with a DailyForecastColumns.Builder */
+	@Deprecated
 	public void setDailyWeatherForecast(int day, DailyWeatherForecast dailyWeatherForecast) {
-		this.dailyWeatherForecastArrayList.set(day, dailyWeatherForecast.clone());
+		ArrayList<DailyWeatherForecast> dailyWeatherForecastArrayList = this.dailyForecastColumns.toArrayList();
+		dailyWeatherForecastArrayList.set(day, dailyWeatherForecast);
+		this.dailyForecastColumns = new DailyForecastColumns(dailyWeatherForecastArrayList);
 	}
 
 	public void setWeatherAlert(int index, WeatherAlert weatherAlert) {
@@ -322,12 +376,20 @@ public class Place {
 		this.minutelyWeatherForecastArrayList.add(minute, minutelyWeatherForecast.clone());
 	}
 
+	/** @deprecated The columns are rebuilt at each call, use setHourlyForecastColumns() with a HourlyForecastColumns.Builder */
+	@Deprecated
 	public void addHourlyWeatherForecast(int hour, HourlyWeatherForecast hourlyWeatherForecast) {
-		this.hourlyWeatherForecastArrayList.add(hour, hourlyWeatherForecast.clone());
+		ArrayList<HourlyWeatherForecast> hourlyWeatherForecastArrayList = this.hourlyForecastColumns.toArrayList();
+		hourlyWeatherForecastArrayList.add(hour, hourlyWeatherForecast);
+		this.hourlyForecastColumns = new HourlyForecastColumns(hourlyWeatherForecastArrayList);
 	}
 
+	/** @deprecated The columns are rebuilt at each call, use setDailyForecastColumns() with a DailyForecastColumns.Builder */
+	@Deprecated
 	public void addDailyWeatherForecast(int day, DailyWeatherForecast dailyWeatherForecast) {
-		this.dailyWeatherForecastArrayList.add(day, dailyWeatherForecast.clone());
+		ArrayList<DailyWeatherForecast> dailyWeatherForecastArrayList = this.dailyForecastColumns.toArrayList();
+		dailyWeatherForecastArrayList.add(day, dailyWeatherForecast);
+		this.dailyForecastColumns = new DailyForecastColumns(dailyWeatherForecastArrayList);
 	}
 
 
@@ -390,8 +452,8 @@ public class Place {
 	public JSONArray getAllHourlyWeatherForecastJSON() throws JSONException {
 		JSONArray hourlyForecastWeatherJSON = new JSONArray();
 
-		for (HourlyWeatherForecast hourlyWeatherForecast : hourlyWeatherForecastArrayList) {
-			hourlyForecastWeatherJSON.put(hourlyWeatherForecast.getJSONObject());
+		for (int hour = 0; hour < hourlyForecastColumns.size(); hour++) {
+			hourlyForecastWeatherJSON.put(hourlyForecastColumns.get(hour).getJSONObject());
 		}
 
 		return hourlyForecastWeatherJSON;
@@ -404,8 +466,8 @@ public class Place {
 	public JSONArray getAllDailyWeatherForecastJSON() throws JSONException {
 		JSONArray dailyWeatherForecastJSON = new JSONArray();
 
-		for (DailyWeatherForecast dailyWeatherForecast : dailyWeatherForecastArrayList) {
-			dailyWeatherForecastJSON.put(dailyWeatherForecast.getJSONObject());
+		for (int day = 0; day < dailyForecastColumns.size(); day++) {
+			dailyWeatherForecastJSON.put(dailyForecastColumns.get(day).getJSONObject());
 		}
 
 		return dailyWeatherForecastJSON;
@@ -463,8 +525,8 @@ public class Place {
 				", currentWeather=" + currentWeather +
 				", airQuality=" + airQuality +
 				", minutelyWeatherForecastArrayList=" + minutelyWeatherForecastArrayList +
-				", hourlyWeatherForecastArrayList=" + hourlyWeatherForecastArrayList +
-				", dailyWeatherForecastArrayList=" + dailyWeatherForecastArrayList +
+				", hourlyWeatherForecastArrayList=" + hourlyForecastColumns.toArrayList() +
+				", dailyWeatherForecastArrayList=" + dailyForecastColumns.toArrayList() +
 				", weatherAlertsArrayList=" + weatherAlertsArrayList +
 				'}';
 	}
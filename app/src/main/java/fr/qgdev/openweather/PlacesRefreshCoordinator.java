@@ -0,0 +1,209 @@
+package fr.qgdev.openweather;
+
+import android.util.Log;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import fr.qgdev.openweather.dataplaces.DataPlaces;
+
+/**
+ * PlacesRefreshCoordinator
+ * <p>
+ * Refresh a list of places as one refresh cycle<br>
+ * -  Weather requests of all places are launched at the same time through the RefreshScheduler<br>
+ * -  Places whose data are all fresh are not requested and count as ended<br>
+ * -  Each refreshed place is reported as soon as its request ends<br>
+ * -  Refreshed places are saved with one batch write when the last request ends<br>
+ * -  A place refreshed in background after the end of the cycle is saved alone<br>
+ * -  Places are saved in background, the end of the cycle is reported once they are saved<br>
+ * Request errors are forwarded to the CallbackGetData given to refresh()
+ * </p>
+ *
+ * @author Quentin GOMES DOS REIS
+ * @version 2
+ * @see WeatherService
+ * @see RefreshScheduler
+ */
+public class PlacesRefreshCoordinator {
+
+	private static final String TAG = PlacesRefreshCoordinator.class.getSimpleName();
+
+	private final RefreshScheduler refreshScheduler;
+	private final DataPlaces dataPlaces;
+
+
+	public PlacesRefreshCoordinator(@NonNull RefreshScheduler refreshScheduler, @NonNull DataPlaces dataPlaces) {
+		this.refreshScheduler = refreshScheduler;
+		this.dataPlaces = dataPlaces;
+	}
+
+
+	/**
+	 * refresh(@NonNull List<Place> places, @NonNull WeatherService.CallbackGetData errorCallback, @NonNull CallbackRefresh callback)
+	 * <p>
+	 * Used to launch a refresh cycle for all the given places<br>
+	 * Volley delivers responses on the main thread so the cycle state doesn't need synchronisation
+	 * </p>
+	 *
+	 * @param places        Places to refresh
+	 * @param errorCallback Receives the errors of each request, its onTheEndOfTheRequest is never called
+	 * @param callback      Receives the progress and the end of the cycle
+	 */
+	@MainThread
+	public void refresh(@NonNull List<Place> places, @NonNull WeatherService.CallbackGetData errorCallback, @NonNull CallbackRefresh callback) {
+		RefreshCycle refreshCycle = new RefreshCycle(places.size(), errorCallback, callback);
+
+		if (places.isEmpty()) {
+			refreshCycle.end();
+			return;
+		}
+
+		//  Copy to avoid problems if the list is modified while requests are launched
+		for (Place place : new ArrayList<>(places)) {
+			//  Nothing is stale for this place, it is already up to date
+			if (!refreshScheduler.schedule(place, dataPlaces, refreshCycle)) {
+				refreshCycle.requestEnded(null);
+			}
+		}
+	}
+
+
+	/**
+	 * RefreshCycle
+	 * <p>
+	 * State of one refresh cycle, it is the CallbackGetData of all its requests
+	 * </p>
+	 */
+	private class RefreshCycle implements WeatherService.CallbackGetData {
+
+		private final int placesCount;
+		private final WeatherService.CallbackGetData errorCallback;
+		private final CallbackRefresh callback;
+
+		private final ArrayList<Place> refreshedPlaces;
+		private int endedRequestsCount;
+		private boolean ended;
+
+		RefreshCycle(int placesCount, WeatherService.CallbackGetData errorCallback, CallbackRefresh callback) {
+			this.placesCount = placesCount;
+			this.errorCallback = errorCallback;
+			this.callback = callback;
+			this.refreshedPlaces = new ArrayList<>(placesCount);
+			this.endedRequestsCount = 0;
+		}
+
+		@Override
+		public void onTreatmentError(RequestStatus requestStatus) {
+			errorCallback.onTreatmentError(requestStatus);
+		}
+
+		@Override
+		public void onNoResponseError(RequestStatus requestStatus) {
+			errorCallback.onNoResponseError(requestStatus);
+		}
+
+		@Override
+		public void onTooManyRequestsError(RequestStatus requestStatus) {
+			errorCallback.onTooManyRequestsError(requestStatus);
+		}
+
+		@Override
+		public void onPlaceNotFoundError(RequestStatus requestStatus) {
+			errorCallback.onPlaceNotFoundError(requestStatus);
+		}
+
+		@Override
+		public void onWrongOrUnknownApiKeyError(RequestStatus requestStatus) {
+			errorCallback.onWrongOrUnknownApiKeyError(requestStatus);
+		}
+
+		@Override
+		public void onUnknownError(RequestStatus requestStatus) {
+			errorCallback.onUnknownError(requestStatus);
+		}
+
+		@Override
+		public void onDeviceNotConnected(RequestStatus requestStatus) {
+			errorCallback.onDeviceNotConnected(requestStatus);
+			//  No request was sent so onTheEndOfTheRequest will never be called for this place
+			requestEnded(null);
+		}
+
+		@Override
+		public void onTheEndOfTheRequest(Place place, DataPlaces dataPlaces, RequestStatus requestStatus) {
+			//  When weather request failed there is nothing new to save
+			requestEnded(requestStatus != RequestStatus.WEATHER_REQUEST_FAIL ? place : null);
+		}
+
+		@Override
+		public void onBackgroundRefreshEnd(Place place, DataPlaces dataPlaces) {
+			//  Before the end of the cycle, the place is saved with the batch write
+			if (!ended) {
+				callback.onPlaceRefreshedInBackground(place, true);
+				return;
+			}
+
+			dataPlaces.updatePlacesAsync(Collections.singletonList(place), new DataPlaces.OnResultListener<Boolean>() {
+				@Override
+				public void onResult(Boolean saved) {
+					callback.onPlaceRefreshedInBackground(place, saved);
+				}
+
+				@Override
+				public void onError(@NonNull Exception exception) {
+					Log.w(TAG, "Place refreshed in background cannot be saved", exception);
+					callback.onPlaceRefreshedInBackground(place, false);
+				}
+			});
+		}
+
+		private void requestEnded(Place refreshedPlace) {
+			endedRequestsCount++;
+			if (refreshedPlace != null) {
+				refreshedPlaces.add(refreshedPlace);
+				callback.onPlaceRefreshed(refreshedPlace, endedRequestsCount, placesCount);
+			}
+
+			if (endedRequestsCount == placesCount) end();
+		}
+
+		private void end() {
+			ended = true;
+
+			if (refreshedPlaces.isEmpty()) {
+				callback.onRefreshEnd(refreshedPlaces, true);
+				return;
+			}
+
+			dataPlaces.updatePlacesAsync(refreshedPlaces, new DataPlaces.OnResultListener<Boolean>() {
+				@Override
+				public void onResult(Boolean saved) {
+					callback.onRefreshEnd(refreshedPlaces, saved);
+				}
+
+				@Override
+				public void onError(@NonNull Exception exception) {
+					Log.w(TAG, "Refreshed places cannot be saved", exception);
+					callback.onRefreshEnd(refreshedPlaces, false);
+				}
+			});
+		}
+	}
+
+
+	public interface CallbackRefresh {
+		//	Called on each place successfully refreshed, before it is saved
+		void onPlaceRefreshed(Place place, int endedRequestsCount, int placesCount);
+
+		//	Called once when all requests ended and refreshed places are saved
+		void onRefreshEnd(ArrayList<Place> refreshedPlaces, boolean saved);
+
+		//	Called when the cached data of a place has been refreshed in background
+		void onPlaceRefreshedInBackground(Place place, boolean saved);
+	}
+}
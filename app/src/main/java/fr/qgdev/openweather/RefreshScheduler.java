@@ -0,0 +1,326 @@
+package fr.qgdev.openweather;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Locale;
+
+import fr.qgdev.openweather.dataplaces.DataPlaces;
+
+/**
+ * RefreshScheduler
+ * <p>
+ * Decide which data of a place needs to be refreshed before asking WeatherService<br>
+ * -  Each data tier has its own freshness window, only stale tiers are requested<br>
+ * -  A place with only fresh tiers is not requested at all<br>
+ * -  A request for coordinates that are already being refreshed is attached to the running request instead of being sent again<br>
+ * Fetch times are kept in memory by FetchTimes, which lives as long as the process so they are not lost when the scheduler
+ * is created again<br>
+ * The fetch time of a tier is when OWM sent its data, a response served from the cache keeps the time of the original one<br>
+ * A place seen for the first time uses its last update as fetch time for all its tiers
+ * </p>
+ *
+ * @author Quentin GOMES DOS REIS
+ * @version 1
+ * @see WeatherService.DataTier
+ */
+public class RefreshScheduler {
+
+	private static final long MINUTE = 60 * 1000L;
+
+	private final WeatherService weatherService;
+	private final EnumMap<WeatherService.DataTier, Long> freshnessWindows;
+
+	private final FetchTimes fetchTimes;
+	//  Running requests, mapped by coordinates
+	private final HashMap<String, InFlightRequest> inFlightRequests;
+
+
+	/**
+	 * RefreshScheduler Constructor
+	 *
+	 * @param weatherService Service sending the requests
+	 * @param fetchTimes     Fetch times of the process, given by PlaceRepository
+	 */
+	public RefreshScheduler(@NonNull WeatherService weatherService, @NonNull FetchTimes fetchTimes) {
+		this.weatherService = weatherService;
+		this.fetchTimes = fetchTimes;
+		this.inFlightRequests = new HashMap<>();
+
+		this.freshnessWindows = new EnumMap<>(WeatherService.DataTier.class);
+		this.freshnessWindows.put(WeatherService.DataTier.CURRENT, 10 * MINUTE);
+		this.freshnessWindows.put(WeatherService.DataTier.MINUTELY, 5 * MINUTE);
+		this.freshnessWindows.put(WeatherService.DataTier.HOURLY, 30 * MINUTE);
+		this.freshnessWindows.put(WeatherService.DataTier.DAILY, 180 * MINUTE);
+		this.freshnessWindows.put(WeatherService.DataTier.AIR_QUALITY, 60 * MINUTE);
+	}
+
+
+	public long getFreshnessWindow(@NonNull WeatherService.DataTier dataTier) {
+		return freshnessWindows.get(dataTier);
+	}
+
+	/**
+	 * setFreshnessWindow(@NonNull WeatherService.DataTier dataTier, long freshnessWindow)
+	 * <p>
+	 * Used to set how long the data of a tier is considered fresh<br>
+	 * A window of 0 makes the tier always stale
+	 * </p>
+	 *
+	 * @param dataTier        The data tier
+	 * @param freshnessWindow Freshness window in milliseconds
+	 */
+	public void setFreshnessWindow(@NonNull WeatherService.DataTier dataTier, long freshnessWindow) {
+		if (freshnessWindow < 0) {
+			throw new IllegalArgumentException("Freshness window cannot be negative");
+		}
+		freshnessWindows.put(dataTier, freshnessWindow);
+	}
+
+
+	/**
+	 * getStaleTiers(@NonNull Place place, long now)
+	 * <p>
+	 * Used to know which tiers of a place must be refreshed
+	 * </p>
+	 *
+	 * @param place The place
+	 * @param now   Current time in milliseconds
+	 * @return Tiers whose freshness window has elapsed, empty if all data are fresh
+	 */
+	@NonNull
+	public EnumSet<WeatherService.DataTier> getStaleTiers(@NonNull Place place, long now) {
+		EnumMap<WeatherService.DataTier, Long> placeFetchTimes = getFetchTimes(place);
+		EnumSet<WeatherService.DataTier> staleTiers = EnumSet.noneOf(WeatherService.DataTier.class);
+
+		for (WeatherService.DataTier dataTier : WeatherService.DataTier.values()) {
+			Long fetchTime = placeFetchTimes.get(dataTier);
+			if (fetchTime == null || now - fetchTime >= freshnessWindows.get(dataTier) || fetchTime > now) {
+				staleTiers.add(dataTier);
+			}
+		}
+		return staleTiers;
+	}
+
+
+	/**
+	 * schedule(@NonNull Place place, @NonNull DataPlaces dataPlaces, @NonNull WeatherService.CallbackGetData callback)
+	 * <p>
+	 * Used to refresh the stale tiers of a place<br>
+	 * If the same coordinates are already being refreshed with all these tiers, the callback waits for the running request<br>
+	 * Volley delivers responses on the main thread so the scheduler doesn't need synchronisation
+	 * </p>
+	 *
+	 * @param place      The place to refresh
+	 * @param dataPlaces Given back to the callback
+	 * @param callback   Callback of the request, it is not called if false is returned
+	 * @return False if all data of the place are fresh and nothing was requested
+	 */
+	@MainThread
+	public boolean schedule(@NonNull Place place, @NonNull DataPlaces dataPlaces, @NonNull WeatherService.CallbackGetData callback) {
+		EnumSet<WeatherService.DataTier> staleTiers = getStaleTiers(place, System.currentTimeMillis());
+		if (staleTiers.isEmpty()) return false;
+
+		String coordinatesKey = getCoordinatesKey(place);
+
+		//  Coalesce with the running request of these coordinates
+		InFlightRequest inFlightRequest = inFlightRequests.get(coordinatesKey);
+		if (inFlightRequest != null && inFlightRequest.dataTiers.containsAll(staleTiers)) {
+			inFlightRequest.waiters.add(new Waiter(place, dataPlaces, callback));
+			return true;
+		}
+
+		inFlightRequest = new InFlightRequest(coordinatesKey, staleTiers);
+		inFlightRequest.waiters.add(new Waiter(place, dataPlaces, callback));
+		inFlightRequests.put(coordinatesKey, inFlightRequest);
+
+		weatherService.getWeatherDataOWM(place, dataPlaces, inFlightRequest, staleTiers);
+		return true;
+	}
+
+
+	private EnumMap<WeatherService.DataTier, Long> getFetchTimes(@NonNull Place place) {
+		String coordinatesKey = getCoordinatesKey(place);
+		EnumMap<WeatherService.DataTier, Long> placeFetchTimes = fetchTimes.byCoordinates.get(coordinatesKey);
+
+		if (placeFetchTimes == null) {
+			placeFetchTimes = new EnumMap<>(WeatherService.DataTier.class);
+			//  Never refreshed since the scheduler exists, the last update is the best known fetch time
+			if (place.getLastUpdate() > 0) {
+				for (WeatherService.DataTier dataTier : WeatherService.DataTier.values()) {
+					placeFetchTimes.put(dataTier, place.getLastUpdate());
+				}
+			}
+			fetchTimes.byCoordinates.put(coordinatesKey, placeFetchTimes);
+		}
+		return placeFetchTimes;
+	}
+
+	private static String getCoordinatesKey(@NonNull Place place) {
+		return String.format(Locale.ROOT, "%.4f,%.4f", place.getLatitude(), place.getLongitude());
+	}
+
+	/**
+	 * copyTiers(@NonNull Place source, @NonNull Place destination, @NonNull EnumSet<WeatherService.DataTier> dataTiers)
+	 * <p>
+	 * Used to give the data fetched for a place to another place object with the same coordinates
+	 * </p>
+	 */
+	private static void copyTiers(@NonNull Place source, @NonNull Place destination, @NonNull EnumSet<WeatherService.DataTier> dataTiers) {
+		destination.setTimeZoneOffset(source.getTimeZoneOffset());
+
+		if (dataTiers.contains(WeatherService.DataTier.CURRENT)) {
+			destination.setLastUpdate(source.getLastUpdate());
+			destination.setLastUpdateDate(source.getLastUpdateDate());
+			destination.setCurrentWeather(source.getCurrentWeather());
+			destination.setWeatherAlertsArrayList(source.getWeatherAlertsArrayList());
+		}
+		if (dataTiers.contains(WeatherService.DataTier.MINUTELY)) {
+			destination.setMinutelyWeatherForecastArrayList(source.getMinutelyWeatherForecastArrayList());
+		}
+		if (dataTiers.contains(WeatherService.DataTier.HOURLY)) {
+			destination.setHourlyForecastColumns(source.getHourlyForecastColumns());
+		}
+		if (dataTiers.contains(WeatherService.DataTier.DAILY)) {
+			destination.setDailyForecastColumns(source.getDailyForecastColumns());
+		}
+		if (dataTiers.contains(WeatherService.DataTier.AIR_QUALITY)) {
+			destination.setAirQuality(source.getAirQuality());
+		}
+	}
+
+
+	/**
+	 * FetchTimes
+	 * <p>
+	 * Fetch time of each tier of the places, mapped by coordinates<br>
+	 * There is one for the process, kept by PlaceRepository, it must only be used on the main thread
+	 * </p>
+	 */
+	public static final class FetchTimes {
+		private final HashMap<String, EnumMap<WeatherService.DataTier, Long>> byCoordinates = new HashMap<>();
+	}
+
+
+	private static class Waiter {
+		final Place place;
+		final DataPlaces dataPlaces;
+		final WeatherService.CallbackGetData callback;
+
+		Waiter(Place place, DataPlaces dataPlaces, WeatherService.CallbackGetData callback) {
+			this.place = place;
+			this.dataPlaces = dataPlaces;
+			this.callback = callback;
+		}
+	}
+
+
+	/**
+	 * InFlightRequest
+	 * <p>
+	 * A request sent to WeatherService, it forwards its callbacks to every waiter
+	 * </p>
+	 */
+	private class InFlightRequest implements WeatherService.CallbackGetData {
+
+		private final String coordinatesKey;
+		private final EnumSet<WeatherService.DataTier> dataTiers;
+		private final ArrayList<Waiter> waiters;
+
+		InFlightRequest(String coordinatesKey, EnumSet<WeatherService.DataTier> dataTiers) {
+			this.coordinatesKey = coordinatesKey;
+			this.dataTiers = dataTiers;
+			this.waiters = new ArrayList<>(1);
+		}
+
+		@Override
+		public void onTreatmentError(RequestStatus requestStatus) {
+			for (Waiter waiter : waiters) waiter.callback.onTreatmentError(requestStatus);
+		}
+
+		@Override
+		public void onNoResponseError(RequestStatus requestStatus) {
+			for (Waiter waiter : waiters) waiter.callback.onNoResponseError(requestStatus);
+		}
+
+		@Override
+		public void onTooManyRequestsError(RequestStatus requestStatus) {
+			for (Waiter waiter : waiters) waiter.callback.onTooManyRequestsError(requestStatus);
+		}
+
+		@Override
+		public void onPlaceNotFoundError(RequestStatus requestStatus) {
+			for (Waiter waiter : waiters) waiter.callback.onPlaceNotFoundError(requestStatus);
+		}
+
+		@Override
+		public void onWrongOrUnknownApiKeyError(RequestStatus requestStatus) {
+			for (Waiter waiter : waiters) waiter.callback.onWrongOrUnknownApiKeyError(requestStatus);
+		}
+
+		@Override
+		public void onUnknownError(RequestStatus requestStatus) {
+			for (Waiter waiter : waiters) waiter.callback.onUnknownError(requestStatus);
+		}
+
+		@Override
+		public void onDeviceNotConnected(RequestStatus requestStatus) {
+			//  No request was sent so onTheEndOfTheRequest will never be called
+			removeFromInFlightRequests();
+			for (Waiter waiter : waiters) waiter.callback.onDeviceNotConnected(requestStatus);
+		}
+
+		@Override
+		public void onTiersFetched(EnumSet<WeatherService.DataTier> dataTiers, long fetchTime) {
+			//  Time of the response, a cached response is not fresher than when OWM sent it
+			EnumMap<WeatherService.DataTier, Long> placeFetchTimes = fetchTimes.byCoordinates.get(coordinatesKey);
+			for (WeatherService.DataTier dataTier : dataTiers) {
+				placeFetchTimes.put(dataTier, fetchTime);
+			}
+
+			for (Waiter waiter : waiters) waiter.callback.onTiersFetched(dataTiers, fetchTime);
+		}
+
+		@Override
+		public void onTheEndOfTheRequest(Place place, DataPlaces dataPlaces, RequestStatus requestStatus) {
+			removeFromInFlightRequests();
+
+			//  Tiers really refreshed by this request
+			EnumSet<WeatherService.DataTier> refreshedTiers = EnumSet.copyOf(dataTiers);
+			if (requestStatus == RequestStatus.WEATHER_REQUEST_FAIL) {
+				refreshedTiers.removeAll(WeatherService.DataTier.ONE_CALL_TIERS);
+			}
+			if (requestStatus != RequestStatus.COMPLETE) {
+				refreshedTiers.remove(WeatherService.DataTier.AIR_QUALITY);
+			}
+
+			for (Waiter waiter : waiters) {
+				if (waiter.place != place && !refreshedTiers.isEmpty()) {
+					copyTiers(place, waiter.place, refreshedTiers);
+				}
+				waiter.callback.onTheEndOfTheRequest(waiter.place, waiter.dataPlaces, requestStatus);
+			}
+		}
+
+		@Override
+		public void onBackgroundRefreshEnd(Place place, DataPlaces dataPlaces) {
+			for (Waiter waiter : waiters) {
+				if (waiter.place != place) {
+					copyTiers(place, waiter.place, dataTiers);
+				}
+				waiter.callback.onBackgroundRefreshEnd(waiter.place, waiter.dataPlaces);
+			}
+		}
+
+		private void removeFromInFlightRequests() {
+			//  A newer request for the same coordinates may have replaced this one
+			if (inFlightRequests.get(coordinatesKey) == this) {
+				inFlightRequests.remove(coordinatesKey);
+			}
+		}
+	}
+}
@@ -0,0 +1,203 @@
+package fr.qgdev.openweather;
+
+import androidx.annotation.NonNull;
+
+/**
+ * UnitConverter
+ * <p>
+ * Convert OpenWeatherMap values to the units chosen in the settings<br>
+ * Everything depending on the settings is looked up once when the converter is built, converting a value is only a few
+ * float operations and getting a cardinal point is only an array access<br>
+ * It doesn't need a Context, so it can be used from any thread, by widgets or on the JVM
+ * </p>
+ *
+ * @author Quentin GOMES DOS REIS
+ * @version 1
+ * @see FormattingService
+ */
+public final class UnitConverter {
+
+	//  Values of the settings
+	public static final String FAHRENHEIT = "fahrenheit";
+	public static final String IMPERIAL = "imperial";
+	public static final String MILLIBAR = "mbar";
+	public static final String PSI = "psi";
+	public static final String INCH_OF_MERCURY = "inhg";
+	public static final String ANGULAR = "angular";
+
+	//  Number of cardinal points, from the north clockwise
+	public static final int CARDINAL_POINTS = 16;
+
+	//  OpenWeatherMap values are in Kelvin, meters, meters per second and hectopascals
+	private static final Conversion CELSIUS = new Conversion("°C", 1, -273.15F, 1F, 1F, 0F);
+	private static final Conversion FAHRENHEIT_DEGREES = new Conversion("°F", 1, -273.15F, 9F / 5F, 1F, 32F);
+	private static final Conversion MILLIMETERS = new Conversion("mm", 1, 0F, 1F, 1F, 0F);
+	private static final Conversion INCHES = new Conversion("in.", 2, 0F, 0.0393701F, 1F, 0F);
+	private static final Conversion KILOMETERS = new Conversion("km", 1, 0F, 1F, 1000F, 0F);
+	private static final Conversion MILES = new Conversion("mi.", 1, 0F, 0.000621371F, 1F, 0F);
+	private static final Conversion KILOMETERS_PER_HOUR = new Conversion("km/h", 1, 0F, 3.6F, 1F, 0F);
+	private static final Conversion MILES_PER_HOUR = new Conversion("mph", 1, 0F, 2.23694F, 1F, 0F);
+	private static final Conversion HECTOPASCALS = new Conversion("hPa", 0, 0F, 1F, 1F, 0F);
+	private static final Conversion MILLIBARS = new Conversion("mBar", 0, 0F, 1F, 1F, 0F);
+	private static final Conversion POUNDS_PER_SQUARE_INCH = new Conversion("psi", 2, 0F, 0.0145038F, 1F, 0F);
+	private static final Conversion INCHES_OF_MERCURY = new Conversion("inHg", 2, 0F, 0.02953F, 1F, 0F);
+
+	private final Conversion temperature;
+	private final Conversion shortDistance;
+	private final Conversion distance;
+	private final Conversion speed;
+	private final Conversion pressure;
+	private final boolean isDirectionInDegrees;
+	private final String[] cardinalPoints;
+
+
+	/**
+	 * UnitConverter Constructor
+	 * <p>
+	 * Build a converter for the values of the settings, unknown values are the default units
+	 * </p>
+	 *
+	 * @param temperatureUnit Value of the temperature_unit setting, Celsius by default
+	 * @param measureUnit     Value of the measure_unit setting, metric by default
+	 * @param pressureUnit    Value of the pressure_unit setting, hectopascal by default
+	 * @param directionUnit   Value of the direction_unit setting, cardinal points by default
+	 * @param cardinalPoints  The CARDINAL_POINTS names of the cardinal points, from the north clockwise
+	 * @throws IllegalArgumentException If there isn't CARDINAL_POINTS names
+	 */
+	public UnitConverter(String temperatureUnit, String measureUnit, String pressureUnit, String directionUnit, @NonNull String[] cardinalPoints) {
+		if (cardinalPoints.length != CARDINAL_POINTS)
+			throw new IllegalArgumentException("There must be " + CARDINAL_POINTS + " cardinal points");
+
+		this.temperature = FAHRENHEIT.equals(temperatureUnit) ? FAHRENHEIT_DEGREES : CELSIUS;
+
+		if (IMPERIAL.equals(measureUnit)) {
+			this.shortDistance = INCHES;
+			this.distance = MILES;
+			this.speed = MILES_PER_HOUR;
+		} else {
+			this.shortDistance = MILLIMETERS;
+			this.distance = KILOMETERS;
+			this.speed = KILOMETERS_PER_HOUR;
+		}
+
+		if (MILLIBAR.equals(pressureUnit)) this.pressure = MILLIBARS;
+		else if (PSI.equals(pressureUnit)) this.pressure = POUNDS_PER_SQUARE_INCH;
+		else if (INCH_OF_MERCURY.equals(pressureUnit)) this.pressure = INCHES_OF_MERCURY;
+		else this.pressure = HECTOPASCALS;
+
+		this.isDirectionInDegrees = ANGULAR.equals(directionUnit);
+		this.cardinalPoints = cardinalPoints.clone();
+	}
+
+
+	//  Temperature
+	public float convertTemperature(float temperature) {
+		return this.temperature.convert(temperature);
+	}
+
+	public String getTemperatureUnit() {
+		return this.temperature.unit;
+	}
+
+	public int getTemperatureDecimals() {
+		return this.temperature.decimals;
+	}
+
+	//  Short distance, like precipitations quantities
+	public float convertShortDistance(float shortDistance) {
+		return this.shortDistance.convert(shortDistance);
+	}
+
+	public String getShortDistanceUnit() {
+		return this.shortDistance.unit;
+	}
+
+	public int getShortDistanceDecimals() {
+		return this.shortDistance.decimals;
+	}
+
+	//  Distance, like visibility
+	public float convertDistance(float distance) {
+		return this.distance.convert(distance);
+	}
+
+	public String getDistanceUnit() {
+		return this.distance.unit;
+	}
+
+	public int getDistanceDecimals() {
+		return this.distance.decimals;
+	}
+
+	//  Speed, like wind speeds
+	public float convertSpeed(float speed) {
+		return this.speed.convert(speed);
+	}
+
+	public String getSpeedUnit() {
+		return this.speed.unit;
+	}
+
+	public int getSpeedDecimals() {
+		return this.speed.decimals;
+	}
+
+	//  Pressure
+	public float convertPressure(float pressure) {
+		return this.pressure.convert(pressure);
+	}
+
+	public String getPressureUnit() {
+		return this.pressure.unit;
+	}
+
+	public int getPressureDecimals() {
+		return this.pressure.decimals;
+	}
+
+	//  Direction
+	public boolean isDirectionInDegrees() {
+		return this.isDirectionInDegrees;
+	}
+
+
+	/**
+	 * getCardinalPoint(short direction)
+	 * <p>
+	 * Used to get the cardinal point of a direction, each one covers 22.5° centered on it
+	 * </p>
+	 *
+	 * @param direction The direction in degrees, between 0 and 360
+	 * @return Name of the cardinal point
+	 */
+	@NonNull
+	public String getCardinalPoint(short direction) {
+		//  Adding half of a cardinal point, 11.25°, rounds to the nearest one
+		return this.cardinalPoints[((direction * CARDINAL_POINTS + 180) / 360) % CARDINAL_POINTS];
+	}
+
+
+	//  Unit of a value and how it is converted from OpenWeatherMap one
+	private static final class Conversion {
+		private final String unit;
+		private final int decimals;
+		private final float offset;
+		private final float factor;
+		private final float divisor;
+		private final float shift;
+
+		private Conversion(String unit, int decimals, float offset, float factor, float divisor, float shift) {
+			this.unit = unit;
+			this.decimals = decimals;
+			this.offset = offset;
+			this.factor = factor;
+			this.divisor = divisor;
+			this.shift = shift;
+		}
+
+		//  Operations are done in the same order than the former conversion methods, so values are rounded the same way
+		private float convert(float value) {
+			return (value + offset) * factor / divisor + shift;
+		}
+	}
+}
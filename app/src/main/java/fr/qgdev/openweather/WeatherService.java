@@ -9,44 +9,42 @@ import android.util.Log;
 import androidx.annotation.NonNull;
 import androidx.annotation.WorkerThread;
 
+import com.android.volley.ParseError;
 import com.android.volley.Request;
 import com.android.volley.RequestQueue;
+import com.android.volley.VolleyError;
 import com.android.volley.toolbox.JsonObjectRequest;
-import com.android.volley.toolbox.Volley;
 
-import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.EnumSet;
 
 import fr.qgdev.openweather.dataplaces.DataPlaces;
+import fr.qgdev.openweather.dataplaces.PlaceRepository;
 import fr.qgdev.openweather.weather.AirQuality;
-import fr.qgdev.openweather.weather.CurrentWeather;
-import fr.qgdev.openweather.weather.DailyWeatherForecast;
-import fr.qgdev.openweather.weather.HourlyWeatherForecast;
-import fr.qgdev.openweather.weather.MinutelyWeatherForecast;
-import fr.qgdev.openweather.weather.WeatherAlert;
 
 public class WeatherService {
 
     private static final String TAG = WeatherService.class.getSimpleName();
 
-    private static final String WEATHER_SERVICE_TAG = "WEATHER_SERVICE";
     private static String apiKey, language;
 
     private final DataPlaces dataPlaces;
 
     private final Context context;
+    //  Shared by the whole process, requests are tagged to only cancel the ones of this service
     private final RequestQueue queue;
+    private final Object requestTag = new Object();
 
 
-    public WeatherService(final Context context, @NonNull String apiKey, @NonNull String language, @NonNull final DataPlaces dataPlaces) {
+    public WeatherService(final Context context, @NonNull String apiKey, @NonNull String language, @NonNull final PlaceRepository placeRepository) {
         this.context = context;
-        this.dataPlaces = dataPlaces;
+        this.dataPlaces = placeRepository.getDataPlaces();
 
-        this.queue = Volley.newRequestQueue(context);
+        this.queue = placeRepository.getRequestQueue();
         WeatherService.apiKey = apiKey;
         WeatherService.language = language;
     }
@@ -109,6 +107,7 @@ public class WeatherService {
                                 callback.onTheEndOfTheRequest();
                             });
 
+            weatherRequest.setTag(requestTag);
             queue.add(weatherRequest);
         }
 
@@ -121,148 +120,119 @@ public class WeatherService {
 
     @WorkerThread
     public void getWeatherDataOWM(Place place, DataPlaces dataPlaces, CallbackGetData callback) {
+        getWeatherDataOWM(place, dataPlaces, callback, EnumSet.allOf(DataTier.class));
+    }
+
+    /**
+     * getWeatherDataOWM(Place place, DataPlaces dataPlaces, CallbackGetData callback, @NonNull EnumSet<DataTier> dataTiers)
+     * <p>
+     * Used to refresh only some data tiers of a place<br>
+     * One Call parts that are not asked are excluded from the request and the air quality request is sent only if AIR_QUALITY is asked<br>
+     * Weather alerts are refreshed with the CURRENT tier
+     * </p>
+     *
+     * @param place      The place to refresh
+     * @param dataPlaces Given back to the callback
+     * @param callback   Callback of the request
+     * @param dataTiers  Data tiers to refresh, must not be empty
+     */
+    @WorkerThread
+    public void getWeatherDataOWM(Place place, DataPlaces dataPlaces, CallbackGetData callback, @NonNull EnumSet<DataTier> dataTiers) {
 
         //  Setting up important variables and objects for weather data request
-        String url = String.format(context.getString(R.string.url_owm_weatherdata), place.getLatitude(), place.getLongitude(), apiKey, language);
+        String weatherUrl = String.format(context.getString(R.string.url_owm_weatherdata), place.getLatitude(), place.getLongitude(), apiKey, language) + getOneCallExclusions(dataTiers);
+        String airQualityUrl = String.format(context.getString(R.string.url_owm_airqualitydata), place.getLatitude(), place.getLongitude(), apiKey);
+
+        boolean weatherIsRequested = !Collections.disjoint(dataTiers, DataTier.ONE_CALL_TIERS);
+        boolean airQualityIsRequested = dataTiers.contains(DataTier.AIR_QUALITY);
 
         //  Before launching request, we must have to verify that if the device is connected to a network
         //  The device is connected to an INTERNET capable network
         if (this.deviceIsConnected()) {
-            JsonObjectRequest weatherRequest = new JsonObjectRequest
-                    (Request.Method.GET, url, null,
-                            response -> {
-                                try {
-                                    //  TimeOffSet
-                                    //________________________________________________________________
-                                    //
-                                    place.setTimeZoneOffset(response.getInt("timezone_offset"));
-
-                                    //  Current Weather
-                                    //________________________________________________________________
-                                    //
-
-                                    JSONObject currentWeatherJSON = response.getJSONObject("current");
+            //  Weather and air quality requests are sent at the same time, WeatherDataJoin waits for both of them
+            WeatherDataJoin weatherDataJoin = new WeatherDataJoin(place, dataPlaces, callback, dataTiers);
 
+            OneCallRequest weatherRequest = new OneCallRequest(weatherUrl, dataTiers,
+                            response -> {
+                                //  TimeOffSet
+                                //________________________________________________________________
+                                //
+                                place.setTimeZoneOffset(response.timeZoneOffset);
+
+                                //  Current Weather
+                                //________________________________________________________________
+                                //
+                                if (response.currentWeather != null) {
                                     //  The time of this update
-                                    place.setLastUpdate(currentWeatherJSON.getLong("dt") * 1000);
+                                    place.setLastUpdate(response.currentWeather.dt);
                                     place.setLastUpdateDate(new Date(place.getLastUpdate()));
 
-                                    CurrentWeather currentWeather_tmp = new CurrentWeather();
-                                    currentWeather_tmp.fillWithOWMData(currentWeatherJSON);
-                                    place.setCurrentWeather(currentWeather_tmp);
-
-
-                                    //  Minutely Weather Forecast
-                                    //________________________________________________________________
-                                    //
-                                    //  The minutely arrayList in place object will remain empty
-                                    if (response.has("minutely")) {
-                                        JSONArray minutelyWeatherForecastJSON = response.getJSONArray("minutely");
-                                        ArrayList<MinutelyWeatherForecast> minutelyWeatherForecastArrayList_tmp = new ArrayList<>();
-                                        MinutelyWeatherForecast minutelyWeatherForecast_tmp = new MinutelyWeatherForecast();
-
-                                        for (int i = 0; i < minutelyWeatherForecastJSON.length(); i++) {
-                                            minutelyWeatherForecast_tmp.fillWithOWMData(minutelyWeatherForecastJSON.getJSONObject(i));
-                                            minutelyWeatherForecastArrayList_tmp.add(i, minutelyWeatherForecast_tmp.clone());
-                                        }
-
-                                        place.setMinutelyWeatherForecastArrayList(minutelyWeatherForecastArrayList_tmp);
-                                    }
+                                    place.setCurrentWeather(response.currentWeather);
+                                }
 
 
-                                    //  Hourly Weather Forecast
-                                    //________________________________________________________________
-                                    //
-
-                                    JSONArray hourlyForecastWeatherJSON = response.getJSONArray("hourly");
+                                //  Minutely Weather Forecast
+                                //________________________________________________________________
+                                //
+                                //  The minutely arrayList in place object will remain empty
+                                if (response.minutelyWeatherForecastArrayList != null) {
+                                    place.setMinutelyWeatherForecastArrayList(response.minutelyWeatherForecastArrayList);
+                                }
 
-                                    HourlyWeatherForecast hourlyWeatherForecast_tmp = new HourlyWeatherForecast();
-                                    ArrayList<HourlyWeatherForecast> hourlyWeatherForecastArrayList_tmp = new ArrayList<>();
 
-                                    for (int i = 0; i < hourlyForecastWeatherJSON.length(); i++) {
-                                        hourlyWeatherForecast_tmp.fillWithOWMData(hourlyForecastWeatherJSON.getJSONObject(i));
-                                        hourlyWeatherForecastArrayList_tmp.add(i, hourlyWeatherForecast_tmp.clone());
-                                    }
-                                    place.setHourlyWeatherForecastArrayList(hourlyWeatherForecastArrayList_tmp);
+                                //  Hourly Weather Forecast
+                                //________________________________________________________________
+                                //
+                                if (response.hourlyForecastColumns != null) {
+                                    place.setHourlyForecastColumns(response.hourlyForecastColumns);
+                                }
 
 
-                                    //  Daily Weather Forecast
-                                    //________________________________________________________________
-                                    //
+                                //  Daily Weather Forecast
+                                //________________________________________________________________
+                                //
+                                if (response.dailyForecastColumns != null) {
+                                    place.setDailyForecastColumns(response.dailyForecastColumns);
+                                }
 
-                                    JSONArray dailyWeatherJSON = response.getJSONArray("daily");
 
-                                    DailyWeatherForecast dailyWeatherForecast_tmp = new DailyWeatherForecast();
-                                    ArrayList<DailyWeatherForecast> dailyWeatherForecastArrayList_tmp = new ArrayList<>();
+                                //  Weather Alert
+                                //________________________________________________________________
+                                //
+                                if (dataTiers.contains(DataTier.CURRENT)) {
+                                    place.setWeatherAlertsArrayList(response.weatherAlertArrayList);
+                                }
 
-                                    for (int i = 0; i < dailyWeatherJSON.length(); i++) {
-                                        dailyWeatherForecast_tmp.fillWithOWMData(dailyWeatherJSON.getJSONObject(i));
-                                        dailyWeatherForecastArrayList_tmp.add(i, dailyWeatherForecast_tmp.clone());
-                                    }
-                                    place.setDailyWeatherForecastArrayList(dailyWeatherForecastArrayList_tmp);
 
+                                Log.d(TAG, "Weather information treatment completed");
+                                weatherDataJoin.onWeatherSuccess(response.responseTime);
+                            },
+                            weatherDataJoin::onWeatherError);
 
-                                    //  Weather Alert
+            CachedJsonObjectRequest airQualityRequest = new CachedJsonObjectRequest
+                    (airQualityUrl, OWMCachePolicy.AIR_QUALITY_SOFT_TTL, OWMCachePolicy.AIR_QUALITY_TTL,
+                            response -> {
+                                try {
+                                    //  Air quality
                                     //________________________________________________________________
                                     //
+                                    AirQuality airQuality = new AirQuality();
+                                    airQuality.fillWithOWMData(response);
 
-                                    ArrayList<WeatherAlert> weatherAlertArrayList_tmp = new ArrayList<>();
-
-                                    if (response.has("alerts")) {
-                                        JSONArray weatherAlertJSON = response.getJSONArray("alerts");
-                                        WeatherAlert weatherAlert_tmp = new WeatherAlert();
-
-                                        for (int i = 0; i < weatherAlertJSON.length(); i++) {
-                                            weatherAlert_tmp.fillWithOWMData(weatherAlertJSON.getJSONObject(i));
-                                            weatherAlertArrayList_tmp.add(weatherAlert_tmp.clone());
-                                        }
-                                    }
-
-                                    place.setWeatherAlertsArrayList(weatherAlertArrayList_tmp);
-
-
-                                    Log.d(TAG, "Weather information treatment completed");
-                                    getAirQualityDataOWM(place, dataPlaces, callback);
-
+                                    Log.d(TAG, "Air quality information treatment completed");
+                                    weatherDataJoin.onAirQualitySuccess(airQuality);
                                 } catch (JSONException e) {
-                                    Log.w(TAG, "Weather information treatment failed due to a JSONException");
-                                    e.printStackTrace();
-                                    callback.onTreatmentError(CallbackGetData.RequestStatus.WEATHER_REQUEST_FAIL);
-                                    callback.onTheEndOfTheRequest(null, null, CallbackGetData.RequestStatus.WEATHER_REQUEST_FAIL);
+                                    //  Treated like a malformed response
+                                    weatherDataJoin.onAirQualityError(new ParseError(e));
                                 }
                             },
-                            error -> {
-                                //  no server response (NO INTERNET or SERVER DOWN)
-                                if (error.networkResponse == null) {
-                                    callback.onNoResponseError(CallbackGetData.RequestStatus.WEATHER_REQUEST_FAIL);
-                                    Log.w(TAG, "Weather information request failed - NO RESPONSE");
-                                }
-                                //  Server response
-                                else {
-                                    switch (error.networkResponse.statusCode) {
-                                        case 429:   //  Too many requests
-                                            callback.onTooManyRequestsError(CallbackGetData.RequestStatus.WEATHER_REQUEST_FAIL);
-                                            Log.w(TAG, "Weather information request failed - TOO MANY REQUESTS");
-                                            break;
-                                        case 404:   //  Place not found
-                                            callback.onPlaceNotFoundError(CallbackGetData.RequestStatus.WEATHER_REQUEST_FAIL);
-                                            Log.w(TAG, "Weather information request failed - PLACE NOT FOUND");
-                                            break;
-                                        case 401:   //  Unknown or wrong API key
-                                            callback.onWrongOrUnknownApiKeyError(CallbackGetData.RequestStatus.WEATHER_REQUEST_FAIL);
-                                            Log.w(TAG, "Weather information request failed - API KEY PROBLEM");
-                                            break;
-                                        default:    //  Unknown error
-                                            callback.onUnknownError(CallbackGetData.RequestStatus.WEATHER_REQUEST_FAIL);
-                                            Log.w(TAG, "Weather information request failed - UNKNOWN ERROR");
-                                            error.printStackTrace();
-                                            break;
-                                    }
-                                }
-                                callback.onTheEndOfTheRequest(null, null, CallbackGetData.RequestStatus.WEATHER_REQUEST_FAIL);
-                            });
+                            weatherDataJoin::onAirQualityError);
 
-            queue.add(weatherRequest);
+            weatherDataJoin.airQualityRequest = airQualityRequest;
+            weatherRequest.setTag(requestTag);
+            airQualityRequest.setTag(requestTag);
+            if (weatherIsRequested) queue.add(weatherRequest);
+            if (airQualityIsRequested) queue.add(airQualityRequest);
         }
 
         //  The device isn't connected to an INTERNET capable network
@@ -273,73 +243,188 @@ public class WeatherService {
     }
 
 
-    @WorkerThread
-    public void getAirQualityDataOWM(Place place, DataPlaces dataPlaces, CallbackGetData callback) {
+    /**
+     * getOneCallExclusions(@NonNull EnumSet<DataTier> dataTiers)
+     * <p>
+     * Used to get the exclude parameter of the One Call url for the tiers that are not asked
+     * </p>
+     *
+     * @param dataTiers Data tiers to refresh
+     * @return The exclude parameter or an empty String if all One Call parts are asked
+     */
+    private static String getOneCallExclusions(@NonNull EnumSet<DataTier> dataTiers) {
+        StringBuilder exclusions = new StringBuilder();
+
+        for (DataTier dataTier : DataTier.ONE_CALL_TIERS) {
+            if (!dataTiers.contains(dataTier)) {
+                exclusions.append(exclusions.length() == 0 ? "&exclude=" : ",").append(dataTier.oneCallPart);
+                //  Alerts come with current weather
+                if (dataTier == DataTier.CURRENT) exclusions.append(",alerts");
+            }
+        }
+        return exclusions.toString();
+    }
 
-        //  Setting up important variables and objects for weather data request
-        String url = String.format(context.getString(R.string.url_owm_airqualitydata), place.getLatitude(), place.getLongitude(), apiKey);
 
-        //  Before launching request, we must have to verify that if the device is connected to a network
-        //  The device is connected to an INTERNET capable network
-        if (this.deviceIsConnected()) {
-            JsonObjectRequest airQualityRequest = new JsonObjectRequest
-                    (Request.Method.GET, url, null,
-                            response -> {
-                                try {
-                                    //  Air quality
-                                    //________________________________________________________________
-                                    //
-                                    AirQuality airQuality = new AirQuality();
-                                    airQuality.fillWithOWMData(response);
-                                    place.setAirQuality(airQuality);
+    /**
+     * dispatchRequestError(@NonNull VolleyError error, @NonNull CallbackGetData callback, @NonNull CallbackGetData.RequestStatus requestStatus)
+     * <p>
+     * Call the error method of the callback that matches a failed weather or air quality request
+     * </p>
+     *
+     * @param error         Error given by Volley
+     * @param callback      Callback of the request
+     * @param requestStatus WEATHER_REQUEST_FAIL or AIR_QUALITY_REQUEST_FAIL
+     */
+    private static void dispatchRequestError(@NonNull VolleyError error, @NonNull CallbackGetData callback, @NonNull CallbackGetData.RequestStatus requestStatus) {
+        String requestName = requestStatus == CallbackGetData.RequestStatus.WEATHER_REQUEST_FAIL ? "Weather" : "Air quality";
+
+        //  The response couldn't be decoded
+        if (error instanceof ParseError) {
+            Log.w(TAG, requestName + " information treatment failed due to a malformed response");
+            error.printStackTrace();
+            callback.onTreatmentError(requestStatus);
+        }
+        //  no server response (NO INTERNET or SERVER DOWN)
+        else if (error.networkResponse == null) {
+            callback.onNoResponseError(requestStatus);
+            Log.w(TAG, requestName + " information request failed - NO RESPONSE");
+        }
+        //  Server response
+        else {
+            switch (error.networkResponse.statusCode) {
+                case 429:   //  Too many requests
+                    callback.onTooManyRequestsError(requestStatus);
+                    Log.w(TAG, requestName + " information request failed - TOO MANY REQUESTS");
+                    break;
+                case 404:   //  Place not found
+                    callback.onPlaceNotFoundError(requestStatus);
+                    Log.w(TAG, requestName + " information request failed - PLACE NOT FOUND");
+                    break;
+                case 401:   //  Unknown or wrong API key
+                    callback.onWrongOrUnknownApiKeyError(requestStatus);
+                    Log.w(TAG, requestName + " information request failed - API KEY PROBLEM");
+                    break;
+                default:    //  Unknown error
+                    callback.onUnknownError(requestStatus);
+                    Log.w(TAG, requestName + " information request failed - UNKNOWN ERROR");
+                    error.printStackTrace();
+                    break;
+            }
+        }
+    }
 
-                                    Log.d(TAG, "Air quality information treatment completed");
-                                    callback.onTheEndOfTheRequest(place, dataPlaces, CallbackGetData.RequestStatus.COMPLETE);
-                                } catch (JSONException e) {
-                                    Log.w(TAG, "Air quality information treatment failed due to a JSONException");
-                                    e.printStackTrace();
-                                    callback.onTreatmentError(CallbackGetData.RequestStatus.AIR_QUALITY_REQUEST_FAIL);
-                                    callback.onTheEndOfTheRequest(place, dataPlaces, CallbackGetData.RequestStatus.AIR_QUALITY_REQUEST_FAIL);
-                                }
-                            },
-                            error -> {
-                                //  no server response (NO INTERNET or SERVER DOWN)
-                                if (error.networkResponse == null) {
-                                    callback.onNoResponseError(CallbackGetData.RequestStatus.AIR_QUALITY_REQUEST_FAIL);
-                                    Log.w(TAG, "Air quality information request failed - NO RESPONSE");
-                                }
-                                //  Server response
-                                else {
-                                    switch (error.networkResponse.statusCode) {
-                                        case 429:   //  Too many requests
-                                            callback.onTooManyRequestsError(CallbackGetData.RequestStatus.AIR_QUALITY_REQUEST_FAIL);
-                                            Log.w(TAG, "Air quality information request failed - TOO MANY REQUESTS");
-                                            break;
-                                        case 404:   //  Place not found
-                                            callback.onPlaceNotFoundError(CallbackGetData.RequestStatus.AIR_QUALITY_REQUEST_FAIL);
-                                            Log.w(TAG, "Air quality information request failed - PLACE NOT FOUND");
-                                            break;
-                                        case 401:   //  Unknown or wrong API key
-                                            callback.onWrongOrUnknownApiKeyError(CallbackGetData.RequestStatus.AIR_QUALITY_REQUEST_FAIL);
-                                            Log.w(TAG, "Air quality information request failed - API KEY PROBLEM");
-                                            break;
-                                        default:    //  Unknown error
-                                            callback.onUnknownError(CallbackGetData.RequestStatus.AIR_QUALITY_REQUEST_FAIL);
-                                            Log.w(TAG, "Air quality information request failed - UNKNOWN ERROR");
-                                            error.printStackTrace();
-                                            break;
-                                    }
-                                }
-                                callback.onTheEndOfTheRequest(place, dataPlaces, CallbackGetData.RequestStatus.AIR_QUALITY_REQUEST_FAIL);
-                            });
 
-            queue.add(airQualityRequest);
+    /**
+     * WeatherDataJoin
+     * <p>
+     * Wait for the weather and the air quality requests of a place<br>
+     * The request ends with the first response of both, which can be a cached one<br>
+     * When a cached response was soft-expired, Volley delivers its refresh later: the place is updated
+     * and onBackgroundRefreshEnd is called, errors of these refreshes are ignored
+     * </p>
+     */
+    private static class WeatherDataJoin {
+
+        private final Place place;
+        private final DataPlaces dataPlaces;
+        private final CallbackGetData callback;
+
+        //  One Call tiers asked in the weather request
+        private final EnumSet<DataTier> oneCallTiers;
+
+        private CachedJsonObjectRequest airQualityRequest;
+
+        private boolean weatherSucceeded;
+        private long weatherResponseTime;
+        private boolean airQualityEnded;
+        private long airQualityResponseTime;
+        private AirQuality airQuality;
+        private VolleyError airQualityError;
+        private boolean ended;
+
+        WeatherDataJoin(Place place, DataPlaces dataPlaces, CallbackGetData callback, EnumSet<DataTier> dataTiers) {
+            this.place = place;
+            this.dataPlaces = dataPlaces;
+            this.callback = callback;
+            this.oneCallTiers = EnumSet.copyOf(dataTiers);
+            this.oneCallTiers.retainAll(DataTier.ONE_CALL_TIERS);
+
+            //  A request that is not sent is already ended
+            this.weatherSucceeded = oneCallTiers.isEmpty();
+            this.airQualityEnded = !dataTiers.contains(DataTier.AIR_QUALITY);
         }
 
-        //  The device isn't connected to an INTERNET capable network
-        else {
-            Log.w(TAG, "Air quality information request failed from OWM");
-            callback.onDeviceNotConnected(CallbackGetData.RequestStatus.AIR_QUALITY_REQUEST_FAIL);
+        void onWeatherSuccess(long responseTime) {
+            //  Refresh of a cached response, the place is already updated by the listener
+            if (ended) {
+                callback.onTiersFetched(oneCallTiers, responseTime);
+                callback.onBackgroundRefreshEnd(place, dataPlaces);
+                return;
+            }
+
+            weatherSucceeded = true;
+            weatherResponseTime = responseTime;
+            endIfComplete();
+        }
+
+        void onWeatherError(VolleyError error) {
+            if (ended) {
+                Log.w(TAG, "Weather information background refresh failed");
+                return;
+            }
+            ended = true;
+
+            //  Air quality alone is useless
+            if (airQualityRequest != null) airQualityRequest.cancel();
+
+            dispatchRequestError(error, callback, CallbackGetData.RequestStatus.WEATHER_REQUEST_FAIL);
+            callback.onTheEndOfTheRequest(null, null, CallbackGetData.RequestStatus.WEATHER_REQUEST_FAIL);
+        }
+
+        void onAirQualitySuccess(AirQuality airQuality) {
+            long responseTime = airQualityRequest.getResponseTime();
+
+            //  Refresh of a cached response
+            if (ended) {
+                place.setAirQuality(airQuality);
+                callback.onTiersFetched(EnumSet.of(DataTier.AIR_QUALITY), responseTime);
+                callback.onBackgroundRefreshEnd(place, dataPlaces);
+                return;
+            }
+
+            this.airQuality = airQuality;
+            this.airQualityResponseTime = responseTime;
+            this.airQualityEnded = true;
+            endIfComplete();
+        }
+
+        void onAirQualityError(VolleyError error) {
+            if (ended) {
+                Log.w(TAG, "Air quality information background refresh failed");
+                return;
+            }
+
+            this.airQualityError = error;
+            this.airQualityEnded = true;
+            endIfComplete();
+        }
+
+        private void endIfComplete() {
+            if (ended || !weatherSucceeded || !airQualityEnded) return;
+            ended = true;
+
+            if (!oneCallTiers.isEmpty()) callback.onTiersFetched(oneCallTiers, weatherResponseTime);
+            if (airQualityError == null) {
+                if (airQuality != null) {
+                    place.setAirQuality(airQuality);
+                    callback.onTiersFetched(EnumSet.of(DataTier.AIR_QUALITY), airQualityResponseTime);
+                }
+                callback.onTheEndOfTheRequest(place, dataPlaces, CallbackGetData.RequestStatus.COMPLETE);
+            } else {
+                dispatchRequestError(airQualityError, callback, CallbackGetData.RequestStatus.AIR_QUALITY_REQUEST_FAIL);
+                callback.onTheEndOfTheRequest(place, dataPlaces, CallbackGetData.RequestStatus.AIR_QUALITY_REQUEST_FAIL);
+            }
         }
     }
 
@@ -360,7 +445,31 @@ public class WeatherService {
     }
 
     public void cancel() {
-        queue.cancelAll(WEATHER_SERVICE_TAG);
+        queue.cancelAll(requestTag);
+    }
+
+    /**
+     * DataTier
+     * <p>
+     * Parts of the place data that can be refreshed separately
+     * </p>
+     */
+    public enum DataTier {
+        CURRENT("current"),
+        MINUTELY("minutely"),
+        HOURLY("hourly"),
+        DAILY("daily"),
+        AIR_QUALITY(null);
+
+        //  Tiers coming from the One Call request
+        static final EnumSet<DataTier> ONE_CALL_TIERS = EnumSet.of(CURRENT, MINUTELY, HOURLY, DAILY);
+
+        //  Name of the part in the One Call response
+        final String oneCallPart;
+
+        DataTier(String oneCallPart) {
+            this.oneCallPart = oneCallPart;
+        }
     }
 
     public interface CallbackGetData {
@@ -380,6 +489,14 @@ public class WeatherService {
 
         void onTheEndOfTheRequest(Place place, DataPlaces dataPlaces, RequestStatus requestStatus);
 
+        //	Called before onTheEndOfTheRequest and onBackgroundRefreshEnd for the tiers given to the place, with the time OWM sent
+        //	them which is older than now when the response comes from the cache
+        default void onTiersFetched(EnumSet<DataTier> dataTiers, long fetchTime) {
+        }
+
+        //	Called after onTheEndOfTheRequest when a cached response delivered first has been refreshed
+        void onBackgroundRefreshEnd(Place place, DataPlaces dataPlaces);
+
         //	To know at which state the request terminated and to treat it differently
         enum RequestStatus {
             WEATHER_REQUEST_FAIL,
@@ -0,0 +1,104 @@
+package fr.qgdev.openweather.adapter;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Objects;
+
+import fr.qgdev.openweather.Place;
+import fr.qgdev.openweather.weather.AirQuality;
+import fr.qgdev.openweather.weather.CurrentWeather;
+import fr.qgdev.openweather.weather.DailyForecastColumns;
+import fr.qgdev.openweather.weather.HourlyForecastColumns;
+import fr.qgdev.openweather.weather.WeatherAlert;
+
+/**
+ * PlaceCardState
+ * <p>
+ * What a place card shows, section by section, when it is bound<br>
+ * Comparing the state of the card with the state of the updated place gives the sections to bind again,
+ * they are given to the adapter as a payload of notifyItemChanged
+ * </p>
+ *
+ * @author Quentin GOMES DOS REIS
+ * @version 1
+ * @see PlaceRecyclerViewAdapter
+ */
+final class PlaceCardState {
+
+	//  Sections of a place card
+	static final int CURRENT_WEATHER = 1;
+	static final int AIR_QUALITY = 1 << 1;
+	static final int WEATHER_ALERTS = 1 << 2;
+	static final int HOURLY_FORECAST = 1 << 3;
+	static final int DAILY_FORECAST = 1 << 4;
+	static final int ALL_SECTIONS = CURRENT_WEATHER | AIR_QUALITY | WEATHER_ALERTS | HOURLY_FORECAST | DAILY_FORECAST;
+
+	private final String city;
+	private final String countryCode;
+	private final int timeZoneOffset;
+	private final CurrentWeather currentWeather;
+	private final AirQuality airQuality;
+	private final ArrayList<WeatherAlert> weatherAlerts;
+	//  Columns are replaced, never modified, when forecasts of a place are updated
+	private final HourlyForecastColumns hourlyForecastColumns;
+	private final DailyForecastColumns dailyForecastColumns;
+
+
+	/**
+	 * PlaceCardState Constructor
+	 * <p>
+	 * Copy what a card shows of the place
+	 * </p>
+	 *
+	 * @param place The place
+	 */
+	PlaceCardState(@NonNull Place place) {
+		this.city = place.getCity();
+		this.countryCode = place.getCountryCode();
+		this.timeZoneOffset = place.getTimeZoneOffset();
+		this.currentWeather = place.getCurrentWeather();
+		this.airQuality = place.getAirQuality();
+		this.weatherAlerts = place.getWeatherAlertsArrayList();
+		this.hourlyForecastColumns = place.getHourlyForecastColumns();
+		this.dailyForecastColumns = place.getDailyForecastColumns();
+	}
+
+
+	/**
+	 * getChangedSections(@Nullable PlaceCardState previous, @NonNull PlaceCardState current)
+	 * <p>
+	 * Used to know which sections of a card must be bound again
+	 * </p>
+	 *
+	 * @param previous What the card shows, null if it is unknown
+	 * @param current  What the card must show
+	 * @return The changed sections, ALL_SECTIONS if previous is null, 0 if nothing changed
+	 */
+	static int getChangedSections(@Nullable PlaceCardState previous, @NonNull PlaceCardState current) {
+		if (previous == null
+				|| !Objects.equals(previous.city, current.city)
+				|| !Objects.equals(previous.countryCode, current.countryCode)) return ALL_SECTIONS;
+
+		int changedSections = 0;
+
+		//  Sunrise, sunset and dates of the forecasts are shown in the time zone of the place
+		if (previous.timeZoneOffset != current.timeZoneOffset)
+			changedSections |= CURRENT_WEATHER | HOURLY_FORECAST | DAILY_FORECAST;
+
+		if (!previous.currentWeather.equals(current.currentWeather))
+			changedSections |= CURRENT_WEATHER;
+		if (!previous.airQuality.equals(current.airQuality))
+			changedSections |= AIR_QUALITY;
+		if (!previous.weatherAlerts.equals(current.weatherAlerts))
+			changedSections |= WEATHER_ALERTS;
+		if (previous.hourlyForecastColumns != current.hourlyForecastColumns)
+			changedSections |= HOURLY_FORECAST;
+		//  Day times of the hourly forecasts come from the daily forecasts
+		if (previous.dailyForecastColumns != current.dailyForecastColumns)
+			changedSections |= HOURLY_FORECAST | DAILY_FORECAST;
+
+		return changedSections;
+	}
+}
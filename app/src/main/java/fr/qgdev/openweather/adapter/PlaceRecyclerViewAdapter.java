@@ -26,7 +26,10 @@ import fr.qgdev.openweather.FormattingService;
 import fr.qgdev.openweather.Place;
 import fr.qgdev.openweather.R;
 import fr.qgdev.openweather.customView.DailyForecastGraphView;
+import fr.qgdev.openweather.customView.DailyGraphGeometry;
+import fr.qgdev.openweather.customView.ForecastGraphRenderer;
 import fr.qgdev.openweather.customView.HourlyForecastGraphView;
+import fr.qgdev.openweather.customView.HourlyGraphGeometry;
 import fr.qgdev.openweather.dialog.WeatherAlertDialog;
 import fr.qgdev.openweather.fragment.places.PlacesFragment;
 import fr.qgdev.openweather.weather.AirQuality;
@@ -51,6 +54,7 @@ public class PlaceRecyclerViewAdapter extends RecyclerView.Adapter<PlaceRecycler
 	private final List<String> countryCodes;
 	private static ArrayList<PlaceView> placeViewArrayList;
 	private final FormattingService formattingService;
+	private final ForecastGraphRenderer forecastGraphRenderer;
 
 	/**
 	 * PlaceRecyclerViewAdapter Constructor
@@ -71,6 +75,12 @@ public class PlaceRecyclerViewAdapter extends RecyclerView.Adapter<PlaceRecycler
 		this.countryCodes = Arrays.asList(context.getResources().getStringArray(R.array.countries_codes));
 
 		formattingService = new FormattingService(context);
+
+		//  Graphs of the stored places are prepared before they are first shown
+		forecastGraphRenderer = new ForecastGraphRenderer(context, formattingService, this::onGraphsRendered);
+		for (int index = 0; index < placesFragment.getPlaceArrayListSize(); index++) {
+			forecastGraphRenderer.render(placesFragment.getPlace(index));
+		}
 	}
 
 	/**
@@ -82,10 +92,40 @@ public class PlaceRecyclerViewAdapter extends RecyclerView.Adapter<PlaceRecycler
 	 * @param position Position of the new place
 	 */
 	public void add(int position) {
-		placeViewArrayList.add(new PlaceView(PlaceView.COMPACT));
+		placeViewArrayList.add(position, new PlaceView(PlaceView.COMPACT));
+		forecastGraphRenderer.render(placesFragment.getPlace(position));
 		this.notifyItemInserted(position);
 	}
 
+	/**
+	 * update(int position)
+	 * <p>
+	 *     Need to be called when data of a place is updated.
+	 *     Only the sections of the card whose data changed are bound again.
+	 * </p>
+	 *
+	 * @param position Position of the updated place
+	 */
+	public void update(int position) {
+		Place place = placesFragment.getPlace(position);
+		PlaceView placeView = placeViewArrayList.get(position);
+		PlaceCardState state = new PlaceCardState(place);
+		int changedSections = PlaceCardState.getChangedSections(placeView.boundState, state);
+
+		if ((changedSections & (PlaceCardState.HOURLY_FORECAST | PlaceCardState.DAILY_FORECAST)) != 0)
+			forecastGraphRenderer.render(place);
+
+		//  The card was never bound, it will be fully bound when shown
+		if (placeView.boundState == null) {
+			this.notifyItemChanged(position);
+		}
+		//  Only changed sections are bound again, the card is the same if nothing changed
+		else if (changedSections != 0) {
+			placeView.boundState = state;
+			this.notifyItemChanged(position, changedSections);
+		}
+	}
+
 	/**
 	 * remove(int position)
 	 * <p>
@@ -95,9 +135,24 @@ public class PlaceRecyclerViewAdapter extends RecyclerView.Adapter<PlaceRecycler
 	 * @param position Position of the deleted place
 	 */
 	public void remove(int position) {
+		placeViewArrayList.remove(position);
 		this.notifyItemRemoved(position);
 	}
 
+	/**
+	 * reload()
+	 * <p>
+	 *     Need to be called when the whole place list is replaced, like when it is loaded.
+	 * </p>
+	 */
+	public void reload() {
+		placeViewArrayList = generatePlaceViewArray();
+		for (int index = 0; index < placesFragment.getPlaceArrayListSize(); index++) {
+			forecastGraphRenderer.render(placesFragment.getPlace(index));
+		}
+		this.notifyDataSetChanged();
+	}
+
 	/**
 	 * move(int initialPosition, int finalPosition)
 	 * <p>
@@ -118,6 +173,8 @@ public class PlaceRecyclerViewAdapter extends RecyclerView.Adapter<PlaceRecycler
 
 			if (initialPosition < finalPosition) placeViewArrayList.remove(initialPosition);
 			else placeViewArrayList.remove(initialPosition + 1);
+
+			this.notifyItemMoved(initialPosition, finalPosition);
 		}
 	}
 
@@ -219,6 +276,56 @@ public class PlaceRecyclerViewAdapter extends RecyclerView.Adapter<PlaceRecycler
 		});
 	}
 
+	/**
+	 * onGraphsRendered(Place place)
+	 * <p>
+	 * Called when the graphs of a place are prepared, graphs of the place are bound again if they are shown
+	 * </p>
+	 *
+	 * @param place The place whose graphs are ready
+	 */
+	private void onGraphsRendered(Place place) {
+		for (int index = 0; index < placesFragment.getPlaceArrayListSize(); index++) {
+			if (placesFragment.getPlace(index) == place) {
+				if (placeViewArrayList.get(index).viewType >= PlaceView.EXTENDED_HOURLY)
+					this.notifyItemChanged(index, PlaceCardState.HOURLY_FORECAST | PlaceCardState.DAILY_FORECAST);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * bindForecastGraphs(PlaceViewHolder holder, Place currentPlace, byte placeViewType)
+	 * <p>
+	 * Will attach the graphs prepared in background to the graph views<br>
+	 * Graphs shown before they are ready are prepared right away, hidden ones will be attached once ready<br>
+	 * Forecasts of a place read from the place index are loaded first, the card is bound again once they are
+	 * </p>
+	 *
+	 * @param holder        The place viewHolder
+	 * @param currentPlace  The place
+	 * @param placeViewType View type of the place card
+	 */
+	private void bindForecastGraphs(PlaceViewHolder holder, Place currentPlace, byte placeViewType) {
+		if (!currentPlace.areForecastsLoaded()) {
+			if (placeViewType != PlaceView.COMPACT) placesFragment.loadForecasts(currentPlace);
+			return;
+		}
+
+		HourlyGraphGeometry hourlyGraph = forecastGraphRenderer.getHourlyGraph(currentPlace);
+		DailyGraphGeometry dailyGraph = forecastGraphRenderer.getDailyGraph(currentPlace);
+
+		if (hourlyGraph != null) holder.hourlyForecastGraphView.attach(hourlyGraph);
+		else if (placeViewType == PlaceView.EXTENDED_HOURLY || placeViewType == PlaceView.EXTENDED_FULLY)
+			holder.hourlyForecastGraphView.initialization(currentPlace.getHourlyForecastColumns(), currentPlace.getDailyForecastColumns(), formattingService, currentPlace.getTimeZone());
+
+		if (dailyGraph != null) holder.dailyForecastGraphView.attach(dailyGraph);
+		else if (placeViewType == PlaceView.EXTENDED_DAILY || placeViewType == PlaceView.EXTENDED_FULLY)
+			holder.dailyForecastGraphView.initialization(currentPlace.getDailyForecastColumns(), currentPlace.getTimeZone(), formattingService);
+
+		forecastGraphRenderer.render(currentPlace);
+	}
+
 	/**
 	 * getCountryName(String countryCode)
 	 * <p>
@@ -269,8 +376,9 @@ public class PlaceRecyclerViewAdapter extends RecyclerView.Adapter<PlaceRecycler
 	public void onBindViewHolder(@NonNull PlaceViewHolder holder, final int position) {
 
 		Place currentPlace = placesFragment.getPlace(position);
+		PlaceView placeView = placeViewArrayList.get(position);
 
-		switch (placeViewArrayList.get(position).viewType) {
+		switch (placeView.viewType) {
 			case PlaceView.COMPACT:
 			default: {
 				//  Compact view
@@ -293,12 +401,6 @@ public class PlaceRecyclerViewAdapter extends RecyclerView.Adapter<PlaceRecycler
 				holder.dailyForecastLayout.setVisibility(View.GONE);
 				holder.lastUpdateAvailableLayout.setVisibility(View.GONE);
 
-				if (currentPlace.getMWeatherAlertCount() > 0) {
-					holder.weatherAlertIcon.setVisibility(View.VISIBLE);
-				} else {
-					holder.weatherAlertIcon.setVisibility(View.GONE);
-				}
-
 				break;
 			}
 			//  Extended view
@@ -322,11 +424,6 @@ public class PlaceRecyclerViewAdapter extends RecyclerView.Adapter<PlaceRecycler
 				holder.dailyForecastLayout.setVisibility(View.GONE);
 
 				holder.lastUpdateAvailableLayout.setVisibility(View.VISIBLE);
-				if (currentPlace.getMWeatherAlertCount() > 0) {
-					holder.weatherAlertLayout.setVisibility(View.VISIBLE);
-				} else {
-					holder.weatherAlertLayout.setVisibility(View.GONE);
-				}
 				break;
 			}
 
@@ -349,12 +446,6 @@ public class PlaceRecyclerViewAdapter extends RecyclerView.Adapter<PlaceRecycler
 				holder.hourlyForecastLayout.setVisibility(View.VISIBLE);
 				holder.dailyForecastExpandIcon.setRotation(0);
 				holder.lastUpdateAvailableLayout.setVisibility(View.VISIBLE);
-
-				if (currentPlace.getMWeatherAlertCount() > 0) {
-					holder.weatherAlertLayout.setVisibility(View.VISIBLE);
-				} else {
-					holder.weatherAlertLayout.setVisibility(View.GONE);
-				}
 				break;
 			}
 
@@ -378,12 +469,6 @@ public class PlaceRecyclerViewAdapter extends RecyclerView.Adapter<PlaceRecycler
 				holder.dailyForecastExpandIcon.setRotation(180);
 				holder.dailyForecastLayout.setVisibility(View.VISIBLE);
 				holder.lastUpdateAvailableLayout.setVisibility(View.VISIBLE);
-
-				if (currentPlace.getMWeatherAlertCount() > 0) {
-					holder.weatherAlertLayout.setVisibility(View.VISIBLE);
-				} else {
-					holder.weatherAlertLayout.setVisibility(View.GONE);
-				}
 				break;
 			}
 			//  Fully extended view
@@ -406,12 +491,6 @@ public class PlaceRecyclerViewAdapter extends RecyclerView.Adapter<PlaceRecycler
 				holder.dailyForecastExpandIcon.setRotation(180);
 				holder.dailyForecastLayout.setVisibility(View.VISIBLE);
 				holder.lastUpdateAvailableLayout.setVisibility(View.VISIBLE);
-
-				if (currentPlace.getMWeatherAlertCount() > 0) {
-					holder.weatherAlertLayout.setVisibility(View.VISIBLE);
-				} else {
-					holder.weatherAlertLayout.setVisibility(View.GONE);
-				}
 				break;
 			}
 		}
@@ -421,8 +500,66 @@ public class PlaceRecyclerViewAdapter extends RecyclerView.Adapter<PlaceRecycler
 		holder.cityNameTextView.setText(currentPlace.getCity());
 		holder.countryNameTextVIew.setText(this.getCountryName(currentPlace.getCountryCode()));
 
+		bindCurrentWeather(holder, currentPlace);
+		bindAirQuality(holder, currentPlace.getAirQuality());
+		bindWeatherAlerts(holder, currentPlace, placeView.viewType);
+		bindForecastGraphs(holder, currentPlace, placeView.viewType);
+
+		placeView.boundState = new PlaceCardState(currentPlace);
+	}
+
+
+	/**
+	 * onBindViewHolder(@NonNull PlaceViewHolder holder, int position, @NonNull List<Object> payloads)
+	 * <p>
+	 * Will only fill the sections of the PlaceViewHolder given by payloads, the whole holder is filled if there are none
+	 * </p>
+	 *
+	 * @param holder   PlaceViewHolder which will be filled with place data
+	 * @param position Place position in placeViewArrayList
+	 * @param payloads Sections of the place that changed, given by update
+	 * @see RecyclerView.Adapter<>
+	 */
+	@Override
+	public void onBindViewHolder(@NonNull PlaceViewHolder holder, int position, @NonNull List<Object> payloads) {
+		if (payloads.isEmpty()) {
+			onBindViewHolder(holder, position);
+			return;
+		}
+
+		Place currentPlace = placesFragment.getPlace(position);
+		byte placeViewType = placeViewArrayList.get(position).viewType;
+		int changedSections = 0;
+
+		for (Object payload : payloads) {
+			changedSections |= (Integer) payload;
+		}
+
+		//  The place may be a new object, listeners must use it
+		setListeners(currentPlace, holder);
+
+		if ((changedSections & PlaceCardState.CURRENT_WEATHER) != 0)
+			bindCurrentWeather(holder, currentPlace);
+		if ((changedSections & PlaceCardState.AIR_QUALITY) != 0)
+			bindAirQuality(holder, currentPlace.getAirQuality());
+		if ((changedSections & PlaceCardState.WEATHER_ALERTS) != 0)
+			bindWeatherAlerts(holder, currentPlace, placeViewType);
+		if ((changedSections & (PlaceCardState.HOURLY_FORECAST | PlaceCardState.DAILY_FORECAST)) != 0)
+			bindForecastGraphs(holder, currentPlace, placeViewType);
+	}
+
+
+	/**
+	 * bindCurrentWeather(PlaceViewHolder holder, Place currentPlace)
+	 * <p>
+	 * Will fill the current weather section of the PlaceViewHolder
+	 * </p>
+	 *
+	 * @param holder       The place viewHolder
+	 * @param currentPlace The place
+	 */
+	private void bindCurrentWeather(PlaceViewHolder holder, Place currentPlace) {
 		CurrentWeather currentWeather = currentPlace.getCurrentWeather();
-		AirQuality airQuality = currentPlace.getAirQuality();
 
 		holder.temperatureTextView.setText(formattingService.getFloatFormattedTemperature(currentWeather.temperature, true));
 		holder.temperatureFeelsLikeTextView.setText(formattingService.getFloatFormattedTemperature(currentWeather.temperatureFeelsLike, true));
@@ -593,7 +730,43 @@ public class PlaceRecyclerViewAdapter extends RecyclerView.Adapter<PlaceRecycler
 
 		holder.cloudinessTextView.setText(String.format("%d%%", currentWeather.cloudiness));
 
-		//	Air quality
+
+		//  Precipitations
+		//  If There is no rain or snow, so there is nothing to show about precipitations
+		if (currentWeather.rain > 0 || currentWeather.snow > 0) {
+			holder.precipitationLayout.setVisibility(View.VISIBLE);
+
+			holder.rainTextView.setText(formattingService.getFloatFormattedShortDistance(currentWeather.rain, true));
+			holder.snowTextView.setText(formattingService.getFloatFormattedShortDistance(currentWeather.snow, true));
+
+			//  If There is no rain, so there is nothing to show about rain
+			if (currentWeather.rain > 0)
+				holder.precipitationLayout.findViewById(R.id.rain_precipitations).setVisibility(View.VISIBLE);
+			else
+				holder.precipitationLayout.findViewById(R.id.rain_precipitations).setVisibility(View.GONE);
+			//  If There is no snow, so there is nothing to show about snow
+			if (currentWeather.snow > 0)
+				holder.precipitationLayout.findViewById(R.id.snow_precipitations).setVisibility(View.VISIBLE);
+			else
+				holder.precipitationLayout.findViewById(R.id.snow_precipitations).setVisibility(View.GONE);
+		} else {
+			holder.precipitationLayout.setVisibility(View.GONE);
+		}
+
+		holder.lastUpdateAvailableTextView.setText(String.format("%s %s", formattingService.getFormattedFullTimeHour(new Date(currentWeather.dt), currentPlace.getTimeZone()), currentPlace.getTimeZoneStringForm()));
+	}
+
+
+	/**
+	 * bindAirQuality(PlaceViewHolder holder, AirQuality airQuality)
+	 * <p>
+	 * Will fill the air quality section of the PlaceViewHolder
+	 * </p>
+	 *
+	 * @param holder     The place viewHolder
+	 * @param airQuality Air quality of the place
+	 */
+	private void bindAirQuality(PlaceViewHolder holder, AirQuality airQuality) {
 		holder.airQualityIndex.setText(String.valueOf(airQuality.aqi));
 
 		switch (airQuality.aqi) {
@@ -633,34 +806,45 @@ public class PlaceRecyclerViewAdapter extends RecyclerView.Adapter<PlaceRecycler
 		holder.airQualityNH3.setText(String.format("%.3f", airQuality.nh3));
 		holder.airQualityPM25.setText(String.format("%.3f", airQuality.pm2_5));
 		holder.airQualityPM10.setText(String.format("%.3f", airQuality.pm10));
+	}
 
 
-		//  Precipitations
-		//  If There is no rain or snow, so there is nothing to show about precipitations
-		if (currentWeather.rain > 0 || currentWeather.snow > 0) {
-			holder.precipitationLayout.setVisibility(View.VISIBLE);
-
-			holder.rainTextView.setText(formattingService.getFloatFormattedShortDistance(currentWeather.rain, true));
-			holder.snowTextView.setText(formattingService.getFloatFormattedShortDistance(currentWeather.snow, true));
-
-			//  If There is no rain, so there is nothing to show about rain
-			if (currentWeather.rain > 0)
-				holder.precipitationLayout.findViewById(R.id.rain_precipitations).setVisibility(View.VISIBLE);
-			else
-				holder.precipitationLayout.findViewById(R.id.rain_precipitations).setVisibility(View.GONE);
-			//  If There is no snow, so there is nothing to show about snow
-			if (currentWeather.snow > 0)
-				holder.precipitationLayout.findViewById(R.id.snow_precipitations).setVisibility(View.VISIBLE);
-			else
-				holder.precipitationLayout.findViewById(R.id.snow_precipitations).setVisibility(View.GONE);
+	/**
+	 * bindWeatherAlerts(PlaceViewHolder holder, Place currentPlace, byte placeViewType)
+	 * <p>
+	 * Will show weather alerts of the place, as an icon on a compact card or as a tab on an extended one
+	 * </p>
+	 *
+	 * @param holder        The place viewHolder
+	 * @param currentPlace  The place
+	 * @param placeViewType View type of the place card
+	 */
+	private void bindWeatherAlerts(PlaceViewHolder holder, Place currentPlace, byte placeViewType) {
+		if (placeViewType == PlaceView.COMPACT) {
+			if (currentPlace.getMWeatherAlertCount() > 0) {
+				holder.weatherAlertIcon.setVisibility(View.VISIBLE);
+			} else {
+				holder.weatherAlertIcon.setVisibility(View.GONE);
+			}
 		} else {
-			holder.precipitationLayout.setVisibility(View.GONE);
+			if (currentPlace.getMWeatherAlertCount() > 0) {
+				holder.weatherAlertLayout.setVisibility(View.VISIBLE);
+			} else {
+				holder.weatherAlertLayout.setVisibility(View.GONE);
+			}
 		}
+	}
 
-		holder.hourlyForecastGraphView.initialization(currentPlace.getHourlyWeatherForecastArrayList(), currentPlace.getDailyWeatherForecastArrayList(), formattingService, currentPlace.getTimeZone());
-		holder.dailyForecastGraphView.initialization(currentPlace.getDailyWeatherForecastArrayList(), currentPlace.getTimeZone(), formattingService);
 
-		holder.lastUpdateAvailableTextView.setText(String.format("%s %s", formattingService.getFormattedFullTimeHour(new Date(currentWeather.dt), currentPlace.getTimeZone()), currentPlace.getTimeZoneStringForm()));
+	/**
+	 * release()
+	 * <p>
+	 * Need to be called when the view of the fragment is destroyed, graphs are not prepared in background anymore<br>
+	 * The adapter must not be used after, a RecyclerView can be detached and attached again without calling it
+	 * </p>
+	 */
+	public void release() {
+		forecastGraphRenderer.release();
 	}
 
 
@@ -705,6 +889,8 @@ public class PlaceRecyclerViewAdapter extends RecyclerView.Adapter<PlaceRecycler
 		public static final byte EXTENDED_DAILY = 3;
 		public static final byte EXTENDED_FULLY = 4;
 		public byte viewType;
+		//  What the card of the place shows, null until it is bound
+		PlaceCardState boundState;
 
 		/**
 		 * PlaceView(byte viewType)
@@ -8,19 +8,19 @@ import android.graphics.Paint;
 import android.util.AttributeSet;
 import android.view.View;
 
+import androidx.annotation.AnyThread;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.Px;
+import androidx.annotation.UiThread;
 
-import java.lang.reflect.Field;
 import java.math.BigDecimal;
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.TimeZone;
 
 import fr.qgdev.openweather.FormattingService;
 import fr.qgdev.openweather.R;
-import fr.qgdev.openweather.weather.DailyWeatherForecast;
+import fr.qgdev.openweather.weather.DailyForecastColumns;
 
 
 /**
@@ -39,8 +39,7 @@ public class DailyForecastGraphView extends ForecastView {
 	private final int HALF_COLUMN_WIDTH = COLUMN_WIDTH / 2;
 	private final int QUARTER_COLUMN_WIDTH = COLUMN_WIDTH / 4;
 	private final int SIXTH_COLUMN_WIDTH = COLUMN_WIDTH / 6;
-	private ArrayList<DailyWeatherForecast> dailyWeatherForecastArrayList;
-	private FormattingService formattingService;
+	private DailyGraphGeometry geometry;
 
 
 	/**
@@ -181,46 +180,86 @@ public class DailyForecastGraphView extends ForecastView {
 
 
 	/**
-	 * initialization(@NonNull ArrayList<DailyWeatherForecast> dailyWeatherForecastArrayList, TimeZone timeZone, FormattingService unitsFormattingService)
+	 * initialization(@NonNull DailyForecastColumns dailyForecastColumns, TimeZone timeZone, FormattingService unitsFormattingService)
 	 * <p>
-	 * Used to initialize attributes used to draw a view
+	 * Used to initialize attributes used to draw a view<br>
+	 * Prepare the forecasts and attach them right away, used when no prepared forecasts are available
 	 * </p>
 	 *
-	 * @param dailyWeatherForecastArrayList ArrayList of DailyWeatherForecasts
-	 * @param timeZone                      TimeZone of the place
-	 * @param unitsFormattingService        FormattingService of the application to format dates
+	 * @param dailyForecastColumns   Columns of the daily forecasts
+	 * @param timeZone               TimeZone of the place
+	 * @param unitsFormattingService FormattingService of the application to format dates
 	 */
-	public void initialization(@NonNull ArrayList<DailyWeatherForecast> dailyWeatherForecastArrayList, @NonNull TimeZone timeZone, @NonNull FormattingService unitsFormattingService) {
+	@UiThread
+	public void initialization(@NonNull DailyForecastColumns dailyForecastColumns, @NonNull TimeZone timeZone, @NonNull FormattingService unitsFormattingService) {
+		attach(prepare(dailyForecastColumns, timeZone, unitsFormattingService));
+	}
+
 
-		this.width = dailyWeatherForecastArrayList.size() * COLUMN_WIDTH;
-		this.height = dpToPx(750);
+	/**
+	 * prepare(@NonNull DailyForecastColumns dailyForecastColumns, @NonNull TimeZone timeZone, @NonNull FormattingService unitsFormattingService)
+	 * <p>
+	 * Used to compute everything drawn for the daily forecasts, graphs included, without changing what the view currently draws<br>
+	 * Only the paints of the view are read, so it can be called from a background thread on a view that isn't displayed
+	 * </p>
+	 *
+	 * @param dailyForecastColumns   Columns of the daily forecasts
+	 * @param timeZone               TimeZone of the place
+	 * @param unitsFormattingService FormattingService of the application to format dates
+	 * @return The prepared forecasts, ready to be given to attach
+	 */
+	@NonNull
+	@AnyThread
+	public DailyGraphGeometry prepare(@NonNull DailyForecastColumns dailyForecastColumns, @NonNull TimeZone timeZone, @NonNull FormattingService unitsFormattingService) {
+		DailyGraphGeometry geometry = new DailyGraphGeometry(dailyForecastColumns.size(), dailyForecastColumns.size() * COLUMN_WIDTH, dpToPx(750));
 
-		this.dailyWeatherForecastArrayList = dailyWeatherForecastArrayList;
-		this.timeZone = timeZone;
-		this.formattingService = unitsFormattingService;
+		computeGeometry(geometry, dailyForecastColumns, unitsFormattingService, timeZone);
 
 		try {
-			//  Temperatures graph
-			this.temperaturesGraph = generateBitmap2CurvesGraphPath(
-					extractTemperaturesFromDailyWeatherForecastArrayList(dailyWeatherForecastArrayList),
-					extractFeelsLikeTemperaturesFromDailyWeatherForecastArrayList(dailyWeatherForecastArrayList),
-					this.width, dpToPx(50), primaryGraphPaint, secondaryGraphPaint);
+			//  Temperatures graph, columns are already sorted by day moments
+			geometry.temperaturesGraph = generateBitmap2CurvesGraphPath(
+					dailyForecastColumns.temperatures,
+					dailyForecastColumns.temperaturesFeelsLike,
+					geometry.width, dpToPx(50), primaryGraphPaint, secondaryGraphPaint);
 
 			//  Wind speeds graph
-			this.windSpeedsGraph = generateBitmap2CurvesGraphPath(
-					dailyWeatherForecastArrayToSelectedAttributeFloatArray(dailyWeatherForecastArrayList, "windSpeed"),
-					dailyWeatherForecastArrayToSelectedAttributeFloatArray(dailyWeatherForecastArrayList, "windGustSpeed"),
-					this.width, dpToPx(50), primaryGraphPaint, secondaryGraphPaint);
+			geometry.windSpeedsGraph = generateBitmap2CurvesGraphPath(
+					dailyForecastColumns.windSpeed,
+					dailyForecastColumns.windGustSpeed,
+					geometry.width, dpToPx(50), primaryGraphPaint, secondaryGraphPaint);
 
 			//  Precipitations graph
-			this.precipitationsGraph = generateBitmapPrecipitationsGraphPath(
-					dailyWeatherForecastArrayToSelectedAttributeFloatArray(dailyWeatherForecastArrayList, "rain"),
-					dailyWeatherForecastArrayToSelectedAttributeFloatArray(dailyWeatherForecastArrayList, "snow"),
-					dailyWeatherForecastArrayToSelectedAttributeFloatArray(dailyWeatherForecastArrayList, "pop"),
-					this.width, dpToPx(50), tertiaryGraphPaint, primaryGraphPaint, popBarGraphPaint);
+			geometry.precipitationsGraph = generateBitmapPrecipitationsGraphPath(
+					dailyForecastColumns.rain,
+					dailyForecastColumns.snow,
+					dailyForecastColumns.pop,
+					geometry.width, dpToPx(50), tertiaryGraphPaint, primaryGraphPaint, popBarGraphPaint);
 		} catch (Exception e) {
 			e.printStackTrace();
 		}
+		return geometry;
+	}
+
+
+	/**
+	 * attach(@NonNull DailyGraphGeometry geometry)
+	 * <p>
+	 * Used to draw forecasts prepared by prepare, on this view or on another one<br>
+	 * Nothing is computed, the view is only resized if needed and drawn again
+	 * </p>
+	 *
+	 * @param geometry Prepared forecasts
+	 */
+	@UiThread
+	public void attach(@NonNull DailyGraphGeometry geometry) {
+		boolean isResized = this.width != geometry.width || this.height != geometry.height;
+
+		this.geometry = geometry;
+		this.width = geometry.width;
+		this.height = geometry.height;
+
+		if (isResized) requestLayout();
+		invalidate();
 	}
 
 
@@ -274,203 +313,239 @@ public class DailyForecastGraphView extends ForecastView {
 
 
 	/**
-	 * dailyWeatherForecastArrayToSelectedAttributeFloatArray(ArrayList<DailyWeatherForecast> dailyWeatherForecastArrayList, String selectedAttribute) throws NoSuchFieldException, IllegalAccessException
+	 * computeGeometry(@NonNull DailyGraphGeometry geometry, @NonNull DailyForecastColumns dailyForecastColumns, @NonNull FormattingService formattingService, @NonNull TimeZone timeZone)
 	 * <p>
-	 * Used to get an array of selected attribute of an ArrayList of DailyWeatherForecast objects
+	 * Used to compute positions, separators, texts, icons and moon phases drawn by onDraw<br>
+	 * onDraw only reads the result and doesn't allocate anything
 	 * </p>
 	 *
-	 * @param dailyWeatherForecastArrayList The DailyWeatherForecast arrayList
-	 * @param selectedAttribute             The name of the wanted attribute
-	 * @return The created array filled with all attributes
-	 * @throws NoSuchFieldException   When the wanted attribute doesn't exist
-	 * @throws IllegalAccessException When the wanted attributed is not a float
+	 * @param geometry             Where the result is stored
+	 * @param dailyForecastColumns Columns of the daily forecasts
+	 * @param formattingService    FormattingService of the application
+	 * @param timeZone             TimeZone of the place
 	 */
-	private float[] dailyWeatherForecastArrayToSelectedAttributeFloatArray(@NonNull ArrayList<DailyWeatherForecast> dailyWeatherForecastArrayList, @NonNull String selectedAttribute) throws NoSuchFieldException, IllegalAccessException {
-		float[] returnedAttributeArray = new float[dailyWeatherForecastArrayList.size()];
-		Field classField = DailyWeatherForecast.class.getDeclaredField(selectedAttribute);
+	private void computeGeometry(@NonNull DailyGraphGeometry geometry, @NonNull DailyForecastColumns dailyForecastColumns, @NonNull FormattingService formattingService, @NonNull TimeZone timeZone) {
+		int structureLinesIndex = 0, dayPeriodStopLineY = dpToPx(230);
+		float xDiv = 0;
+		Date date = new Date();
+
+		//  Positions
+		geometry.dateFirstLineY = dpToPx(15);
+		geometry.dateSecondLineY = dpToPx(35);
+		geometry.dayPeriodStartLineY = dpToPx(125);
+		geometry.weatherIconTop = dpToPx(30);
+		geometry.weatherIconSize = dpToPx(70);
+		geometry.temperatureMaximumY = dpToPx(30);
+		geometry.temperatureMinimumY = geometry.temperatureMaximumY + dpToPx(30);
+		geometry.temperatureY = dpToPx(210);
+		geometry.temperatureFeelsLikeY = geometry.temperatureY + dpToPx(25);
+		geometry.firstColumnX = dpToPx(20);
+		geometry.secondColumnX = geometry.firstColumnX + HALF_COLUMN_WIDTH;
+		geometry.labelSpaceBetween = dpToPx(5);
+		geometry.temperatureLabelSpaceBetween = dpToPx(10);
+		geometry.environmentalRow1Y = dpToPx(250);
+		geometry.environmentalRow2Y = geometry.environmentalRow1Y + dpToPx(35);
+		geometry.environmentalRow3Y = geometry.environmentalRow2Y + dpToPx(35);
+		geometry.environmentalRow4Y = geometry.environmentalRow3Y + dpToPx(35);
+		geometry.environmentalRow5Y = geometry.environmentalRow4Y + dpToPx(35);
+		geometry.environmentalRow6Y = geometry.environmentalRow5Y + dpToPx(35);
+		geometry.environmentalIconSize = dpToPx(70);
+		geometry.windSpeedY = dpToPx(500) + dpToPx(30);
+		geometry.windCardinalPointY = geometry.windSpeedY + dpToPx(50);
+		geometry.windDegreesY = geometry.windCardinalPointY + dpToPx(20);
+		geometry.windDirectionIconX = HALF_COLUMN_WIDTH + QUARTER_COLUMN_WIDTH - dpToPx(20);
+		geometry.windDirectionIconTop = geometry.windSpeedY + dpToPx(30);
+		geometry.windDirectionIconSize = dpToPx(40);
+		geometry.precipitationsRow1Y = dpToPx(685);
+		geometry.precipitationsRow2Y = geometry.precipitationsRow1Y + dpToPx(35);
+		geometry.temperaturesGraphY = dpToPx(140);
+		geometry.windSpeedsGraphY = dpToPx(475);
+		geometry.precipitationsGraphY = dpToPx(625);
+
+		geometry.dayMomentTitles[DailyForecastColumns.MORNING] = context.getString(R.string.title_daily_forecast_morning);
+		geometry.dayMomentTitles[DailyForecastColumns.DAY] = context.getString(R.string.title_daily_forecast_noon);
+		geometry.dayMomentTitles[DailyForecastColumns.EVENING] = context.getString(R.string.title_daily_forecast_evening);
+		geometry.dayMomentTitles[DailyForecastColumns.NIGHT] = context.getString(R.string.title_daily_forecast_night);
+
+		//  Icons, rasterized once by the render cache
+		geometry.temperatureMaximumIcon = getLabelIcon(R.drawable.temperature_maximum_material, this.secondaryPaint);
+		geometry.temperatureMinimumIcon = getLabelIcon(R.drawable.temperature_minimum_material, this.tertiaryPaint);
+		geometry.pressureIcon = getLabelIcon(R.drawable.barometer_material, this.primaryPaint);
+		geometry.cloudinessIcon = getLabelIcon(R.drawable.cloudy_material, this.primaryPaint);
+		geometry.humidityIcon = getLabelIcon(R.drawable.humidity_material, this.primaryPaint);
+		geometry.dewPointIcon = getLabelIcon(R.drawable.dew_point_material, this.primaryPaint);
+		geometry.sunriseIcon = getLabelIcon(R.drawable.sunrise_material, this.primaryPaint);
+		geometry.sunsetIcon = getLabelIcon(R.drawable.sunset_material, this.primaryPaint);
+		geometry.moonriseIcon = getLabelIcon(R.drawable.moonrise_material, this.primaryPaint);
+		geometry.moonsetIcon = getLabelIcon(R.drawable.moonset_material, this.primaryPaint);
+		geometry.windSpeedIcon = getLabelIcon(R.drawable.windsock_material, this.primaryPaint);
+		geometry.windGustSpeedIcon = getLabelIcon(R.drawable.wind_material, this.secondaryPaint);
+		geometry.rainIcon = getLabelIcon(R.drawable.rain_material, this.tertiaryPaint);
+		geometry.snowIcon = getLabelIcon(R.drawable.snow_material, this.primaryPaint);
+		geometry.popIcon = getLabelIcon(R.drawable.umbrella_material, this.secondaryPaint);
+
+		geometry.windDirectionIcon = getWindDirectionIcon(geometry.windDirectionIconSize);
 
-		for (int index = 0; index < returnedAttributeArray.length; index++) {
-			returnedAttributeArray[index] = classField.getFloat(dailyWeatherForecastArrayList.get(index));
-		}
+		//  For each day
+		for (int day = 0; day < dailyForecastColumns.size(); day++) {
+			int dayMoments = day * DailyForecastColumns.DAY_MOMENTS;
+
+			//  Day separator and separators between each day moments
+			for (int i = 0; i < DailyForecastColumns.DAY_MOMENTS; i++) {
+				float x = xDiv + QUARTER_COLUMN_WIDTH * i;
+				geometry.structureLines[structureLinesIndex++] = x;
+				geometry.structureLines[structureLinesIndex++] = i == 0 ? 0 : geometry.dayPeriodStartLineY;
+				geometry.structureLines[structureLinesIndex++] = x;
+				geometry.structureLines[structureLinesIndex++] = i == 0 ? geometry.height : dayPeriodStopLineY;
+			}
 
-		return returnedAttributeArray;
-	}
+			date.setTime(dailyForecastColumns.dt[day]);
+			geometry.dayNames[day] = formattingService.getFormattedShortDayName(date, timeZone);
+			geometry.dayMonths[day] = formattingService.getFormattedDayMonth(date, timeZone);
 
+			geometry.weatherIcons[day] = getWeatherConditionIcon(dailyForecastColumns.weatherCode[day], true, geometry.weatherIconSize, geometry.weatherIconSize);
+			geometry.uvIndexIcons[day] = getUvIndexIcon(dailyForecastColumns.uvIndex[day], geometry.environmentalIconSize);
 
-	/**
-	 * extractTemperaturesFromDailyWeatherForecastArrayList(ArrayList<DailyWeatherForecast> dailyWeatherForecastArrayList)
-	 * <p>
-	 * Used to get all temperatures attributes of a DailyWeather object<br>
-	 * Sorted Day after Day, newest day first and oldest day last, day is composed of morning, day, evening and night temperatures
-	 * </p>
-	 *
-	 * @param dailyWeatherForecastArrayList The dailyForecast arrayList
-	 * @return The created array filled with all temperature attributes
-	 */
-	private float[] extractTemperaturesFromDailyWeatherForecastArrayList(@NonNull ArrayList<DailyWeatherForecast> dailyWeatherForecastArrayList) {
-		float[] returnedAttributeArray = new float[dailyWeatherForecastArrayList.size() * 4];
-		int arrayIndex = 0;
-
-		for (DailyWeatherForecast dailyWeatherForecast : dailyWeatherForecastArrayList) {
-			returnedAttributeArray[arrayIndex++] = dailyWeatherForecast.temperatureMorning;
-			returnedAttributeArray[arrayIndex++] = dailyWeatherForecast.temperatureDay;
-			returnedAttributeArray[arrayIndex++] = dailyWeatherForecast.temperatureEvening;
-			returnedAttributeArray[arrayIndex++] = dailyWeatherForecast.temperatureNight;
-		}
-		return returnedAttributeArray;
-	}
+			geometry.temperaturesMaximum[day] = formattingService.getFloatFormattedTemperature(dailyForecastColumns.temperatureMaximum[day], true);
+			geometry.temperaturesMinimum[day] = formattingService.getFloatFormattedTemperature(dailyForecastColumns.temperatureMinimum[day], true);
+			for (int dayMoment = dayMoments; dayMoment < dayMoments + DailyForecastColumns.DAY_MOMENTS; dayMoment++) {
+				geometry.temperatures[dayMoment] = formattingService.getFloatFormattedTemperature(dailyForecastColumns.temperatures[dayMoment], false);
+				geometry.temperaturesFeelsLike[dayMoment] = formattingService.getFloatFormattedTemperature(dailyForecastColumns.temperaturesFeelsLike[dayMoment], false);
+			}
 
+			geometry.pressures[day] = formattingService.getFormattedPressure(dailyForecastColumns.pressure[day], true);
+			geometry.cloudiness[day] = String.format("%d %%", dailyForecastColumns.cloudiness[day]);
+			geometry.humidities[day] = String.format("%d %%", dailyForecastColumns.humidity[day]);
+			geometry.dewPoints[day] = formattingService.getFloatFormattedTemperature(dailyForecastColumns.dewPoint[day], true);
+
+			date.setTime(dailyForecastColumns.sunrise[day]);
+			geometry.sunrises[day] = formattingService.getFormattedTime(date, timeZone);
+			date.setTime(dailyForecastColumns.sunset[day]);
+			geometry.sunsets[day] = formattingService.getFormattedTime(date, timeZone);
+			date.setTime(dailyForecastColumns.moonrise[day]);
+			geometry.moonrises[day] = formattingService.getFormattedTime(date, timeZone);
+			date.setTime(dailyForecastColumns.moonset[day]);
+			geometry.moonsets[day] = formattingService.getFormattedTime(date, timeZone);
+			geometry.moonPhases[day] = getMoonPhase(dailyForecastColumns.moonPhase[day], geometry.environmentalIconSize);
+
+			geometry.windSpeeds[day] = formattingService.getFloatFormattedSpeed(dailyForecastColumns.windSpeed[day], true);
+			geometry.windGustSpeeds[day] = formattingService.getFloatFormattedSpeed(dailyForecastColumns.windGustSpeed[day], true);
+			geometry.windDirections[day] = dailyForecastColumns.windDirection[day];
+			geometry.windCardinalPoints[day] = formattingService.getFormattedDirectionInCardinalPoints(dailyForecastColumns.windDirection[day]);
+			geometry.windDegrees[day] = formattingService.getFormattedDirectionInDegrees(dailyForecastColumns.windDirection[day]);
+
+			geometry.rains[day] = formattingService.getFloatFormattedShortDistance(dailyForecastColumns.rain[day], true);
+			geometry.snows[day] = formattingService.getFloatFormattedShortDistance(dailyForecastColumns.snow[day], true);
+			geometry.pops[day] = String.format("%d %%", BigDecimal.valueOf(dailyForecastColumns.pop[day] * 100).intValue());
 
-	/**
-	 * extractFeelsLikeTemperaturesFromDailyWeatherForecastArrayList(ArrayList<DailyWeatherForecast> dailyWeatherForecastArrayList)
-	 * <p>
-	 * Used to get all FeelsLike temperatures attributes of a DailyWeather object<br>
-	 * Sorted Day after Day, newest day first and oldest day last, day is composed of morning, day, evening and night FeelsLike temperatures
-	 * </p>
-	 *
-	 * @param dailyWeatherForecastArrayList The dailyForecast arrayList
-	 * @return The created array filled with all temperature attributes
-	 */
-	private float[] extractFeelsLikeTemperaturesFromDailyWeatherForecastArrayList(@NonNull ArrayList<DailyWeatherForecast> dailyWeatherForecastArrayList) {
-		float[] returnedAttributeArray = new float[dailyWeatherForecastArrayList.size() * 4];
-		int arrayIndex = 0;
-
-		for (DailyWeatherForecast dailyWeatherForecast : dailyWeatherForecastArrayList) {
-			returnedAttributeArray[arrayIndex++] = dailyWeatherForecast.temperatureMorningFeelsLike;
-			returnedAttributeArray[arrayIndex++] = dailyWeatherForecast.temperatureDayFeelsLike;
-			returnedAttributeArray[arrayIndex++] = dailyWeatherForecast.temperatureEveningFeelsLike;
-			returnedAttributeArray[arrayIndex++] = dailyWeatherForecast.temperatureNightFeelsLike;
+			xDiv += COLUMN_WIDTH;
 		}
-		return returnedAttributeArray;
 	}
 
 
 	/**
-	 * drawStructureAndDate(@NonNull Canvas canvas, float dateFirstLineY, float dateSecondLineY, float dayPeriodStartLineY, float dayPeriodStopLineY, ArrayList<DailyWeatherForecast> dailyWeatherForecastArrayList, TimeZone timeZone)
+	 * drawStructureAndDate(@NonNull Canvas canvas)
 	 * <p>
 	 * Used to draw principal elements of the view such as date, day moments and separators
 	 * </p>
 	 *
-	 * @param canvas                        Elements will be drawn on it
-	 * @param dateFirstLineY                Where the name of the day will be drawn on y axis
-	 * @param dateSecondLineY               Where the day number and the month number of the day will be drawn on y axis
-	 * @param dayPeriodStartLineY           Where the separator between day moments start on y axis
-	 * @param dayPeriodStopLineY            Where the separator between day moments ends on y axis
-	 * @param dailyWeatherForecastArrayList The dailyForecast arrayList
+	 * @param canvas Elements will be drawn on it
 	 */
-	private void drawStructureAndDate(@NonNull Canvas canvas, @Px int dateFirstLineY, @Px int dateSecondLineY, @Px int dayPeriodStartLineY, @Px int dayPeriodStopLineY, @NonNull ArrayList<DailyWeatherForecast> dailyWeatherForecastArrayList, @NonNull TimeZone timeZone) {
-
+	private void drawStructureAndDate(@NonNull Canvas canvas) {
+		DailyGraphGeometry geometry = this.geometry;
 		float xDiv = 0,
-				xDivDayPeriod = QUARTER_COLUMN_WIDTH / 2F;
-		Date date;
-
-		//  For each day
-		for (int index = 0; index < dailyWeatherForecastArrayList.size(); index++) {
+				xDivDayPeriod;
 
-			date = new Date(dailyWeatherForecastArrayList.get(index).dt);
+		canvas.drawLines(geometry.structureLines, 0, geometry.columnCount * 4 * DailyForecastColumns.DAY_MOMENTS, this.structurePaint);
 
+		//  For each day
+		for (int day = 0; day < geometry.columnCount; day++) {
 			//  Draw date
-			canvas.drawText(formattingService.getFormattedShortDayName(date, timeZone), xDiv + 10, dateFirstLineY, this.datePaint);
-			canvas.drawText(formattingService.getFormattedDayMonth(date, timeZone), xDiv + 10, dateSecondLineY, this.datePaint);
-
-			//  Draw day separator
-			canvas.drawLine(xDiv, 0, xDiv, canvas.getHeight(), this.structurePaint);
+			canvas.drawText(geometry.dayNames[day], xDiv + 10, geometry.dateFirstLineY, this.datePaint);
+			canvas.drawText(geometry.dayMonths[day], xDiv + 10, geometry.dateSecondLineY, this.datePaint);
 
-			//  Draw separator between each day moments
-			for (int i = 1; i < 4; i++)
-				canvas.drawLine(xDiv + QUARTER_COLUMN_WIDTH * i, dayPeriodStartLineY, xDiv + QUARTER_COLUMN_WIDTH * i, dayPeriodStopLineY, this.structurePaint);
-
-			canvas.drawText(context.getString(R.string.title_daily_forecast_morning), xDiv + xDivDayPeriod, dayPeriodStartLineY, this.structurePaint);
-			xDivDayPeriod += QUARTER_COLUMN_WIDTH;
-			canvas.drawText(context.getString(R.string.title_daily_forecast_noon), xDiv + xDivDayPeriod, dayPeriodStartLineY, this.structurePaint);
-			xDivDayPeriod += QUARTER_COLUMN_WIDTH;
-			canvas.drawText(context.getString(R.string.title_daily_forecast_evening), xDiv + xDivDayPeriod, dayPeriodStartLineY, this.structurePaint);
-			xDivDayPeriod += QUARTER_COLUMN_WIDTH;
-			canvas.drawText(context.getString(R.string.title_daily_forecast_night), xDiv + xDivDayPeriod, dayPeriodStartLineY, this.structurePaint);
+			//  Draw day moments
+			xDivDayPeriod = QUARTER_COLUMN_WIDTH / 2F;
+			for (int dayMoment = 0; dayMoment < DailyForecastColumns.DAY_MOMENTS; dayMoment++) {
+				canvas.drawText(geometry.dayMomentTitles[dayMoment], xDiv + xDivDayPeriod, geometry.dayPeriodStartLineY, this.structurePaint);
+				xDivDayPeriod += QUARTER_COLUMN_WIDTH;
+			}
 
 			xDiv += COLUMN_WIDTH;
-			xDivDayPeriod = QUARTER_COLUMN_WIDTH / 2F;
 		}
 	}
 
 
 	/**
-	 * drawMaxMinTemperatures(@NonNull Canvas canvas, DailyWeatherForecast dailyWeatherForecast, float top, float left)
+	 * drawMaxMinTemperatures(@NonNull Canvas canvas, int day, @Px int left)
 	 * <p>
 	 * Used to draw min and max temperatures of the day
 	 * </p>
 	 *
-	 * @param canvas               Elements will be drawn on it
-	 * @param dailyWeatherForecast Where data will be taken
-	 * @param top                  Where temperatures will be drawn on the y axis
-	 * @param left                 Where temperatures will be drawn on the x axis
+	 * @param canvas Elements will be drawn on it
+	 * @param day    Index of the day in the columns
+	 * @param left   Where temperatures will be drawn on the x axis
 	 */
-	private void drawMaxMinTemperatures(@NonNull Canvas canvas, DailyWeatherForecast dailyWeatherForecast, int top, int left) {
+	private void drawMaxMinTemperatures(@NonNull Canvas canvas, int day, @Px int left) {
 		//  Temperatures
-		drawTextWithDrawable(canvas,
-				getResources().getDrawable(this.context.getResources().getIdentifier("temperature_maximum_material", "drawable", this.context.getPackageName()), null),
-				formattingService.getFloatFormattedTemperature(dailyWeatherForecast.temperatureMaximum, true),
-				top,
-				left,
-				dpToPx(10),
-				this.secondaryPaint);
-		drawTextWithDrawable(canvas,
-				getResources().getDrawable(this.context.getResources().getIdentifier("temperature_minimum_material", "drawable", this.context.getPackageName()), null),
-				formattingService.getFloatFormattedTemperature(dailyWeatherForecast.temperatureMinimum, true),
-				top + dpToPx(30),
-				left,
-				dpToPx(10),
-				this.tertiaryPaint);
+		drawTextWithIcon(canvas, geometry.temperatureMaximumIcon, geometry.temperaturesMaximum[day], geometry.temperatureMaximumY, left, geometry.temperatureLabelSpaceBetween, this.secondaryPaint);
+		drawTextWithIcon(canvas, geometry.temperatureMinimumIcon, geometry.temperaturesMinimum[day], geometry.temperatureMinimumY, left, geometry.temperatureLabelSpaceBetween, this.tertiaryPaint);
 	}
 
 
 	/**
-	 * drawTemperatures(@NonNull Canvas canvas, DailyWeatherForecast dailyWeatherForecast, float top, float left)
+	 * drawTemperatures(@NonNull Canvas canvas, int day, float left)
 	 * <p>
 	 * Used to draw temperatures and feel like temperatures of each day moment
 	 * </p>
 	 *
-	 * @param canvas               Elements will be drawn on it
-	 * @param dailyWeatherForecast Where data will be taken
-	 * @param top                  Where temperatures will be drawn on the y axis
-	 * @param left                 Where temperatures will be drawn on the x axis
+	 * @param canvas Elements will be drawn on it
+	 * @param day    Index of the day in the columns
+	 * @param left   Where temperatures will be drawn on the x axis
 	 */
-	private void drawTemperatures(@NonNull Canvas canvas, DailyWeatherForecast dailyWeatherForecast, float top, float left) {
-		float textX = left + QUARTER_COLUMN_WIDTH / 2F,
-				textY1 = top,
-				textY2 = top + dpToPx(25);
-		//  Temperatures
-		////    Morning
-		canvas.drawText(formattingService.getFloatFormattedTemperature(dailyWeatherForecast.temperatureMorning, false), textX, textY1, this.primaryPaint);
-		canvas.drawText(formattingService.getFloatFormattedTemperature(dailyWeatherForecast.temperatureMorningFeelsLike, false), textX, textY2, this.secondaryPaint);
-		textX += QUARTER_COLUMN_WIDTH;
-		////    Noon
-		canvas.drawText(formattingService.getFloatFormattedTemperature(dailyWeatherForecast.temperatureDay, false), textX, textY1, this.primaryPaint);
-		canvas.drawText(formattingService.getFloatFormattedTemperature(dailyWeatherForecast.temperatureDayFeelsLike, false), textX, textY2, this.secondaryPaint);
-		textX += QUARTER_COLUMN_WIDTH;
-		////    Evening
-		canvas.drawText(formattingService.getFloatFormattedTemperature(dailyWeatherForecast.temperatureEvening, false), textX, textY1, this.primaryPaint);
-		canvas.drawText(formattingService.getFloatFormattedTemperature(dailyWeatherForecast.temperatureEveningFeelsLike, false), textX, textY2, this.secondaryPaint);
-		textX += QUARTER_COLUMN_WIDTH;
-		////    Night
-		canvas.drawText(formattingService.getFloatFormattedTemperature(dailyWeatherForecast.temperatureNight, false), textX, textY1, this.primaryPaint);
-		canvas.drawText(formattingService.getFloatFormattedTemperature(dailyWeatherForecast.temperatureNightFeelsLike, false), textX, textY2, this.secondaryPaint);
+	private void drawTemperatures(@NonNull Canvas canvas, int day, float left) {
+		float textX = left + QUARTER_COLUMN_WIDTH / 2F;
+		int dayMoments = day * DailyForecastColumns.DAY_MOMENTS;
+
+		//  Temperatures of the morning, noon, evening and night
+		for (int dayMoment = dayMoments; dayMoment < dayMoments + DailyForecastColumns.DAY_MOMENTS; dayMoment++) {
+			canvas.drawText(geometry.temperatures[dayMoment], textX, geometry.temperatureY, this.primaryPaint);
+			canvas.drawText(geometry.temperaturesFeelsLike[dayMoment], textX, geometry.temperatureFeelsLikeY, this.secondaryPaint);
+			textX += QUARTER_COLUMN_WIDTH;
+		}
+	}
+
+
+	/**
+	 * getMoonPhase(float moonPhase, @Px int sideLength)
+	 * <p>
+	 * Used to get the bitmap of a moon phase from the render cache, it is rasterized the first time
+	 * </p>
+	 *
+	 * @param moonPhase  The moon phase coefficient
+	 * @param sideLength Length side of the moon phase
+	 * @return The moon phase bitmap
+	 */
+	@NonNull
+	private Bitmap getMoonPhase(float moonPhase, @Px int sideLength) {
+		int bucket = ForecastRenderCache.getMoonPhaseBucket(moonPhase);
+
+		return this.renderCache.getMoonPhase(bucket, sideLength, this.moonLightIconPaint.getColor(),
+				() -> generateMoonPhaseBitmap(ForecastRenderCache.getBucketMoonPhase(bucket), sideLength));
 	}
 
 
 	/**
-	 * drawMoonPhase(@NonNull Canvas canvas, float moonPhase, float x, float y, float sideLength)
+	 * generateMoonPhaseBitmap(float moonPhase, @Px int sideLength)
 	 * <p>
-	 * Used to draw moon phase
+	 * Used to rasterize a moon phase
 	 * </p>
 	 *
-	 * @param canvas     Moon phase will be drawn on it
 	 * @param moonPhase  The moon phase coefficient
-	 * @param x          Center of the drawn moon phase on the x axis
-	 * @param y          Center of the drawn moon phase on the y axis
 	 * @param sideLength Length side of the drawn moon phase
+	 * @return A Bitmap with the moon phase in the ARGB_4444 format
 	 */
-	private void drawMoonPhase(@NonNull Canvas canvas, float moonPhase, @Px int x, @Px int y, @Px int sideLength) {
+	private Bitmap generateMoonPhaseBitmap(float moonPhase, @Px int sideLength) {
 		int middle = sideLength / 2,
 				circleRadius = middle / 2 - 3;
 
@@ -513,100 +588,87 @@ public class DailyForecastGraphView extends ForecastView {
 					moonCanvas.drawArc(right - i, top2, left + i, bottom2, 90, 180, false, this.moonShadowIconPaint);
 			}
 		}
-		canvas.drawBitmap(moonBitmap, x, y, null);
+		return moonBitmap;
 	}
 
 
 	/**
-	 * drawEnvironmentalVariables(@NonNull Canvas canvas, DailyWeatherForecast dailyWeatherForecast, float top, float left, Paint paint)
+	 * drawEnvironmentalVariables(@NonNull Canvas canvas, int day, @Px int left, @NonNull Paint paint)
 	 * <p>
 	 * Used to draw environmental variables such as pressure, cloudiness, humidity, dewPoint, sunrise, sunset, UVIndex Icon, moonrise, moonset and moonphase Icon
 	 * </p>
 	 *
-	 * @param canvas               Elements will be drawn on it
-	 * @param dailyWeatherForecast Where data will be taken
-	 * @param top                  Where elements will be drawn on the y axis
-	 * @param left                 Where elements will be drawn on the x axis
-	 * @param paint                Paint used to draw text elements
+	 * @param canvas Elements will be drawn on it
+	 * @param day    Index of the day in the columns
+	 * @param left   Where elements will be drawn on the x axis
+	 * @param paint  Paint used to draw text elements
 	 */
-	private void drawEnvironmentalVariables(@NonNull Canvas canvas, @NonNull DailyWeatherForecast dailyWeatherForecast, @Px int top, @Px int left, @NonNull Paint paint) {
-		int firstColumn = left + dpToPx(20),
-				secondColumn = firstColumn + HALF_COLUMN_WIDTH,
-				textY1 = top,
-				textY2 = textY1 + dpToPx(35),
-				textY3 = textY2 + dpToPx(35),
-				textY4 = textY3 + dpToPx(35),
-				textY5 = textY4 + dpToPx(35),
-				textY6 = textY5 + dpToPx(35);
-
-		drawTextWithDrawable(canvas, context.getDrawable(R.drawable.barometer_material), formattingService.getFormattedPressure(dailyWeatherForecast.pressure, true), textY1, firstColumn, dpToPx(5), paint);
-		drawTextWithDrawable(canvas, context.getDrawable(R.drawable.cloudy_material), String.format("%d %%", dailyWeatherForecast.cloudiness), textY1, secondColumn, dpToPx(5), paint);
-		drawTextWithDrawable(canvas, context.getDrawable(R.drawable.humidity_material), String.format("%d %%", dailyWeatherForecast.humidity), textY2, firstColumn, dpToPx(5), paint);
-		drawTextWithDrawable(canvas, context.getDrawable(R.drawable.dew_point_material), formattingService.getFloatFormattedTemperature(dailyWeatherForecast.dewPoint, true), textY2, secondColumn, dpToPx(5), paint);
-		drawTextWithDrawable(canvas, context.getDrawable(R.drawable.sunrise_material), formattingService.getFormattedTime(new Date(dailyWeatherForecast.sunrise), timeZone), textY3, firstColumn, dpToPx(5), paint);
-		drawTextWithDrawable(canvas, context.getDrawable(R.drawable.sunset_material), formattingService.getFormattedTime(new Date(dailyWeatherForecast.sunset), timeZone), textY4, firstColumn, dpToPx(5), paint);
-		drawUvIndex(canvas, dailyWeatherForecast.uvIndex, secondColumn, textY3, dpToPx(70));
-		drawTextWithDrawable(canvas, context.getDrawable(R.drawable.moonrise_material), formattingService.getFormattedTime(new Date(dailyWeatherForecast.moonrise), timeZone), textY5, firstColumn, dpToPx(5), paint);
-		drawTextWithDrawable(canvas, context.getDrawable(R.drawable.moonset_material), formattingService.getFormattedTime(new Date(dailyWeatherForecast.moonset), timeZone), textY6, firstColumn, dpToPx(5), paint);
-		drawMoonPhase(canvas, dailyWeatherForecast.moonPhase, secondColumn, textY5, dpToPx(70));
+	private void drawEnvironmentalVariables(@NonNull Canvas canvas, int day, @Px int left, @NonNull Paint paint) {
+		DailyGraphGeometry geometry = this.geometry;
+		int firstColumn = left + geometry.firstColumnX,
+				secondColumn = left + geometry.secondColumnX,
+				spaceBetween = geometry.labelSpaceBetween;
+
+		drawTextWithIcon(canvas, geometry.pressureIcon, geometry.pressures[day], geometry.environmentalRow1Y, firstColumn, spaceBetween, paint);
+		drawTextWithIcon(canvas, geometry.cloudinessIcon, geometry.cloudiness[day], geometry.environmentalRow1Y, secondColumn, spaceBetween, paint);
+		drawTextWithIcon(canvas, geometry.humidityIcon, geometry.humidities[day], geometry.environmentalRow2Y, firstColumn, spaceBetween, paint);
+		drawTextWithIcon(canvas, geometry.dewPointIcon, geometry.dewPoints[day], geometry.environmentalRow2Y, secondColumn, spaceBetween, paint);
+		drawTextWithIcon(canvas, geometry.sunriseIcon, geometry.sunrises[day], geometry.environmentalRow3Y, firstColumn, spaceBetween, paint);
+		drawTextWithIcon(canvas, geometry.sunsetIcon, geometry.sunsets[day], geometry.environmentalRow4Y, firstColumn, spaceBetween, paint);
+		canvas.drawBitmap(geometry.uvIndexIcons[day], secondColumn, geometry.environmentalRow3Y, null);
+		drawTextWithIcon(canvas, geometry.moonriseIcon, geometry.moonrises[day], geometry.environmentalRow5Y, firstColumn, spaceBetween, paint);
+		drawTextWithIcon(canvas, geometry.moonsetIcon, geometry.moonsets[day], geometry.environmentalRow6Y, firstColumn, spaceBetween, paint);
+		canvas.drawBitmap(geometry.moonPhases[day], secondColumn, geometry.environmentalRow5Y, null);
 	}
 
 
 	/**
-	 * drawWindVariables(@NonNull Canvas canvas, DailyWeatherForecast dailyWeatherForecast, float top, float left)
+	 * drawWindVariables(@NonNull Canvas canvas, int day, @Px int left)
 	 * <p>
 	 * Used to draw wind variables (wind speed, wind gust speed, wind direction)
 	 * </p>
 	 *
-	 * @param canvas               Elements will be drawn on it
-	 * @param dailyWeatherForecast Where data will be taken
-	 * @param top                  Where elements will be drawn on the y axis
-	 * @param left                 Where elements will be drawn on the x axis
+	 * @param canvas Elements will be drawn on it
+	 * @param day    Index of the day in the columns
+	 * @param left   Where elements will be drawn on the x axis
 	 */
-	private void drawWindVariables(@NonNull Canvas canvas, @NonNull DailyWeatherForecast dailyWeatherForecast, @Px int top, @Px int left) {
-		int firstColumn = left + dpToPx(20),
-				secondColumn = firstColumn + HALF_COLUMN_WIDTH,
-				textY = top + dpToPx(30),
-				textY2 = textY + dpToPx(50),
-				textY3 = textY2 + dpToPx(20);
+	private void drawWindVariables(@NonNull Canvas canvas, int day, @Px int left) {
+		DailyGraphGeometry geometry = this.geometry;
 
-		drawTextWithDrawable(canvas, context.getDrawable(R.drawable.windsock_material), formattingService.getFloatFormattedSpeed(dailyWeatherForecast.windSpeed, true), textY, firstColumn, dpToPx(5), this.primaryPaint);
-		drawTextWithDrawable(canvas, context.getDrawable(R.drawable.wind_material), formattingService.getFloatFormattedSpeed(dailyWeatherForecast.windGustSpeed, true), textY, secondColumn, dpToPx(5), this.secondaryPaint);
+		drawTextWithIcon(canvas, geometry.windSpeedIcon, geometry.windSpeeds[day], geometry.windSpeedY, left + geometry.firstColumnX, geometry.labelSpaceBetween, this.primaryPaint);
+		drawTextWithIcon(canvas, geometry.windGustSpeedIcon, geometry.windGustSpeeds[day], geometry.windSpeedY, left + geometry.secondColumnX, geometry.labelSpaceBetween, this.secondaryPaint);
 
-		canvas.drawText(formattingService.getFormattedDirectionInCardinalPoints(dailyWeatherForecast.windDirection), left + QUARTER_COLUMN_WIDTH, textY2, this.primaryPaint);
-		canvas.drawText(formattingService.getFormattedDirectionInDegrees(dailyWeatherForecast.windDirection), left + QUARTER_COLUMN_WIDTH, textY3, this.primaryPaint);
+		canvas.drawText(geometry.windCardinalPoints[day], left + QUARTER_COLUMN_WIDTH, geometry.windCardinalPointY, this.primaryPaint);
+		canvas.drawText(geometry.windDegrees[day], left + QUARTER_COLUMN_WIDTH, geometry.windDegreesY, this.primaryPaint);
 
-		drawWindDirectionIcon(canvas, dailyWeatherForecast.windDirection, left + HALF_COLUMN_WIDTH + QUARTER_COLUMN_WIDTH - dpToPx(20), textY + dpToPx(30), dpToPx(40));
+		drawWindDirectionIcon(canvas, geometry.windDirectionIcon, geometry.windDirections[day], left + geometry.windDirectionIconX, geometry.windDirectionIconTop);
 	}
 
 
 	/**
-	 * drawPrecipitationsVariables(@NonNull Canvas canvas, DailyWeatherForecast dailyWeatherForecast, float top, float left)
+	 * drawPrecipitationsVariables(@NonNull Canvas canvas, int day, @Px int left)
 	 * <p>
-	 * Used to draw wind variables (wind speed, wind gust speed, wind direction)
+	 * Used to draw precipitations variables (rain, snow, pop)
 	 * </p>
 	 *
-	 * @param canvas               Elements will be drawn on it
-	 * @param dailyWeatherForecast Where data will be taken
-	 * @param top                  Where elements will be drawn on the y axis
-	 * @param left                 Where elements will be drawn on the x axis
+	 * @param canvas Elements will be drawn on it
+	 * @param day    Index of the day in the columns
+	 * @param left   Where elements will be drawn on the x axis
 	 */
-	private void drawPrecipitationsVariables(@NonNull Canvas canvas, @NonNull DailyWeatherForecast dailyWeatherForecast, @Px int top, @Px int left) {
-		int firstColumn = left + dpToPx(20),
-				secondColumn = firstColumn + HALF_COLUMN_WIDTH,
-				textY = top,
-				textY2 = textY + dpToPx(35);
-
-		drawTextWithDrawable(canvas, context.getDrawable(R.drawable.rain_material), formattingService.getFloatFormattedShortDistance(dailyWeatherForecast.rain, true), textY, firstColumn, dpToPx(5), this.tertiaryPaint);
-		drawTextWithDrawable(canvas, context.getDrawable(R.drawable.snow_material), formattingService.getFloatFormattedShortDistance(dailyWeatherForecast.snow, true), textY, secondColumn, dpToPx(5), this.primaryPaint);
-		drawTextWithDrawable(canvas, context.getDrawable(R.drawable.umbrella_material), String.format("%d %%", BigDecimal.valueOf(dailyWeatherForecast.pop * 100).intValue()), textY2, firstColumn, dpToPx(5), this.secondaryPaint);
+	private void drawPrecipitationsVariables(@NonNull Canvas canvas, int day, @Px int left) {
+		DailyGraphGeometry geometry = this.geometry;
+
+		drawTextWithIcon(canvas, geometry.rainIcon, geometry.rains[day], geometry.precipitationsRow1Y, left + geometry.firstColumnX, geometry.labelSpaceBetween, this.tertiaryPaint);
+		drawTextWithIcon(canvas, geometry.snowIcon, geometry.snows[day], geometry.precipitationsRow1Y, left + geometry.secondColumnX, geometry.labelSpaceBetween, this.primaryPaint);
+		drawTextWithIcon(canvas, geometry.popIcon, geometry.pops[day], geometry.precipitationsRow2Y, left + geometry.firstColumnX, geometry.labelSpaceBetween, this.secondaryPaint);
 	}
 
 
 	/**
 	 * onDraw(@NonNull Canvas canvas)
 	 * <p>
-	 * Called to generate view
+	 * Called to generate view<br>
+	 * Only draws what prepare computed, nothing is allocated
 	 * </p>
 	 *
 	 * @param canvas The canvas that will be displayed on screen
@@ -616,29 +678,31 @@ public class DailyForecastGraphView extends ForecastView {
 	protected void onDraw(@NonNull Canvas canvas) {
 		super.onDraw(canvas);
 
-		int leftOfColumn = 0, halfOfColumnWidth = HALF_COLUMN_WIDTH, quarterOfColumnWidth = QUARTER_COLUMN_WIDTH, sixthOfColumnWidth = SIXTH_COLUMN_WIDTH;
+		DailyGraphGeometry geometry = this.geometry;
+		if (geometry == null) return;
+
+		int leftOfColumn = 0, halfOfColumnWidth = HALF_COLUMN_WIDTH, sixthOfColumnWidth = SIXTH_COLUMN_WIDTH;
 
-		drawStructureAndDate(canvas, dpToPx(15), dpToPx(35), dpToPx(125), dpToPx(230), dailyWeatherForecastArrayList, timeZone);
+		drawStructureAndDate(canvas);
 
-		for (DailyWeatherForecast dailyWeatherForecast : dailyWeatherForecastArrayList) {
-			drawWeatherConditionIcons(canvas, dailyWeatherForecast.weatherCode, dpToPx(30), sixthOfColumnWidth, dpToPx(70), dpToPx(70));
-			drawMaxMinTemperatures(canvas, dailyWeatherForecast, dpToPx(30), halfOfColumnWidth);
+		for (int day = 0; day < geometry.columnCount; day++) {
+			canvas.drawBitmap(geometry.weatherIcons[day], sixthOfColumnWidth, geometry.weatherIconTop, null);
+			drawMaxMinTemperatures(canvas, day, halfOfColumnWidth);
 
-			drawTemperatures(canvas, dailyWeatherForecast, dpToPx(210), leftOfColumn);
+			drawTemperatures(canvas, day, leftOfColumn);
 
-			drawEnvironmentalVariables(canvas, dailyWeatherForecast, dpToPx(250), leftOfColumn, this.primaryPaint);
-			drawWindVariables(canvas, dailyWeatherForecast, dpToPx(500), leftOfColumn);
+			drawEnvironmentalVariables(canvas, day, leftOfColumn, this.primaryPaint);
+			drawWindVariables(canvas, day, leftOfColumn);
 
-			drawPrecipitationsVariables(canvas, dailyWeatherForecast, dpToPx(685), leftOfColumn);
+			drawPrecipitationsVariables(canvas, day, leftOfColumn);
 
 			leftOfColumn += COLUMN_WIDTH;
 			sixthOfColumnWidth += COLUMN_WIDTH;
-			quarterOfColumnWidth += COLUMN_WIDTH;
 			halfOfColumnWidth += COLUMN_WIDTH;
 		}
 
-		canvas.drawBitmap(this.temperaturesGraph, 0, dpToPx(140), null);
-		canvas.drawBitmap(this.windSpeedsGraph, 0, dpToPx(475), null);
-		canvas.drawBitmap(this.precipitationsGraph, 0, dpToPx(625), null);
+		canvas.drawBitmap(geometry.temperaturesGraph, 0, geometry.temperaturesGraphY, null);
+		canvas.drawBitmap(geometry.windSpeedsGraph, 0, geometry.windSpeedsGraphY, null);
+		canvas.drawBitmap(geometry.precipitationsGraph, 0, geometry.precipitationsGraphY, null);
 	}
 }
@@ -0,0 +1,113 @@
+package fr.qgdev.openweather.customView;
+
+import android.graphics.Bitmap;
+
+import fr.qgdev.openweather.weather.DailyForecastColumns;
+
+/**
+ * DailyGraphGeometry
+ * <p>
+ * Everything DailyForecastGraphView needs to draw a frame, prepared once for each new daily forecasts<br>
+ * Positions, separators, texts, icons, moon phases and graphs are only read by onDraw, so drawing a frame doesn't allocate anything<br>
+ * Never modified once prepared, the same geometry can be prepared in background and attached to any view
+ * </p>
+ *
+ * @author Quentin GOMES DOS REIS
+ * @version 2
+ * @see DailyForecastGraphView
+ */
+public final class DailyGraphGeometry {
+
+	//  Number of days drawn and size of the view drawing them
+	final int columnCount;
+	final int width, height;
+
+	//  Positions on the y axis, or in a column on the x axis
+	int dateFirstLineY, dateSecondLineY, dayPeriodStartLineY;
+	int weatherIconTop, weatherIconSize;
+	int temperatureMaximumY, temperatureMinimumY, temperatureY, temperatureFeelsLikeY;
+	int firstColumnX, secondColumnX, labelSpaceBetween, temperatureLabelSpaceBetween;
+	int environmentalRow1Y, environmentalRow2Y, environmentalRow3Y, environmentalRow4Y, environmentalRow5Y, environmentalRow6Y;
+	int environmentalIconSize;
+	int windSpeedY, windCardinalPointY, windDegreesY, windDirectionIconX, windDirectionIconTop, windDirectionIconSize;
+	int precipitationsRow1Y, precipitationsRow2Y;
+	int temperaturesGraphY, windSpeedsGraphY, precipitationsGraphY;
+
+	//  Day and day moment separators in the Canvas.drawLines() format, 4 floats per line
+	final float[] structureLines;
+
+	//  Titles of the day moments, morning, noon, evening and night
+	final String[] dayMomentTitles = new String[DailyForecastColumns.DAY_MOMENTS];
+
+	//  Icons drawn next to the texts, shared by every day
+	Bitmap temperatureMaximumIcon, temperatureMinimumIcon;
+	Bitmap pressureIcon, cloudinessIcon, humidityIcon, dewPointIcon;
+	Bitmap sunriseIcon, sunsetIcon, moonriseIcon, moonsetIcon;
+	Bitmap windSpeedIcon, windGustSpeedIcon;
+	Bitmap rainIcon, snowIcon, popIcon;
+
+	//  Texts of each day, temperatures are stored day after day by day moments like in DailyForecastColumns
+	final String[] dayNames, dayMonths;
+	final String[] temperaturesMaximum, temperaturesMinimum, temperatures, temperaturesFeelsLike;
+	final String[] pressures, cloudiness, humidities, dewPoints;
+	final String[] sunrises, sunsets, moonrises, moonsets;
+	final String[] windSpeeds, windGustSpeeds, windCardinalPoints, windDegrees;
+	final String[] rains, snows, pops;
+
+	//  Icons and moon phase of each day, bitmaps come from the render cache and are shared between days with the same value
+	final Bitmap[] weatherIcons, uvIndexIcons, moonPhases;
+	Bitmap windDirectionIcon;
+
+	//  Wind direction of each day, the arrow is rotated when drawn
+	final short[] windDirections;
+
+	//  Graphs of the whole view
+	Bitmap temperaturesGraph, windSpeedsGraph, precipitationsGraph;
+
+
+	/**
+	 * DailyGraphGeometry Constructor
+	 * <p>
+	 * Build a geometry able to store columnCount days
+	 * </p>
+	 *
+	 * @param columnCount Number of days that will be drawn
+	 * @param width       Width of the view
+	 * @param height      Height of the view
+	 */
+	DailyGraphGeometry(int columnCount, int width, int height) {
+		this.columnCount = columnCount;
+		this.width = width;
+		this.height = height;
+
+		//  One day separator and 3 day moment separators by day
+		this.structureLines = new float[columnCount * 4 * DailyForecastColumns.DAY_MOMENTS];
+
+		this.dayNames = new String[columnCount];
+		this.dayMonths = new String[columnCount];
+		this.temperaturesMaximum = new String[columnCount];
+		this.temperaturesMinimum = new String[columnCount];
+		this.temperatures = new String[columnCount * DailyForecastColumns.DAY_MOMENTS];
+		this.temperaturesFeelsLike = new String[columnCount * DailyForecastColumns.DAY_MOMENTS];
+		this.pressures = new String[columnCount];
+		this.cloudiness = new String[columnCount];
+		this.humidities = new String[columnCount];
+		this.dewPoints = new String[columnCount];
+		this.sunrises = new String[columnCount];
+		this.sunsets = new String[columnCount];
+		this.moonrises = new String[columnCount];
+		this.moonsets = new String[columnCount];
+		this.windSpeeds = new String[columnCount];
+		this.windGustSpeeds = new String[columnCount];
+		this.windCardinalPoints = new String[columnCount];
+		this.windDegrees = new String[columnCount];
+		this.rains = new String[columnCount];
+		this.snows = new String[columnCount];
+		this.pops = new String[columnCount];
+
+		this.weatherIcons = new Bitmap[columnCount];
+		this.uvIndexIcons = new Bitmap[columnCount];
+		this.moonPhases = new Bitmap[columnCount];
+		this.windDirections = new short[columnCount];
+	}
+}
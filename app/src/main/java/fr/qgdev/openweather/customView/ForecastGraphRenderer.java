@@ -0,0 +1,261 @@
+package fr.qgdev.openweather.customView;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.UiThread;
+import androidx.annotation.WorkerThread;
+
+import java.util.TimeZone;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import fr.qgdev.openweather.FormattingService;
+import fr.qgdev.openweather.Place;
+import fr.qgdev.openweather.weather.DailyForecastColumns;
+import fr.qgdev.openweather.weather.HourlyForecastColumns;
+
+/**
+ * ForecastGraphRenderer
+ * <p>
+ * Prepare the hourly and daily forecast graphs of places in background as soon as their forecasts change<br>
+ * Binding a place only has to attach the prepared graphs to its views, nothing is computed nor rasterized on the main thread<br>
+ * Graphs are kept while the place is alive and its forecasts don't change, a place whose graphs aren't ready yet is
+ * prepared only once however many times it is asked
+ * </p>
+ *
+ * @author Quentin GOMES DOS REIS
+ * @version 2
+ * @see HourlyForecastGraphView
+ * @see DailyForecastGraphView
+ */
+public final class ForecastGraphRenderer {
+
+	private final GraphsPreparer graphsPreparer;
+	private final OnGraphsRenderedListener onGraphsRenderedListener;
+
+	private final ExecutorService executor;
+	private final Executor mainExecutor;
+
+	//  Only read and written on the main thread
+	private final WeakHashMap<Place, Graphs> graphs;
+
+
+	/**
+	 * ForecastGraphRenderer Constructor
+	 * <p>
+	 * Build a renderer with its own background thread
+	 * </p>
+	 *
+	 * @param context                  Context of the views displaying the graphs, used for resources and theme
+	 * @param formattingService        FormattingService used by the views displaying the graphs
+	 * @param onGraphsRenderedListener Called on the main thread when the graphs of a place are ready
+	 */
+	@UiThread
+	public ForecastGraphRenderer(@NonNull Context context, @NonNull FormattingService formattingService, @NonNull OnGraphsRenderedListener onGraphsRenderedListener) {
+		this(new ViewGraphsPreparer(context, formattingService),
+				Executors.newSingleThreadExecutor(runnable -> {
+					Thread thread = new Thread(() -> {
+						Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+						runnable.run();
+					}, "ForecastGraphRenderer");
+					thread.setDaemon(true);
+					return thread;
+				}),
+				new Handler(Looper.getMainLooper())::post,
+				onGraphsRenderedListener);
+	}
+
+
+	/**
+	 * ForecastGraphRenderer Constructor
+	 * <p>
+	 * Build a renderer preparing graphs with graphsPreparer on executor
+	 * </p>
+	 *
+	 * @param graphsPreparer           Prepare the graphs of a place
+	 * @param executor                 Background executor, it is shut down by release()
+	 * @param mainExecutor             Run results on the main thread
+	 * @param onGraphsRenderedListener Called on the main thread when the graphs of a place are ready
+	 */
+	ForecastGraphRenderer(@NonNull GraphsPreparer graphsPreparer, @NonNull ExecutorService executor, @NonNull Executor mainExecutor, @NonNull OnGraphsRenderedListener onGraphsRenderedListener) {
+		this.graphsPreparer = graphsPreparer;
+		this.onGraphsRenderedListener = onGraphsRenderedListener;
+		this.executor = executor;
+		this.mainExecutor = mainExecutor;
+		this.graphs = new WeakHashMap<>();
+	}
+
+
+	/**
+	 * render(@NonNull Place place)
+	 * <p>
+	 * Used to prepare the graphs of a place in background<br>
+	 * Does nothing if the graphs of the current forecasts of the place are ready or being prepared
+	 * </p>
+	 *
+	 * @param place The place
+	 */
+	@UiThread
+	public void render(@NonNull Place place) {
+		//  Forecasts not loaded yet have nothing to draw, they will be rendered once loaded
+		if (executor.isShutdown() || !place.areForecastsLoaded()) return;
+
+		Graphs placeGraphs = this.graphs.get(place);
+		if (placeGraphs != null && placeGraphs.isOf(place)) return;
+
+		final Graphs newGraphs = new Graphs(place);
+		this.graphs.put(place, newGraphs);
+
+		try {
+			executor.execute(() -> {
+				graphsPreparer.prepare(newGraphs);
+				mainExecutor.execute(() -> {
+					//  Forecasts of the place changed while these graphs were prepared
+					if (this.graphs.get(place) != newGraphs) return;
+
+					newGraphs.isReady = true;
+					onGraphsRenderedListener.onGraphsRendered(place);
+				});
+			});
+		} catch (RejectedExecutionException e) {
+			this.graphs.remove(place);
+		}
+	}
+
+
+	/**
+	 * getHourlyGraph(@NonNull Place place)
+	 * <p>
+	 * Used to get the hourly forecast graph of the current forecasts of a place
+	 * </p>
+	 *
+	 * @param place The place
+	 * @return The graph to attach to a HourlyForecastGraphView, null if it isn't ready
+	 */
+	@Nullable
+	@UiThread
+	public HourlyGraphGeometry getHourlyGraph(@NonNull Place place) {
+		Graphs placeGraphs = getReadyGraphs(place);
+		return placeGraphs == null ? null : placeGraphs.hourlyGraph;
+	}
+
+
+	/**
+	 * getDailyGraph(@NonNull Place place)
+	 * <p>
+	 * Used to get the daily forecast graph of the current forecasts of a place
+	 * </p>
+	 *
+	 * @param place The place
+	 * @return The graph to attach to a DailyForecastGraphView, null if it isn't ready
+	 */
+	@Nullable
+	@UiThread
+	public DailyGraphGeometry getDailyGraph(@NonNull Place place) {
+		Graphs placeGraphs = getReadyGraphs(place);
+		return placeGraphs == null ? null : placeGraphs.dailyGraph;
+	}
+
+
+	/**
+	 * release()
+	 * <p>
+	 * Used to stop the background thread, graphs being prepared are dropped and no more graphs will be prepared
+	 * </p>
+	 */
+	@UiThread
+	public void release() {
+		executor.shutdownNow();
+		//  Graphs already posted to the main thread are not the ones of their place anymore
+		this.graphs.clear();
+	}
+
+
+	@Nullable
+	private Graphs getReadyGraphs(@NonNull Place place) {
+		Graphs placeGraphs = this.graphs.get(place);
+		return placeGraphs != null && placeGraphs.isReady && placeGraphs.isOf(place) ? placeGraphs : null;
+	}
+
+
+	/**
+	 * OnGraphsRenderedListener
+	 * <p>
+	 * Called on the main thread when the graphs of a place are ready
+	 * </p>
+	 */
+	public interface OnGraphsRenderedListener {
+		void onGraphsRendered(@NonNull Place place);
+	}
+
+
+	/**
+	 * GraphsPreparer
+	 * <p>
+	 * Prepare the graphs of a place on the background thread
+	 * </p>
+	 */
+	interface GraphsPreparer {
+		@WorkerThread
+		void prepare(@NonNull Graphs placeGraphs);
+	}
+
+
+	//  Prepare graphs with views never displayed, only used for the paints of the current theme
+	private static final class ViewGraphsPreparer implements GraphsPreparer {
+		private final HourlyForecastGraphView hourlyForecastGraphView;
+		private final DailyForecastGraphView dailyForecastGraphView;
+		private final FormattingService formattingService;
+
+		private ViewGraphsPreparer(@NonNull Context context, @NonNull FormattingService formattingService) {
+			this.hourlyForecastGraphView = new HourlyForecastGraphView(context);
+			this.dailyForecastGraphView = new DailyForecastGraphView(context);
+			this.formattingService = formattingService;
+		}
+
+		@Override
+		public void prepare(@NonNull Graphs placeGraphs) {
+			//  Forecasts not yet downloaded have no graph
+			if (placeGraphs.hourlyForecastColumns.size() > 0 && placeGraphs.dailyForecastColumns.size() > 0)
+				placeGraphs.hourlyGraph = hourlyForecastGraphView.prepare(placeGraphs.hourlyForecastColumns, placeGraphs.dailyForecastColumns, formattingService, placeGraphs.timeZone);
+			if (placeGraphs.dailyForecastColumns.size() > 0)
+				placeGraphs.dailyGraph = dailyForecastGraphView.prepare(placeGraphs.dailyForecastColumns, placeGraphs.timeZone, formattingService);
+		}
+	}
+
+
+	//  Graphs of a place and the forecasts they were prepared from
+	static final class Graphs {
+		private final HourlyForecastColumns hourlyForecastColumns;
+		private final DailyForecastColumns dailyForecastColumns;
+		private final int timeZoneOffset;
+		private final TimeZone timeZone;
+
+		//  Written by the background thread before isReady is set on the main thread
+		private HourlyGraphGeometry hourlyGraph;
+		private DailyGraphGeometry dailyGraph;
+		private boolean isReady;
+
+		private Graphs(@NonNull Place place) {
+			this.hourlyForecastColumns = place.getHourlyForecastColumns();
+			this.dailyForecastColumns = place.getDailyForecastColumns();
+			this.timeZoneOffset = place.getTimeZoneOffset();
+			this.timeZone = place.getTimeZone();
+		}
+
+		//  Columns are replaced, never modified, when forecasts of a place are updated
+		private boolean isOf(@NonNull Place place) {
+			return this.hourlyForecastColumns == place.getHourlyForecastColumns()
+					&& this.dailyForecastColumns == place.getDailyForecastColumns()
+					&& this.timeZoneOffset == place.getTimeZoneOffset();
+		}
+	}
+}
@@ -0,0 +1,276 @@
+package fr.qgdev.openweather.customView;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.drawable.Drawable;
+import android.util.LruCache;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.DrawableRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.Px;
+
+/**
+ * ForecastRenderCache
+ * <p>
+ * Process wide atlas of the bitmaps rasterized once and drawn by every forecast view on each frame<br>
+ * Weather condition icons, label icons, moon phases, UV index icons and wind direction arrows are stored with the pixel size
+ * and the color they are drawn with, so views of different sizes or themes never share a wrong bitmap<br>
+ * It is a LRU cache limited by the number of bytes of its bitmaps, bitmaps evicted while a view still draws them are simply
+ * garbage collected once the view forgets them
+ * </p>
+ *
+ * @author Quentin GOMES DOS REIS
+ * @version 2
+ * @see ForecastView
+ */
+final class ForecastRenderCache {
+
+	//  Moon phases are rounded to the hundredth, the precision sent by OpenWeatherMap
+	static final int MOON_PHASE_BUCKETS = 100;
+
+	//  Kinds of stored bitmaps
+	private static final int WEATHER_CONDITION = 0;
+	private static final int LABEL_ICON = 1;
+	private static final int MOON_PHASE = 2;
+	private static final int UV_INDEX = 3;
+	private static final int WIND_DIRECTION = 4;
+
+	private final LruCache<Key, Bitmap> bitmaps;
+
+
+	/**
+	 * ForecastRenderCache Constructor
+	 * <p>
+	 * Build an empty atlas
+	 * </p>
+	 *
+	 * @param maxBytes Maximum number of bytes of the stored bitmaps
+	 */
+	ForecastRenderCache(int maxBytes) {
+		this.bitmaps = new LruCache<Key, Bitmap>(maxBytes) {
+			@Override
+			protected int sizeOf(Key key, Bitmap bitmap) {
+				return bitmap.getAllocationByteCount();
+			}
+		};
+	}
+
+
+	/**
+	 * getInstance()
+	 * <p>
+	 * Used to get the atlas shared by every forecast view of the application
+	 * </p>
+	 *
+	 * @return The process wide atlas
+	 */
+	@NonNull
+	static ForecastRenderCache getInstance() {
+		return InstanceHolder.instance;
+	}
+
+
+	/**
+	 * getMoonPhaseBucket(float moonPhase)
+	 * <p>
+	 * Used to get the bucket of a moon phase coefficient
+	 * </p>
+	 *
+	 * @param moonPhase The moon phase coefficient, between 0 and 1
+	 * @return The bucket of the moon phase
+	 */
+	static int getMoonPhaseBucket(float moonPhase) {
+		return Math.round(moonPhase * MOON_PHASE_BUCKETS);
+	}
+
+
+	/**
+	 * getBucketMoonPhase(int bucket)
+	 * <p>
+	 * Used to get the moon phase coefficient drawn for a bucket
+	 * </p>
+	 *
+	 * @param bucket Bucket given by getMoonPhaseBucket
+	 * @return The moon phase coefficient of the bucket
+	 */
+	static float getBucketMoonPhase(int bucket) {
+		return bucket / (float) MOON_PHASE_BUCKETS;
+	}
+
+
+	/**
+	 * getWeatherConditionIcon(@NonNull Context context, @DrawableRes int drawableId, @Px int width, @Px int height)
+	 * <p>
+	 * Used to get a weather condition drawable rasterized with its own colors<br>
+	 * Weather codes and day times using the same drawable share the same bitmap
+	 * </p>
+	 *
+	 * @param context    Context used to load the drawable
+	 * @param drawableId Id of the drawable of the weather condition
+	 * @param width      Width of the icon
+	 * @param height     Height of the icon
+	 * @return The rasterized icon
+	 */
+	@NonNull
+	Bitmap getWeatherConditionIcon(@NonNull Context context, @DrawableRes int drawableId, @Px int width, @Px int height) {
+		return get(new Key(WEATHER_CONDITION, drawableId, width, height, 0),
+				() -> rasterize(context.getDrawable(drawableId), width, height));
+	}
+
+
+	/**
+	 * getIcon(@NonNull Context context, @DrawableRes int drawableId, @Px int size, @ColorInt int color)
+	 * <p>
+	 * Used to get a drawable rasterized in a square bitmap and tinted with color
+	 * </p>
+	 *
+	 * @param context    Context used to load the drawable
+	 * @param drawableId Id of the drawable
+	 * @param size       Length side of the icon
+	 * @param color      Tint of the icon
+	 * @return The rasterized icon
+	 */
+	@NonNull
+	Bitmap getIcon(@NonNull Context context, @DrawableRes int drawableId, @Px int size, @ColorInt int color) {
+		return get(new Key(LABEL_ICON, drawableId, size, size, color), () -> {
+			Drawable drawable = context.getDrawable(drawableId).mutate();
+			drawable.setTint(color);
+			return rasterize(drawable, size, size);
+		});
+	}
+
+
+	/**
+	 * getMoonPhase(int bucket, @Px int sideLength, @ColorInt int color, @NonNull BitmapRenderer renderer)
+	 * <p>
+	 * Used to get a moon phase, renderer is only called when it isn't stored
+	 * </p>
+	 *
+	 * @param bucket     Bucket of the moon phase
+	 * @param sideLength Length side of the moon phase bitmap
+	 * @param color      Color of the light part of the moon
+	 * @param renderer   Rasterize the moon phase
+	 * @return The moon phase bitmap
+	 */
+	@NonNull
+	Bitmap getMoonPhase(int bucket, @Px int sideLength, @ColorInt int color, @NonNull BitmapRenderer renderer) {
+		return get(new Key(MOON_PHASE, bucket, sideLength, sideLength, color), renderer);
+	}
+
+
+	/**
+	 * getUvIndex(int uvIndex, @Px int sideLength, @ColorInt int color, @NonNull BitmapRenderer renderer)
+	 * <p>
+	 * Used to get an UV index icon, renderer is only called when it isn't stored
+	 * </p>
+	 *
+	 * @param uvIndex    The UV index
+	 * @param sideLength Length side of the UV index bitmap
+	 * @param color      Color of the icons of the current theme
+	 * @param renderer   Rasterize the UV index icon
+	 * @return The UV index bitmap
+	 */
+	@NonNull
+	Bitmap getUvIndex(int uvIndex, @Px int sideLength, @ColorInt int color, @NonNull BitmapRenderer renderer) {
+		return get(new Key(UV_INDEX, uvIndex, sideLength, sideLength, color), renderer);
+	}
+
+
+	/**
+	 * getWindDirection(@Px int sideLength, @ColorInt int color, @NonNull BitmapRenderer renderer)
+	 * <p>
+	 * Used to get the wind direction arrow pointing to the north, renderer is only called when it isn't stored
+	 * </p>
+	 *
+	 * @param sideLength Length side of the arrow bitmap
+	 * @param color      Color of the arrow
+	 * @param renderer   Rasterize the arrow
+	 * @return The wind direction arrow bitmap
+	 */
+	@NonNull
+	Bitmap getWindDirection(@Px int sideLength, @ColorInt int color, @NonNull BitmapRenderer renderer) {
+		return get(new Key(WIND_DIRECTION, 0, sideLength, sideLength, color), renderer);
+	}
+
+
+	@NonNull
+	private Bitmap get(@NonNull Key key, @NonNull BitmapRenderer renderer) {
+		Bitmap bitmap = this.bitmaps.get(key);
+
+		if (bitmap == null) {
+			bitmap = renderer.render();
+			this.bitmaps.put(key, bitmap);
+		}
+		return bitmap;
+	}
+
+
+	@NonNull
+	private static Bitmap rasterize(@NonNull Drawable drawable, @Px int width, @Px int height) {
+		Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+
+		drawable.setBounds(0, 0, width, height);
+		drawable.draw(new Canvas(bitmap));
+		return bitmap;
+	}
+
+
+	/**
+	 * BitmapRenderer
+	 * <p>
+	 * Rasterize a bitmap missing from the atlas
+	 * </p>
+	 */
+	interface BitmapRenderer {
+		@NonNull
+		Bitmap render();
+	}
+
+
+	//  Created the first time the atlas is used
+	private static final class InstanceHolder {
+		//  A 32nd of the maximum heap of the application
+		private static final ForecastRenderCache instance = new ForecastRenderCache((int) Math.min(Integer.MAX_VALUE, Runtime.getRuntime().maxMemory() / 32));
+	}
+
+
+	private static final class Key {
+		private final int kind;
+		private final int id;
+		private final int width;
+		private final int height;
+		private final int color;
+
+		private Key(int kind, int id, int width, int height, int color) {
+			this.kind = kind;
+			this.id = id;
+			this.width = width;
+			this.height = height;
+			this.color = color;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (!(o instanceof Key)) return false;
+			Key key = (Key) o;
+			return kind == key.kind &&
+					id == key.id &&
+					width == key.width &&
+					height == key.height &&
+					color == key.color;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = kind;
+			result = 31 * result + id;
+			result = 31 * result + width;
+			result = 31 * result + height;
+			result = 31 * result + color;
+			return result;
+		}
+	}
+}
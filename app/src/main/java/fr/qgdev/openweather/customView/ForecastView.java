@@ -4,6 +4,7 @@ import android.content.Context;
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.DashPathEffect;
+import android.graphics.Matrix;
 import android.graphics.Paint;
 import android.graphics.Path;
 import android.graphics.drawable.Drawable;
@@ -11,11 +12,11 @@ import android.util.AttributeSet;
 import android.util.TypedValue;
 import android.view.View;
 
+import androidx.annotation.DrawableRes;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.Px;
 
-import java.math.BigDecimal;
 import java.util.TimeZone;
 
 import fr.qgdev.openweather.FormattingService;
@@ -34,11 +35,33 @@ import fr.qgdev.openweather.R;
  */
 public abstract class ForecastView extends View {
 
+	//  Sun rays of the UV index icon, same angles as the original loop from 0 to 2 PI by PI / 8
+	private static final float[] SUN_RAYS_COS, SUN_RAYS_SIN;
+
+	static {
+		float maxAngle = 6.28218F, deltaAngle = 0.392636F;
+		int rays = 0;
+		for (float angle = 0; angle < maxAngle; angle += deltaAngle) rays++;
+
+		SUN_RAYS_COS = new float[rays];
+		SUN_RAYS_SIN = new float[rays];
+		float angle = 0;
+		for (int ray = 0; ray < rays; ray++, angle += deltaAngle) {
+			SUN_RAYS_COS[ray] = (float) Math.cos(angle);
+			SUN_RAYS_SIN[ray] = (float) Math.sin(angle);
+		}
+	}
+
+	//  Icons and moon phases already rasterized, shared by every forecast view
+	protected final ForecastRenderCache renderCache = ForecastRenderCache.getInstance();
+	//  Used to draw rasterized icons, rotated ones are filtered
+	private final Paint iconBitmapPaint = new Paint(Paint.ANTI_ALIAS_FLAG | Paint.FILTER_BITMAP_FLAG);
+	private final Matrix windDirectionMatrix = new Matrix();
+
 	protected FormattingService formattingService;
 	protected int COLUMN_WIDTH;
 	protected Context context;
 	protected int width, height;
-	protected Bitmap temperaturesGraph, humidityGraph, pressureGraph, windSpeedsGraph, precipitationsGraph;
 	protected TimeZone timeZone;
 	protected Paint datePaint,
 			structurePaint,
@@ -243,7 +266,8 @@ public abstract class ForecastView extends View {
 		canvas.drawPath(firstCurvePath, firstCurvePaint);
 		canvas.drawPath(secondCurvePath, secondCurvePaint);
 
-
+		//  The graph is never modified once generated, it can be uploaded before the first frame drawing it
+		returnedBitmap.prepareToDraw();
 		return returnedBitmap;
 	}
 
@@ -370,6 +394,7 @@ public abstract class ForecastView extends View {
 		canvas.drawPath(rainCurvePath, rainCurvePaint);
 		canvas.drawPath(snowCurvePath, snowCurvePaint);
 
+		returnedBitmap.prepareToDraw();
 		return returnedBitmap;
 	}
 
@@ -399,32 +424,87 @@ public abstract class ForecastView extends View {
 
 		//  Set Color and Dimensions of the drawable and print it on canvas
 		drawable.setTint(paint.getColor());
-		drawable.setBounds(BigDecimal.valueOf(left).intValue(),
-				BigDecimal.valueOf(top).intValue(),
-				BigDecimal.valueOf(left + height).intValue(),
-				BigDecimal.valueOf(bottom).intValue());
+		drawable.setBounds(left, top, (int) (left + height), (int) bottom);
 		drawable.draw(canvas);
 		canvas.drawText(text, textX, textY, paint);
 	}
 
 
 	/**
-	 * drawWeatherConditionIcons(@NonNull Canvas canvas, int weatherCode, @Px int top, @Px int left, @Px int width, @Px int height, boolean isDayTime)
+	 * getLabelIcon(@DrawableRes int drawableId, @NonNull Paint paint)
 	 * <p>
-	 * Used to draw drawable corresponding to weatherCode
+	 * Used to get the icon drawn next to a text by drawTextWithIcon, rasterized once with the size and the color used by paint
+	 * </p>
+	 *
+	 * @param drawableId Id of the drawable of the icon
+	 * @param paint      The paint that will be used to draw the text next to the icon
+	 * @return The rasterized icon
+	 */
+	@NonNull
+	protected Bitmap getLabelIcon(@DrawableRes int drawableId, @NonNull Paint paint) {
+		int deltaDrawableText = 5;
+		return this.renderCache.getIcon(getContext(), drawableId, (int) (paint.getTextSize() + deltaDrawableText * 2), paint.getColor());
+	}
+
+
+	/**
+	 * drawTextWithIcon(@NonNull Canvas canvas, @NonNull Bitmap icon, @NonNull String text, @Px int top, @Px int left, @Px int spaceBetween, @NonNull Paint paint)
+	 * <p>
+	 * Used to draw text with an icon given by getLabelIcon<br>
+	 * Same layout as drawTextWithDrawable, without allocating anything
+	 * </p>
+	 *
+	 * @param canvas       Elements will be drawn on it
+	 * @param icon         Icon that will be drawn next to the text
+	 * @param text         That text will be drawn
+	 * @param top          Where element will be drawn on the y axis
+	 * @param left         Where element will be drawn on the x axis
+	 * @param spaceBetween Space between text and icon in pixels
+	 * @param paint        The paint that will be used on text
+	 * @apiNote canvas, icon, text & paint shouldn't be null
+	 */
+	protected void drawTextWithIcon(@NonNull Canvas canvas, @NonNull Bitmap icon, @NonNull String text, @Px int top, @Px int left, @Px int spaceBetween, @NonNull Paint paint) {
+		int deltaDrawableText = 5;
+		float height = paint.getTextSize() + deltaDrawableText * 2,
+				textWidth = paint.measureText(text),
+				textX = left + height + spaceBetween + textWidth / 2F,
+				textY = top + height - deltaDrawableText;
+
+		canvas.drawBitmap(icon, left, top, null);
+		canvas.drawText(text, textX, textY, paint);
+	}
+
+
+	/**
+	 * getWeatherConditionIcon(int weatherCode, boolean isDayTime, @Px int width, @Px int height)
+	 * <p>
+	 * Used to get the icon corresponding to weatherCode, rasterized once in the render cache with the wanted dimensions
 	 * </p>
 	 *
-	 * @param canvas      Elements will be drawn on it
 	 * @param weatherCode Weather code of the weather
-	 * @param top         Where element will be drawn on the y axis
-	 * @param left        Where element will be drawn on the x axis
-	 * @param width       The width of the element
-	 * @param height      The height of the element
 	 * @param isDayTime   Describes if it is day time or not
-	 * @apiNote canvas shouldn't be null
+	 * @param width       The width of the icon
+	 * @param height      The height of the icon
+	 * @return The icon of the weather condition
 	 */
-	protected void drawWeatherConditionIcons(@NonNull Canvas canvas, int weatherCode, @Px int top, @Px int left, @Px int width, @Px int height, boolean isDayTime) {
-		//  WEATHER CONDITION DRAWING
+	@NonNull
+	protected Bitmap getWeatherConditionIcon(int weatherCode, boolean isDayTime, @Px int width, @Px int height) {
+		return this.renderCache.getWeatherConditionIcon(getContext(), getWeatherConditionIconId(weatherCode, isDayTime), width, height);
+	}
+
+
+	/**
+	 * getWeatherConditionIconId(int weatherCode, boolean isDayTime)
+	 * <p>
+	 * Used to get the id of the drawable corresponding to weatherCode
+	 * </p>
+	 *
+	 * @param weatherCode Weather code of the weather
+	 * @param isDayTime   Describes if it is day time or not
+	 * @return The id of the drawable of the weather condition
+	 */
+	@DrawableRes
+	protected int getWeatherConditionIconId(int weatherCode, boolean isDayTime) {
 		int weatherIconId;
 
 		switch (weatherCode) {
@@ -565,9 +645,28 @@ public abstract class ForecastView extends View {
 
 		}
 
-		Drawable drawable = getResources().getDrawable(weatherIconId, null);
-		drawable.setBounds(left, top, left + width, top + height);
-		drawable.draw(canvas);
+		return weatherIconId;
+	}
+
+
+	/**
+	 * drawWeatherConditionIcons(@NonNull Canvas canvas, int weatherCode, @Px int top, @Px int left, @Px int width, @Px int height, boolean isDayTime)
+	 * <p>
+	 * Used to draw drawable corresponding to weatherCode
+	 * </p>
+	 *
+	 * @param canvas      Elements will be drawn on it
+	 * @param weatherCode Weather code of the weather
+	 * @param top         Where element will be drawn on the y axis
+	 * @param left        Where element will be drawn on the x axis
+	 * @param width       The width of the element
+	 * @param height      The height of the element
+	 * @param isDayTime   Describes if it is day time or not
+	 * @apiNote canvas shouldn't be null
+	 */
+	protected void drawWeatherConditionIcons(@NonNull Canvas canvas, int weatherCode, @Px int top, @Px int left, @Px int width, @Px int height, boolean isDayTime) {
+		//  WEATHER CONDITION DRAWING
+		canvas.drawBitmap(getWeatherConditionIcon(weatherCode, isDayTime, width, height), left, top, null);
 	}
 
 
@@ -592,29 +691,41 @@ public abstract class ForecastView extends View {
 
 
 	/**
-	 * drawUvIndex(@NonNull Canvas canvas, @Px int uvIndex, @Px int x, @Px int y, @Px int sideLength)
+	 * getUvIndexIcon(int uvIndex, @Px int sideLength)
 	 * <p>
-	 * Used to draw UV Index icon
+	 * Used to get the UV index icon, rasterized once in the render cache
 	 * </p>
 	 *
-	 * @param canvas     Moon phase will be drawn on it
 	 * @param uvIndex    Uv Index
-	 * @param x          Center of the drawn UV index icon on the x axis
-	 * @param y          Center of the drawn UV index icon on the y axis
-	 * @param sideLength Length side of the drawn UV index icon
+	 * @param sideLength Length side of the UV index icon
+	 * @return The UV index icon
 	 */
-	protected void drawUvIndex(@NonNull Canvas canvas, @Px int uvIndex, @Px int x, @Px int y, @Px int sideLength) {
+	@NonNull
+	protected Bitmap getUvIndexIcon(int uvIndex, @Px int sideLength) {
+		return this.renderCache.getUvIndex(uvIndex, sideLength, this.iconsPaint.getColor(), () -> generateUvIndexBitmap(uvIndex, sideLength));
+	}
+
+
+	/**
+	 * generateUvIndexBitmap(int uvIndex, @Px int sideLength)
+	 * <p>
+	 * Used to rasterize UV Index icon
+	 * </p>
+	 *
+	 * @param uvIndex    Uv Index
+	 * @param sideLength Length side of the UV index icon
+	 * @return A Bitmap with the UV index icon in the ARGB_4444 format
+	 */
+	private Bitmap generateUvIndexBitmap(int uvIndex, @Px int sideLength) {
 		int middle = sideLength / 2,
 				circleRadius = middle / 2 - 3;
 
 		Bitmap sunBitmap = Bitmap.createBitmap(sideLength, sideLength, Bitmap.Config.ARGB_4444);
-		Canvas sunCanvas = new Canvas(sunBitmap);
+		Canvas uvCanvas = new Canvas(sunBitmap);
 
 		//  if the uv index is null, there is no sunrays
 		if (uvIndex != 0) {
-			float maxAngle = 6.28218F, deltaAngle = 0.392636F,
-					startRadius = circleRadius + 8, stopRadius = middle - 1;
-			float cosAngle, sinAngle;
+			float startRadius = circleRadius + 8, stopRadius = middle - 1;
 
 			if (uvIndex < 11) {
 				stopRadius = startRadius + uvIndex * (stopRadius - startRadius) / 11F;
@@ -633,42 +744,71 @@ public abstract class ForecastView extends View {
 			}
 
 			//  Draw sun rays
-			for (float angle = 0; angle < maxAngle; angle += deltaAngle) {
-				cosAngle = BigDecimal.valueOf(Math.cos(angle)).floatValue();
-				sinAngle = BigDecimal.valueOf(Math.sin(angle)).floatValue();
+			for (int ray = 0; ray < SUN_RAYS_COS.length; ray++) {
+				float cosAngle = SUN_RAYS_COS[ray], sinAngle = SUN_RAYS_SIN[ray];
 
-				sunCanvas.drawLine(middle + cosAngle * startRadius, middle + sinAngle * startRadius, middle + cosAngle * stopRadius, middle + sinAngle * stopRadius, this.sunIconPaint);
+				uvCanvas.drawLine(middle + cosAngle * startRadius, middle + sinAngle * startRadius, middle + cosAngle * stopRadius, middle + sinAngle * stopRadius, this.sunIconPaint);
 			}
 		} else {
 			this.sunIconPaint.setColor(getResources().getColor(R.color.colorIcons, null));
 		}
 
 		//  Draw the center of the sun an put uv index number in it
-		sunCanvas.drawCircle(middle, middle, circleRadius, this.sunIconPaint);
-		sunCanvas.drawText(String.valueOf(uvIndex), middle, middle + this.sunIconPaint.getTextSize() / 3F, this.sunIconPaint);
+		uvCanvas.drawCircle(middle, middle, circleRadius, this.sunIconPaint);
+		uvCanvas.drawText(String.valueOf(uvIndex), middle, middle + this.sunIconPaint.getTextSize() / 3F, this.sunIconPaint);
 
-		canvas.drawBitmap(sunBitmap, x, y, null);
+		return sunBitmap;
 	}
 
 
 	/**
-	 * drawWindDirectionIcon(@NonNull Canvas canvas, float windDirection, @Px int x, @Px int y, @Px int sideLength)
+	 * drawUvIndex(@NonNull Canvas canvas, @Px int uvIndex, @Px int x, @Px int y, @Px int sideLength)
 	 * <p>
-	 * Used to draw wind direction icon
+	 * Used to draw UV Index icon
 	 * </p>
 	 *
-	 * @param canvas        Moon phase will be drawn on it
-	 * @param windDirection Wind direction in degrees
-	 * @param x             Center of the drawn wind direction icon on the x axis
-	 * @param y             Center of the drawn wind direction icon on the y axis
-	 * @param sideLength    Length side of the drawn wind direction icon
+	 * @param canvas     Moon phase will be drawn on it
+	 * @param uvIndex    Uv Index
+	 * @param x          Center of the drawn UV index icon on the x axis
+	 * @param y          Center of the drawn UV index icon on the y axis
+	 * @param sideLength Length side of the drawn UV index icon
 	 */
-	protected void drawWindDirectionIcon(@NonNull Canvas canvas, float windDirection, @Px int x, @Px int y, @Px int sideLength) {
-		Bitmap compassBitmap = Bitmap.createBitmap(sideLength, sideLength, Bitmap.Config.ARGB_4444);
+	protected void drawUvIndex(@NonNull Canvas canvas, @Px int uvIndex, @Px int x, @Px int y, @Px int sideLength) {
+		canvas.drawBitmap(getUvIndexIcon(uvIndex, sideLength), x, y, null);
+	}
+
+
+	/**
+	 * getWindDirectionIcon(@Px int sideLength)
+	 * <p>
+	 * Used to get the wind direction arrow pointing to the north, rasterized once in the render cache<br>
+	 * It is rotated when drawn by drawWindDirectionIcon
+	 * </p>
+	 *
+	 * @param sideLength Length side of the wind direction icon
+	 * @return The wind direction icon
+	 */
+	@NonNull
+	protected Bitmap getWindDirectionIcon(@Px int sideLength) {
+		return this.renderCache.getWindDirection(sideLength, this.iconsPaint.getColor(), () -> generateWindDirectionBitmap(sideLength));
+	}
+
+
+	/**
+	 * generateWindDirectionBitmap(@Px int sideLength)
+	 * <p>
+	 * Used to rasterize the wind direction arrow pointing to the north
+	 * </p>
+	 *
+	 * @param sideLength Length side of the wind direction icon
+	 * @return A Bitmap with the wind direction arrow in the ARGB_8888 format
+	 */
+	private Bitmap generateWindDirectionBitmap(@Px int sideLength) {
+		Bitmap compassBitmap = Bitmap.createBitmap(sideLength, sideLength, Bitmap.Config.ARGB_8888);
 		Canvas compassCanvas = new Canvas(compassBitmap);
 
 		//  Do calculation for each points in clockwise order
-		float point1_x, point1_y, point2_x, point2_y, point3_x, point3_y, point4_x, point4_y, middle;
+		float point1_x, point1_y, point2_x, point2_y, point3_x, point3_y, point4_x, point4_y;
 
 		point1_x = sideLength * 0.5F;
 		point1_y = sideLength * 0.15F;
@@ -680,9 +820,6 @@ public abstract class ForecastView extends View {
 		point4_y = sideLength * 0.85F;
 
 		//  Rotate canvas with windDirection
-		middle = sideLength / 2F;
-		compassCanvas.rotate(windDirection, middle, middle);
-
 		//  Draw each lines of wind direction arrow
 		compassCanvas.drawLine(point1_x, point1_y, point3_x, point3_y, this.iconsPaint);
 		compassCanvas.drawLine(point3_x, point3_y, point4_x, point4_y, this.iconsPaint);
@@ -690,9 +827,48 @@ public abstract class ForecastView extends View {
 		compassCanvas.drawLine(point3_x, point3_y, point2_x, point2_y, this.iconsPaint);
 		compassCanvas.drawLine(point2_x, point2_y, point1_x, point1_y, this.iconsPaint);
 
-		canvas.drawBitmap(compassBitmap, x, y, null);
+		return compassBitmap;
 	}
 
+
+	/**
+	 * drawWindDirectionIcon(@NonNull Canvas canvas, @NonNull Bitmap windDirectionIcon, float windDirection, @Px int x, @Px int y)
+	 * <p>
+	 * Used to draw wind direction icon given by getWindDirectionIcon, rotated with a matrix<br>
+	 * Nothing is allocated
+	 * </p>
+	 *
+	 * @param canvas            Elements will be drawn on it
+	 * @param windDirectionIcon The arrow pointing to the north
+	 * @param windDirection     Wind direction in degrees
+	 * @param x                 Left of the drawn wind direction icon on the x axis
+	 * @param y                 Top of the drawn wind direction icon on the y axis
+	 */
+	protected void drawWindDirectionIcon(@NonNull Canvas canvas, @NonNull Bitmap windDirectionIcon, float windDirection, @Px int x, @Px int y) {
+		this.windDirectionMatrix.setRotate(windDirection, windDirectionIcon.getWidth() / 2F, windDirectionIcon.getHeight() / 2F);
+		this.windDirectionMatrix.postTranslate(x, y);
+
+		canvas.drawBitmap(windDirectionIcon, this.windDirectionMatrix, this.iconBitmapPaint);
+	}
+
+
+	/**
+	 * drawWindDirectionIcon(@NonNull Canvas canvas, float windDirection, @Px int x, @Px int y, @Px int sideLength)
+	 * <p>
+	 * Used to draw wind direction icon
+	 * </p>
+	 *
+	 * @param canvas        Moon phase will be drawn on it
+	 * @param windDirection Wind direction in degrees
+	 * @param x             Center of the drawn wind direction icon on the x axis
+	 * @param y             Center of the drawn wind direction icon on the y axis
+	 * @param sideLength    Length side of the drawn wind direction icon
+	 */
+	protected void drawWindDirectionIcon(@NonNull Canvas canvas, float windDirection, @Px int x, @Px int y, @Px int sideLength) {
+		drawWindDirectionIcon(canvas, getWindDirectionIcon(sideLength), windDirection, x, y);
+	}
+
+
 	/**
 	 * initComponents(@NonNull Context context)
 	 * <p>
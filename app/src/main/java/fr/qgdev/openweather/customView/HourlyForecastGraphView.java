@@ -8,20 +8,20 @@ import android.graphics.Path;
 import android.util.AttributeSet;
 import android.view.View;
 
+import androidx.annotation.AnyThread;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.Px;
+import androidx.annotation.UiThread;
 
-import java.lang.reflect.Field;
 import java.math.BigDecimal;
-import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.TimeZone;
 
 import fr.qgdev.openweather.FormattingService;
-import fr.qgdev.openweather.weather.DailyWeatherForecast;
-import fr.qgdev.openweather.weather.HourlyWeatherForecast;
+import fr.qgdev.openweather.weather.DailyForecastColumns;
+import fr.qgdev.openweather.weather.HourlyForecastColumns;
 
 /**
  * HourlyForecastGraphView
@@ -35,8 +35,7 @@ import fr.qgdev.openweather.weather.HourlyWeatherForecast;
  */
 public class HourlyForecastGraphView extends ForecastView {
 
-	private ArrayList<HourlyWeatherForecast> hourlyWeatherForecastArrayList;
-	private boolean[] isDayTime;
+	private HourlyGraphGeometry geometry;
 
 
 	/**
@@ -49,6 +48,7 @@ public class HourlyForecastGraphView extends ForecastView {
 	 */
 	public HourlyForecastGraphView(@NonNull Context context) {
 		super(context);
+		this.COLUMN_WIDTH = dpToPx(90);
 	}
 
 
@@ -63,36 +63,32 @@ public class HourlyForecastGraphView extends ForecastView {
 	 */
 	public HourlyForecastGraphView(@NonNull Context context, @Nullable AttributeSet attrs) {
 		super(context, attrs);
+		this.COLUMN_WIDTH = dpToPx(90);
 	}
 
 
 	/**
-	 * generateIsDayTimeArray(@NonNull ArrayList<HourlyWeatherForecast> hourlyWeatherForecastArrayList, @NonNull ArrayList<DailyWeatherForecast> dailyWeatherForecastArrayList)
+	 * generateIsDayTimeArray(@NonNull HourlyForecastColumns hourlyForecastColumns, @NonNull DailyForecastColumns dailyForecastColumns)
 	 * <p>
-	 * Used to generate dayTime array which describe if it is day time for each hours of hourlyWeatherForecastArrayList
+	 * Used to generate dayTime array which describe if it is day time for each hours of hourlyForecastColumns
 	 * </p>
 	 *
-	 * @param hourlyWeatherForecastArrayList ArrayList of HourlyWeatherForecasts
-	 * @param dailyWeatherForecastArrayList  ArrayList of DailyWeatherForecasts
+	 * @param hourlyForecastColumns Columns of the hourly forecasts
+	 * @param dailyForecastColumns  Columns of the daily forecasts
 	 * @return The generated array
 	 */
-	private boolean[] generateIsDayTimeArray(@NonNull ArrayList<HourlyWeatherForecast> hourlyWeatherForecastArrayList, @NonNull ArrayList<DailyWeatherForecast> dailyWeatherForecastArrayList) {
+	private boolean[] generateIsDayTimeArray(@NonNull HourlyForecastColumns hourlyForecastColumns, @NonNull DailyForecastColumns dailyForecastColumns) {
 
-		HourlyWeatherForecast hourlyWeatherForecast;
-		DailyWeatherForecast dailyWeatherForecast;
-		boolean[] isDayTime = new boolean[hourlyWeatherForecastArrayList.size()];
+		boolean[] isDayTime = new boolean[hourlyForecastColumns.size()];
 		long previousItemDay, currentItemDay;
 		int dayIndex = 0;
 		Calendar calendar;
 
-		//  Start by the beginning of each arraylist
-
-		hourlyWeatherForecast = hourlyWeatherForecastArrayList.get(0);
-		dailyWeatherForecast = dailyWeatherForecastArrayList.get(0);
+		//  Start by the beginning of each columns
 
 		//  Initialization of calendar
 		calendar = Calendar.getInstance();
-		calendar.setTimeInMillis(hourlyWeatherForecast.dt);
+		calendar.setTimeInMillis(hourlyForecastColumns.dt[0]);
 
 		/*  Initialization of the previousItemDay
 		 *       It is the ID of a day in a year, each day have an unique ID.
@@ -105,21 +101,19 @@ public class HourlyForecastGraphView extends ForecastView {
 		previousItemDay = calendar.get(Calendar.DAY_OF_YEAR) + calendar.get(Calendar.YEAR) * 1000L;
 
 
-		for (int index = 0; index < hourlyWeatherForecastArrayList.size(); index++) {
+		for (int index = 0; index < hourlyForecastColumns.size(); index++) {
 
-			hourlyWeatherForecast = hourlyWeatherForecastArrayList.get(index);
-			calendar.setTimeInMillis(hourlyWeatherForecast.dt);
+			calendar.setTimeInMillis(hourlyForecastColumns.dt[index]);
 
 			currentItemDay = calendar.get(Calendar.DAY_OF_YEAR) + calendar.get(Calendar.YEAR) * 1000L;
 
-			//  New day detected, switching to the new day by incrementing the counter (dayIndex) by one and updating dailyWeatherForecast variable
+			//  New day detected, switching to the new day by incrementing the counter (dayIndex) by one
 			if (previousItemDay < currentItemDay) {
 				previousItemDay = currentItemDay;
 				dayIndex++;
-				dailyWeatherForecast = dailyWeatherForecastArrayList.get(dayIndex);
 			}
 
-			isDayTime[index] = dailyWeatherForecast.sunrise < hourlyWeatherForecast.dt && hourlyWeatherForecast.dt < dailyWeatherForecast.sunset;
+			isDayTime[index] = dailyForecastColumns.sunrise[dayIndex] < hourlyForecastColumns.dt[index] && hourlyForecastColumns.dt[index] < dailyForecastColumns.sunset[dayIndex];
 		}
 
 		return isDayTime;
@@ -127,86 +121,89 @@ public class HourlyForecastGraphView extends ForecastView {
 
 
 	/**
-	 * hourlyWeatherForecastArrayToSelectedAttributeFloatArray(@NonNull ArrayList<HourlyWeatherForecast> hourlyWeatherForecastArrayList, @NonNull String selectedAttribute) throws NoSuchFieldException, IllegalAccessException
+	 * initialization(@NonNull HourlyForecastColumns hourlyForecastColumns, @NonNull DailyForecastColumns dailyForecastColumns, @NonNull FormattingService unitsFormattingService, @NonNull TimeZone timeZone)
 	 * <p>
-	 * Used to get an array of selected attribute of an ArrayList of HourlyWeatherForecast objects
+	 * Used to initialize attributes used to draw a view<br>
+	 * Prepare the forecasts and attach them right away, used when no prepared forecasts are available
 	 * </p>
 	 *
-	 * @param hourlyWeatherForecastArrayList The HourlyWeatherForecast arrayList
-	 * @param selectedAttribute              The name of the wanted attribute
-	 * @return The created array filled with all attributes
-	 * @throws NoSuchFieldException   When the wanted attribute doesn't exist
-	 * @throws IllegalAccessException When the wanted attributed is not a float
+	 * @param hourlyForecastColumns  Columns of the hourly forecasts
+	 * @param dailyForecastColumns   Columns of the daily forecasts
+	 * @param unitsFormattingService FormattingService of the application to format dates
+	 * @param timeZone               TimeZone of the place
 	 */
-	private float[] hourlyWeatherForecastArrayToSelectedAttributeFloatArray(@NonNull ArrayList<HourlyWeatherForecast> hourlyWeatherForecastArrayList, @NonNull String selectedAttribute) throws NoSuchFieldException, IllegalAccessException {
-		float[] returnedAttributeArray = new float[hourlyWeatherForecastArrayList.size()];
-		Field classField = HourlyWeatherForecast.class.getDeclaredField(selectedAttribute);
-
-		for (int index = 0; index < returnedAttributeArray.length; index++) {
-			returnedAttributeArray[index] = classField.getFloat(hourlyWeatherForecastArrayList.get(index));
-		}
-
-		return returnedAttributeArray;
+	@UiThread
+	public void initialization(@NonNull HourlyForecastColumns hourlyForecastColumns, @NonNull DailyForecastColumns dailyForecastColumns, @NonNull FormattingService unitsFormattingService, @NonNull TimeZone timeZone) {
+		attach(prepare(hourlyForecastColumns, dailyForecastColumns, unitsFormattingService, timeZone));
 	}
 
 
 	/**
-	 * initialization(@NonNull ArrayList<HourlyWeatherForecast> hourlyWeatherForecastArrayList, @NonNull ArrayList<DailyWeatherForecast> dailyWeatherForecastArrayList, @NonNull FormattingService unitsFormattingService, @NonNull TimeZone timeZone)
+	 * prepare(@NonNull HourlyForecastColumns hourlyForecastColumns, @NonNull DailyForecastColumns dailyForecastColumns, @NonNull FormattingService unitsFormattingService, @NonNull TimeZone timeZone)
 	 * <p>
-	 * Used to initialize attributes used to draw a view
+	 * Used to compute everything drawn for the hourly forecasts, graphs included, without changing what the view currently draws<br>
+	 * Only the paints of the view are read, so it can be called from a background thread on a view that isn't displayed
 	 * </p>
 	 *
-	 * @param hourlyWeatherForecastArrayList ArrayList of HourlyWeatherForecast
-	 * @param dailyWeatherForecastArrayList  ArrayList of DailyWeatherForecasts
-	 * @param timeZone                       TimeZone of the place
-	 * @param unitsFormattingService         FormattingService of the application to format dates
+	 * @param hourlyForecastColumns  Columns of the hourly forecasts
+	 * @param dailyForecastColumns   Columns of the daily forecasts
+	 * @param unitsFormattingService FormattingService of the application to format dates
+	 * @param timeZone               TimeZone of the place
+	 * @return The prepared forecasts, ready to be given to attach
 	 */
-	public void initialization(@NonNull ArrayList<HourlyWeatherForecast> hourlyWeatherForecastArrayList, @NonNull ArrayList<DailyWeatherForecast> dailyWeatherForecastArrayList, @NonNull FormattingService unitsFormattingService, @NonNull TimeZone timeZone) {
-
-		this.COLUMN_WIDTH = dpToPx(90);
-		float[] firstCurve, secondCurve;
-
-		this.width = hourlyWeatherForecastArrayList.size() * COLUMN_WIDTH;
-		this.height = dpToPx(850);
-
-		this.hourlyWeatherForecastArrayList = hourlyWeatherForecastArrayList;
-
-		formattingService = unitsFormattingService;
-
-		this.timeZone = timeZone;
-
-		isDayTime = generateIsDayTimeArray(hourlyWeatherForecastArrayList, (ArrayList<DailyWeatherForecast>) dailyWeatherForecastArrayList.clone());
+	@NonNull
+	@AnyThread
+	public HourlyGraphGeometry prepare(@NonNull HourlyForecastColumns hourlyForecastColumns, @NonNull DailyForecastColumns dailyForecastColumns, @NonNull FormattingService unitsFormattingService, @NonNull TimeZone timeZone) {
+		HourlyGraphGeometry geometry = new HourlyGraphGeometry(hourlyForecastColumns.size(), hourlyForecastColumns.size() * COLUMN_WIDTH, dpToPx(850));
 
+		computeGeometry(geometry, hourlyForecastColumns, generateIsDayTimeArray(hourlyForecastColumns, dailyForecastColumns), unitsFormattingService, timeZone);
 
 		try {
 			//  Temperatures graph
-			firstCurve = hourlyWeatherForecastArrayToSelectedAttributeFloatArray(hourlyWeatherForecastArrayList, "temperature");
-			secondCurve = hourlyWeatherForecastArrayToSelectedAttributeFloatArray(hourlyWeatherForecastArrayList, "temperatureFeelsLike");
-			this.temperaturesGraph = generateBitmap2CurvesGraphPath(firstCurve, secondCurve, this.width, dpToPx(50), primaryGraphPaint, secondaryGraphPaint);
+			geometry.temperaturesGraph = generateBitmap2CurvesGraphPath(hourlyForecastColumns.temperature, hourlyForecastColumns.temperatureFeelsLike, geometry.width, dpToPx(50), primaryGraphPaint, secondaryGraphPaint);
 
 			//  Humidity graph
-			firstCurve = hourlyWeatherForecastArrayToSelectedAttributeFloatArray(hourlyWeatherForecastArrayList, "humidity");
-			this.humidityGraph = generateBitmap1CurvesGraphPath(firstCurve, this.width, dpToPx(30), tertiaryGraphPaint);
+			geometry.humidityGraph = generateBitmap1CurvesGraphPath(hourlyForecastColumns.humidity, geometry.width, dpToPx(30), tertiaryGraphPaint);
 
 			//  Pressure graph
-			firstCurve = hourlyWeatherForecastArrayToSelectedAttributeFloatArray(hourlyWeatherForecastArrayList, "pressure");
-			this.pressureGraph = generateBitmap1CurvesGraphPath(firstCurve, this.width, dpToPx(30), primaryGraphPaint);
+			geometry.pressureGraph = generateBitmap1CurvesGraphPath(hourlyForecastColumns.pressure, geometry.width, dpToPx(30), primaryGraphPaint);
 
 			//  Wind speeds graph
-			firstCurve = hourlyWeatherForecastArrayToSelectedAttributeFloatArray(hourlyWeatherForecastArrayList, "windSpeed");
-			secondCurve = hourlyWeatherForecastArrayToSelectedAttributeFloatArray(hourlyWeatherForecastArrayList, "windGustSpeed");
-			this.windSpeedsGraph = generateBitmap2CurvesGraphPath(firstCurve, secondCurve, this.width, dpToPx(50), primaryGraphPaint, secondaryGraphPaint);
+			geometry.windSpeedsGraph = generateBitmap2CurvesGraphPath(hourlyForecastColumns.windSpeed, hourlyForecastColumns.windGustSpeed, geometry.width, dpToPx(50), primaryGraphPaint, secondaryGraphPaint);
 
 			//  Precipitations graph
-			this.precipitationsGraph = generateBitmapPrecipitationsGraphPath(
-					hourlyWeatherForecastArrayToSelectedAttributeFloatArray(hourlyWeatherForecastArrayList, "rain"),
-					hourlyWeatherForecastArrayToSelectedAttributeFloatArray(hourlyWeatherForecastArrayList, "snow"),
-					hourlyWeatherForecastArrayToSelectedAttributeFloatArray(hourlyWeatherForecastArrayList, "pop"),
-					this.width, dpToPx(40), tertiaryGraphPaint, primaryGraphPaint, popBarGraphPaint);
+			geometry.precipitationsGraph = generateBitmapPrecipitationsGraphPath(
+					hourlyForecastColumns.rain,
+					hourlyForecastColumns.snow,
+					hourlyForecastColumns.pop,
+					geometry.width, dpToPx(40), tertiaryGraphPaint, primaryGraphPaint, popBarGraphPaint);
 
 		} catch (Exception e) {
 			e.printStackTrace();
 		}
+		return geometry;
+	}
+
+
+	/**
+	 * attach(@NonNull HourlyGraphGeometry geometry)
+	 * <p>
+	 * Used to draw forecasts prepared by prepare, on this view or on another one<br>
+	 * Nothing is computed, the view is only resized if needed and drawn again
+	 * </p>
+	 *
+	 * @param geometry Prepared forecasts
+	 */
+	@UiThread
+	public void attach(@NonNull HourlyGraphGeometry geometry) {
+		boolean isResized = this.width != geometry.width || this.height != geometry.height;
+
+		this.geometry = geometry;
+		this.width = geometry.width;
+		this.height = geometry.height;
+
+		if (isResized) requestLayout();
+		invalidate();
 	}
 
 	/**
@@ -259,52 +256,103 @@ public class HourlyForecastGraphView extends ForecastView {
 
 
 	/**
-	 * drawStructureAndDate(@NonNull Canvas canvas, @NonNull ArrayList<HourlyWeatherForecast> hourlyWeatherForecastArrayList, @NonNull TimeZone timeZone)
+	 * computeGeometry(@NonNull HourlyGraphGeometry geometry, @NonNull HourlyForecastColumns hourlyForecastColumns, boolean[] isDayTime, @NonNull FormattingService formattingService, @NonNull TimeZone timeZone)
 	 * <p>
-	 * Used to draw principal elements of the view such as date, day moments and separators
+	 * Used to compute positions, separators, texts and icons drawn by onDraw<br>
+	 * onDraw only reads the result and doesn't allocate anything
 	 * </p>
 	 *
-	 * @param canvas                         Elements will be drawn on it
-	 * @param hourlyWeatherForecastArrayList Where the name of the day will be drawn on y axis
-	 * @param timeZone                       The timeZone of the place
+	 * @param geometry              Where the result is stored
+	 * @param hourlyForecastColumns Columns of the hourly forecasts
+	 * @param isDayTime             If it is day time for each hour
+	 * @param formattingService     FormattingService of the application
+	 * @param timeZone              TimeZone of the place
 	 */
-	private void drawStructureAndDate(@NonNull Canvas canvas, @NonNull ArrayList<HourlyWeatherForecast> hourlyWeatherForecastArrayList, @NonNull TimeZone timeZone) {
-
+	private void computeGeometry(@NonNull HourlyGraphGeometry geometry, @NonNull HourlyForecastColumns hourlyForecastColumns, boolean[] isDayTime, @NonNull FormattingService formattingService, @NonNull TimeZone timeZone) {
 		byte previousItemDay = 0, currentItemDay;
-		int x_div = 0;
-		int dateFirstLineY, dateSecondLineY, hourLineY, halfColumnWidth;
+		float x_div = 0;
 		Calendar calendar;
-		Date date;
+		Date date = new Date();
+
+		//  Positions on the y axis
+		geometry.dateFirstLineY = dpToPx(15);
+		geometry.dateSecondLineY = dpToPx(35);
+		geometry.hourLineY = dpToPx(60);
+		geometry.weatherIconTop = dpToPx(70);
+		geometry.iconSize = dpToPx(50);
+		geometry.iconHalfSize = dpToPx(25);
+		geometry.temperatureY = dpToPx(140);
+		geometry.temperatureFeelsLikeY = geometry.temperatureY + dpToPx(25);
+		geometry.humidityY = dpToPx(245);
+		geometry.pressureY = dpToPx(315);
+		geometry.uvIndexTop = dpToPx(370);
+		geometry.dewPointY = dpToPx(445);
+		geometry.cloudinessY = dpToPx(475);
+		geometry.visibilityY = dpToPx(505);
+		geometry.windSpeedY = dpToPx(540);
+		geometry.windGustSpeedY = geometry.windSpeedY + dpToPx(25);
+		geometry.windDirectionIconLeftMargin = dpToPx(5);
+		geometry.windDirectionIconTop = dpToPx(625);
+		geometry.windDirectionIconSize = geometry.iconSize - dpToPx(10);
+		geometry.windCardinalPointY = geometry.windDirectionIconTop + geometry.iconSize + dpToPx(5);
+		geometry.windDegreesY = geometry.windDirectionIconTop + geometry.iconSize + dpToPx(25);
+		geometry.rainY = dpToPx(725);
+		geometry.snowY = geometry.rainY + dpToPx(25);
+		geometry.popY = geometry.rainY + dpToPx(50);
+		geometry.temperaturesGraphY = dpToPx(175);
+		geometry.humidityGraphY = dpToPx(260);
+		geometry.pressureGraphY = dpToPx(330);
+		geometry.windSpeedsGraphY = dpToPx(575);
+		geometry.precipitationsGraphY = dpToPx(785);
+
+		geometry.windDirectionIcon = getWindDirectionIcon(geometry.windDirectionIconSize);
 
 		calendar = Calendar.getInstance();
 		calendar.setTimeZone(timeZone);
-		calendar.setTimeInMillis(hourlyWeatherForecastArrayList.get(0).dt);
-
-		dateFirstLineY = dpToPx(15);
-		dateSecondLineY = dpToPx(35);
-		hourLineY = dpToPx(60);
-		halfColumnWidth = COLUMN_WIDTH / 2;
 
-		for (int index = 0; index < hourlyWeatherForecastArrayList.size(); index++) {
+		for (int index = 0; index < hourlyForecastColumns.size(); index++) {
 
-			date = new Date(hourlyWeatherForecastArrayList.get(index).dt);
+			date.setTime(hourlyForecastColumns.dt[index]);
 
-			calendar.setTimeInMillis(hourlyWeatherForecastArrayList.get(index).dt);
+			calendar.setTimeInMillis(hourlyForecastColumns.dt[index]);
 			currentItemDay = BigDecimal.valueOf(calendar.get(Calendar.DAY_OF_MONTH)).byteValue();
 
-			//  New day detected, draw day div and date
+			//  New day detected, day div and date
 			if (previousItemDay != currentItemDay) {
 				previousItemDay = currentItemDay;
-				canvas.drawLine(x_div, 0, x_div, canvas.getHeight(), this.datePaint);
-				canvas.drawText(formattingService.getFormattedShortDayName(date, timeZone), x_div + 10, dateFirstLineY, this.datePaint);
-				canvas.drawText(formattingService.getFormattedDayMonth(date, timeZone), x_div + 10, dateSecondLineY, this.datePaint);
+				addSeparatorLine(geometry.daySeparatorLines, geometry.daySeparatorLinesCount++, x_div, 0, geometry.height);
+				geometry.dayNames[index] = formattingService.getFormattedShortDayName(date, timeZone);
+				geometry.dayMonths[index] = formattingService.getFormattedDayMonth(date, timeZone);
 			}
-			//  Draw hour div
+			//  Hour div
 			else {
-				canvas.drawLine(x_div, 120, x_div, canvas.getHeight(), this.structurePaint);
+				addSeparatorLine(geometry.hourSeparatorLines, geometry.hourSeparatorLinesCount++, x_div, 120, geometry.height);
+				geometry.dayNames[index] = null;
+				geometry.dayMonths[index] = null;
 			}
-			//  Draw hour
-			canvas.drawText(formattingService.getFormattedHour(date, timeZone), x_div + halfColumnWidth, hourLineY, this.structurePaint);
+			geometry.hours[index] = formattingService.getFormattedHour(date, timeZone);
+
+			geometry.weatherIcons[index] = getWeatherConditionIcon(hourlyForecastColumns.weatherCode[index], isDayTime[index], geometry.iconSize, geometry.iconSize);
+			geometry.uvIndexIcons[index] = getUvIndexIcon(hourlyForecastColumns.uvIndex[index], geometry.iconSize);
+
+			geometry.temperatures[index] = formattingService.getFloatFormattedTemperature(hourlyForecastColumns.temperature[index], false);
+			geometry.temperaturesFeelsLike[index] = formattingService.getFloatFormattedTemperature(hourlyForecastColumns.temperatureFeelsLike[index], false);
+			geometry.humidities[index] = String.format("%d%%", hourlyForecastColumns.humidity[index]);
+			geometry.pressures[index] = formattingService.getFormattedPressure(hourlyForecastColumns.pressure[index], false);
+
+			geometry.dewPoints[index] = formattingService.getFloatFormattedTemperature(hourlyForecastColumns.dewPoint[index], false);
+			geometry.cloudiness[index] = String.format("%d%%", hourlyForecastColumns.cloudiness[index]);
+			geometry.visibilities[index] = formattingService.getFloatFormattedDistance(hourlyForecastColumns.visibility[index], true);
+
+			geometry.windSpeeds[index] = formattingService.getFloatFormattedSpeed(hourlyForecastColumns.windSpeed[index], true);
+			geometry.windGustSpeeds[index] = formattingService.getFloatFormattedSpeed(hourlyForecastColumns.windGustSpeed[index], true);
+			geometry.windDirections[index] = hourlyForecastColumns.windDirection[index];
+			geometry.windCardinalPoints[index] = formattingService.getFormattedDirectionInCardinalPoints(hourlyForecastColumns.windDirection[index]);
+			geometry.windDegrees[index] = formattingService.getFormattedDirectionInDegrees(hourlyForecastColumns.windDirection[index]);
+
+			geometry.rains[index] = formattingService.getFloatFormattedShortDistance(hourlyForecastColumns.rain[index], true);
+			geometry.snows[index] = formattingService.getFloatFormattedShortDistance(hourlyForecastColumns.snow[index], true);
+			geometry.pops[index] = String.format("%d %%", BigDecimal.valueOf(hourlyForecastColumns.pop[index] * 100).intValue());
 
 			x_div += COLUMN_WIDTH;
 		}
@@ -312,111 +360,109 @@ public class HourlyForecastGraphView extends ForecastView {
 
 
 	/**
-	 * drawTemperatures(@NonNull Canvas canvas, DailyWeatherForecast dailyWeatherForecast, float top, float left)
+	 * addSeparatorLine(float[] lines, int lineIndex, float x, float top, float bottom)
 	 * <p>
-	 * Used to draw temperatures and feel like temperatures
+	 * Used to store a vertical separator going from top to bottom in the Canvas.drawLines() format
 	 * </p>
 	 *
-	 * @param canvas                       Elements will be drawn on it
-	 * @param currentHourlyWeatherForecast Where data will be taken
-	 * @param y                            Where temperatures will be drawn on the y axis
-	 * @param middleOfColumnX              Where temperatures will be drawn on the x axis
+	 * @param lines     Where the separator is stored
+	 * @param lineIndex Index of the separator in lines
+	 * @param x         Position of the separator on the x axis
+	 * @param top       Where the separator starts on the y axis
+	 * @param bottom    Where the separator stops on the y axis
 	 */
-	private void drawTemperatures(@NonNull Canvas canvas, @NonNull HourlyWeatherForecast currentHourlyWeatherForecast, @Px int y, @Px int middleOfColumnX) {
-		//Temperatures
-		canvas.drawText(formattingService.getFloatFormattedTemperature(currentHourlyWeatherForecast.temperature, false), middleOfColumnX, y, this.primaryPaint);
-		canvas.drawText(formattingService.getFloatFormattedTemperature(currentHourlyWeatherForecast.temperatureFeelsLike, false), middleOfColumnX, y + dpToPx(25), this.secondaryPaint);
+	private static void addSeparatorLine(float[] lines, int lineIndex, float x, float top, float bottom) {
+		int offset = lineIndex * 4;
+		lines[offset] = x;
+		lines[offset + 1] = top;
+		lines[offset + 2] = x;
+		lines[offset + 3] = bottom;
 	}
 
 
 	/**
-	 * drawPressure(@NonNull Canvas canvas, DailyWeatherForecast dailyWeatherForecast, float top, float left)
+	 * drawStructureAndDate(@NonNull Canvas canvas)
 	 * <p>
-	 * Used to draw pressure
+	 * Used to draw principal elements of the view such as date, day moments and separators
 	 * </p>
 	 *
-	 * @param canvas                       Elements will be drawn on it
-	 * @param currentHourlyWeatherForecast Where data will be taken
-	 * @param y                            Where pressure will be drawn on the y axis
-	 * @param middleOfColumnX              Where pressure will be drawn on the x axis
+	 * @param canvas Elements will be drawn on it
 	 */
-	private void drawPressure(@NonNull Canvas canvas, @NonNull HourlyWeatherForecast currentHourlyWeatherForecast, @Px int y, @Px int middleOfColumnX) {
-		canvas.drawText(formattingService.getFormattedPressure(currentHourlyWeatherForecast.pressure, false), middleOfColumnX, y, this.primaryPaint);
-	}
-
+	private void drawStructureAndDate(@NonNull Canvas canvas) {
+		HourlyGraphGeometry geometry = this.geometry;
+		int x_div = 0, halfColumnWidth = COLUMN_WIDTH / 2;
+
+		canvas.drawLines(geometry.daySeparatorLines, 0, geometry.daySeparatorLinesCount * 4, this.datePaint);
+		canvas.drawLines(geometry.hourSeparatorLines, 0, geometry.hourSeparatorLinesCount * 4, this.structurePaint);
+
+		for (int index = 0; index < geometry.columnCount; index++) {
+			//  Date of a new day
+			if (geometry.dayNames[index] != null) {
+				canvas.drawText(geometry.dayNames[index], x_div + 10, geometry.dateFirstLineY, this.datePaint);
+				canvas.drawText(geometry.dayMonths[index], x_div + 10, geometry.dateSecondLineY, this.datePaint);
+			}
+			//  Draw hour
+			canvas.drawText(geometry.hours[index], x_div + halfColumnWidth, geometry.hourLineY, this.structurePaint);
 
-	/**
-	 * drawDewPoint(@NonNull Canvas canvas, DailyWeatherForecast dailyWeatherForecast, float top, float left)
-	 * <p>
-	 * Used to draw dewPoint
-	 * </p>
-	 *
-	 * @param canvas                       Elements will be drawn on it
-	 * @param currentHourlyWeatherForecast Where data will be taken
-	 * @param y                            Where dewPoint will be drawn on the y axis
-	 * @param middleOfColumnX              Where dewPoint will be drawn on the x axis
-	 */
-	private void drawDewPoint(@NonNull Canvas canvas, @NonNull HourlyWeatherForecast currentHourlyWeatherForecast, @Px int y, @Px int middleOfColumnX) {
-		canvas.drawText(formattingService.getFloatFormattedTemperature(currentHourlyWeatherForecast.dewPoint, false), middleOfColumnX, y, this.primaryPaint);
+			x_div += COLUMN_WIDTH;
+		}
 	}
 
 
 	/**
-	 * drawVisibility(@NonNull Canvas canvas, DailyWeatherForecast dailyWeatherForecast, float top, float left)
+	 * drawTemperatures(@NonNull Canvas canvas, int index, @Px int middleOfColumnX)
 	 * <p>
-	 * Used to draw visibility distance
+	 * Used to draw temperatures and feel like temperatures
 	 * </p>
 	 *
-	 * @param canvas                       Elements will be drawn on it
-	 * @param currentHourlyWeatherForecast Where data will be taken
-	 * @param y                            Where visibility distance will be drawn on the y axis
-	 * @param middleOfColumnX              Where visibility distance will be drawn on the x axis
+	 * @param canvas          Elements will be drawn on it
+	 * @param index           Index of the hour in the columns
+	 * @param middleOfColumnX Where temperatures will be drawn on the x axis
 	 */
-	private void drawVisibility(@NonNull Canvas canvas, @NonNull HourlyWeatherForecast currentHourlyWeatherForecast, @Px int y, @Px int middleOfColumnX) {
-		canvas.drawText(formattingService.getFloatFormattedDistance(currentHourlyWeatherForecast.visibility, true), middleOfColumnX, y, this.primaryPaint);
+	private void drawTemperatures(@NonNull Canvas canvas, int index, @Px int middleOfColumnX) {
+		//Temperatures
+		canvas.drawText(geometry.temperatures[index], middleOfColumnX, geometry.temperatureY, this.primaryPaint);
+		canvas.drawText(geometry.temperaturesFeelsLike[index], middleOfColumnX, geometry.temperatureFeelsLikeY, this.secondaryPaint);
 	}
 
 
 	/**
-	 * drawWindSpeed(@NonNull Canvas canvas, DailyWeatherForecast dailyWeatherForecast, float top, float left)
+	 * drawWindSpeed(@NonNull Canvas canvas, int index, @Px int middleOfColumnX)
 	 * <p>
 	 * Used to draw wind speed
 	 * </p>
 	 *
-	 * @param canvas                       Elements will be drawn on it
-	 * @param currentHourlyWeatherForecast Where data will be taken
-	 * @param y                            Where wind speed will be drawn on the y axis
-	 * @param middleOfColumnX              Where wind speed will be drawn on the x axis
+	 * @param canvas          Elements will be drawn on it
+	 * @param index           Index of the hour in the columns
+	 * @param middleOfColumnX Where wind speed will be drawn on the x axis
 	 */
-	private void drawWindSpeed(@NonNull Canvas canvas, @NonNull HourlyWeatherForecast currentHourlyWeatherForecast, @Px int y, @Px int middleOfColumnX) {
-		canvas.drawText(formattingService.getFloatFormattedSpeed(currentHourlyWeatherForecast.windSpeed, true), middleOfColumnX, y, this.primaryPaint);
-		canvas.drawText(formattingService.getFloatFormattedSpeed(currentHourlyWeatherForecast.windGustSpeed, true), middleOfColumnX, y + dpToPx(25), this.secondaryPaint);
+	private void drawWindSpeed(@NonNull Canvas canvas, int index, @Px int middleOfColumnX) {
+		canvas.drawText(geometry.windSpeeds[index], middleOfColumnX, geometry.windSpeedY, this.primaryPaint);
+		canvas.drawText(geometry.windGustSpeeds[index], middleOfColumnX, geometry.windGustSpeedY, this.secondaryPaint);
 	}
 
 
 	/**
-	 * drawWindDirection(@NonNull Canvas canvas, short windDirection, @Px int top, @Px int left, @Px int width)
+	 * drawWindDirection(@NonNull Canvas canvas, int index, @Px int left)
 	 * <p>
 	 * Used to draw direction in cardinal point and in degrees
 	 * </p>
 	 *
-	 * @param canvas        Elements will be drawn on it
-	 * @param windDirection Where data will be taken
-	 * @param top           Where elements will be drawn on the y axis
-	 * @param left          Where elements will be drawn on the x axis
-	 * @param width         Width of each contained elements
+	 * @param canvas Elements will be drawn on it
+	 * @param index  Index of the hour in the columns
+	 * @param left   Where elements will be drawn on the x axis
 	 */
-	private void drawWindDirection(@NonNull Canvas canvas, short windDirection, @Px int top, @Px int left, @Px int width) {
-		int middle = width / 2;
-		drawWindDirectionIcon(canvas, windDirection, left + dpToPx(5), top, width - dpToPx(10));
+	private void drawWindDirection(@NonNull Canvas canvas, int index, @Px int left) {
+		int middle = left + geometry.iconSize / 2;
+		drawWindDirectionIcon(canvas, geometry.windDirectionIcon, geometry.windDirections[index], left + geometry.windDirectionIconLeftMargin, geometry.windDirectionIconTop);
 
-		canvas.drawText(formattingService.getFormattedDirectionInCardinalPoints(windDirection), left + middle, top + width + dpToPx(5), this.primaryPaint);
-		canvas.drawText(formattingService.getFormattedDirectionInDegrees(windDirection), left + middle, top + width + dpToPx(25), this.primaryPaint);
+		canvas.drawText(geometry.windCardinalPoints[index], middle, geometry.windCardinalPointY, this.primaryPaint);
+		canvas.drawText(geometry.windDegrees[index], middle, geometry.windDegreesY, this.primaryPaint);
 	}
 
 
 	/**
-	 * generateBitmap1CurvesGraphPath(float[] curveData, @Px int width, @Px int height, @NonNull Paint curvePaint)
+	 * generateBitmap1CurvesGraphPath(int[] curveData, @Px int width, @Px int height, @NonNull Paint curvePaint)
 	 * <p>
 	 * Used to generate bitmap containing graph of one set of data
 	 * </p>
@@ -427,7 +473,7 @@ public class HourlyForecastGraphView extends ForecastView {
 	 * @param curvePaint Paint that will be used to draw curve
 	 * @return A Bitmap with the generated curve, with the wanted height and width and in the ARGB_4444 format
 	 */
-	private Bitmap generateBitmap1CurvesGraphPath(float[] curveData, @Px int width, @Px int height, @NonNull Paint curvePaint) {
+	private Bitmap generateBitmap1CurvesGraphPath(int[] curveData, @Px int width, @Px int height, @NonNull Paint curvePaint) {
 
 		//  Initializing graph path
 		Path curvePath = new Path();
@@ -501,26 +547,26 @@ public class HourlyForecastGraphView extends ForecastView {
 		Canvas canvas = new Canvas(returnedBitmap);
 		canvas.drawPath(curvePath, curvePaint);
 
+		returnedBitmap.prepareToDraw();
 		return returnedBitmap;
 	}
 
 
 	/**
-	 * drawPrecipitations((@NonNull Canvas canvas, DailyWeatherForecast dailyWeatherForecast, float top, float left)
+	 * drawPrecipitations(@NonNull Canvas canvas, int index, @Px int middleOfColumnX)
 	 * <p>
 	 * Used to draw precipitations (rain, snow, pop)
 	 * </p>
 	 *
-	 * @param canvas                       Elements will be drawn on it
-	 * @param currentHourlyWeatherForecast Where data will be taken
-	 * @param y                            Where precipitations will be drawn on the y axis
-	 * @param middleOfColumnX              Where precipitations will be drawn on the x axis
+	 * @param canvas          Elements will be drawn on it
+	 * @param index           Index of the hour in the columns
+	 * @param middleOfColumnX Where precipitations will be drawn on the x axis
 	 */
-	private void drawPrecipitations(@NonNull Canvas canvas, @NonNull HourlyWeatherForecast currentHourlyWeatherForecast, @Px int y, @Px int middleOfColumnX) {
-		canvas.drawText(formattingService.getFloatFormattedShortDistance(currentHourlyWeatherForecast.rain, true), middleOfColumnX, y, this.tertiaryPaint);
-		canvas.drawText(formattingService.getFloatFormattedShortDistance(currentHourlyWeatherForecast.snow, true), middleOfColumnX, y + dpToPx(25), this.primaryPaint);
+	private void drawPrecipitations(@NonNull Canvas canvas, int index, @Px int middleOfColumnX) {
+		canvas.drawText(geometry.rains[index], middleOfColumnX, geometry.rainY, this.tertiaryPaint);
+		canvas.drawText(geometry.snows[index], middleOfColumnX, geometry.snowY, this.primaryPaint);
 
-		canvas.drawText(String.format("%d %%", BigDecimal.valueOf(currentHourlyWeatherForecast.pop * 100).intValue()), middleOfColumnX, y + dpToPx(50), this.secondaryPaint);
+		canvas.drawText(geometry.pops[index], middleOfColumnX, geometry.popY, this.secondaryPaint);
 
 	}
 
@@ -528,7 +574,8 @@ public class HourlyForecastGraphView extends ForecastView {
 	/**
 	 * onDraw(@NonNull Canvas canvas)
 	 * <p>
-	 * Called to generate view
+	 * Called to generate view<br>
+	 * Only draws what prepare computed, nothing is allocated
 	 * </p>
 	 *
 	 * @param canvas The canvas that will be displayed on screen
@@ -538,39 +585,39 @@ public class HourlyForecastGraphView extends ForecastView {
 	protected void onDraw(@NonNull Canvas canvas) {
 		super.onDraw(canvas);
 
-		HourlyWeatherForecast currentHourlyWeatherForecast;
-		int halfWidthX = COLUMN_WIDTH / 2, drawableX = halfWidthX - dpToPx(25);
+		HourlyGraphGeometry geometry = this.geometry;
+		if (geometry == null) return;
 
-		drawStructureAndDate(canvas, hourlyWeatherForecastArrayList, timeZone);
+		int halfWidthX = COLUMN_WIDTH / 2, drawableX = halfWidthX - geometry.iconHalfSize;
 
-		for (int index = 0; index < hourlyWeatherForecastArrayList.size(); index++) {
-			currentHourlyWeatherForecast = hourlyWeatherForecastArrayList.get(index);
+		drawStructureAndDate(canvas);
 
-			drawWeatherConditionIcons(canvas, currentHourlyWeatherForecast.weatherCode, dpToPx(70), drawableX, dpToPx(50), dpToPx(50), isDayTime[index]);
+		for (int index = 0; index < geometry.columnCount; index++) {
+			canvas.drawBitmap(geometry.weatherIcons[index], drawableX, geometry.weatherIconTop, null);
 
-			drawTemperatures(canvas, currentHourlyWeatherForecast, dpToPx(140), halfWidthX);
-			canvas.drawText(String.format("%d%%", currentHourlyWeatherForecast.humidity), halfWidthX, dpToPx(245), this.tertiaryPaint);
-			drawPressure(canvas, currentHourlyWeatherForecast, dpToPx(315), halfWidthX);
+			drawTemperatures(canvas, index, halfWidthX);
+			canvas.drawText(geometry.humidities[index], halfWidthX, geometry.humidityY, this.tertiaryPaint);
+			canvas.drawText(geometry.pressures[index], halfWidthX, geometry.pressureY, this.primaryPaint);
 
-			drawUvIndex(canvas, currentHourlyWeatherForecast.uvIndex, drawableX, dpToPx(370), dpToPx(50));
+			canvas.drawBitmap(geometry.uvIndexIcons[index], drawableX, geometry.uvIndexTop, null);
 
-			drawDewPoint(canvas, currentHourlyWeatherForecast, dpToPx(445), halfWidthX);
-			canvas.drawText(String.format("%d%%", currentHourlyWeatherForecast.cloudiness), halfWidthX, dpToPx(475), this.primaryPaint);
-			drawVisibility(canvas, currentHourlyWeatherForecast, dpToPx(505), halfWidthX);
+			canvas.drawText(geometry.dewPoints[index], halfWidthX, geometry.dewPointY, this.primaryPaint);
+			canvas.drawText(geometry.cloudiness[index], halfWidthX, geometry.cloudinessY, this.primaryPaint);
+			canvas.drawText(geometry.visibilities[index], halfWidthX, geometry.visibilityY, this.primaryPaint);
 
-			drawWindSpeed(canvas, currentHourlyWeatherForecast, dpToPx(540), halfWidthX);
-			drawWindDirection(canvas, currentHourlyWeatherForecast.windDirection, dpToPx(625), drawableX, dpToPx(50));
+			drawWindSpeed(canvas, index, halfWidthX);
+			drawWindDirection(canvas, index, drawableX);
 
-			drawPrecipitations(canvas, currentHourlyWeatherForecast, dpToPx(725), halfWidthX);
+			drawPrecipitations(canvas, index, halfWidthX);
 
 			halfWidthX += COLUMN_WIDTH;
 			drawableX += COLUMN_WIDTH;
 		}
 
-		canvas.drawBitmap(this.temperaturesGraph, 0, dpToPx(175), null);
-		canvas.drawBitmap(this.humidityGraph, 0, dpToPx(260), null);
-		canvas.drawBitmap(this.pressureGraph, 0, dpToPx(330), null);
-		canvas.drawBitmap(this.windSpeedsGraph, 0, dpToPx(575), null);
-		canvas.drawBitmap(this.precipitationsGraph, 0, dpToPx(785), null);
+		canvas.drawBitmap(geometry.temperaturesGraph, 0, geometry.temperaturesGraphY, null);
+		canvas.drawBitmap(geometry.humidityGraph, 0, geometry.humidityGraphY, null);
+		canvas.drawBitmap(geometry.pressureGraph, 0, geometry.pressureGraphY, null);
+		canvas.drawBitmap(geometry.windSpeedsGraph, 0, geometry.windSpeedsGraphY, null);
+		canvas.drawBitmap(geometry.precipitationsGraph, 0, geometry.precipitationsGraphY, null);
 	}
 }
@@ -0,0 +1,96 @@
+package fr.qgdev.openweather.customView;
+
+import android.graphics.Bitmap;
+
+/**
+ * HourlyGraphGeometry
+ * <p>
+ * Everything HourlyForecastGraphView needs to draw a frame, prepared once for each new hourly forecasts<br>
+ * Positions, separators, texts, icons and graphs are only read by onDraw, so drawing a frame doesn't allocate anything<br>
+ * Never modified once prepared, the same geometry can be prepared in background and attached to any view
+ * </p>
+ *
+ * @author Quentin GOMES DOS REIS
+ * @version 2
+ * @see HourlyForecastGraphView
+ */
+public final class HourlyGraphGeometry {
+
+	//  Number of hours drawn and size of the view drawing them
+	final int columnCount;
+	final int width, height;
+
+	//  Positions on the y axis
+	int dateFirstLineY, dateSecondLineY, hourLineY;
+	int weatherIconTop, iconSize, iconHalfSize;
+	int temperatureY, temperatureFeelsLikeY, humidityY, pressureY;
+	int uvIndexTop;
+	int dewPointY, cloudinessY, visibilityY;
+	int windSpeedY, windGustSpeedY;
+	int windDirectionIconLeftMargin, windDirectionIconTop, windDirectionIconSize, windCardinalPointY, windDegreesY;
+	int rainY, snowY, popY;
+	int temperaturesGraphY, humidityGraphY, pressureGraphY, windSpeedsGraphY, precipitationsGraphY;
+
+	//  Separators in the Canvas.drawLines() format, 4 floats per line
+	final float[] daySeparatorLines, hourSeparatorLines;
+	int daySeparatorLinesCount, hourSeparatorLinesCount;
+
+	//  Texts of each hour, dayNames and dayMonths are null when the hour doesn't start a new day
+	final String[] dayNames, dayMonths, hours;
+	final String[] temperatures, temperaturesFeelsLike, humidities, pressures;
+	final String[] dewPoints, cloudiness, visibilities;
+	final String[] windSpeeds, windGustSpeeds, windCardinalPoints, windDegrees;
+	final String[] rains, snows, pops;
+
+	//  Icons of each hour, bitmaps come from the render cache and are shared between hours with the same icon
+	final Bitmap[] weatherIcons, uvIndexIcons;
+	Bitmap windDirectionIcon;
+
+	//  Wind direction of each hour, the arrow is rotated when drawn
+	final short[] windDirections;
+
+	//  Graphs of the whole view
+	Bitmap temperaturesGraph, humidityGraph, pressureGraph, windSpeedsGraph, precipitationsGraph;
+
+
+	/**
+	 * HourlyGraphGeometry Constructor
+	 * <p>
+	 * Build a geometry able to store columnCount hours
+	 * </p>
+	 *
+	 * @param columnCount Number of hours that will be drawn
+	 * @param width       Width of the view
+	 * @param height      Height of the view
+	 */
+	HourlyGraphGeometry(int columnCount, int width, int height) {
+		this.columnCount = columnCount;
+		this.width = width;
+		this.height = height;
+
+		this.daySeparatorLines = new float[columnCount * 4];
+		this.hourSeparatorLines = new float[columnCount * 4];
+
+		this.dayNames = new String[columnCount];
+		this.dayMonths = new String[columnCount];
+		this.hours = new String[columnCount];
+		this.temperatures = new String[columnCount];
+		this.temperaturesFeelsLike = new String[columnCount];
+		this.humidities = new String[columnCount];
+		this.pressures = new String[columnCount];
+		this.dewPoints = new String[columnCount];
+		this.cloudiness = new String[columnCount];
+		this.visibilities = new String[columnCount];
+		this.windSpeeds = new String[columnCount];
+		this.windGustSpeeds = new String[columnCount];
+		this.windCardinalPoints = new String[columnCount];
+		this.windDegrees = new String[columnCount];
+		this.rains = new String[columnCount];
+		this.snows = new String[columnCount];
+		this.pops = new String[columnCount];
+
+		this.weatherIcons = new Bitmap[columnCount];
+		this.uvIndexIcons = new Bitmap[columnCount];
+		this.windDirections = new short[columnCount];
+	}
+}
@@ -4,32 +4,55 @@ import static android.content.Context.MODE_PRIVATE;
 
 import android.content.Context;
 import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
 
+import androidx.annotation.MainThread;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
 
-import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 import fr.qgdev.openweather.Place;
 
 /**
  * DataPlaces
  * <p>
- * Organise place data with SharedPreferences<br>
+ * Organise place data with SharedPreferences and PlaceSnapshotStore<br>
  * The organisation of the data is pretty simple :<br>
- * -  A JSONArray contains all places Keys and it is stored at PREFERENCE_LIST_NAME key<br>
- * -  Each place stored in the JSONArray will have a "location" in the SharedPreferences<br>
- * -  Data place is stored on a String form which is a JSON of the place data<br>
+ * -  A PlaceRegister contains all places Keys, it is compacted as a JSONArray stored at PREFERENCE_LIST_NAME key<br>
+ * -  Each place stored in the register will have a binary snapshot in SNAPSHOT_DIRECTORY_NAME<br>
+ * -  Places stored by older versions as a JSON String in the SharedPreferences are migrated to a snapshot when they are read<br>
+ * -  The summary of each place is also kept in the place index, so places can be listed without reading their forecasts
+ * which are read later with loadForecastsAsync()<br>
+ * Every method touching the storage has an asynchronous form run by one writer thread shared by all instances,
+ * operations are done in the order they are asked and results are given back on the main thread<br>
+ * Updates asked while a previous update is still waiting are written with it
  * </p>
  *
  * @author Quentin GOMES DOS REIS
- * @version 1
+ * @version 4
  * @see SharedPreferences
  */
 public class DataPlaces implements SharedPreferences {
@@ -37,6 +60,25 @@ public class DataPlaces implements SharedPreferences {
 	private final SharedPreferences sharedPreferences;
 	private final String PREFERENCE_FILE_NAME = "places";
 	private final String PREFERENCE_LIST_NAME = "places_list";
+	private final String SNAPSHOT_DIRECTORY_NAME = "places";
+
+	private final PlaceSnapshotStore placeSnapshotStore;
+	//  Shared by all instances, guarded by the class until it is created
+	private static PlaceRegister placeRegister;
+
+	//  Only thread reading and writing the storage for asynchronous operations
+	private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(() -> {
+			Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+			runnable.run();
+		}, "DataPlaces");
+		thread.setDaemon(true);
+		return thread;
+	});
+	//  Created the first time a result is delivered, there is no main looper yet when the class is loaded outside an app
+	private static Handler mainHandler;
+	//  Last operation given to the writer if it is an update not started yet, guarded by the class
+	private static PendingUpdate pendingUpdate;
 
 
 	/**
@@ -50,6 +92,13 @@ public class DataPlaces implements SharedPreferences {
 	 */
 	public DataPlaces(@NonNull Context context) {
 		this.sharedPreferences = context.getSharedPreferences(PREFERENCE_FILE_NAME, MODE_PRIVATE);
+		this.placeSnapshotStore = new PlaceSnapshotStore(new File(context.getFilesDir(), SNAPSHOT_DIRECTORY_NAME));
+
+		synchronized (DataPlaces.class) {
+			//  The register is read once, the first time it is used
+			if (placeRegister == null)
+				placeRegister = new PlaceRegister(sharedPreferences, PREFERENCE_LIST_NAME, new File(context.getFilesDir(), SNAPSHOT_DIRECTORY_NAME), WRITER);
+		}
 	}
 
 
@@ -64,22 +113,12 @@ public class DataPlaces implements SharedPreferences {
 	 * @apiNote dataPlaceName shouldn't be null
 	 * @return A boolean to know if the operation was a success or not
 	 */
+	@WorkerThread
 	public boolean deletePlace(@NonNull String dataPlaceName) throws PlaceDoesntExistException {
-		SharedPreferences.Editor editor = sharedPreferences.edit();
-
 		//  The place must exist in storage, if it is not the case we throw an exception
 		if (!this.contains(dataPlaceName)) throw new PlaceDoesntExistException();
 
-		//  Remove place from the register and "place_list" in storage
-		ArrayList<String> placeRegister = getPlacesKeyRegister();
-		placeRegister.remove(dataPlaceName);
-		JSONArray placeRegisterJsonArray = new JSONArray(placeRegister);
-		editor.putString(PREFERENCE_LIST_NAME, placeRegisterJsonArray.toString());
-
-		//  Remove place data
-		editor.remove(dataPlaceName);
-
-		return editor.commit();
+		return removePlace(dataPlaceName);
 	}
 
 
@@ -93,25 +132,23 @@ public class DataPlaces implements SharedPreferences {
 	 * @throws ArrayIndexOutOfBoundsException    If the index is out of bounds
 	 * @return A boolean to know if the operation was a success or not
 	 */
+	@WorkerThread
 	public boolean deletePlace(int deletionPosition) throws ArrayIndexOutOfBoundsException {
-		SharedPreferences.Editor editor = sharedPreferences.edit();
-		ArrayList<String> placeRegister = getPlacesKeyRegister();
+		if (deletionPosition < 0 || placeRegister.size() <= deletionPosition)
+			throw new ArrayIndexOutOfBoundsException("Cannot delete something that is outside of the array !");
 
-		if (0 <= deletionPosition && deletionPosition < placeRegister.size()) {
+		return removePlace(placeRegister.get(deletionPosition));
+	}
 
-			//  Remove place from the register and "place_list" in storage but keep the dataPlaceName linked to it
-			String dataPlaceName = placeRegister.get(deletionPosition);
-			placeRegister.remove(deletionPosition);
-			JSONArray placeRegisterJsonArray = new JSONArray(placeRegister);
-			editor.putString(PREFERENCE_LIST_NAME, placeRegisterJsonArray.toString());
 
-			//  Remove place data
-			editor.remove(dataPlaceName);
-		} else {
-			throw new ArrayIndexOutOfBoundsException("Cannot delete something that is outside of the array !");
-		}
+	private boolean removePlace(@NonNull String dataPlaceName) {
+		//  Remove place from the register first, so the register never points to a missing place
+		if (!placeRegister.remove(dataPlaceName)) return false;
 
-		return editor.commit();
+		//  Remove place data, the String form is only there for places not migrated yet
+		removeLegacyPlaceData(dataPlaceName);
+		return placeSnapshotStore.delete(dataPlaceName)
+				&& placeSnapshotStore.updateIndex(Collections.emptyMap(), Collections.singleton(dataPlaceName));
 	}
 
 
@@ -126,23 +163,24 @@ public class DataPlaces implements SharedPreferences {
 	 * @throws JSONException                If there is any error during parsing or deparsing from and to JSON
 	 * @return A boolean to know if the operation was a success or not
 	 */
+	@WorkerThread
 	public boolean addPlace(@NonNull Place place) throws PlaceAlreadyExistException, JSONException {
-		SharedPreferences.Editor editor = sharedPreferences.edit();
-		String dataPlaceName = this.getDataPlaceString(place);
+		return addPlace(this.getDataPlaceString(place), new EncodedPlace(place));
+	}
+
 
+	private boolean addPlace(@NonNull String dataPlaceName, @NonNull EncodedPlace encodedPlace) throws PlaceAlreadyExistException {
 		//  The place must not exist in storage, if it is not the case we throw an exception
 		if (this.contains(dataPlaceName)) throw new PlaceAlreadyExistException();
 
-		//  Add place from the register and "place_list" in storage
-		ArrayList<String> placesRegister = getPlacesKeyRegister();
-		placesRegister.add(dataPlaceName);
-		JSONArray placeRegisterJSON = new JSONArray(placesRegister);
-		editor.putString(PREFERENCE_LIST_NAME, placeRegisterJSON.toString());
+		//  Create and add place data before registering it so the register never points to a missing place
+		if (encodedPlace.snapshot == null || !placeSnapshotStore.write(dataPlaceName, encodedPlace.snapshot))
+			return false;
+		if (!placeSnapshotStore.updateIndex(Collections.singletonMap(dataPlaceName, encodedPlace.summary), Collections.emptySet()))
+			return false;
 
-		//  Create and add place data
-		editor.putString(dataPlaceName, place.getPlaceObjectJSON().toString());
-
-		return editor.commit();
+		//  Add place to the register
+		return placeRegister.add(dataPlaceName);
 	}
 
 
@@ -157,17 +195,63 @@ public class DataPlaces implements SharedPreferences {
 	 * @throws JSONException                If there is any error during parsing or deparsing from and to JSON
 	 * @return A boolean to know if the operation was a success or not
 	 */
+	@WorkerThread
 	public boolean updatePlace(@NonNull Place place) throws PlaceDoesntExistException, JSONException {
-		SharedPreferences.Editor editor = sharedPreferences.edit();
 		String dataPlaceName = this.getDataPlaceString(place);
 
 		//  The place must exist in storage, if it is not the case we throw an exception
 		if (!this.contains(dataPlaceName)) throw new PlaceDoesntExistException();
 
-		//  Update place data
-		editor.putString(dataPlaceName, place.getPlaceObjectJSON().toString());
+		//  Update place data, only the snapshot of this place is rewritten
+		return updatePlaces(Collections.singletonMap(dataPlaceName, new EncodedPlace(place)));
+	}
+
 
-		return editor.commit();
+	/**
+	 *  updatePlaces(@NonNull Collection<Place> places)
+	 *  <p>
+	 * Used to update data of several places with one batch write<br>
+	 * Places that are not in storage anymore (deleted during a refresh for example) are ignored
+	 * </p>
+	 *
+	 * @param places        The places you want to update
+	 * @return A boolean to know if the operation was a success or not
+	 */
+	@WorkerThread
+	public boolean updatePlaces(@NonNull Collection<Place> places) {
+		return updatePlaces(encode(places));
+	}
+
+
+	private boolean updatePlaces(@NonNull Map<String, EncodedPlace> encodedPlaces) {
+		Map<String, ByteBuffer> snapshotsToWrite = new LinkedHashMap<>(encodedPlaces.size());
+		Map<String, ByteBuffer> summariesToWrite = new LinkedHashMap<>(encodedPlaces.size());
+
+		for (Map.Entry<String, EncodedPlace> encodedPlaceEntry : encodedPlaces.entrySet()) {
+			if (placeRegister.contains(encodedPlaceEntry.getKey())) {
+				EncodedPlace encodedPlace = encodedPlaceEntry.getValue();
+				//  Forecasts not loaded are not written, only the summary of the place is
+				if (encodedPlace.snapshot != null)
+					snapshotsToWrite.put(encodedPlaceEntry.getKey(), encodedPlace.snapshot);
+				summariesToWrite.put(encodedPlaceEntry.getKey(), encodedPlace.summary);
+			}
+		}
+
+		if (summariesToWrite.isEmpty()) return true;
+		//  Snapshots and the index are replaced together, they never disagree
+		if (!placeSnapshotStore.writeBatch(snapshotsToWrite, summariesToWrite)) return false;
+
+		//  Remove old JSON String forms, all at once
+		SharedPreferences.Editor editor = null;
+		for (String dataPlaceName : snapshotsToWrite.keySet()) {
+			if (sharedPreferences.contains(dataPlaceName)) {
+				if (editor == null) editor = sharedPreferences.edit();
+				editor.remove(dataPlaceName);
+			}
+		}
+		if (editor != null) editor.apply();
+
+		return true;
 	}
 
 
@@ -182,32 +266,232 @@ public class DataPlaces implements SharedPreferences {
 	 * @throws ArrayIndexOutOfBoundsException   If any of the provided indexes are out of bounds
 	 * @return A boolean to know if the operation was a success or not
 	 */
+	@WorkerThread
 	public boolean movePlace(int initialPosition, int finalPosition) throws ArrayIndexOutOfBoundsException {
-		SharedPreferences.Editor editor = sharedPreferences.edit();
-		ArrayList<String> placesRegister = getPlacesKeyRegister();
-
-		//  Positions must in array bounds, if it is not the case we throw an exception
-		if (initialPosition < 0 || placesRegister.size() < initialPosition)
-			throw new ArrayIndexOutOfBoundsException(String.format("initialPosition is out of array bounds !	Size: %d, Index: %d", placesRegister.size(), initialPosition));
-		if (finalPosition < 0 || placesRegister.size() < finalPosition)
-			throw new ArrayIndexOutOfBoundsException(String.format("finalPosition is out of array bounds !	Size: %d, Index: %d", placesRegister.size(), finalPosition));
-
-		//  Move place data
-		if (initialPosition != finalPosition) {
-			if (finalPosition == placesRegister.size() - 1)
-				placesRegister.add(placesRegister.get(initialPosition));
-			else if (initialPosition < finalPosition)
-				placesRegister.add(finalPosition + 1, placesRegister.get(initialPosition));
-			else placesRegister.add(finalPosition, placesRegister.get(initialPosition));
-
-			if (initialPosition < finalPosition) placesRegister.remove(initialPosition);
-			else placesRegister.remove(initialPosition + 1);
+		//  Positions must in array bounds, if it is not the case the register throws an exception
+		return placeRegister.move(initialPosition, finalPosition);
+	}
+
+
+	/**
+	 *  movePlace(@NonNull String dataPlaceName, int finalPosition) throws PlaceDoesntExistException, ArrayIndexOutOfBoundsException
+	 *  <p>
+	 * Used to move place with dataPlaceName to an other position in storage
+	 * </p>
+	 *
+	 * @param dataPlaceName         dataPlaceName of the moved place
+	 * @param finalPosition         The final place position
+	 * @throws PlaceDoesntExistException        If the place doesn't exist
+	 * @throws ArrayIndexOutOfBoundsException   If the final position is out of bounds
+	 * @return A boolean to know if the operation was a success or not
+	 */
+	@WorkerThread
+	public boolean movePlace(@NonNull String dataPlaceName, int finalPosition) throws PlaceDoesntExistException, ArrayIndexOutOfBoundsException {
+		int initialPosition = placeRegister.indexOf(dataPlaceName);
+		if (initialPosition == -1) throw new PlaceDoesntExistException();
+
+		return placeRegister.move(initialPosition, finalPosition);
+	}
+
+
+	/**
+	 * getAllPlaceSummariesAsync(@Nullable OnResultListener<ArrayList<Place>> listener)
+	 * <p>
+	 * Asynchronous form of getAllPlaceSummaries(), read after every operation asked before
+	 * </p>
+	 *
+	 * @param listener Receives all places in storage or the exception thrown by getAllPlaceSummaries()
+	 * @return A future of all places in storage
+	 */
+	@MainThread
+	public Future<ArrayList<Place>> getAllPlaceSummariesAsync(@Nullable OnResultListener<ArrayList<Place>> listener) {
+		return submit(this::getAllPlaceSummaries, listener);
+	}
+
+
+	/**
+	 * loadForecastsAsync(@NonNull Place place, @Nullable OnResultListener<Place> listener)
+	 * <p>
+	 * Used to read the forecasts of a place given by getAllPlaceSummaries()<br>
+	 * The snapshot is decoded by the writer and forecasts are given to the place on the main thread, unless the place
+	 * got its forecasts meanwhile
+	 * </p>
+	 *
+	 * @param place    The place whose forecasts are not loaded
+	 * @param listener Receives the place once its forecasts are loaded or the exception thrown by getPlace()
+	 * @return A future of the place read from its snapshot
+	 */
+	@MainThread
+	public Future<Place> loadForecastsAsync(@NonNull Place place, @Nullable OnResultListener<Place> listener) {
+		String dataPlaceName = this.getDataPlaceString(place);
+
+		return submit(() -> getPlace(dataPlaceName), new OnResultListener<Place>() {
+			@Override
+			public void onResult(Place storedPlace) {
+				if (!place.areForecastsLoaded()) {
+					place.setMinutelyWeatherForecastArrayList(storedPlace.getMinutelyWeatherForecastArrayList());
+					place.setHourlyForecastColumns(storedPlace.getHourlyForecastColumns());
+					place.setDailyForecastColumns(storedPlace.getDailyForecastColumns());
+					place.setForecastsLoaded(true);
+				}
+				if (listener != null) listener.onResult(place);
+			}
+
+			@Override
+			public void onError(@NonNull Exception exception) {
+				if (listener != null) listener.onError(exception);
+			}
+		});
+	}
+
+
+	/**
+	 * addPlaceAsync(@NonNull Place place, @Nullable OnResultListener<Boolean> listener)
+	 * <p>
+	 * Asynchronous form of addPlace(Place)<br>
+	 * The place is encoded right away so it can be modified while it is written
+	 * </p>
+	 *
+	 * @param place    The place you want to add
+	 * @param listener Receives the success of the operation or the PlaceAlreadyExistException if the place already exist
+	 * @return A future of the success of the operation
+	 */
+	@MainThread
+	public Future<Boolean> addPlaceAsync(@NonNull Place place, @Nullable OnResultListener<Boolean> listener) {
+		String dataPlaceName = this.getDataPlaceString(place);
+		EncodedPlace encodedPlace = new EncodedPlace(place);
+
+		return submit(() -> addPlace(dataPlaceName, encodedPlace), listener);
+	}
+
+
+	/**
+	 * deletePlaceAsync(@NonNull String dataPlaceName, @Nullable OnResultListener<Boolean> listener)
+	 * <p>
+	 * Asynchronous form of deletePlace(String)<br>
+	 * The place is given by its key, positions may change before the operation runs
+	 * </p>
+	 *
+	 * @param dataPlaceName dataPlaceName of the deleted place
+	 * @param listener      Receives the success of the operation or the PlaceDoesntExistException if the place doesn't exist
+	 * @return A future of the success of the operation
+	 */
+	@MainThread
+	public Future<Boolean> deletePlaceAsync(@NonNull String dataPlaceName, @Nullable OnResultListener<Boolean> listener) {
+		return submit(() -> deletePlace(dataPlaceName), listener);
+	}
+
+
+	/**
+	 * movePlaceAsync(@NonNull String dataPlaceName, int finalPosition, @Nullable OnResultListener<Boolean> listener)
+	 * <p>
+	 * Asynchronous form of movePlace(String, int)<br>
+	 * The place is given by its key, positions may change before the operation runs
+	 * </p>
+	 *
+	 * @param dataPlaceName dataPlaceName of the moved place
+	 * @param finalPosition The final place position
+	 * @param listener      Receives the success of the operation, the PlaceDoesntExistException if the place doesn't exist
+	 *                      or the ArrayIndexOutOfBoundsException if the final position is out of bounds
+	 * @return A future of the success of the operation
+	 */
+	@MainThread
+	public Future<Boolean> movePlaceAsync(@NonNull String dataPlaceName, int finalPosition, @Nullable OnResultListener<Boolean> listener) {
+		return submit(() -> movePlace(dataPlaceName, finalPosition), listener);
+	}
+
+
+	/**
+	 * updatePlacesAsync(@NonNull Collection<Place> places, @Nullable OnResultListener<Boolean> listener)
+	 * <p>
+	 * Asynchronous form of updatePlaces(Collection)<br>
+	 * Places are encoded right away so they can be modified while they are written<br>
+	 * If the last operation asked is an update not started yet, places are added to it and only their last data is written
+	 * </p>
+	 *
+	 * @param places   The places you want to update
+	 * @param listener Receives the success of the update the places are written with
+	 * @return A future of the success of the update the places are written with
+	 */
+	@MainThread
+	public Future<Boolean> updatePlacesAsync(@NonNull Collection<Place> places, @Nullable OnResultListener<Boolean> listener) {
+		Map<String, EncodedPlace> encodedPlaces = encode(places);
+
+		synchronized (DataPlaces.class) {
+			if (pendingUpdate == null) {
+				pendingUpdate = new PendingUpdate(this);
+				WRITER.execute(pendingUpdate.task);
+			}
+			pendingUpdate.encodedPlaces.putAll(encodedPlaces);
+			if (listener != null) pendingUpdate.listeners.add(listener);
+
+			return pendingUpdate.task;
 		}
+	}
+
 
-		JSONArray placeRegisterJSON = new JSONArray(placesRegister);
-		editor.putString(PREFERENCE_LIST_NAME, placeRegisterJSON.toString());
+	/**
+	 * submit(@NonNull Callable<T> operation, @Nullable OnResultListener<T> listener)
+	 * <p>
+	 * Used to give an operation to the writer, after every operation asked before
+	 * </p>
+	 *
+	 * @param operation The operation
+	 * @param listener  Receives the result of the operation on the main thread
+	 * @return A future of the result of the operation
+	 */
+	private static <T> Future<T> submit(@NonNull Callable<T> operation, @Nullable OnResultListener<T> listener) {
+		FutureTask<T> task = new FutureTask<T>(operation) {
+			@Override
+			protected void done() {
+				if (listener != null) deliver(this, listener);
+			}
+		};
 
-		return editor.commit();
+		synchronized (DataPlaces.class) {
+			//  Updates asked from now must be written after this operation
+			pendingUpdate = null;
+			WRITER.execute(task);
+		}
+		return task;
+	}
+
+
+	/**
+	 * deliver(@NonNull Future<T> doneTask, @NonNull OnResultListener<T> listener)
+	 * <p>
+	 * Used to give the result of a done operation to its listener on the main thread
+	 * </p>
+	 *
+	 * @param doneTask The done operation
+	 * @param listener Receives the result of the operation
+	 */
+	private static <T> void deliver(@NonNull Future<T> doneTask, @NonNull OnResultListener<T> listener) {
+		try {
+			T result = doneTask.get();
+			getMainHandler().post(() -> listener.onResult(result));
+		} catch (ExecutionException e) {
+			Exception exception = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+			getMainHandler().post(() -> listener.onError(exception));
+		} catch (InterruptedException | CancellationException e) {
+			getMainHandler().post(() -> listener.onError(e));
+		}
+	}
+
+
+	private static synchronized Handler getMainHandler() {
+		if (mainHandler == null) mainHandler = new Handler(Looper.getMainLooper());
+		return mainHandler;
+	}
+
+
+	private Map<String, EncodedPlace> encode(@NonNull Collection<Place> places) {
+		Map<String, EncodedPlace> encodedPlaces = new LinkedHashMap<>(places.size());
+
+		for (Place place : places) {
+			encodedPlaces.put(this.getDataPlaceString(place), new EncodedPlace(place));
+		}
+		return encodedPlaces;
 	}
 
 
@@ -227,22 +511,51 @@ public class DataPlaces implements SharedPreferences {
 
 
 	/**
-	 * getPlace(String placeKey) throws JSONException, PlaceDoesntExistException
+	 * getPlace(String placeKey) throws IOException, JSONException, PlaceDoesntExistException
 	 * <p>
-	 * Used to get place with the dataPlace key
+	 * Used to get place with the dataPlace key<br>
+	 * A place stored in the old JSON String form is migrated to a snapshot
 	 * </p>
 	 *
 	 * @param placeKey The initial place position
 	 * @return The wanted place
-	 * @throws JSONException             If an error occurs during deparsing process
+	 * @throws IOException               If the snapshot of the place cannot be read
+	 * @throws JSONException             If an error occurs during deparsing process of an old JSON place
 	 * @throws PlaceDoesntExistException If the wanted place doesn't exist
 	 */
-	public Place getPlace(String placeKey) throws JSONException, PlaceDoesntExistException {
-		//  Take the value inside the placeKey to transform it into a JSONObject that can be transform into a place Object
+	@WorkerThread
+	public Place getPlace(String placeKey) throws IOException, JSONException, PlaceDoesntExistException {
 		String placeStringData = sharedPreferences.getString(placeKey, null);
-		if (placeStringData == null) throw new PlaceDoesntExistException();
 
-		return new Place(new JSONObject(placeStringData));
+		//  No JSON String form anymore, the place is only in its snapshot
+		if (placeStringData == null) {
+			Place place = placeSnapshotStore.read(placeKey);
+			if (place == null) throw new PlaceDoesntExistException();
+			return place;
+		}
+
+		//  Take the value inside the placeKey to transform it into a JSONObject that can be transform into a place Object
+		Place place = new Place(new JSONObject(placeStringData));
+
+		//  Migration to the snapshot, the String form is kept if the snapshot cannot be written
+		if (placeSnapshotStore.write(placeKey, place)) removeLegacyPlaceData(placeKey);
+
+		return place;
+	}
+
+
+	/**
+	 * removeLegacyPlaceData(@NonNull String dataPlaceName)
+	 * <p>
+	 * Used to remove the old JSON String form of a place once its snapshot is written
+	 * </p>
+	 *
+	 * @param dataPlaceName dataPlaceName of the migrated place
+	 */
+	private void removeLegacyPlaceData(@NonNull String dataPlaceName) {
+		if (sharedPreferences.contains(dataPlaceName)) {
+			sharedPreferences.edit().remove(dataPlaceName).apply();
+		}
 	}
 
 
@@ -252,24 +565,10 @@ public class DataPlaces implements SharedPreferences {
 	 * Used to get arraylist of dataPlaces keys
 	 * </p>
 	 *
-	 * @return An arraylist with all dataPlaces keys
+	 * @return A copy of the register with all dataPlaces keys
 	 */
 	public ArrayList<String> getPlacesKeyRegister() {
-		ArrayList<String> returnedData = new ArrayList<>();
-
-		String placeListString = sharedPreferences.getString(PREFERENCE_LIST_NAME, null);
-
-		if (placeListString != null) {
-			try {
-				JSONArray placeListJSONArray = new JSONArray(placeListString);
-				for (int i = 0; i < placeListJSONArray.length(); i++) {
-					returnedData.add(i, placeListJSONArray.getString(i));
-				}
-			} catch (JSONException e) {
-				e.printStackTrace();
-			}
-		}
-		return returnedData;
+		return placeRegister.getKeys();
 	}
 
 
@@ -280,10 +579,12 @@ public class DataPlaces implements SharedPreferences {
 	 * </p>
 	 *
 	 * @return An arraylist with all places in storage
+	 * @throws IOException               If the snapshot of a place cannot be read
 	 * @throws JSONException             If an error occurs during deparsing process
 	 * @throws PlaceDoesntExistException If a place written on the register doesn't exist
 	 */
-	public ArrayList<Place> getAllPlacesStored() throws JSONException, PlaceDoesntExistException {
+	@WorkerThread
+	public ArrayList<Place> getAllPlacesStored() throws IOException, JSONException, PlaceDoesntExistException {
 		ArrayList<String> placesKeyArrayList = this.getPlacesKeyRegister();
 		ArrayList<Place> placeArrayList = new ArrayList<>();
 
@@ -295,6 +596,53 @@ public class DataPlaces implements SharedPreferences {
 	}
 
 
+	/**
+	 * getAllPlaceSummaries() throws IOException, JSONException, PlaceDoesntExistException
+	 * <p>
+	 * Used to get arraylist filled with all places stored in storage, without their forecasts<br>
+	 * Places are read from the place index, a place missing in it is fully read and added to it
+	 * </p>
+	 *
+	 * @return An arraylist with all places in storage, forecasts of places read from the index are not loaded
+	 * @throws IOException               If the snapshot of a place missing in the index cannot be read
+	 * @throws JSONException             If an error occurs during deparsing process
+	 * @throws PlaceDoesntExistException If a place written on the register doesn't exist
+	 */
+	@WorkerThread
+	public ArrayList<Place> getAllPlaceSummaries() throws IOException, JSONException, PlaceDoesntExistException {
+		ArrayList<String> placesKeyArrayList = this.getPlacesKeyRegister();
+		ArrayList<Place> placeArrayList = new ArrayList<>(placesKeyArrayList.size());
+		Map<String, Place> placeIndex;
+
+		try {
+			placeIndex = placeSnapshotStore.readIndex();
+		} catch (IOException e) {
+			//  The index is rebuilt from the snapshots
+			e.printStackTrace();
+			placeIndex = new HashMap<>();
+		}
+
+		Map<String, ByteBuffer> missingSummaries = new LinkedHashMap<>();
+		for (String placeKey : placesKeyArrayList) {
+			//  Places not migrated yet are not in the index
+			Place place = sharedPreferences.contains(placeKey) ? null : placeIndex.get(placeKey);
+
+			if (place == null) {
+				place = this.getPlace(placeKey);
+				missingSummaries.put(placeKey, PlaceSnapshotStore.encodeSummary(place));
+			}
+			placeArrayList.add(place);
+		}
+
+		ArrayList<String> removedPlacesKeys = new ArrayList<>(placeIndex.keySet());
+		removedPlacesKeys.removeAll(placesKeyArrayList);
+		if (!missingSummaries.isEmpty() || !removedPlacesKeys.isEmpty())
+			placeSnapshotStore.updateIndex(missingSummaries, removedPlacesKeys);
+
+		return placeArrayList;
+	}
+
+
 	/**
 	 * getPlacePositionInRegister(@NonNull String dataPlaceName)
 	 * <p>
@@ -304,7 +652,7 @@ public class DataPlaces implements SharedPreferences {
 	 * @return The position of the place if found or if not found -1
 	 */
 	public int getPlacePositionInRegister(@NonNull String dataPlaceName) {
-		return this.getPlacesKeyRegister().indexOf(dataPlaceName);
+		return placeRegister.indexOf(dataPlaceName);
 	}
 
 
@@ -317,7 +665,7 @@ public class DataPlaces implements SharedPreferences {
 	 * @return The position of the place if found or if not found -1
 	 */
 	public int getPlacePositionInRegister(@NonNull Place place) {
-		return this.getPlacesKeyRegister().indexOf(this.getDataPlaceString(place));
+		return placeRegister.indexOf(this.getDataPlaceString(place));
 	}
 
 
@@ -330,7 +678,7 @@ public class DataPlaces implements SharedPreferences {
 	 * @return The size of the register
 	 */
 	public int size() {
-		return this.getPlacesKeyRegister().size();
+		return placeRegister.size();
 	}
 
 
@@ -343,7 +691,7 @@ public class DataPlaces implements SharedPreferences {
 	 * @return The emptiness state of the register
 	 */
 	public boolean registerIsEmpty() {
-		return this.getPlacesKeyRegister().isEmpty();
+		return placeRegister.size() == 0;
 	}
 
 
@@ -472,7 +820,6 @@ public class DataPlaces implements SharedPreferences {
 	 */
 	@Override
 	public boolean contains(String dataPlaceKey) {
-		ArrayList<String> placeRegister = getPlacesKeyRegister();
 		return placeRegister.contains(dataPlaceKey);
 	}
 
@@ -519,4 +866,58 @@ public class DataPlaces implements SharedPreferences {
 	public void unregisterOnSharedPreferenceChangeListener(OnSharedPreferenceChangeListener listener) {
 		this.sharedPreferences.unregisterOnSharedPreferenceChangeListener(listener);
 	}
-}
\ No newline at end of file
+
+
+	/**
+	 * OnResultListener
+	 * <p>
+	 * Receives the result of an asynchronous operation on the main thread
+	 * </p>
+	 */
+	public interface OnResultListener<T> {
+		void onResult(T result);
+
+		void onError(@NonNull Exception exception);
+	}
+
+
+	//  Update waiting for the writer, places updated before it starts are added to it
+	private static final class PendingUpdate {
+		//  Guarded by DataPlaces.class until the update starts
+		private final Map<String, EncodedPlace> encodedPlaces = new LinkedHashMap<>();
+		private final ArrayList<OnResultListener<Boolean>> listeners = new ArrayList<>();
+		private final FutureTask<Boolean> task;
+
+		private PendingUpdate(@NonNull DataPlaces dataPlaces) {
+			this.task = new FutureTask<Boolean>(() -> {
+				Map<String, EncodedPlace> encodedPlacesToWrite;
+				synchronized (DataPlaces.class) {
+					if (pendingUpdate == this) pendingUpdate = null;
+					encodedPlacesToWrite = new LinkedHashMap<>(encodedPlaces);
+				}
+				return dataPlaces.updatePlaces(encodedPlacesToWrite);
+			}) {
+				@Override
+				protected void done() {
+					for (OnResultListener<Boolean> listener : listeners) {
+						deliver(this, listener);
+					}
+				}
+			};
+		}
+	}
+
+
+	//  Data of a place encoded on the thread modifying it
+	private static final class EncodedPlace {
+		private final ByteBuffer summary;
+		//  Null if the forecasts of the place are not loaded, the stored ones are kept
+		@Nullable
+		private final ByteBuffer snapshot;
+
+		private EncodedPlace(@NonNull Place place) {
+			this.summary = PlaceSnapshotStore.encodeSummary(place);
+			this.snapshot = place.areForecastsLoaded() ? PlaceSnapshotStore.encode(place) : null;
+		}
+	}
+}
@@ -0,0 +1,135 @@
+package fr.qgdev.openweather.dataplaces;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+
+import java.util.ArrayDeque;
+
+import fr.qgdev.openweather.Place;
+
+/**
+ * PlaceForecastLoader
+ * <p>
+ * Load the forecasts of places read from the place index, one place at a time<br>
+ * Places are loaded in the order they are asked, a place asked urgently (like a card being expanded) is loaded next<br>
+ * It must only be used on the main thread
+ * </p>
+ *
+ * @author Quentin GOMES DOS REIS
+ * @version 1
+ * @see DataPlaces#loadForecastsAsync(Place, DataPlaces.OnResultListener)
+ */
+@MainThread
+public class PlaceForecastLoader {
+
+	private final DataPlaces dataPlaces;
+	private final OnForecastsLoadedListener onForecastsLoadedListener;
+	private final ArrayDeque<Place> placesToLoad = new ArrayDeque<>();
+	private Place loadingPlace;
+
+
+	/**
+	 * PlaceForecastLoader Constructor
+	 * <p>
+	 * Just the constructor of PlaceForecastLoader class
+	 * </p>
+	 *
+	 * @param dataPlaces                DataPlaces reading the forecasts
+	 * @param onForecastsLoadedListener Called each time forecasts of a place are loaded
+	 */
+	public PlaceForecastLoader(@NonNull DataPlaces dataPlaces, @NonNull OnForecastsLoadedListener onForecastsLoadedListener) {
+		this.dataPlaces = dataPlaces;
+		this.onForecastsLoadedListener = onForecastsLoadedListener;
+	}
+
+
+	/**
+	 * load(@NonNull Place place, boolean urgent)
+	 * <p>
+	 * Used to ask the forecasts of a place, nothing is done if they are loaded or already asked
+	 * </p>
+	 *
+	 * @param place  The place
+	 * @param urgent True to load the place before the other places waiting
+	 */
+	public void load(@NonNull Place place, boolean urgent) {
+		if (place.areForecastsLoaded() || place == loadingPlace) return;
+
+		if (urgent) {
+			placesToLoad.remove(place);
+			placesToLoad.addFirst(place);
+		} else if (!placesToLoad.contains(place)) {
+			placesToLoad.addLast(place);
+		}
+		loadNext();
+	}
+
+
+	/**
+	 * isIdle()
+	 * <p>
+	 * Used to know if every asked place is loaded
+	 * </p>
+	 *
+	 * @return True if no place is loading or waiting
+	 */
+	public boolean isIdle() {
+		return loadingPlace == null && placesToLoad.isEmpty();
+	}
+
+
+	/**
+	 * cancel()
+	 * <p>
+	 * Used to forget places waiting, the place loading is still given to the listener
+	 * </p>
+	 */
+	public void cancel() {
+		placesToLoad.clear();
+	}
+
+
+	private void loadNext() {
+		if (loadingPlace != null) return;
+
+		do {
+			loadingPlace = placesToLoad.poll();
+			if (loadingPlace == null) return;
+		} while (loadingPlace.areForecastsLoaded());
+
+		dataPlaces.loadForecastsAsync(loadingPlace, new DataPlaces.OnResultListener<Place>() {
+			@Override
+			public void onResult(Place place) {
+				onLoaded(place);
+			}
+
+			@Override
+			public void onError(@NonNull Exception exception) {
+				exception.printStackTrace();
+
+				//  The place is shown without forecasts, the next refresh will get them
+				Place place = loadingPlace;
+				place.setForecastsLoaded(true);
+				onLoaded(place);
+			}
+		});
+	}
+
+
+	private void onLoaded(@NonNull Place place) {
+		loadingPlace = null;
+		onForecastsLoadedListener.onForecastsLoaded(place);
+		loadNext();
+	}
+
+
+	/**
+	 * OnForecastsLoadedListener
+	 * <p>
+	 * Called on the main thread when the forecasts of a place are loaded
+	 * </p>
+	 */
+	public interface OnForecastsLoadedListener {
+		void onForecastsLoaded(@NonNull Place place);
+	}
+}
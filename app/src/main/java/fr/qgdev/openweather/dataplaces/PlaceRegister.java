@@ -0,0 +1,415 @@
+package fr.qgdev.openweather.dataplaces;
+
+import android.content.SharedPreferences;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+
+/**
+ * PlaceRegister
+ * <p>
+ * Ordered list of the dataPlace keys of the stored places, kept in memory and consistent with the storage<br>
+ * -  Finding a key or its position is a HashMap lookup, nothing is parsed<br>
+ * -  The list compacted last is a JSONArray stored in the SharedPreferences at the list key, like older versions did<br>
+ * -  Each change since is a record appended to a change log, which is replayed on the compacted list when it is loaded<br>
+ * Once there are COMPACTION_THRESHOLD records in the change log, the list is compacted in background and a new change
+ * log is started, logs older than the one named in the SharedPreferences are already in the compacted list<br>
+ * A change is written in the change log before it is applied in memory, so a failed write changes nothing
+ * </p>
+ *
+ * @author Quentin GOMES DOS REIS
+ * @version 1
+ * @see DataPlaces
+ */
+final class PlaceRegister {
+
+	static final int COMPACTION_THRESHOLD = 64;
+
+	private static final String LOG_FILE_PREFIX = "register.";
+	private static final String LOG_FILE_EXTENSION = ".log";
+	private static final byte ADD = 1;
+	private static final byte REMOVE = 2;
+	private static final byte MOVE = 3;
+
+	private final SharedPreferences sharedPreferences;
+	private final String listKey;
+	private final String logIdKey;
+	private final File directory;
+	private final Executor compactionExecutor;
+
+	//  Everything below is guarded by the register
+	private final ArrayList<String> keys = new ArrayList<>();
+	private final HashMap<String, Integer> positions = new HashMap<>();
+	private boolean isLoaded;
+	private long logId;
+	private int logRecordCount;
+	private long logLength;
+	private FileOutputStream logOutputStream;
+	private boolean isCompactionScheduled;
+
+
+	/**
+	 * PlaceRegister Constructor
+	 * <p>
+	 * Nothing is read until the register is used
+	 * </p>
+	 *
+	 * @param sharedPreferences  SharedPreferences where the compacted list is stored
+	 * @param listKey            Key of the compacted list in the SharedPreferences
+	 * @param directory          Directory where change logs are written, it is created if needed
+	 * @param compactionExecutor Executor running the compactions
+	 */
+	PlaceRegister(@NonNull SharedPreferences sharedPreferences, @NonNull String listKey, @NonNull File directory, @NonNull Executor compactionExecutor) {
+		this.sharedPreferences = sharedPreferences;
+		this.listKey = listKey;
+		this.logIdKey = listKey + "_log";
+		this.directory = directory;
+		this.compactionExecutor = compactionExecutor;
+	}
+
+
+	synchronized boolean contains(@Nullable String key) {
+		load();
+		return positions.containsKey(key);
+	}
+
+	synchronized int indexOf(@Nullable String key) {
+		load();
+		Integer position = positions.get(key);
+		return position == null ? -1 : position;
+	}
+
+	synchronized int size() {
+		load();
+		return keys.size();
+	}
+
+	@NonNull
+	synchronized String get(int position) {
+		load();
+		return keys.get(position);
+	}
+
+	@NonNull
+	synchronized ArrayList<String> getKeys() {
+		load();
+		return new ArrayList<>(keys);
+	}
+
+
+	/**
+	 * add(@NonNull String key)
+	 * <p>
+	 * Used to add a key at the end of the register
+	 * </p>
+	 *
+	 * @param key The key, it must not be in the register
+	 * @return A boolean to know if the operation was a success or not
+	 */
+	synchronized boolean add(@NonNull String key) {
+		load();
+		if (positions.containsKey(key)) return false;
+		if (!appendRecord(ADD, key, 0)) return false;
+
+		applyAdd(key);
+		onRecordApplied();
+		return true;
+	}
+
+
+	/**
+	 * remove(@NonNull String key)
+	 * <p>
+	 * Used to remove a key from the register
+	 * </p>
+	 *
+	 * @param key The key
+	 * @return A boolean to know if the operation was a success or not, true if the key isn't in the register
+	 */
+	synchronized boolean remove(@NonNull String key) {
+		load();
+		if (!positions.containsKey(key)) return true;
+		if (!appendRecord(REMOVE, key, 0)) return false;
+
+		applyRemove(key);
+		onRecordApplied();
+		return true;
+	}
+
+
+	/**
+	 * move(int initialPosition, int finalPosition)
+	 * <p>
+	 * Used to move a key, keys between both positions are shifted by one
+	 * </p>
+	 *
+	 * @param initialPosition The initial key position
+	 * @param finalPosition   The final key position
+	 * @return A boolean to know if the operation was a success or not
+	 * @throws ArrayIndexOutOfBoundsException If any of the positions is out of bounds
+	 */
+	synchronized boolean move(int initialPosition, int finalPosition) throws ArrayIndexOutOfBoundsException {
+		load();
+		if (initialPosition < 0 || keys.size() <= initialPosition)
+			throw new ArrayIndexOutOfBoundsException(String.format("initialPosition is out of array bounds !	Size: %d, Index: %d", keys.size(), initialPosition));
+		if (finalPosition < 0 || keys.size() <= finalPosition)
+			throw new ArrayIndexOutOfBoundsException(String.format("finalPosition is out of array bounds !	Size: %d, Index: %d", keys.size(), finalPosition));
+
+		if (initialPosition == finalPosition) return true;
+
+		String key = keys.get(initialPosition);
+		if (!appendRecord(MOVE, key, finalPosition)) return false;
+
+		applyMove(key, finalPosition);
+		onRecordApplied();
+		return true;
+	}
+
+
+	/**
+	 * compact()
+	 * <p>
+	 * Used to store the whole register in the SharedPreferences and start a new change log<br>
+	 * Changes can still be done while the list is stored, they are written in the new change log
+	 * </p>
+	 *
+	 * @return A boolean to know if the operation was a success or not
+	 */
+	boolean compact() {
+		ArrayList<String> compactedKeys;
+		long nextLogId;
+
+		synchronized (this) {
+			isCompactionScheduled = false;
+			load();
+
+			compactedKeys = new ArrayList<>(keys);
+			closeLog();
+			logId++;
+			logRecordCount = 0;
+			logLength = 0;
+			nextLogId = logId;
+		}
+
+		//  Until this commit the previous change logs are replayed with the new one
+		boolean success = sharedPreferences.edit()
+				.putString(listKey, new JSONArray(compactedKeys).toString())
+				.putLong(logIdKey, nextLogId)
+				.commit();
+
+		if (success) deleteLogsBefore(nextLogId);
+		return success;
+	}
+
+
+	private void load() {
+		if (isLoaded) return;
+
+		String compactedList = sharedPreferences.getString(listKey, null);
+		if (compactedList != null) {
+			try {
+				JSONArray compactedListJSONArray = new JSONArray(compactedList);
+				for (int i = 0; i < compactedListJSONArray.length(); i++) {
+					applyAdd(compactedListJSONArray.getString(i));
+				}
+			} catch (JSONException e) {
+				e.printStackTrace();
+			}
+		}
+
+		//  Logs written since the last compaction, in the order they were written
+		long compactedLogId = sharedPreferences.getLong(logIdKey, 0);
+		TreeMap<Long, File> logFiles = getLogFiles();
+		logId = compactedLogId;
+		for (Map.Entry<Long, File> logFileEntry : logFiles.entrySet()) {
+			if (logFileEntry.getKey() < compactedLogId) continue;
+
+			logId = logFileEntry.getKey();
+			logLength = replay(logFileEntry.getValue());
+		}
+		isLoaded = true;
+
+		//  Changes are replayed until they are compacted
+		if (logFiles.size() > 1 || logRecordCount > 0) scheduleCompaction();
+	}
+
+
+	//  Applies the records of a change log and gives the length of its valid records
+	private long replay(@NonNull File logFile) {
+		byte[] log;
+		try {
+			log = Files.readAllBytes(logFile.toPath());
+		} catch (IOException e) {
+			e.printStackTrace();
+			return 0;
+		}
+
+		long validLength = 0;
+		logRecordCount = 0;
+		try (DataInputStream inputStream = new DataInputStream(new ByteArrayInputStream(log))) {
+			while (validLength < log.length) {
+				byte operation = inputStream.readByte();
+				String key = inputStream.readUTF();
+
+				switch (operation) {
+					case ADD:
+						if (!positions.containsKey(key)) applyAdd(key);
+						break;
+					case REMOVE:
+						if (positions.containsKey(key)) applyRemove(key);
+						break;
+					case MOVE:
+						int finalPosition = inputStream.readInt();
+						if (positions.containsKey(key) && 0 <= finalPosition && finalPosition < keys.size())
+							applyMove(key, finalPosition);
+						break;
+					default:
+						throw new IOException(String.format("Unknown register operation %d", operation));
+				}
+				validLength = log.length - inputStream.available();
+				logRecordCount++;
+			}
+		} catch (EOFException e) {
+			//  The last record was not completely written, it is overwritten by the next one
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		return validLength;
+	}
+
+
+	private boolean appendRecord(byte operation, @NonNull String key, int finalPosition) {
+		ByteArrayOutputStream record = new ByteArrayOutputStream();
+		try (DataOutputStream outputStream = new DataOutputStream(record)) {
+			outputStream.writeByte(operation);
+			outputStream.writeUTF(key);
+			if (operation == MOVE) outputStream.writeInt(finalPosition);
+		} catch (IOException e) {
+			//  Nothing is written outside of the memory
+			throw new AssertionError(e);
+		}
+
+		try {
+			if (logOutputStream == null) {
+				if (!directory.isDirectory() && !directory.mkdirs()) return false;
+				logOutputStream = new FileOutputStream(getLogFile(logId), true);
+			}
+
+			FileChannel channel = logOutputStream.getChannel();
+			//  An incomplete record left by a failed write is overwritten
+			channel.truncate(logLength);
+
+			ByteBuffer buffer = ByteBuffer.wrap(record.toByteArray());
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			channel.force(false);
+		} catch (IOException e) {
+			e.printStackTrace();
+			closeLog();
+			return false;
+		}
+
+		logLength += record.size();
+		logRecordCount++;
+		return true;
+	}
+
+
+	private void applyAdd(@NonNull String key) {
+		positions.put(key, keys.size());
+		keys.add(key);
+	}
+
+	private void applyRemove(@NonNull String key) {
+		int position = positions.remove(key);
+		keys.remove(position);
+		updatePositions(position, keys.size() - 1);
+	}
+
+	private void applyMove(@NonNull String key, int finalPosition) {
+		int initialPosition = positions.get(key);
+		keys.add(finalPosition, keys.remove(initialPosition));
+		updatePositions(Math.min(initialPosition, finalPosition), Math.max(initialPosition, finalPosition));
+	}
+
+	//  Only keys between both positions are shifted
+	private void updatePositions(int firstPosition, int lastPosition) {
+		for (int position = firstPosition; position <= lastPosition; position++) {
+			positions.put(keys.get(position), position);
+		}
+	}
+
+
+	private void onRecordApplied() {
+		if (logRecordCount >= COMPACTION_THRESHOLD) scheduleCompaction();
+	}
+
+	private void scheduleCompaction() {
+		if (isCompactionScheduled) return;
+
+		isCompactionScheduled = true;
+		compactionExecutor.execute(this::compact);
+	}
+
+	private void closeLog() {
+		if (logOutputStream == null) return;
+
+		try {
+			logOutputStream.close();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		logOutputStream = null;
+	}
+
+	private void deleteLogsBefore(long firstKeptLogId) {
+		for (File logFile : getLogFiles().headMap(firstKeptLogId).values()) {
+			logFile.delete();
+		}
+	}
+
+	@NonNull
+	private TreeMap<Long, File> getLogFiles() {
+		TreeMap<Long, File> logFiles = new TreeMap<>();
+		File[] files = directory.listFiles();
+		if (files == null) return logFiles;
+
+		for (File file : files) {
+			String name = file.getName();
+			if (name.startsWith(LOG_FILE_PREFIX) && name.endsWith(LOG_FILE_EXTENSION)) {
+				try {
+					logFiles.put(Long.parseLong(name.substring(LOG_FILE_PREFIX.length(), name.length() - LOG_FILE_EXTENSION.length())), file);
+				} catch (NumberFormatException e) {
+					e.printStackTrace();
+				}
+			}
+		}
+		return logFiles;
+	}
+
+	@NonNull
+	private File getLogFile(long id) {
+		return new File(directory, LOG_FILE_PREFIX + id + LOG_FILE_EXTENSION);
+	}
+}
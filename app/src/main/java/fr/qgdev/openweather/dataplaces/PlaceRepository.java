@@ -0,0 +1,340 @@
+package fr.qgdev.openweather.dataplaces;
+
+import android.content.Context;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.android.volley.RequestQueue;
+import com.android.volley.toolbox.Volley;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import fr.qgdev.openweather.Place;
+import fr.qgdev.openweather.RefreshScheduler;
+
+/**
+ * PlaceRepository
+ * <p>
+ * Only place list of the process, every view showing or changing places goes through it<br>
+ * Places are read once from DataPlaces, later views get the list kept in memory<br>
+ * Each change is saved with DataPlaces and given to every registered OnPlacesChangedListener<br>
+ * It also owns the only RequestQueue of the process, shared by all WeatherService instances, and the fetch times of the
+ * data tiers, shared by all RefreshScheduler instances<br>
+ * It must only be used on the main thread
+ * </p>
+ *
+ * @author Quentin GOMES DOS REIS
+ * @version 1
+ * @see DataPlaces
+ */
+@MainThread
+public class PlaceRepository {
+
+	private static PlaceRepository instance;
+
+	private final DataPlaces dataPlaces;
+	private final RequestQueue requestQueue;
+	private final RefreshScheduler.FetchTimes fetchTimes = new RefreshScheduler.FetchTimes();
+
+	private final ArrayList<Place> places = new ArrayList<>();
+	private final ArrayList<OnPlacesChangedListener> onPlacesChangedListeners = new ArrayList<>();
+	private boolean loaded, loading;
+
+
+	/**
+	 * PlaceRepository Constructor
+	 * <p>
+	 * Just the constructor of PlaceRepository class, use getInstance(Context) to get the one of the process
+	 * </p>
+	 *
+	 * @param context Context of the application
+	 */
+	private PlaceRepository(@NonNull Context context) {
+		this.dataPlaces = new DataPlaces(context);
+		this.requestQueue = Volley.newRequestQueue(context);
+	}
+
+
+	/**
+	 * getInstance(@NonNull Context context)
+	 * <p>
+	 * Used to get the repository of the process, it is created the first time with the application context
+	 * </p>
+	 *
+	 * @param context Any context of the application
+	 * @return The repository of the process
+	 */
+	@NonNull
+	public static PlaceRepository getInstance(@NonNull Context context) {
+		if (instance == null) instance = new PlaceRepository(context.getApplicationContext());
+		return instance;
+	}
+
+
+	/**
+	 * load()
+	 * <p>
+	 * Used to read places from the storage if it is not done yet<br>
+	 * Nothing is done if places are loaded or being loaded, listeners are told with onPlacesLoaded()<br>
+	 * If the storage cannot be read, an empty list is given and it will be read again by the next call
+	 * </p>
+	 */
+	public void load() {
+		if (loaded || loading) return;
+		loading = true;
+
+		//  Only summaries are read, the list is shown before any forecast is decoded
+		dataPlaces.getAllPlaceSummariesAsync(new DataPlaces.OnResultListener<ArrayList<Place>>() {
+			@Override
+			public void onResult(ArrayList<Place> loadedPlaces) {
+				loaded = true;
+				onLoaded(loadedPlaces);
+			}
+
+			@Override
+			public void onError(@NonNull Exception exception) {
+				exception.printStackTrace();
+				onLoaded(new ArrayList<>());
+			}
+
+			private void onLoaded(ArrayList<Place> loadedPlaces) {
+				loading = false;
+				places.clear();
+				places.addAll(loadedPlaces);
+
+				for (OnPlacesChangedListener listener : getListeners()) {
+					listener.onPlacesLoaded();
+				}
+			}
+		});
+	}
+
+
+	/**
+	 * addPlace(@NonNull Place place, @Nullable DataPlaces.OnResultListener<Boolean> listener)
+	 * <p>
+	 * Used to save a new place, it is put at the end of the list once saved
+	 * </p>
+	 *
+	 * @param place    The place to add
+	 * @param listener Receives the success of the operation or the PlaceAlreadyExistException if the place already exist
+	 */
+	public void addPlace(@NonNull Place place, @Nullable DataPlaces.OnResultListener<Boolean> listener) {
+		dataPlaces.addPlaceAsync(place, new DataPlaces.OnResultListener<Boolean>() {
+			@Override
+			public void onResult(Boolean added) {
+				if (added) {
+					places.add(place);
+					notifyPlaceInserted(places.size() - 1);
+				}
+				if (listener != null) listener.onResult(added);
+			}
+
+			@Override
+			public void onError(@NonNull Exception exception) {
+				if (listener != null) listener.onError(exception);
+			}
+		});
+	}
+
+
+	/**
+	 * deletePlace(int position, @Nullable DataPlaces.OnResultListener<Boolean> listener)
+	 * <p>
+	 * Used to delete a place, it is removed from the list right away<br>
+	 * The storage is given the key of the place, so operations queued after a failed one still change the right place<br>
+	 * The place is put back if it cannot be deleted from the storage
+	 * </p>
+	 *
+	 * @param position Position of the place to delete
+	 * @param listener Receives the success of the operation
+	 */
+	public void deletePlace(int position, @Nullable DataPlaces.OnResultListener<Boolean> listener) {
+		Place place = places.remove(position);
+		notifyPlaceRemoved(position);
+
+		dataPlaces.deletePlaceAsync(dataPlaces.getDataPlaceString(place), new DataPlaces.OnResultListener<Boolean>() {
+			@Override
+			public void onResult(Boolean deleted) {
+				if (!deleted) {
+					onError(new Exception("Commit Error"));
+					return;
+				}
+				if (listener != null) listener.onResult(true);
+			}
+
+			@Override
+			public void onError(@NonNull Exception exception) {
+				//  The place is still stored, it is put back, unless it was not stored at all
+				if (exception instanceof PlaceDoesntExistException) {
+					if (listener != null) listener.onError(exception);
+					return;
+				}
+				int restoredPosition = Math.min(position, places.size());
+				places.add(restoredPosition, place);
+				notifyPlaceInserted(restoredPosition);
+
+				if (listener != null) listener.onError(exception);
+			}
+		});
+	}
+
+
+	/**
+	 * movePlace(int initialPosition, int finalPosition, @Nullable DataPlaces.OnResultListener<Boolean> listener)
+	 * <p>
+	 * Used to move a place, it is moved in the list right away<br>
+	 * The storage is given the key of the place, so operations queued after a failed one still move the right place<br>
+	 * The place is moved back if the move cannot be saved
+	 * </p>
+	 *
+	 * @param initialPosition The initial place position
+	 * @param finalPosition   The final place position
+	 * @param listener        Receives the success of the operation
+	 */
+	public void movePlace(int initialPosition, int finalPosition, @Nullable DataPlaces.OnResultListener<Boolean> listener) {
+		if (initialPosition == finalPosition) return;
+		Place place = places.remove(initialPosition);
+		places.add(finalPosition, place);
+		notifyPlaceMoved(initialPosition, finalPosition);
+
+		dataPlaces.movePlaceAsync(dataPlaces.getDataPlaceString(place), finalPosition, new DataPlaces.OnResultListener<Boolean>() {
+			@Override
+			public void onResult(Boolean moved) {
+				if (!moved) {
+					onError(new Exception("Commit Error"));
+					return;
+				}
+				if (listener != null) listener.onResult(true);
+			}
+
+			@Override
+			public void onError(@NonNull Exception exception) {
+				//  Later moves may have changed positions, the place is looked for
+				int position = places.indexOf(place);
+				if (position != -1 && position != initialPosition && initialPosition < places.size()) {
+					places.add(initialPosition, places.remove(position));
+					notifyPlaceMoved(position, initialPosition);
+				}
+
+				if (listener != null) listener.onError(exception);
+			}
+		});
+	}
+
+
+	/**
+	 * placeChanged(@NonNull Place place)
+	 * <p>
+	 * Used to tell listeners data of a place changed, like after a refresh or when its forecasts are loaded<br>
+	 * Nothing is done if the place is not in the list anymore
+	 * </p>
+	 *
+	 * @param place The changed place
+	 */
+	public void placeChanged(@NonNull Place place) {
+		int position = places.indexOf(place);
+		if (position == -1) return;
+
+		for (OnPlacesChangedListener listener : getListeners()) {
+			listener.onPlaceChanged(position);
+		}
+	}
+
+
+	public void addOnPlacesChangedListener(@NonNull OnPlacesChangedListener listener) {
+		if (!onPlacesChangedListeners.contains(listener)) onPlacesChangedListeners.add(listener);
+	}
+
+	public void removeOnPlacesChangedListener(@NonNull OnPlacesChangedListener listener) {
+		onPlacesChangedListeners.remove(listener);
+	}
+
+
+	public boolean isLoaded() {
+		return loaded;
+	}
+
+	/**
+	 * getPlaces()
+	 * <p>
+	 * Used to read the place list, it must be changed with the methods of the repository
+	 * </p>
+	 *
+	 * @return The place list, it cannot be modified
+	 */
+	@NonNull
+	public List<Place> getPlaces() {
+		return Collections.unmodifiableList(places);
+	}
+
+	public Place getPlace(int position) {
+		return places.get(position);
+	}
+
+	public int getPlaceCount() {
+		return places.size();
+	}
+
+	@NonNull
+	public DataPlaces getDataPlaces() {
+		return dataPlaces;
+	}
+
+	@NonNull
+	public RequestQueue getRequestQueue() {
+		return requestQueue;
+	}
+
+	@NonNull
+	public RefreshScheduler.FetchTimes getFetchTimes() {
+		return fetchTimes;
+	}
+
+
+	//  Copy so listeners can be removed while they are called
+	private ArrayList<OnPlacesChangedListener> getListeners() {
+		return new ArrayList<>(onPlacesChangedListeners);
+	}
+
+	private void notifyPlaceInserted(int position) {
+		for (OnPlacesChangedListener listener : getListeners()) {
+			listener.onPlaceInserted(position);
+		}
+	}
+
+	private void notifyPlaceRemoved(int position) {
+		for (OnPlacesChangedListener listener : getListeners()) {
+			listener.onPlaceRemoved(position);
+		}
+	}
+
+	private void notifyPlaceMoved(int initialPosition, int finalPosition) {
+		for (OnPlacesChangedListener listener : getListeners()) {
+			listener.onPlaceMoved(initialPosition, finalPosition);
+		}
+	}
+
+
+	/**
+	 * OnPlacesChangedListener
+	 * <p>
+	 * Called on the main thread each time the place list changes, positions are the ones of the list after the change
+	 * </p>
+	 */
+	public interface OnPlacesChangedListener {
+		void onPlacesLoaded();
+
+		void onPlaceInserted(int position);
+
+		void onPlaceRemoved(int position);
+
+		void onPlaceMoved(int initialPosition, int finalPosition);
+
+		void onPlaceChanged(int position);
+	}
+}
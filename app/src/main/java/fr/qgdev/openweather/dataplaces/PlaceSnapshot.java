@@ -0,0 +1,511 @@
+package fr.qgdev.openweather.dataplaces;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Date;
+
+import fr.qgdev.openweather.Place;
+import fr.qgdev.openweather.weather.AirQuality;
+import fr.qgdev.openweather.weather.CurrentWeather;
+import fr.qgdev.openweather.weather.DailyForecastColumns;
+import fr.qgdev.openweather.weather.HourlyForecastColumns;
+import fr.qgdev.openweather.weather.MinutelyWeatherForecast;
+import fr.qgdev.openweather.weather.WeatherAlert;
+import fr.qgdev.openweather.weather.WeatherConditions;
+
+/**
+ * PlaceSnapshot
+ * <p>
+ * Binary format of a place stored by PlaceSnapshotStore<br>
+ * The organisation of a snapshot is pretty simple :<br>
+ * -  A header with SNAPSHOT_MAGIC and SNAPSHOT_VERSION<br>
+ * -  Place data, update time, current weather and air quality<br>
+ * -  Each forecast list is written as a count followed by its fixed order records<br>
+ * A summary is the same without the header and the forecasts, it is what the place index stores<br>
+ * Strings are written as a char count followed by the chars, -1 means a null String<br>
+ * Every change in the record layout must increase SNAPSHOT_VERSION
+ * </p>
+ *
+ * @author Quentin GOMES DOS REIS
+ * @version 2
+ * @see PlaceSnapshotStore
+ */
+final class PlaceSnapshot {
+
+	static final int SNAPSHOT_MAGIC = 0x4F575053;   //  "OWPS"
+	static final short SNAPSHOT_VERSION = 1;
+
+	private static final int HEADER_SIZE = 4 + 2;
+	private static final int PLACE_SIZE = 8 + 8 + 4 + 8;
+	private static final int CURRENT_WEATHER_SIZE = 8 + 4 + 4 * 8 + 8 * 2 + 4 * 2 + 1 + 2 + 4 * 2;
+	private static final int AIR_QUALITY_SIZE = 4 + 4 * 8;
+	private static final int MINUTELY_WEATHER_FORECAST_SIZE = 8 + 4;
+	private static final int HOURLY_WEATHER_FORECAST_SIZE = 8 + 4 + 4 * 2 + 4 * 2 + 4 + 4 * 3 + 4 * 2 + 2 + 4 * 3;
+	private static final int DAILY_WEATHER_FORECAST_SIZE = 8 + 4 + 4 * 10 + 4 * 2 + 4 + 4 + 8 * 2 + 4 + 8 * 2 + 4 + 4 * 2 + 2 + 4 * 3;
+	private static final int WEATHER_ALERT_SIZE = 8 * 2;
+	private static final int LIST_COUNT_SIZE = 4;
+
+	private PlaceSnapshot() {
+	}
+
+
+	/**
+	 * getSnapshotSize(@NonNull Place place)
+	 * <p>
+	 * Used to get the exact number of bytes needed to write a place snapshot
+	 * </p>
+	 *
+	 * @param place The place that will be written
+	 * @return The size of the snapshot in bytes
+	 */
+	static int getSnapshotSize(@NonNull Place place) {
+		HourlyForecastColumns hourlyForecastColumns = place.getHourlyForecastColumns();
+		DailyForecastColumns dailyForecastColumns = place.getDailyForecastColumns();
+
+		int size = HEADER_SIZE
+				+ getPlaceSize(place)
+				+ LIST_COUNT_SIZE + MINUTELY_WEATHER_FORECAST_SIZE * place.getMinutelyWeatherForecastArrayList().size()
+				+ LIST_COUNT_SIZE + HOURLY_WEATHER_FORECAST_SIZE * hourlyForecastColumns.size()
+				+ LIST_COUNT_SIZE + DAILY_WEATHER_FORECAST_SIZE * dailyForecastColumns.size()
+				+ getWeatherAlertsSize(place);
+
+		for (int condition : hourlyForecastColumns.condition) {
+			size += getStringSize(WeatherConditions.getWeather(condition)) + getStringSize(WeatherConditions.getWeatherDescription(condition));
+		}
+		for (int condition : dailyForecastColumns.condition) {
+			size += getStringSize(WeatherConditions.getWeather(condition)) + getStringSize(WeatherConditions.getWeatherDescription(condition));
+		}
+
+		return size;
+	}
+
+
+	/**
+	 * getSummarySize(@NonNull Place place)
+	 * <p>
+	 * Used to get the exact number of bytes needed to write a place summary
+	 * </p>
+	 *
+	 * @param place The place that will be written
+	 * @return The size of the summary in bytes
+	 */
+	static int getSummarySize(@NonNull Place place) {
+		return getPlaceSize(place) + getWeatherAlertsSize(place);
+	}
+
+
+	private static int getPlaceSize(@NonNull Place place) {
+		CurrentWeather currentWeather = place.getCurrentWeather();
+
+		return getStringSize(place.getCity()) + getStringSize(place.getCountryCode()) + PLACE_SIZE
+				+ CURRENT_WEATHER_SIZE + getStringSize(currentWeather.weather) + getStringSize(currentWeather.weatherDescription)
+				+ AIR_QUALITY_SIZE;
+	}
+
+
+	private static int getWeatherAlertsSize(@NonNull Place place) {
+		ArrayList<WeatherAlert> weatherAlertArrayList = place.getWeatherAlertsArrayList();
+		int size = LIST_COUNT_SIZE + WEATHER_ALERT_SIZE * weatherAlertArrayList.size();
+
+		for (WeatherAlert weatherAlert : weatherAlertArrayList) {
+			size += getStringSize(weatherAlert.getSender()) + getStringSize(weatherAlert.getEvent()) + getStringSize(weatherAlert.getDescription());
+		}
+		return size;
+	}
+
+
+	/**
+	 * write(@NonNull Place place, @NonNull ByteBuffer buffer)
+	 * <p>
+	 * Used to write a place snapshot in a buffer<br>
+	 * The buffer must have at least getSnapshotSize(place) bytes remaining
+	 * </p>
+	 *
+	 * @param place  The place to write
+	 * @param buffer The destination buffer
+	 */
+	static void write(@NonNull Place place, @NonNull ByteBuffer buffer) {
+		//  Header
+		buffer.putInt(SNAPSHOT_MAGIC);
+		buffer.putShort(SNAPSHOT_VERSION);
+
+		writePlace(place, buffer);
+
+		//  Minutely weather forecast
+		ArrayList<MinutelyWeatherForecast> minutelyWeatherForecastArrayList = place.getMinutelyWeatherForecastArrayList();
+		buffer.putInt(minutelyWeatherForecastArrayList.size());
+		for (MinutelyWeatherForecast minutelyWeatherForecast : minutelyWeatherForecastArrayList) {
+			buffer.putLong(minutelyWeatherForecast.dt);
+			buffer.putFloat(minutelyWeatherForecast.precipitation);
+		}
+
+		//  Hourly weather forecast, read from the columns to avoid building forecast objects
+		HourlyForecastColumns hourlyForecastColumns = place.getHourlyForecastColumns();
+		buffer.putInt(hourlyForecastColumns.size());
+		for (int hour = 0; hour < hourlyForecastColumns.size(); hour++) {
+			buffer.putLong(hourlyForecastColumns.dt[hour]);
+			putString(buffer, WeatherConditions.getWeather(hourlyForecastColumns.condition[hour]));
+			putString(buffer, WeatherConditions.getWeatherDescription(hourlyForecastColumns.condition[hour]));
+			buffer.putInt(hourlyForecastColumns.weatherCode[hour]);
+			buffer.putFloat(hourlyForecastColumns.temperature[hour]);
+			buffer.putFloat(hourlyForecastColumns.temperatureFeelsLike[hour]);
+			buffer.putInt(hourlyForecastColumns.pressure[hour]);
+			buffer.putInt(hourlyForecastColumns.humidity[hour]);
+			buffer.putFloat(hourlyForecastColumns.dewPoint[hour]);
+			buffer.putInt(hourlyForecastColumns.cloudiness[hour]);
+			buffer.putInt(hourlyForecastColumns.visibility[hour]);
+			buffer.putInt(hourlyForecastColumns.uvIndex[hour]);
+			buffer.putFloat(hourlyForecastColumns.windSpeed[hour]);
+			buffer.putFloat(hourlyForecastColumns.windGustSpeed[hour]);
+			buffer.putShort(hourlyForecastColumns.windDirection[hour]);
+			buffer.putFloat(hourlyForecastColumns.pop[hour]);
+			buffer.putFloat(hourlyForecastColumns.rain[hour]);
+			buffer.putFloat(hourlyForecastColumns.snow[hour]);
+		}
+
+		//  Daily weather forecast
+		DailyForecastColumns dailyForecastColumns = place.getDailyForecastColumns();
+		buffer.putInt(dailyForecastColumns.size());
+		for (int day = 0, dayMoments = 0; day < dailyForecastColumns.size(); day++, dayMoments += DailyForecastColumns.DAY_MOMENTS) {
+			buffer.putLong(dailyForecastColumns.dt[day]);
+			putString(buffer, WeatherConditions.getWeather(dailyForecastColumns.condition[day]));
+			putString(buffer, WeatherConditions.getWeatherDescription(dailyForecastColumns.condition[day]));
+			buffer.putInt(dailyForecastColumns.weatherCode[day]);
+			buffer.putFloat(dailyForecastColumns.temperatures[dayMoments + DailyForecastColumns.MORNING]);
+			buffer.putFloat(dailyForecastColumns.temperatures[dayMoments + DailyForecastColumns.DAY]);
+			buffer.putFloat(dailyForecastColumns.temperatures[dayMoments + DailyForecastColumns.EVENING]);
+			buffer.putFloat(dailyForecastColumns.temperatures[dayMoments + DailyForecastColumns.NIGHT]);
+			buffer.putFloat(dailyForecastColumns.temperatureMinimum[day]);
+			buffer.putFloat(dailyForecastColumns.temperatureMaximum[day]);
+			buffer.putFloat(dailyForecastColumns.temperaturesFeelsLike[dayMoments + DailyForecastColumns.MORNING]);
+			buffer.putFloat(dailyForecastColumns.temperaturesFeelsLike[dayMoments + DailyForecastColumns.DAY]);
+			buffer.putFloat(dailyForecastColumns.temperaturesFeelsLike[dayMoments + DailyForecastColumns.EVENING]);
+			buffer.putFloat(dailyForecastColumns.temperaturesFeelsLike[dayMoments + DailyForecastColumns.NIGHT]);
+			buffer.putInt(dailyForecastColumns.pressure[day]);
+			buffer.putInt(dailyForecastColumns.humidity[day]);
+			buffer.putFloat(dailyForecastColumns.dewPoint[day]);
+			buffer.putInt(dailyForecastColumns.cloudiness[day]);
+			buffer.putLong(dailyForecastColumns.sunrise[day]);
+			buffer.putLong(dailyForecastColumns.sunset[day]);
+			buffer.putInt(dailyForecastColumns.uvIndex[day]);
+			buffer.putLong(dailyForecastColumns.moonrise[day]);
+			buffer.putLong(dailyForecastColumns.moonset[day]);
+			buffer.putFloat(dailyForecastColumns.moonPhase[day]);
+			buffer.putFloat(dailyForecastColumns.windSpeed[day]);
+			buffer.putFloat(dailyForecastColumns.windGustSpeed[day]);
+			buffer.putShort(dailyForecastColumns.windDirection[day]);
+			buffer.putFloat(dailyForecastColumns.pop[day]);
+			buffer.putFloat(dailyForecastColumns.rain[day]);
+			buffer.putFloat(dailyForecastColumns.snow[day]);
+		}
+
+		writeWeatherAlerts(place, buffer);
+	}
+
+
+	/**
+	 * read(@NonNull ByteBuffer buffer) throws IOException
+	 * <p>
+	 * Used to read a place snapshot from a buffer
+	 * </p>
+	 *
+	 * @param buffer The buffer positioned at the beginning of the snapshot
+	 * @return The place stored in the snapshot
+	 * @throws IOException If the snapshot is truncated, corrupted or from an unknown version
+	 */
+	@NonNull
+	static Place read(@NonNull ByteBuffer buffer) throws IOException {
+		try {
+			//  Header
+			if (buffer.getInt() != SNAPSHOT_MAGIC) throw new IOException("Not a place snapshot");
+			short version = buffer.getShort();
+			if (version != SNAPSHOT_VERSION)
+				throw new IOException(String.format("Unsupported place snapshot version %d", version));
+
+			Place place = readPlace(buffer);
+
+			//  Minutely weather forecast
+			int count = getCount(buffer, MINUTELY_WEATHER_FORECAST_SIZE);
+			ArrayList<MinutelyWeatherForecast> minutelyWeatherForecastArrayList = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				minutelyWeatherForecastArrayList.add(new MinutelyWeatherForecast(buffer.getLong(), buffer.getFloat()));
+			}
+			place.setMinutelyWeatherForecastArrayList(minutelyWeatherForecastArrayList);
+
+			//  Hourly weather forecast
+			count = getCount(buffer, HOURLY_WEATHER_FORECAST_SIZE);
+			HourlyForecastColumns.Builder hourlyForecastColumnsBuilder = new HourlyForecastColumns.Builder(count);
+			for (int i = 0; i < count; i++) {
+				hourlyForecastColumnsBuilder.addHour().setDt(buffer.getLong());
+				String weather = getString(buffer);
+				String weatherDescription = getString(buffer);
+				hourlyForecastColumnsBuilder.setCondition(WeatherConditions.intern(buffer.getInt(), weather, weatherDescription))
+						.setTemperature(buffer.getFloat())
+						.setTemperatureFeelsLike(buffer.getFloat())
+						.setPressure(buffer.getInt())
+						.setHumidity(buffer.getInt())
+						.setDewPoint(buffer.getFloat())
+						.setCloudiness(buffer.getInt())
+						.setVisibility(buffer.getInt())
+						.setUvIndex(buffer.getInt())
+						.setWindSpeed(buffer.getFloat())
+						.setWindGustSpeed(buffer.getFloat())
+						.setWindDirection(buffer.getShort())
+						.setPop(buffer.getFloat())
+						.setRain(buffer.getFloat())
+						.setSnow(buffer.getFloat());
+			}
+			place.setHourlyForecastColumns(hourlyForecastColumnsBuilder.build());
+
+			//  Daily weather forecast
+			count = getCount(buffer, DAILY_WEATHER_FORECAST_SIZE);
+			DailyForecastColumns.Builder dailyForecastColumnsBuilder = new DailyForecastColumns.Builder(count);
+			for (int i = 0; i < count; i++) {
+				dailyForecastColumnsBuilder.addDay().setDt(buffer.getLong());
+				String weather = getString(buffer);
+				String weatherDescription = getString(buffer);
+				dailyForecastColumnsBuilder.setCondition(WeatherConditions.intern(buffer.getInt(), weather, weatherDescription))
+						.setTemperature(DailyForecastColumns.MORNING, buffer.getFloat())
+						.setTemperature(DailyForecastColumns.DAY, buffer.getFloat())
+						.setTemperature(DailyForecastColumns.EVENING, buffer.getFloat())
+						.setTemperature(DailyForecastColumns.NIGHT, buffer.getFloat())
+						.setTemperatureMinimum(buffer.getFloat())
+						.setTemperatureMaximum(buffer.getFloat())
+						.setTemperatureFeelsLike(DailyForecastColumns.MORNING, buffer.getFloat())
+						.setTemperatureFeelsLike(DailyForecastColumns.DAY, buffer.getFloat())
+						.setTemperatureFeelsLike(DailyForecastColumns.EVENING, buffer.getFloat())
+						.setTemperatureFeelsLike(DailyForecastColumns.NIGHT, buffer.getFloat())
+						.setPressure(buffer.getInt())
+						.setHumidity(buffer.getInt())
+						.setDewPoint(buffer.getFloat())
+						.setCloudiness(buffer.getInt())
+						.setSunrise(buffer.getLong())
+						.setSunset(buffer.getLong())
+						.setUvIndex(buffer.getInt())
+						.setMoonrise(buffer.getLong())
+						.setMoonset(buffer.getLong())
+						.setMoonPhase(buffer.getFloat())
+						.setWindSpeed(buffer.getFloat())
+						.setWindGustSpeed(buffer.getFloat())
+						.setWindDirection(buffer.getShort())
+						.setPop(buffer.getFloat())
+						.setRain(buffer.getFloat())
+						.setSnow(buffer.getFloat());
+			}
+			place.setDailyForecastColumns(dailyForecastColumnsBuilder.build());
+
+			readWeatherAlerts(buffer, place);
+
+			return place;
+
+		} catch (BufferUnderflowException e) {
+			throw new IOException("Truncated place snapshot", e);
+		}
+	}
+
+
+	/**
+	 * writeSummary(@NonNull Place place, @NonNull ByteBuffer buffer)
+	 * <p>
+	 * Used to write what the card of a place shows without its forecasts<br>
+	 * The buffer must have at least getSummarySize(place) bytes remaining
+	 * </p>
+	 *
+	 * @param place  The place to write
+	 * @param buffer The destination buffer
+	 */
+	static void writeSummary(@NonNull Place place, @NonNull ByteBuffer buffer) {
+		writePlace(place, buffer);
+		writeWeatherAlerts(place, buffer);
+	}
+
+
+	/**
+	 * readSummary(@NonNull ByteBuffer buffer) throws IOException
+	 * <p>
+	 * Used to read a place summary from a buffer, forecasts of the read place are not loaded
+	 * </p>
+	 *
+	 * @param buffer The buffer positioned at the beginning of the summary
+	 * @return The place stored in the summary
+	 * @throws IOException If the summary is truncated or corrupted
+	 */
+	@NonNull
+	static Place readSummary(@NonNull ByteBuffer buffer) throws IOException {
+		try {
+			Place place = readPlace(buffer);
+			readWeatherAlerts(buffer, place);
+			place.setForecastsLoaded(false);
+			return place;
+
+		} catch (BufferUnderflowException e) {
+			throw new IOException("Truncated place summary", e);
+		}
+	}
+
+
+	//  Place, update, current weather and air quality
+	private static void writePlace(@NonNull Place place, @NonNull ByteBuffer buffer) {
+		//  Place and update
+		putString(buffer, place.getCity());
+		putString(buffer, place.getCountryCode());
+		buffer.putDouble(place.getLatitude());
+		buffer.putDouble(place.getLongitude());
+		buffer.putInt(place.getTimeZoneOffset());
+		buffer.putLong(place.getLastUpdate());
+
+		//  Current weather
+		CurrentWeather currentWeather = place.getCurrentWeather();
+		buffer.putLong(currentWeather.dt);
+		putString(buffer, currentWeather.weather);
+		putString(buffer, currentWeather.weatherDescription);
+		buffer.putInt(currentWeather.weatherCode);
+		buffer.putFloat(currentWeather.temperature);
+		buffer.putFloat(currentWeather.temperatureFeelsLike);
+		buffer.putInt(currentWeather.pressure);
+		buffer.putInt(currentWeather.humidity);
+		buffer.putFloat(currentWeather.dewPoint);
+		buffer.putInt(currentWeather.cloudiness);
+		buffer.putInt(currentWeather.uvIndex);
+		buffer.putInt(currentWeather.visibility);
+		buffer.putLong(currentWeather.sunrise);
+		buffer.putLong(currentWeather.sunset);
+		buffer.putFloat(currentWeather.windSpeed);
+		buffer.putFloat(currentWeather.windGustSpeed);
+		buffer.put((byte) (currentWeather.isWindDirectionReadable ? 1 : 0));
+		buffer.putShort(currentWeather.windDirection);
+		buffer.putFloat(currentWeather.rain);
+		buffer.putFloat(currentWeather.snow);
+
+		//  Air quality
+		AirQuality airQuality = place.getAirQuality();
+		buffer.putInt(airQuality.aqi);
+		buffer.putFloat(airQuality.co);
+		buffer.putFloat(airQuality.no);
+		buffer.putFloat(airQuality.no2);
+		buffer.putFloat(airQuality.o3);
+		buffer.putFloat(airQuality.so2);
+		buffer.putFloat(airQuality.pm2_5);
+		buffer.putFloat(airQuality.pm10);
+		buffer.putFloat(airQuality.nh3);
+	}
+
+
+	private static void writeWeatherAlerts(@NonNull Place place, @NonNull ByteBuffer buffer) {
+		//  Weather alerts
+		ArrayList<WeatherAlert> weatherAlertArrayList = place.getWeatherAlertsArrayList();
+		buffer.putInt(weatherAlertArrayList.size());
+		for (WeatherAlert weatherAlert : weatherAlertArrayList) {
+			putString(buffer, weatherAlert.getSender());
+			putString(buffer, weatherAlert.getEvent());
+			buffer.putLong(weatherAlert.getStart_dt());
+			buffer.putLong(weatherAlert.getEnd_dt());
+			putString(buffer, weatherAlert.getDescription());
+		}
+	}
+
+
+	@NonNull
+	private static Place readPlace(@NonNull ByteBuffer buffer) throws IOException {
+		//  Place and update
+		Place place = new Place(getString(buffer), getString(buffer));
+		place.setLatitude(buffer.getDouble());
+		place.setLongitude(buffer.getDouble());
+		place.setTimeZoneOffset(buffer.getInt());
+		place.setLastUpdate(buffer.getLong());
+		place.setLastUpdateDate(new Date(place.getLastUpdate()));
+
+		//  Current weather
+		CurrentWeather currentWeather = new CurrentWeather();
+		currentWeather.dt = buffer.getLong();
+		currentWeather.weather = getString(buffer);
+		currentWeather.weatherDescription = getString(buffer);
+		currentWeather.weatherCode = buffer.getInt();
+		currentWeather.temperature = buffer.getFloat();
+		currentWeather.temperatureFeelsLike = buffer.getFloat();
+		currentWeather.pressure = buffer.getInt();
+		currentWeather.humidity = buffer.getInt();
+		currentWeather.dewPoint = buffer.getFloat();
+		currentWeather.cloudiness = buffer.getInt();
+		currentWeather.uvIndex = buffer.getInt();
+		currentWeather.visibility = buffer.getInt();
+		currentWeather.sunrise = buffer.getLong();
+		currentWeather.sunset = buffer.getLong();
+		currentWeather.windSpeed = buffer.getFloat();
+		currentWeather.windGustSpeed = buffer.getFloat();
+		currentWeather.isWindDirectionReadable = buffer.get() != 0;
+		currentWeather.windDirection = buffer.getShort();
+		currentWeather.rain = buffer.getFloat();
+		currentWeather.snow = buffer.getFloat();
+		place.setCurrentWeather(currentWeather);
+
+		//  Air quality
+		AirQuality airQuality = new AirQuality();
+		airQuality.aqi = buffer.getInt();
+		airQuality.co = buffer.getFloat();
+		airQuality.no = buffer.getFloat();
+		airQuality.no2 = buffer.getFloat();
+		airQuality.o3 = buffer.getFloat();
+		airQuality.so2 = buffer.getFloat();
+		airQuality.pm2_5 = buffer.getFloat();
+		airQuality.pm10 = buffer.getFloat();
+		airQuality.nh3 = buffer.getFloat();
+		place.setAirQuality(airQuality);
+
+		return place;
+	}
+
+
+	private static void readWeatherAlerts(@NonNull ByteBuffer buffer, @NonNull Place place) throws IOException {
+		//  Weather alerts
+		int count = getCount(buffer, WEATHER_ALERT_SIZE);
+		ArrayList<WeatherAlert> weatherAlertArrayList = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			weatherAlertArrayList.add(new WeatherAlert(getString(buffer), getString(buffer), buffer.getLong(), buffer.getLong(), getString(buffer)));
+		}
+		place.setWeatherAlertsArrayList(weatherAlertArrayList);
+	}
+
+
+	private static int getCount(ByteBuffer buffer, int recordSize) throws IOException {
+		int count = buffer.getInt();
+		//  A corrupted count must not lead to a huge allocation
+		if (count < 0 || (long) count * recordSize > buffer.remaining())
+			throw new IOException(String.format("Invalid record count in place snapshot: %d", count));
+		return count;
+	}
+
+	private static int getStringSize(@Nullable String string) {
+		return 4 + (string == null ? 0 : string.length() * 2);
+	}
+
+	private static void putString(ByteBuffer buffer, @Nullable String string) {
+		if (string == null) {
+			buffer.putInt(-1);
+		} else {
+			int length = string.length();
+			buffer.putInt(length);
+			for (int i = 0; i < length; i++) {
+				buffer.putChar(string.charAt(i));
+			}
+		}
+	}
+
+	@Nullable
+	private static String getString(ByteBuffer buffer) throws IOException {
+		int length = buffer.getInt();
+		if (length == -1) return null;
+		if (length < 0 || length * 2L > buffer.remaining())
+			throw new IOException(String.format("Invalid string length in place snapshot: %d", length));
+
+		char[] chars = new char[length];
+		buffer.asCharBuffer().get(chars);
+		buffer.position(buffer.position() + length * 2);
+		return new String(chars);
+	}
+}
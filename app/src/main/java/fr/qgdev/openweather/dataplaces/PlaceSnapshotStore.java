@@ -0,0 +1,551 @@
+package fr.qgdev.openweather.dataplaces;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.BufferUnderflowException;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import fr.qgdev.openweather.Place;
+
+/**
+ * PlaceSnapshotStore
+ * <p>
+ * Store each place in its own binary file with the PlaceSnapshot format<br>
+ * -  Snapshots are written with a FileChannel in a temporary file which is then renamed over the old one<br>
+ * -  Snapshots are read through a read-only memory-mapped buffer<br>
+ * The file name of a place is derived from its dataPlace key<br>
+ * A place can be encoded on the thread modifying it and its snapshot written later on an other thread<br>
+ * Summaries of all places are also kept together in one index file, so the place list can be shown without reading
+ * any forecast :<br>
+ * -  A header with INDEX_MAGIC, INDEX_VERSION and the count of entries<br>
+ * -  Each entry is the dataPlace key, the size of the summary and the PlaceSnapshot summary<br>
+ * Several snapshots and their summaries are written as one batch :<br>
+ * -  Every file of the batch is written in a temporary file<br>
+ * -  The batch file, listing these files, is written and renamed in place, the batch is committed by this rename<br>
+ * -  Temporary files are renamed over the old files, then the batch file is deleted<br>
+ * A batch interrupted before its commit is dropped and one interrupted after is completed, before any other operation
+ * </p>
+ *
+ * @author Quentin GOMES DOS REIS
+ * @version 4
+ * @see PlaceSnapshot
+ */
+public class PlaceSnapshotStore {
+
+	private static final String SNAPSHOT_FILE_EXTENSION = ".snapshot";
+	private static final String TEMPORARY_FILE_EXTENSION = ".tmp";
+	private static final String INDEX_FILE_NAME = "places.index";
+	private static final String BATCH_FILE_NAME = "places.batch";
+
+	static final int INDEX_MAGIC = 0x4F575049;   //  "OWPI"
+	static final short INDEX_VERSION = 1;
+	static final int BATCH_MAGIC = 0x4F575042;   //  "OWPB"
+
+	private final File directory;
+	//  Temporary files left by an interrupted write are deleted once, before the first operation
+	private boolean temporaryFilesDeleted;
+
+
+	/**
+	 * PlaceSnapshotStore Constructor
+	 * <p>
+	 * Just the constructor of PlaceSnapshotStore class
+	 * </p>
+	 *
+	 * @param directory Directory where snapshots are stored, it is created if needed
+	 */
+	public PlaceSnapshotStore(@NonNull File directory) {
+		this.directory = directory;
+	}
+
+
+	/**
+	 * write(@NonNull String dataPlaceName, @NonNull Place place)
+	 * <p>
+	 * Used to write the snapshot of a place<br>
+	 * The previous snapshot is replaced only when the new one is completely written
+	 * </p>
+	 *
+	 * @param dataPlaceName dataPlace key of the place
+	 * @param place         The place to write
+	 * @return A boolean to know if the operation was a success or not
+	 */
+	public boolean write(@NonNull String dataPlaceName, @NonNull Place place) {
+		return write(dataPlaceName, encode(place));
+	}
+
+
+	/**
+	 * write(@NonNull String dataPlaceName, @NonNull ByteBuffer snapshot)
+	 * <p>
+	 * Used to write a snapshot encoded before<br>
+	 * The previous snapshot is replaced only when the new one is completely written
+	 * </p>
+	 *
+	 * @param dataPlaceName dataPlace key of the place
+	 * @param snapshot      Snapshot given by encode(), it is not modified
+	 * @return A boolean to know if the operation was a success or not
+	 */
+	public boolean write(@NonNull String dataPlaceName, @NonNull ByteBuffer snapshot) {
+		if (!directory.isDirectory() && !directory.mkdirs()) return false;
+		if (!recover()) return false;
+
+		File temporaryFile = writeTemporaryFile(dataPlaceName, snapshot);
+		return temporaryFile != null && temporaryFile.renameTo(getSnapshotFile(dataPlaceName));
+	}
+
+
+	/**
+	 * writeBatch(@NonNull Map<String, ByteBuffer> snapshots, @NonNull Map<String, ByteBuffer> summaries)
+	 * <p>
+	 * Used to write several snapshots encoded before and to update their summaries in the index as one batch<br>
+	 * Either all snapshots and the index are replaced, or none of them :<br>
+	 * -  If a file cannot be written before the commit, temporary files are deleted and nothing is replaced<br>
+	 * -  If a file cannot be renamed after the commit, the batch is completed before the next operation of the store
+	 * </p>
+	 *
+	 * @param snapshots Snapshots given by encode(), mapped by the dataPlace key of their place, they are not modified
+	 * @param summaries Summaries given by encodeSummary(), mapped by the dataPlace key of their place, they are not modified
+	 * @return A boolean to know if the batch was committed or not
+	 */
+	public boolean writeBatch(@NonNull Map<String, ByteBuffer> snapshots, @NonNull Map<String, ByteBuffer> summaries) {
+		if (!directory.isDirectory() && !directory.mkdirs()) return false;
+		if (!recover()) return false;
+
+		Map<File, ByteBuffer> files = new LinkedHashMap<>(snapshots.size() + 1);
+		for (Map.Entry<String, ByteBuffer> snapshotEntry : snapshots.entrySet()) {
+			files.put(getSnapshotFile(snapshotEntry.getKey()), snapshotEntry.getValue());
+		}
+		files.put(new File(directory, INDEX_FILE_NAME), encodeIndex(summaries, Collections.emptySet()));
+
+		//  First, write every file in a temporary file
+		List<File> temporaryFiles = new ArrayList<>(files.size() + 1);
+		for (Map.Entry<File, ByteBuffer> fileEntry : files.entrySet()) {
+			File temporaryFile = writeTemporaryFile(fileEntry.getKey(), fileEntry.getValue());
+
+			if (temporaryFile == null) {
+				deleteAll(temporaryFiles);
+				return false;
+			}
+			temporaryFiles.add(temporaryFile);
+		}
+
+		//  Then commit the batch by renaming the batch file in place
+		File batchFile = new File(directory, BATCH_FILE_NAME);
+		File temporaryBatchFile = writeTemporaryFile(batchFile, encodeBatch(files.keySet()));
+		if (temporaryBatchFile == null || !temporaryBatchFile.renameTo(batchFile)) {
+			if (temporaryBatchFile != null) temporaryFiles.add(temporaryBatchFile);
+			deleteAll(temporaryFiles);
+			return false;
+		}
+
+		//  The batch is committed, if it cannot be completed now it will be before the next operation
+		completeBatch(batchFile);
+		return true;
+	}
+
+
+	/**
+	 * encode(@NonNull Place place)
+	 * <p>
+	 * Used to encode the snapshot of a place, the place can be modified once it is encoded
+	 * </p>
+	 *
+	 * @param place The place to encode
+	 * @return The snapshot, ready to be written
+	 */
+	@NonNull
+	public static ByteBuffer encode(@NonNull Place place) {
+		ByteBuffer buffer = ByteBuffer.allocate(PlaceSnapshot.getSnapshotSize(place));
+		PlaceSnapshot.write(place, buffer);
+		buffer.flip();
+		return buffer;
+	}
+
+
+	/**
+	 * encodeSummary(@NonNull Place place)
+	 * <p>
+	 * Used to encode the summary of a place for the index, the place can be modified once it is encoded
+	 * </p>
+	 *
+	 * @param place The place to encode
+	 * @return The summary, ready to be written in the index
+	 */
+	@NonNull
+	public static ByteBuffer encodeSummary(@NonNull Place place) {
+		ByteBuffer buffer = ByteBuffer.allocate(PlaceSnapshot.getSummarySize(place));
+		PlaceSnapshot.writeSummary(place, buffer);
+		buffer.flip();
+		return buffer;
+	}
+
+
+	/**
+	 * writeTemporaryFile(@NonNull String dataPlaceName, @NonNull ByteBuffer snapshot)
+	 * <p>
+	 * Used to write the snapshot of a place next to its snapshot file
+	 * </p>
+	 *
+	 * @param dataPlaceName dataPlace key of the place
+	 * @param snapshot      The encoded snapshot, it is not modified
+	 * @return The written temporary file or null if it cannot be written
+	 */
+	@Nullable
+	private File writeTemporaryFile(@NonNull String dataPlaceName, @NonNull ByteBuffer snapshot) {
+		return writeTemporaryFile(getSnapshotFile(dataPlaceName), snapshot);
+	}
+
+
+	@NonNull
+	private static ByteBuffer encodeBatch(@NonNull Collection<File> files) {
+		int size = 4 + 4;
+		for (File file : files) {
+			size += 4 + file.getName().length() * 2;
+		}
+
+		ByteBuffer buffer = ByteBuffer.allocate(size);
+		buffer.putInt(BATCH_MAGIC);
+		buffer.putInt(files.size());
+		for (File file : files) {
+			putString(buffer, file.getName());
+		}
+		buffer.flip();
+		return buffer;
+	}
+
+
+	/**
+	 * recover()
+	 * <p>
+	 * Used before each operation to complete a committed batch and, the first time, to delete temporary files left by
+	 * an interrupted write
+	 * </p>
+	 *
+	 * @return A boolean to know if the stored files can be used or not
+	 */
+	private boolean recover() {
+		File batchFile = new File(directory, BATCH_FILE_NAME);
+		if (batchFile.isFile() && !completeBatch(batchFile)) return false;
+
+		if (!temporaryFilesDeleted) {
+			File[] temporaryFiles = directory.listFiles((dir, name) -> name.endsWith(TEMPORARY_FILE_EXTENSION)
+					&& (name.endsWith(SNAPSHOT_FILE_EXTENSION + TEMPORARY_FILE_EXTENSION)
+					|| name.equals(INDEX_FILE_NAME + TEMPORARY_FILE_EXTENSION)
+					|| name.equals(BATCH_FILE_NAME + TEMPORARY_FILE_EXTENSION)));
+			if (temporaryFiles != null) deleteAll(Arrays.asList(temporaryFiles));
+			temporaryFilesDeleted = true;
+		}
+		return true;
+	}
+
+
+	/**
+	 * completeBatch(@NonNull File batchFile)
+	 * <p>
+	 * Used to rename the temporary files of a committed batch over the old files, then to delete the batch file<br>
+	 * Files already renamed have no temporary file anymore, so a batch can be completed several times<br>
+	 * A corrupted batch file cannot have been committed, it is deleted with the temporary files of its batch
+	 * </p>
+	 *
+	 * @param batchFile The batch file
+	 * @return A boolean to know if the batch is completed or not
+	 */
+	private boolean completeBatch(@NonNull File batchFile) {
+		List<String> fileNames = new ArrayList<>();
+		try {
+			ByteBuffer buffer = map(batchFile);
+			if (buffer.getInt() != BATCH_MAGIC) throw new IOException("Not a place batch");
+
+			int count = buffer.getInt();
+			for (int file = 0; file < count; file++) {
+				fileNames.add(getString(buffer, "place batch"));
+			}
+		} catch (IOException | BufferUnderflowException e) {
+			e.printStackTrace();
+			temporaryFilesDeleted = false;
+			return batchFile.delete();
+		}
+
+		for (String fileName : fileNames) {
+			File temporaryFile = new File(directory, fileName + TEMPORARY_FILE_EXTENSION);
+			if (temporaryFile.isFile() && !temporaryFile.renameTo(new File(directory, fileName))) return false;
+		}
+		return batchFile.delete();
+	}
+
+
+	private static void deleteAll(@NonNull Collection<File> files) {
+		for (File file : files) {
+			file.delete();
+		}
+	}
+
+
+	@Nullable
+	private static File writeTemporaryFile(@NonNull File file, @NonNull ByteBuffer content) {
+		File temporaryFile = new File(file.getParentFile(), file.getName() + TEMPORARY_FILE_EXTENSION);
+
+		//  The same content may be written again if this write fails
+		ByteBuffer buffer = content.duplicate();
+
+		try (FileOutputStream outputStream = new FileOutputStream(temporaryFile);
+			 FileChannel channel = outputStream.getChannel()) {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			channel.force(false);
+		} catch (IOException e) {
+			e.printStackTrace();
+			temporaryFile.delete();
+			return null;
+		}
+
+		return temporaryFile;
+	}
+
+
+	/**
+	 * read(@NonNull String dataPlaceName) throws IOException
+	 * <p>
+	 * Used to read the snapshot of a place
+	 * </p>
+	 *
+	 * @param dataPlaceName dataPlace key of the place
+	 * @return The stored place or null if there is no snapshot for this place
+	 * @throws IOException If the snapshot cannot be read or is corrupted
+	 */
+	@Nullable
+	public Place read(@NonNull String dataPlaceName) throws IOException {
+		if (!recover()) throw new IOException("A committed batch cannot be completed");
+
+		File snapshotFile = getSnapshotFile(dataPlaceName);
+		if (!snapshotFile.isFile()) return null;
+
+		return PlaceSnapshot.read(map(snapshotFile));
+	}
+
+
+	/**
+	 * readIndex() throws IOException
+	 * <p>
+	 * Used to read the summaries of all places in the index, forecasts of the read places are not loaded
+	 * </p>
+	 *
+	 * @return Places of the index mapped by their dataPlace key, empty if there is no index
+	 * @throws IOException If the index cannot be read or is corrupted
+	 */
+	@NonNull
+	public Map<String, Place> readIndex() throws IOException {
+		if (!recover()) throw new IOException("A committed batch cannot be completed");
+
+		Map<String, ByteBuffer> summaries = readIndexEntries();
+		Map<String, Place> places = new LinkedHashMap<>(summaries.size());
+
+		for (Map.Entry<String, ByteBuffer> summaryEntry : summaries.entrySet()) {
+			places.put(summaryEntry.getKey(), PlaceSnapshot.readSummary(summaryEntry.getValue()));
+		}
+		return places;
+	}
+
+
+	/**
+	 * updateIndex(@NonNull Map<String, ByteBuffer> summaries, @NonNull Collection<String> removedDataPlaceNames)
+	 * <p>
+	 * Used to replace or add summaries in the index and to remove the ones of deleted places<br>
+	 * The index is small, so it is rewritten as a whole in a temporary file which is then renamed over the old one<br>
+	 * If the index cannot be updated it is deleted, it must never show data older than the snapshots
+	 * </p>
+	 *
+	 * @param summaries             Summaries given by encodeSummary(), mapped by the dataPlace key of their place, they are not modified
+	 * @param removedDataPlaceNames dataPlace keys of the places to remove from the index
+	 * @return A boolean to know if the operation was a success or not
+	 */
+	public boolean updateIndex(@NonNull Map<String, ByteBuffer> summaries, @NonNull Collection<String> removedDataPlaceNames) {
+		if (!directory.isDirectory() && !directory.mkdirs()) return false;
+		if (!recover()) return false;
+
+		File indexFile = new File(directory, INDEX_FILE_NAME);
+		File temporaryFile = writeTemporaryFile(indexFile, encodeIndex(summaries, removedDataPlaceNames));
+		if (temporaryFile != null && temporaryFile.renameTo(indexFile)) return true;
+
+		if (temporaryFile != null) temporaryFile.delete();
+		indexFile.delete();
+		return false;
+	}
+
+
+	/**
+	 * encodeIndex(@NonNull Map<String, ByteBuffer> summaries, @NonNull Collection<String> removedDataPlaceNames)
+	 * <p>
+	 * Used to encode the whole index once the given summaries are replaced or added and the removed places removed
+	 * </p>
+	 *
+	 * @param summaries             Summaries given by encodeSummary(), mapped by the dataPlace key of their place, they are not modified
+	 * @param removedDataPlaceNames dataPlace keys of the places to remove from the index
+	 * @return The index, ready to be written
+	 */
+	@NonNull
+	private ByteBuffer encodeIndex(@NonNull Map<String, ByteBuffer> summaries, @NonNull Collection<String> removedDataPlaceNames) {
+		Map<String, ByteBuffer> entries;
+		try {
+			entries = readIndexEntries();
+		} catch (IOException e) {
+			//  A corrupted index is rebuilt from the places read later
+			e.printStackTrace();
+			entries = new LinkedHashMap<>();
+		}
+
+		entries.keySet().removeAll(removedDataPlaceNames);
+		entries.putAll(summaries);
+
+		int size = 4 + 2 + 4;
+		for (Map.Entry<String, ByteBuffer> entry : entries.entrySet()) {
+			size += 4 + entry.getKey().length() * 2 + 4 + entry.getValue().remaining();
+		}
+
+		ByteBuffer buffer = ByteBuffer.allocate(size);
+		buffer.putInt(INDEX_MAGIC);
+		buffer.putShort(INDEX_VERSION);
+		buffer.putInt(entries.size());
+		for (Map.Entry<String, ByteBuffer> entry : entries.entrySet()) {
+			putString(buffer, entry.getKey());
+			buffer.putInt(entry.getValue().remaining());
+			buffer.put(entry.getValue().duplicate());
+		}
+		buffer.flip();
+		return buffer;
+	}
+
+
+	/**
+	 * readIndexEntries() throws IOException
+	 * <p>
+	 * Used to get the summaries of the index without decoding them
+	 * </p>
+	 *
+	 * @return Summaries of the index mapped by their dataPlace key, empty if there is no index
+	 * @throws IOException If the index cannot be read or is corrupted
+	 */
+	@NonNull
+	private Map<String, ByteBuffer> readIndexEntries() throws IOException {
+		File indexFile = new File(directory, INDEX_FILE_NAME);
+		Map<String, ByteBuffer> entries = new LinkedHashMap<>();
+		if (!indexFile.isFile()) return entries;
+
+		ByteBuffer buffer = map(indexFile);
+		try {
+			if (buffer.getInt() != INDEX_MAGIC) throw new IOException("Not a place index");
+			short version = buffer.getShort();
+			if (version != INDEX_VERSION)
+				throw new IOException(String.format("Unsupported place index version %d", version));
+
+			int count = buffer.getInt();
+			for (int entry = 0; entry < count; entry++) {
+				String dataPlaceName = getString(buffer, "place index");
+
+				int summarySize = buffer.getInt();
+				if (summarySize < 0 || summarySize > buffer.remaining())
+					throw new IOException(String.format("Invalid summary size in place index: %d", summarySize));
+
+				ByteBuffer summary = buffer.slice();
+				summary.limit(summarySize);
+				buffer.position(buffer.position() + summarySize);
+
+				entries.put(dataPlaceName, summary);
+			}
+		} catch (BufferUnderflowException e) {
+			throw new IOException("Truncated place index", e);
+		}
+		return entries;
+	}
+
+
+	private static void putString(@NonNull ByteBuffer buffer, @NonNull String string) {
+		buffer.putInt(string.length());
+		for (int index = 0; index < string.length(); index++) {
+			buffer.putChar(string.charAt(index));
+		}
+	}
+
+
+	@NonNull
+	private static String getString(@NonNull ByteBuffer buffer, @NonNull String fileDescription) throws IOException {
+		int length = buffer.getInt();
+		if (length < 0 || length * 2L > buffer.remaining())
+			throw new IOException(String.format("Invalid key length in %s: %d", fileDescription, length));
+
+		char[] chars = new char[length];
+		buffer.asCharBuffer().get(chars);
+		buffer.position(buffer.position() + length * 2);
+		return new String(chars);
+	}
+
+
+	private static MappedByteBuffer map(@NonNull File file) throws IOException {
+		try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+			 FileChannel channel = randomAccessFile.getChannel()) {
+			//  The mapping stays valid after the channel is closed
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+	}
+
+
+	/**
+	 * delete(@NonNull String dataPlaceName)
+	 * <p>
+	 * Used to delete the snapshot of a place
+	 * </p>
+	 *
+	 * @param dataPlaceName dataPlace key of the place
+	 * @return A boolean to know if there is no snapshot anymore for this place
+	 */
+	public boolean delete(@NonNull String dataPlaceName) {
+		if (!recover()) return false;
+
+		File snapshotFile = getSnapshotFile(dataPlaceName);
+		return !snapshotFile.exists() || snapshotFile.delete();
+	}
+
+
+	/**
+	 * contains(@NonNull String dataPlaceName)
+	 * <p>
+	 * Used to know if a place has a snapshot
+	 * </p>
+	 *
+	 * @param dataPlaceName dataPlace key of the place
+	 * @return True if a snapshot exists for this place
+	 */
+	public boolean contains(@NonNull String dataPlaceName) {
+		recover();
+		return getSnapshotFile(dataPlaceName).isFile();
+	}
+
+
+	private File getSnapshotFile(@NonNull String dataPlaceName) {
+		try {
+			//  dataPlace keys contain a '/' and any character of the city name
+			return new File(directory, URLEncoder.encode(dataPlaceName, "UTF-8") + SNAPSHOT_FILE_EXTENSION);
+		} catch (UnsupportedEncodingException e) {
+			//  UTF-8 is always supported
+			throw new AssertionError(e);
+		}
+	}
+}
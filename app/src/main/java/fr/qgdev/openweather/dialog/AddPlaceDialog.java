@@ -3,12 +3,14 @@ package fr.qgdev.openweather.dialog;
 import android.app.Dialog;
 import android.content.Context;
 import android.text.Editable;
+import android.util.Log;
 import android.view.View;
 import android.widget.ArrayAdapter;
 import android.widget.AutoCompleteTextView;
 import android.widget.Button;
 import android.widget.ProgressBar;
 
+import androidx.annotation.NonNull;
 import androidx.constraintlayout.widget.ConstraintLayout;
 
 import com.google.android.material.snackbar.Snackbar;
@@ -24,10 +26,12 @@ import fr.qgdev.openweather.R;
 import fr.qgdev.openweather.WeatherService;
 import fr.qgdev.openweather.dataplaces.DataPlaces;
 import fr.qgdev.openweather.dataplaces.PlaceAlreadyExistException;
-import fr.qgdev.openweather.fragment.places.PlacesFragment;
+import fr.qgdev.openweather.dataplaces.PlaceRepository;
 
 public class AddPlaceDialog extends Dialog {
 
+	private static final String TAG = AddPlaceDialog.class.getSimpleName();
+
 	private final ConstraintLayout dialogWindow;
 	private final TextInputLayout cityTextInputLayout, countryTextInputLayout;
 	private final TextInputEditText cityEditText;
@@ -41,8 +45,9 @@ public class AddPlaceDialog extends Dialog {
 	private final List<String> countryNames;
 	private final List<String> countryCodes;
 
-	public AddPlaceDialog(Context context, View addPlaceFABView, String apiKey, WeatherService weatherService, PlacesFragment.Interactions placeFragmentInteractions) {
+	public AddPlaceDialog(Context context, View addPlaceFABView, String apiKey, WeatherService weatherService) {
 		super(context);
+		PlaceRepository placeRepository = PlaceRepository.getInstance(context);
 		setContentView(R.layout.dialog_add_place);
 
 		this.dialogWindow = findViewById(R.id.dialog_window);
@@ -193,24 +198,49 @@ public class AddPlaceDialog extends Dialog {
 
 			@Override
 			public void onTheEndOfTheRequest(Place place, DataPlaces dataPlaces, RequestStatus requestStatus) {
-				try {
-					if (dataPlaces.addPlace(place)) {
-						placeFragmentInteractions.onAddingPlace(place);
+				//  The place is shown by every view following the repository once it is saved
+				placeRepository.addPlace(place, new DataPlaces.OnResultListener<Boolean>() {
+					@Override
+					public void onResult(Boolean added) {
+						if (!added) {
+							onError(new Exception("Commit Error"));
+							return;
+						}
+
 						dismiss();
-					} else {
-						throw new Exception("Commit Error");
+						enableDialogWindowControls();
 					}
-				} catch (PlaceAlreadyExistException e) {
-					e.printStackTrace();
-					cityTextInputLayout.setError(context.getString(R.string.error_place_already_added));
-				} catch (Exception e) {
-					e.printStackTrace();
-					Snackbar.make(dialogWindow, context.getString(R.string.error_cannot_save_place), Snackbar.LENGTH_SHORT)
-							.setAnimationMode(Snackbar.ANIMATION_MODE_SLIDE).setMaxInlineActionWidth(3)
-							.show();
-				}
 
-				enableDialogWindowControls();
+					@Override
+					public void onError(@NonNull Exception exception) {
+						exception.printStackTrace();
+						if (exception instanceof PlaceAlreadyExistException) {
+							cityTextInputLayout.setError(context.getString(R.string.error_place_already_added));
+						} else {
+							Snackbar.make(dialogWindow, context.getString(R.string.error_cannot_save_place), Snackbar.LENGTH_SHORT)
+									.setAnimationMode(Snackbar.ANIMATION_MODE_SLIDE).setMaxInlineActionWidth(3)
+									.show();
+						}
+						enableDialogWindowControls();
+					}
+				});
+			}
+
+			@Override
+			public void onBackgroundRefreshEnd(Place place, DataPlaces dataPlaces) {
+				//	The place was added with cached data, show and save the refreshed data if it is still registered
+				placeRepository.placeChanged(place);
+				dataPlaces.updatePlacesAsync(Collections.singletonList(place), new DataPlaces.OnResultListener<Boolean>() {
+					@Override
+					public void onResult(Boolean saved) {
+						if (!saved) Log.w(TAG, "Refreshed data of the added place cannot be saved");
+					}
+
+					@Override
+					public void onError(@NonNull Exception exception) {
+						Log.w(TAG, "Refreshed data of the added place cannot be saved", exception);
+					}
+				});
 			}
 		};
 
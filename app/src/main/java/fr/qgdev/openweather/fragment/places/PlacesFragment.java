@@ -28,15 +28,17 @@ import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import com.google.android.material.snackbar.Snackbar;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import fr.qgdev.openweather.Place;
+import fr.qgdev.openweather.PlacesRefreshCoordinator;
 import fr.qgdev.openweather.R;
+import fr.qgdev.openweather.RefreshScheduler;
 import fr.qgdev.openweather.WeatherService;
 import fr.qgdev.openweather.adapter.PlaceRecyclerViewAdapter;
 import fr.qgdev.openweather.dataplaces.DataPlaces;
+import fr.qgdev.openweather.dataplaces.PlaceForecastLoader;
+import fr.qgdev.openweather.dataplaces.PlaceRepository;
 import fr.qgdev.openweather.dialog.AddPlaceDialog;
 
 public class PlacesFragment extends Fragment {
@@ -46,16 +48,20 @@ public class PlacesFragment extends Fragment {
 
 	private TextView noPlacesRegisteredTextView;
 	private SwipeRefreshLayout swipeRefreshLayout;
+	private FloatingActionButton addPlacesFab;
 	private RecyclerView placeRecyclerView;
 	private PlaceRecyclerViewAdapter placeRecyclerViewAdapter;
-	private static DataPlaces dataPlaces;
-	private PlacesFragment.Interactions interactions;
-	private static ArrayList<Place> placeArrayList;
+	//  Places are kept by the repository between views, the storage is only read until they are loaded once in the process
+	private PlaceRepository placeRepository;
+	private PlaceRepository.OnPlacesChangedListener onPlacesChangedListener;
+	//  Places are read without their forecasts, which are loaded afterwards
+	private PlaceForecastLoader placeForecastLoader;
+	private boolean refreshAfterForecastsLoading;
 
 	private WeatherService weatherService;
+	private PlacesRefreshCoordinator placesRefreshCoordinator;
 	private WeatherService.CallbackGetData getDataPlaceListCallback;
-
-	private static AtomicInteger refreshCounter;
+	private PlacesRefreshCoordinator.CallbackRefresh refreshPlaceListCallback;
 
 	private void showSnackbar(View view, String message) {
 		Snackbar.make(view, message, Snackbar.LENGTH_SHORT)
@@ -81,6 +87,10 @@ public class PlacesFragment extends Fragment {
 	@Override
 	public void onDestroyView() {
 		super.onDestroyView();
+		//  Stop the preparation of graphs in background, the next view has its own adapter
+		placeRecyclerViewAdapter.release();
+		placeRepository.removeOnPlacesChangedListener(onPlacesChangedListener);
+		placeForecastLoader.cancel();
 		placeRecyclerView.destroyDrawingCache();
 	}
 
@@ -99,77 +109,47 @@ public class PlacesFragment extends Fragment {
 
 		noPlacesRegisteredTextView = root.findViewById(R.id.no_places_registered);
 		swipeRefreshLayout = root.findViewById(R.id.swiperefresh);
-		FloatingActionButton addPlacesFab = root.findViewById(R.id.add_places);
+		addPlacesFab = root.findViewById(R.id.add_places);
 
-		//  Initialize places data storage
-		dataPlaces = new DataPlaces(mContext);
-		placeArrayList = new ArrayList<>();
-
-		try {
-			placeArrayList.addAll(dataPlaces.getAllPlacesStored());
-		} catch (Exception e) {
-			e.printStackTrace();
-			placeArrayList.clear();
-		}
+		//  Initialize places data storage, places are read in background if they are not loaded yet
+		placeRepository = PlaceRepository.getInstance(mContext);
+		placeForecastLoader = new PlaceForecastLoader(placeRepository.getDataPlaces(), this::onForecastsLoaded);
 
 
-		//  Initialize the list and the ArrayList where all places registered
+		//  Initialize the list where all places registered are shown
 		placeRecyclerView = root.findViewById(R.id.place_list);
-		refreshCounter = new AtomicInteger();
-		refreshCounter.set(0);
 
 
-		//	Initialize Fragment Interactions
-		this.interactions = new Interactions() {
+		//	Follow changes of the place list, whichever view made them
+		this.onPlacesChangedListener = new PlaceRepository.OnPlacesChangedListener() {
 			@Override
-			public void onPlaceDeletion(DataPlaces dataPlaces, int position) {
-				try {
-					if (dataPlaces.deletePlace(position)) {
-						placeArrayList.remove(position);
-						showSnackbar(container, mContext.getString(R.string.place_deletion_successful));
-					} else {
-						showSnackbar(container, mContext.getString(R.string.error_place_deletion));
-					}
-
-					placeRecyclerViewAdapter.remove(position);
-
-					if (placeArrayList.isEmpty()) {
-						noPlacesRegisteredTextView.setVisibility(View.VISIBLE);
-						swipeRefreshLayout.setVisibility(View.GONE);
-					}
-
-				} catch (ArrayIndexOutOfBoundsException e) {
-					e.printStackTrace();
-					showSnackbar(container, mContext.getString(R.string.error_place_deletion));
-				}
+			public void onPlacesLoaded() {
+				swipeRefreshLayout.setRefreshing(false);
+				swipeRefreshLayout.setEnabled(true);
+				placeRecyclerViewAdapter.reload();
+				PlacesFragment.this.onPlacesLoaded();
 			}
 
 			@Override
-			public void onAddingPlace(Place place) {
-				if (placeArrayList.isEmpty()) {
-					noPlacesRegisteredTextView.setVisibility(View.GONE);
-					swipeRefreshLayout.setVisibility(View.VISIBLE);
-				}
+			public void onPlaceInserted(int position) {
+				placeRecyclerViewAdapter.add(position);
+				updatePlaceListVisibility();
+			}
 
-				placeArrayList.add(place);
-				placeRecyclerViewAdapter.add(placeArrayList.size() - 1);
+			@Override
+			public void onPlaceRemoved(int position) {
+				placeRecyclerViewAdapter.remove(position);
+				updatePlaceListVisibility();
 			}
 
 			@Override
-			public void onPlaceUpdate(DataPlaces dataPlaces, int position, Place place) {
-				placeArrayList.set(position, place);
-				placeRecyclerViewAdapter.notifyItemChanged(position);
+			public void onPlaceMoved(int initialPosition, int finalPosition) {
+				placeRecyclerViewAdapter.move(initialPosition, finalPosition);
 			}
 
 			@Override
-			public void onMovedPlace(DataPlaces dataPlaces, int initialPosition, int finalPosition) {
-				try {
-					dataPlaces.movePlace(initialPosition, finalPosition);
-					placeRecyclerViewAdapter.move(initialPosition, finalPosition);
-				} catch (Exception e) {
-					e.printStackTrace();
-					showSnackbar(container, mContext.getString(R.string.error_place_move));
-				}
+			public void onPlaceChanged(int position) {
+				placeRecyclerViewAdapter.update(position);
 			}
 		};
 
@@ -188,9 +168,6 @@ public class PlacesFragment extends Fragment {
 		//
 		ItemTouchHelper itemTouchHelper = new ItemTouchHelper(new ItemTouchHelper.Callback() {
 
-			int _initialPosition;
-			boolean itemAsBeenMoved = false;
-
 			@Override
 			public int getMovementFlags(@NonNull RecyclerView recyclerView, @NonNull RecyclerView.ViewHolder viewHolder) {
 				//	If the holder is an other view type than COMPACT or if there is no items in the recyclerView, swipe and drag&drop are disabled
@@ -207,15 +184,19 @@ public class PlacesFragment extends Fragment {
 
 			@Override
 			public boolean onMove(@NonNull RecyclerView recyclerView, @NonNull RecyclerView.ViewHolder viewHolder, @NonNull RecyclerView.ViewHolder target) {
-				if (!itemAsBeenMoved) {
-					_initialPosition = viewHolder.getAbsoluteAdapterPosition();
-					itemAsBeenMoved = true;
-				}
-				int initialPosition = viewHolder.getAbsoluteAdapterPosition();
-				int finalPosition = target.getAbsoluteAdapterPosition();
+				//  Each step of the drag is saved, the card follows the repository
+				placeRepository.movePlace(viewHolder.getAbsoluteAdapterPosition(), target.getAbsoluteAdapterPosition(), new DataPlaces.OnResultListener<Boolean>() {
+					@Override
+					public void onResult(Boolean moved) {
+					}
 
-				Collections.swap(placeArrayList, initialPosition, finalPosition);
-				placeRecyclerViewAdapter.notifyItemMoved(initialPosition, finalPosition);
+					@Override
+					public void onError(@NonNull Exception exception) {
+						exception.printStackTrace();
+						if (getView() != null)
+							showSnackbar(container, mContext.getString(R.string.error_place_move));
+					}
+				});
 
 				return false;
 			}
@@ -224,11 +205,11 @@ public class PlacesFragment extends Fragment {
 			public void onSwiped(@NonNull RecyclerView.ViewHolder viewHolder, int direction) {
 				if (direction == ItemTouchHelper.START || direction == ItemTouchHelper.END) {
 					int index = viewHolder.getLayoutPosition();
-					Place place = placeArrayList.get(index);
+					Place place = placeRepository.getPlace(index);
 					new AlertDialog.Builder(mContext)
 							.setTitle(mContext.getString(R.string.dialog_confirmation_title_delete_place))
 							.setMessage(String.format(mContext.getString(R.string.dialog_confirmation_message_delete_place), place.getCity(), place.getCountryCode()))
-							.setPositiveButton(mContext.getString(R.string.dialog_confirmation_choice_yes), (dialog, which) -> interactions.onPlaceDeletion(dataPlaces, index))
+							.setPositiveButton(mContext.getString(R.string.dialog_confirmation_choice_yes), (dialog, which) -> deletePlace(container, index))
 							.setNegativeButton(mContext.getString(R.string.dialog_confirmation_choice_no), (dialogInterface, i) -> placeRecyclerViewAdapter.notifyItemChanged(index))
 							.setCancelable(false)
 							.show();
@@ -272,9 +253,6 @@ public class PlacesFragment extends Fragment {
 			@Override
 			public void clearView(@NonNull RecyclerView recyclerView, @NonNull RecyclerView.ViewHolder viewHolder) {
 				super.clearView(recyclerView, viewHolder);
-				if (itemAsBeenMoved)
-					interactions.onMovedPlace(dataPlaces, _initialPosition, viewHolder.getAbsoluteAdapterPosition());
-				itemAsBeenMoved = false;
 				viewHolder.itemView.setAlpha(1);
 			}
 		});
@@ -287,10 +265,11 @@ public class PlacesFragment extends Fragment {
 
 		if (API_KEY != null) {
 			//  Initialize Weather Services and callbacks
-			weatherService = new WeatherService(mContext, API_KEY, mContext.getResources().getConfiguration().getLocales().get(0).getLanguage(), dataPlaces);
+			weatherService = new WeatherService(mContext, API_KEY, mContext.getResources().getConfiguration().getLocales().get(0).getLanguage(), placeRepository);
+			placesRefreshCoordinator = new PlacesRefreshCoordinator(new RefreshScheduler(weatherService, placeRepository.getFetchTimes()), placeRepository.getDataPlaces());
 		}
 
-		//  acquire data of the places callback
+		//  acquire data of the places callback, only errors are treated here
 		getDataPlaceListCallback = new WeatherService.CallbackGetData() {
 
 			@Override
@@ -330,28 +309,40 @@ public class PlacesFragment extends Fragment {
 
 			@Override
 			public void onTheEndOfTheRequest(Place place, DataPlaces dataPlaces, RequestStatus requestStatus) {
-				if (requestStatus != RequestStatus.WEATHER_REQUEST_FAIL) {
-					try {
-						if (dataPlaces.updatePlace(place)) {
-							interactions.onPlaceUpdate(dataPlaces, dataPlaces.getPlacePositionInRegister(place), place);
+				//	The end of each request is treated by refreshPlaceListCallback
+			}
+
+			@Override
+			public void onBackgroundRefreshEnd(Place place, DataPlaces dataPlaces) {
+				//	Background refreshes are treated by refreshPlaceListCallback
+			}
+		};
 
-							if (noPlacesRegisteredTextView.getVisibility() == View.VISIBLE) {
-								noPlacesRegisteredTextView.setVisibility(View.GONE);
-								swipeRefreshLayout.setVisibility(View.VISIBLE);
-							}
+		//  Refresh cycle of the place list callback
+		refreshPlaceListCallback = new PlacesRefreshCoordinator.CallbackRefresh() {
 
-						} else {
-							showSnackbar(container, mContext.getString(R.string.error_cannot_refresh_place_list));
-						}
-					} catch (Exception e) {
-						e.printStackTrace();
-						showSnackbar(container, mContext.getString(R.string.error_cannot_refresh_place_list));
-					}
+			@Override
+			public void onPlaceRefreshed(Place place, int endedRequestsCount, int placesCount) {
+				//	Nothing is told if the place was deleted during the refresh
+				placeRepository.placeChanged(place);
+			}
+
+			@Override
+			public void onRefreshEnd(ArrayList<Place> refreshedPlaces, boolean saved) {
+				if (getView() == null) return;
+				if (!saved) {
+					showSnackbar(container, mContext.getString(R.string.error_cannot_refresh_place_list));
 				}
+				swipeRefreshLayout.setRefreshing(false);
+			}
 
-				if (placeArrayList.size() == refreshCounter.incrementAndGet()) {
-					swipeRefreshLayout.setRefreshing(false);
-					refreshCounter.set(0);
+			@Override
+			public void onPlaceRefreshedInBackground(Place place, boolean saved) {
+				placeRepository.placeChanged(place);
+
+				if (getView() == null) return;
+				if (!saved) {
+					showSnackbar(container, mContext.getString(R.string.error_cannot_refresh_place_list));
 				}
 			}
 		};
@@ -363,20 +354,10 @@ public class PlacesFragment extends Fragment {
 		//  Initialize buttons and actions behavior
 
 
-		//  No API key registered
-		if (API_KEY == null || API_KEY.length() != 32) {
-			//  Hide the Floating Action Button to add Places
-			addPlacesFab.setVisibility(View.GONE);
-		} else {
-			//  Show the Floating Action Button to add Places
-			addPlacesFab.setVisibility(View.VISIBLE);
-		}
-
-
 		//  A simple click to add a place
 		addPlacesFab.setOnClickListener(
 				placeFabView -> {
-					final AddPlaceDialog addPlaceDialog = new AddPlaceDialog(mContext, placeFabView, this.API_KEY, this.weatherService, this.interactions);
+					final AddPlaceDialog addPlaceDialog = new AddPlaceDialog(mContext, placeFabView, this.API_KEY, this.weatherService);
 					addPlaceDialog.build();
 				});
 
@@ -387,10 +368,7 @@ public class PlacesFragment extends Fragment {
 					swipeRefreshLayout.setRefreshing(true);
 					if (API_KEY != null && !Objects.equals(API_KEY, "")) {
 						try {
-							for (Place place : placeArrayList) {
-								weatherService.getWeatherDataOWM(place, dataPlaces, getDataPlaceListCallback);
-							}
-
+							refreshPlaces();
 						} catch (Exception e) {
 							showSnackbar(container, mContext.getString(R.string.error_cannot_refresh_place_list));
 						}
@@ -403,41 +381,116 @@ public class PlacesFragment extends Fragment {
 
 
 		//	Initialisation the UI part and refreshing data of each places
-		try {
-			if (!placeArrayList.isEmpty()) {
-				noPlacesRegisteredTextView.setVisibility(View.GONE);
-				swipeRefreshLayout.setVisibility(View.VISIBLE);
+		placeRepository.addOnPlacesChangedListener(onPlacesChangedListener);
+		if (placeRepository.isLoaded()) {
+			onPlacesLoaded();
+		} else {
+			//  Nothing can be changed until places are loaded, only the loading indicator is shown
+			addPlacesFab.setVisibility(View.GONE);
+			noPlacesRegisteredTextView.setVisibility(View.GONE);
+			swipeRefreshLayout.setVisibility(View.VISIBLE);
+			swipeRefreshLayout.setEnabled(false);
+			swipeRefreshLayout.setRefreshing(true);
 
-				for (Place place : placeArrayList) {
-					weatherService.getWeatherDataOWM(place, dataPlaces, getDataPlaceListCallback);
-				}
+			//  Nothing is read again if an other view is already loading them
+			placeRepository.load();
+		}
 
-			} else {
-				noPlacesRegisteredTextView.setVisibility(View.VISIBLE);
-				swipeRefreshLayout.setVisibility(View.GONE);
-			}
+		return root;
+	}
+
+	@UiThread
+	private void onPlacesLoaded() {
+		//  No API key registered
+		if (API_KEY == null || API_KEY.length() != 32) {
+			//  Hide the Floating Action Button to add Places
+			addPlacesFab.setVisibility(View.GONE);
+		} else {
+			//  Show the Floating Action Button to add Places
+			addPlacesFab.setVisibility(View.VISIBLE);
+		}
+
+		updatePlaceListVisibility();
+
+		//  First places are the ones shown, their forecasts are loaded first
+		for (Place place : placeRepository.getPlaces()) {
+			placeForecastLoader.load(place, false);
+		}
+
+		try {
+			if (placeRepository.getPlaceCount() != 0) refreshPlaces();
 		} catch (Exception e) {
 			e.printStackTrace();
 		}
+	}
 
-		return root;
+	@UiThread
+	private void refreshPlaces() {
+		//  A place is saved with its forecasts once refreshed, so they must be loaded before
+		if (!placeForecastLoader.isIdle()) {
+			refreshAfterForecastsLoading = true;
+			return;
+		}
+		placesRefreshCoordinator.refresh(placeRepository.getPlaces(), getDataPlaceListCallback, refreshPlaceListCallback);
 	}
 
-	public Place getPlace(int index) {
-		return placeArrayList.get(index);
+	@UiThread
+	private void onForecastsLoaded(@NonNull Place place) {
+		placeRepository.placeChanged(place);
+		if (getView() == null) return;
+
+		if (refreshAfterForecastsLoading && placeForecastLoader.isIdle()) {
+			refreshAfterForecastsLoading = false;
+			try {
+				refreshPlaces();
+			} catch (Exception e) {
+				e.printStackTrace();
+				swipeRefreshLayout.setRefreshing(false);
+			}
+		}
 	}
 
-	public int getPlaceArrayListSize() {
-		return placeArrayList.size();
+	//  Loads the forecasts of a place before the other places waiting, like when its card is expanded
+	@UiThread
+	public void loadForecasts(@NonNull Place place) {
+		placeForecastLoader.load(place, true);
 	}
 
-	public interface Interactions {
-		void onPlaceDeletion(DataPlaces dataPlaces, int position);
+	@UiThread
+	private void deletePlace(View container, int position) {
+		placeRepository.deletePlace(position, new DataPlaces.OnResultListener<Boolean>() {
+			@Override
+			public void onResult(Boolean deleted) {
+				if (getView() != null)
+					showSnackbar(container, mContext.getString(R.string.place_deletion_successful));
+			}
+
+			@Override
+			public void onError(@NonNull Exception exception) {
+				//  The place is put back by the repository
+				exception.printStackTrace();
+				if (getView() != null)
+					showSnackbar(container, mContext.getString(R.string.error_place_deletion));
+			}
+		});
+	}
 
-		void onAddingPlace(Place place);
+	@UiThread
+	private void updatePlaceListVisibility() {
+		if (placeRepository.getPlaceCount() != 0) {
+			noPlacesRegisteredTextView.setVisibility(View.GONE);
+			swipeRefreshLayout.setVisibility(View.VISIBLE);
+		} else {
+			noPlacesRegisteredTextView.setVisibility(View.VISIBLE);
+			swipeRefreshLayout.setVisibility(View.GONE);
+		}
+	}
 
-		void onPlaceUpdate(DataPlaces dataPlaces, int position, Place place);
+	public Place getPlace(int index) {
+		return placeRepository.getPlace(index);
+	}
 
-		void onMovedPlace(DataPlaces dataPlaces, int initialPosition, int finalPosition);
+	public int getPlaceArrayListSize() {
+		return placeRepository.getPlaceCount();
 	}
 }
\ No newline at end of file
@@ -3,7 +3,8 @@ package fr.qgdev.openweather.weather;
 import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.math.BigDecimal;
+import java.util.Objects;
+
 
 public class AirQuality {
     public int aqi;
@@ -30,14 +31,14 @@ public class AirQuality {
 
     public AirQuality(JSONObject airQuality) throws JSONException {
         this.aqi = airQuality.getInt("aqi");
-        this.co = BigDecimal.valueOf(airQuality.getDouble("co")).floatValue();
-        this.no = BigDecimal.valueOf(airQuality.getDouble("no")).floatValue();
-        this.no2 = BigDecimal.valueOf(airQuality.getDouble("no2")).floatValue();
-        this.o3 = BigDecimal.valueOf(airQuality.getDouble("o3")).floatValue();
-        this.so2 = BigDecimal.valueOf(airQuality.getDouble("so2")).floatValue();
-        this.pm2_5 = BigDecimal.valueOf(airQuality.getDouble("pm2_5")).floatValue();
-        this.pm10 = BigDecimal.valueOf(airQuality.getDouble("pm10")).floatValue();
-        this.nh3 = BigDecimal.valueOf(airQuality.getDouble("nh3")).floatValue();
+        this.co = OWMDecimal.toFloat(airQuality.getDouble("co"));
+        this.no = OWMDecimal.toFloat(airQuality.getDouble("no"));
+        this.no2 = OWMDecimal.toFloat(airQuality.getDouble("no2"));
+        this.o3 = OWMDecimal.toFloat(airQuality.getDouble("o3"));
+        this.so2 = OWMDecimal.toFloat(airQuality.getDouble("so2"));
+        this.pm2_5 = OWMDecimal.toFloat(airQuality.getDouble("pm2_5"));
+        this.pm10 = OWMDecimal.toFloat(airQuality.getDouble("pm10"));
+        this.nh3 = OWMDecimal.toFloat(airQuality.getDouble("nh3"));
 
     }
 
@@ -46,14 +47,14 @@ public class AirQuality {
         this.aqi = content.getJSONObject("main").getInt("aqi");
 
         JSONObject componentsJSON = content.getJSONObject("components");
-        this.co = BigDecimal.valueOf(componentsJSON.getDouble("co")).floatValue();
-        this.no = BigDecimal.valueOf(componentsJSON.getDouble("no")).floatValue();
-        this.no2 = BigDecimal.valueOf(componentsJSON.getDouble("no2")).floatValue();
-        this.o3 = BigDecimal.valueOf(componentsJSON.getDouble("o3")).floatValue();
-        this.so2 = BigDecimal.valueOf(componentsJSON.getDouble("so2")).floatValue();
-        this.pm2_5 = BigDecimal.valueOf(componentsJSON.getDouble("pm2_5")).floatValue();
-        this.pm10 = BigDecimal.valueOf(componentsJSON.getDouble("pm10")).floatValue();
-        this.nh3 = BigDecimal.valueOf(componentsJSON.getDouble("nh3")).floatValue();
+        this.co = OWMDecimal.toFloat(componentsJSON.getDouble("co"));
+        this.no = OWMDecimal.toFloat(componentsJSON.getDouble("no"));
+        this.no2 = OWMDecimal.toFloat(componentsJSON.getDouble("no2"));
+        this.o3 = OWMDecimal.toFloat(componentsJSON.getDouble("o3"));
+        this.so2 = OWMDecimal.toFloat(componentsJSON.getDouble("so2"));
+        this.pm2_5 = OWMDecimal.toFloat(componentsJSON.getDouble("pm2_5"));
+        this.pm10 = OWMDecimal.toFloat(componentsJSON.getDouble("pm10"));
+        this.nh3 = OWMDecimal.toFloat(componentsJSON.getDouble("nh3"));
 
     }
 
@@ -89,4 +90,25 @@ public class AirQuality {
 
         return clonedObject;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AirQuality)) return false;
+        AirQuality that = (AirQuality) o;
+        return aqi == that.aqi &&
+                Float.compare(that.co, co) == 0 &&
+                Float.compare(that.no, no) == 0 &&
+                Float.compare(that.no2, no2) == 0 &&
+                Float.compare(that.o3, o3) == 0 &&
+                Float.compare(that.so2, so2) == 0 &&
+                Float.compare(that.pm2_5, pm2_5) == 0 &&
+                Float.compare(that.pm10, pm10) == 0 &&
+                Float.compare(that.nh3, nh3) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(aqi, co, no, no2, o3, so2, pm2_5, pm10, nh3);
+    }
 }
@@ -1,14 +1,33 @@
 package fr.qgdev.openweather.weather;
 
+import android.util.JsonReader;
+
 import androidx.annotation.NonNull;
 
 import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.math.BigDecimal;
+import java.io.IOException;
+import java.util.Objects;
 
 public class CurrentWeather {
 
+    //  Fields OWM always sends, one bit each in the order of REQUIRED_OWM_FIELDS
+    private static final int OWM_DT = 1;
+    private static final int OWM_WEATHER = 1 << 1;
+    private static final int OWM_TEMP = 1 << 2;
+    private static final int OWM_FEELS_LIKE = 1 << 3;
+    private static final int OWM_PRESSURE = 1 << 4;
+    private static final int OWM_HUMIDITY = 1 << 5;
+    private static final int OWM_DEW_POINT = 1 << 6;
+    private static final int OWM_CLOUDS = 1 << 7;
+    private static final int OWM_VISIBILITY = 1 << 8;
+    private static final int OWM_SUNRISE = 1 << 9;
+    private static final int OWM_SUNSET = 1 << 10;
+    private static final int OWM_WIND_SPEED = 1 << 11;
+    private static final String[] REQUIRED_OWM_FIELDS = {"dt", "weather", "temp", "feels_like", "pressure", "humidity",
+            "dew_point", "clouds", "visibility", "sunrise", "sunset", "wind_speed"};
+
     public long dt;
 
     public String weather;
@@ -77,13 +96,13 @@ public class CurrentWeather {
         this.weatherCode = currentWeather.getInt("weather_code");
 
         //  Temperatures
-        this.temperature = BigDecimal.valueOf(currentWeather.getDouble("temperature")).floatValue();
-        this.temperatureFeelsLike = BigDecimal.valueOf(currentWeather.getDouble("temperature_feels_like")).floatValue();
+        this.temperature = OWMDecimal.toFloat(currentWeather.getDouble("temperature"));
+        this.temperatureFeelsLike = OWMDecimal.toFloat(currentWeather.getDouble("temperature_feels_like"));
 
         //  Pressure, Humidity, dewPoint
         this.pressure = currentWeather.getInt("pressure");
         this.humidity = currentWeather.getInt("humidity");
-        this.dewPoint = BigDecimal.valueOf(currentWeather.getDouble("dew_point")).floatValue();
+        this.dewPoint = OWMDecimal.toFloat(currentWeather.getDouble("dew_point"));
 
         //  Sky informations
         this.cloudiness = currentWeather.getInt("cloudiness");
@@ -93,10 +112,10 @@ public class CurrentWeather {
         this.sunset = currentWeather.getLong("sunset");
 
         //    Wind informations
-        this.windSpeed = BigDecimal.valueOf(currentWeather.getDouble("wind_speed")).floatValue();
-        this.windGustSpeed = BigDecimal.valueOf(currentWeather.getDouble("wind_gust_speed")).floatValue();
+        this.windSpeed = OWMDecimal.toFloat(currentWeather.getDouble("wind_speed"));
+        this.windGustSpeed = OWMDecimal.toFloat(currentWeather.getDouble("wind_gust_speed"));
         this.isWindDirectionReadable = currentWeather.getBoolean("wind_readable_direction");
-        this.windDirection = BigDecimal.valueOf(currentWeather.getInt("wind_direction")).shortValue();
+        this.windDirection = (short) currentWeather.getInt("wind_direction");
 
         //  Precipitations
         this.rain = currentWeather.getInt("rain");
@@ -116,13 +135,13 @@ public class CurrentWeather {
         this.weatherCode = currentWeatherDescriptionsJSON.getInt("id");
 
         //    Temperatures
-        this.temperature = BigDecimal.valueOf(currentWeather.getDouble("temp")).floatValue();
-        this.temperatureFeelsLike = BigDecimal.valueOf(currentWeather.getDouble("feels_like")).floatValue();
+        this.temperature = OWMDecimal.toFloat(currentWeather.getDouble("temp"));
+        this.temperatureFeelsLike = OWMDecimal.toFloat(currentWeather.getDouble("feels_like"));
 
         //    Pressure, Humidity, dewPoint, uvIndex
         this.pressure = currentWeather.getInt("pressure");
         this.humidity = currentWeather.getInt("humidity");
-        this.dewPoint = BigDecimal.valueOf(currentWeather.getDouble("dew_point")).floatValue();
+        this.dewPoint = OWMDecimal.toFloat(currentWeather.getDouble("dew_point"));
 
         if (currentWeather.has("uvi")) {
             this.uvIndex = currentWeather.getInt("uvi");
@@ -137,16 +156,16 @@ public class CurrentWeather {
         this.sunset = currentWeather.getLong("sunset") * 1000;
 
         //    Wind informations
-        this.windSpeed = BigDecimal.valueOf(currentWeather.getDouble("wind_speed")).floatValue();
+        this.windSpeed = OWMDecimal.toFloat(currentWeather.getDouble("wind_speed"));
 
         ////  Enough wind for a viable wind direction information
         this.isWindDirectionReadable = currentWeather.has("wind_deg");
         if (this.isWindDirectionReadable) {
-            this.windDirection = BigDecimal.valueOf(currentWeather.getInt("wind_deg")).shortValue();
+            this.windDirection = (short) currentWeather.getInt("wind_deg");
         }
         ////    Wind Gusts
         if (currentWeather.has("wind_gust")) {
-            this.windGustSpeed = BigDecimal.valueOf(currentWeather.getDouble("wind_gust")).floatValue();
+            this.windGustSpeed = OWMDecimal.toFloat(currentWeather.getDouble("wind_gust"));
         } else {
             this.windGustSpeed = 0;
         }
@@ -154,19 +173,155 @@ public class CurrentWeather {
         //  Precipitations
         ////    Rain
         if (currentWeather.has("rain") && currentWeather.getJSONObject("rain").has("1h")) {
-            this.rain = BigDecimal.valueOf(currentWeather.getJSONObject("rain").getDouble("1h")).floatValue();
+            this.rain = OWMDecimal.toFloat(currentWeather.getJSONObject("rain").getDouble("1h"));
         } else {
             this.rain = 0;
         }
         ////    Snow
         if (currentWeather.has("snow") && currentWeather.getJSONObject("snow").has("1h")) {
-            this.snow = BigDecimal.valueOf(currentWeather.getJSONObject("snow").getDouble("1h")).floatValue();
+            this.snow = OWMDecimal.toFloat(currentWeather.getJSONObject("snow").getDouble("1h"));
         } else {
             this.snow = 0;
         }
     }
 
 
+    public void fillWithOWMData(JsonReader currentWeather) throws IOException
+    {
+        //  Optional values, OWM doesn't always send them
+        this.uvIndex = 0;
+        this.isWindDirectionReadable = false;
+        this.windGustSpeed = 0;
+        this.rain = 0;
+        this.snow = 0;
+        int readFields = 0;
+
+        currentWeather.beginObject();
+        while (currentWeather.hasNext()) {
+            switch (currentWeather.nextName()) {
+                //  The time of this update
+                case "dt":
+                    this.dt = currentWeather.nextLong() * 1000;
+                    readFields |= OWM_DT;
+                    break;
+
+                //    Weather descriptions
+                case "weather":
+                    readOWMWeatherDescriptions(currentWeather);
+                    readFields |= OWM_WEATHER;
+                    break;
+
+                //    Temperatures
+                case "temp":
+                    this.temperature = OWMJsonReader.nextFloat(currentWeather);
+                    readFields |= OWM_TEMP;
+                    break;
+                case "feels_like":
+                    this.temperatureFeelsLike = OWMJsonReader.nextFloat(currentWeather);
+                    readFields |= OWM_FEELS_LIKE;
+                    break;
+
+                //    Pressure, Humidity, dewPoint, uvIndex
+                case "pressure":
+                    this.pressure = OWMJsonReader.nextInt(currentWeather);
+                    readFields |= OWM_PRESSURE;
+                    break;
+                case "humidity":
+                    this.humidity = OWMJsonReader.nextInt(currentWeather);
+                    readFields |= OWM_HUMIDITY;
+                    break;
+                case "dew_point":
+                    this.dewPoint = OWMJsonReader.nextFloat(currentWeather);
+                    readFields |= OWM_DEW_POINT;
+                    break;
+                case "uvi":
+                    this.uvIndex = OWMJsonReader.nextInt(currentWeather);
+                    break;
+
+                //    Sky informations
+                case "clouds":
+                    this.cloudiness = OWMJsonReader.nextInt(currentWeather);
+                    readFields |= OWM_CLOUDS;
+                    break;
+                case "visibility":
+                    this.visibility = OWMJsonReader.nextInt(currentWeather);
+                    readFields |= OWM_VISIBILITY;
+                    break;
+                case "sunrise":
+                    this.sunrise = currentWeather.nextLong() * 1000;
+                    readFields |= OWM_SUNRISE;
+                    break;
+                case "sunset":
+                    this.sunset = currentWeather.nextLong() * 1000;
+                    readFields |= OWM_SUNSET;
+                    break;
+
+                //    Wind informations
+                case "wind_speed":
+                    this.windSpeed = OWMJsonReader.nextFloat(currentWeather);
+                    readFields |= OWM_WIND_SPEED;
+                    break;
+                ////  Enough wind for a viable wind direction information
+                case "wind_deg":
+                    this.isWindDirectionReadable = true;
+                    this.windDirection = (short) OWMJsonReader.nextInt(currentWeather);
+                    break;
+                ////    Wind Gusts
+                case "wind_gust":
+                    this.windGustSpeed = OWMJsonReader.nextFloat(currentWeather);
+                    break;
+
+                //  Precipitations
+                case "rain":
+                    this.rain = OWMJsonReader.nextOneHourValue(currentWeather);
+                    break;
+                case "snow":
+                    this.snow = OWMJsonReader.nextOneHourValue(currentWeather);
+                    break;
+
+                default:
+                    currentWeather.skipValue();
+                    break;
+            }
+        }
+        currentWeather.endObject();
+        OWMJsonReader.checkRequiredFields(readFields, REQUIRED_OWM_FIELDS, "current");
+    }
+
+    private void readOWMWeatherDescriptions(JsonReader weatherDescriptions) throws IOException
+    {
+        int readFields = 0;
+
+        weatherDescriptions.beginArray();
+        //  Get only the first station
+        if (!weatherDescriptions.hasNext()) throw new IOException("weather has no condition");
+        weatherDescriptions.beginObject();
+        while (weatherDescriptions.hasNext()) {
+            switch (weatherDescriptions.nextName()) {
+                case "main":
+                    this.weather = OWMJsonReader.nextString(weatherDescriptions);
+                    readFields |= OWMJsonReader.CONDITION_MAIN;
+                    break;
+                case "description":
+                    this.weatherDescription = OWMJsonReader.nextString(weatherDescriptions);
+                    readFields |= OWMJsonReader.CONDITION_DESCRIPTION;
+                    break;
+                case "id":
+                    this.weatherCode = OWMJsonReader.nextInt(weatherDescriptions);
+                    readFields |= OWMJsonReader.CONDITION_ID;
+                    break;
+                default:
+                    weatherDescriptions.skipValue();
+                    break;
+            }
+        }
+        weatherDescriptions.endObject();
+        OWMJsonReader.checkRequiredFields(readFields, OWMJsonReader.CONDITION_FIELDS, "weather");
+        while (weatherDescriptions.hasNext()) weatherDescriptions.skipValue();
+        weatherDescriptions.endArray();
+    }
+
+
     @NonNull
     public CurrentWeather clone() {
         CurrentWeather returnedCurrentWeather = new CurrentWeather();
@@ -241,5 +396,36 @@ public class CurrentWeather {
 
         return currentWeatherJSON;
     }
-}
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CurrentWeather)) return false;
+        CurrentWeather that = (CurrentWeather) o;
+        return dt == that.dt &&
+                weatherCode == that.weatherCode &&
+                Float.compare(that.temperature, temperature) == 0 &&
+                Float.compare(that.temperatureFeelsLike, temperatureFeelsLike) == 0 &&
+                pressure == that.pressure &&
+                humidity == that.humidity &&
+                Float.compare(that.dewPoint, dewPoint) == 0 &&
+                cloudiness == that.cloudiness &&
+                uvIndex == that.uvIndex &&
+                visibility == that.visibility &&
+                sunrise == that.sunrise &&
+                sunset == that.sunset &&
+                Float.compare(that.windSpeed, windSpeed) == 0 &&
+                Float.compare(that.windGustSpeed, windGustSpeed) == 0 &&
+                isWindDirectionReadable == that.isWindDirectionReadable &&
+                windDirection == that.windDirection &&
+                Float.compare(that.rain, rain) == 0 &&
+                Float.compare(that.snow, snow) == 0 &&
+                Objects.equals(weather, that.weather) &&
+                Objects.equals(weatherDescription, that.weatherDescription);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(dt, weatherCode, temperature, temperatureFeelsLike, pressure, humidity, windSpeed, windDirection, rain, snow);
+    }
+}
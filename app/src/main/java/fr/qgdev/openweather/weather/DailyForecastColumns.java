@@ -0,0 +1,782 @@
+package fr.qgdev.openweather.weather;
+
+import android.util.JsonReader;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * DailyForecastColumns
+ * <p>
+ * Daily forecasts stored as one primitive array per attribute instead of one object per day<br>
+ * Weather and weather description texts are replaced by the id of their condition in WeatherConditions<br>
+ * Temperatures of the day moments are stored day after day in one array, morning, day, evening and night, the order used by the graphs<br>
+ * Forecasts are decoded straight into columns with a Builder<br>
+ * Columns are never modified after the construction, so they can be shared between places and read directly to draw graphs,
+ * they must not be modified by readers
+ * </p>
+ *
+ * @author Quentin GOMES DOS REIS
+ * @version 1
+ * @see DailyWeatherForecast
+ * @see WeatherConditions
+ */
+public final class DailyForecastColumns {
+
+	public static final DailyForecastColumns EMPTY = new DailyForecastColumns(Collections.emptyList());
+
+	//  Day moments in temperatures and temperaturesFeelsLike
+	public static final int DAY_MOMENTS = 4;
+	public static final int MORNING = 0;
+	public static final int DAY = 1;
+	public static final int EVENING = 2;
+	public static final int NIGHT = 3;
+
+	public final long[] dt;
+
+	public final int[] condition;
+	public final int[] weatherCode;
+
+	public final float[] temperatures;
+	public final float[] temperatureMinimum;
+	public final float[] temperatureMaximum;
+	public final float[] temperaturesFeelsLike;
+
+	public final int[] pressure;
+	public final int[] humidity;
+	public final float[] dewPoint;
+
+	public final int[] cloudiness;
+	public final long[] sunrise;
+	public final long[] sunset;
+	public final int[] uvIndex;
+
+	public final long[] moonrise;
+	public final long[] moonset;
+	public final float[] moonPhase;
+
+	public final float[] windSpeed;
+	public final float[] windGustSpeed;
+	public final short[] windDirection;
+
+	public final float[] pop;
+	public final float[] rain;
+	public final float[] snow;
+
+
+	/**
+	 * DailyForecastColumns Constructor
+	 * <p>
+	 * Build the columns from daily forecast objects
+	 * </p>
+	 *
+	 * @param dailyWeatherForecastList Forecasts sorted by day
+	 */
+	public DailyForecastColumns(@NonNull List<DailyWeatherForecast> dailyWeatherForecastList) {
+		int size = dailyWeatherForecastList.size();
+
+		this.dt = new long[size];
+		this.condition = new int[size];
+		this.weatherCode = new int[size];
+		this.temperatures = new float[size * DAY_MOMENTS];
+		this.temperatureMinimum = new float[size];
+		this.temperatureMaximum = new float[size];
+		this.temperaturesFeelsLike = new float[size * DAY_MOMENTS];
+		this.pressure = new int[size];
+		this.humidity = new int[size];
+		this.dewPoint = new float[size];
+		this.cloudiness = new int[size];
+		this.sunrise = new long[size];
+		this.sunset = new long[size];
+		this.uvIndex = new int[size];
+		this.moonrise = new long[size];
+		this.moonset = new long[size];
+		this.moonPhase = new float[size];
+		this.windSpeed = new float[size];
+		this.windGustSpeed = new float[size];
+		this.windDirection = new short[size];
+		this.pop = new float[size];
+		this.rain = new float[size];
+		this.snow = new float[size];
+
+		for (int index = 0; index < size; index++) {
+			DailyWeatherForecast dailyWeatherForecast = dailyWeatherForecastList.get(index);
+			int dayMoments = index * DAY_MOMENTS;
+
+			this.dt[index] = dailyWeatherForecast.dt;
+			this.condition[index] = WeatherConditions.intern(dailyWeatherForecast.weatherCode, dailyWeatherForecast.weather, dailyWeatherForecast.weatherDescription);
+			this.weatherCode[index] = dailyWeatherForecast.weatherCode;
+
+			this.temperatures[dayMoments + MORNING] = dailyWeatherForecast.temperatureMorning;
+			this.temperatures[dayMoments + DAY] = dailyWeatherForecast.temperatureDay;
+			this.temperatures[dayMoments + EVENING] = dailyWeatherForecast.temperatureEvening;
+			this.temperatures[dayMoments + NIGHT] = dailyWeatherForecast.temperatureNight;
+			this.temperatureMinimum[index] = dailyWeatherForecast.temperatureMinimum;
+			this.temperatureMaximum[index] = dailyWeatherForecast.temperatureMaximum;
+			this.temperaturesFeelsLike[dayMoments + MORNING] = dailyWeatherForecast.temperatureMorningFeelsLike;
+			this.temperaturesFeelsLike[dayMoments + DAY] = dailyWeatherForecast.temperatureDayFeelsLike;
+			this.temperaturesFeelsLike[dayMoments + EVENING] = dailyWeatherForecast.temperatureEveningFeelsLike;
+			this.temperaturesFeelsLike[dayMoments + NIGHT] = dailyWeatherForecast.temperatureNightFeelsLike;
+
+			this.pressure[index] = dailyWeatherForecast.pressure;
+			this.humidity[index] = dailyWeatherForecast.humidity;
+			this.dewPoint[index] = dailyWeatherForecast.dewPoint;
+			this.cloudiness[index] = dailyWeatherForecast.cloudiness;
+			this.sunrise[index] = dailyWeatherForecast.sunrise;
+			this.sunset[index] = dailyWeatherForecast.sunset;
+			this.uvIndex[index] = dailyWeatherForecast.uvIndex;
+			this.moonrise[index] = dailyWeatherForecast.moonrise;
+			this.moonset[index] = dailyWeatherForecast.moonset;
+			this.moonPhase[index] = dailyWeatherForecast.moonPhase;
+			this.windSpeed[index] = dailyWeatherForecast.windSpeed;
+			this.windGustSpeed[index] = dailyWeatherForecast.windGustSpeed;
+			this.windDirection[index] = dailyWeatherForecast.windDirection;
+			this.pop[index] = dailyWeatherForecast.pop;
+			this.rain[index] = dailyWeatherForecast.rain;
+			this.snow[index] = dailyWeatherForecast.snow;
+		}
+	}
+
+
+	/**
+	 * DailyForecastColumns Constructor
+	 * <p>
+	 * Take the columns of a builder, they must already be trimmed to its size
+	 * </p>
+	 *
+	 * @param builder The builder of the columns
+	 */
+	private DailyForecastColumns(@NonNull Builder builder) {
+		this.dt = builder.dt;
+		this.condition = builder.condition;
+		this.weatherCode = builder.weatherCode;
+		this.temperatures = builder.temperatures;
+		this.temperatureMinimum = builder.temperatureMinimum;
+		this.temperatureMaximum = builder.temperatureMaximum;
+		this.temperaturesFeelsLike = builder.temperaturesFeelsLike;
+		this.pressure = builder.pressure;
+		this.humidity = builder.humidity;
+		this.dewPoint = builder.dewPoint;
+		this.cloudiness = builder.cloudiness;
+		this.sunrise = builder.sunrise;
+		this.sunset = builder.sunset;
+		this.uvIndex = builder.uvIndex;
+		this.moonrise = builder.moonrise;
+		this.moonset = builder.moonset;
+		this.moonPhase = builder.moonPhase;
+		this.windSpeed = builder.windSpeed;
+		this.windGustSpeed = builder.windGustSpeed;
+		this.windDirection = builder.windDirection;
+		this.pop = builder.pop;
+		this.rain = builder.rain;
+		this.snow = builder.snow;
+	}
+
+
+	/**
+	 * size()
+	 * <p>
+	 * Used to get the number of days stored
+	 * </p>
+	 *
+	 * @return The number of days
+	 */
+	public int size() {
+		return this.dt.length;
+	}
+
+
+	/**
+	 * isEmpty()
+	 * <p>
+	 * Used to know if there is no day stored
+	 * </p>
+	 *
+	 * @return True if there is no day
+	 */
+	public boolean isEmpty() {
+		return this.dt.length == 0;
+	}
+
+
+	/**
+	 * get(int index)
+	 * <p>
+	 * Used to build the forecast object of a day
+	 * </p>
+	 *
+	 * @param index Index of the day
+	 * @return A new DailyWeatherForecast with the values of the day
+	 */
+	@NonNull
+	public DailyWeatherForecast get(int index) {
+		DailyWeatherForecast dailyWeatherForecast = new DailyWeatherForecast();
+		int dayMoments = index * DAY_MOMENTS;
+
+		dailyWeatherForecast.dt = this.dt[index];
+		dailyWeatherForecast.weather = WeatherConditions.getWeather(this.condition[index]);
+		dailyWeatherForecast.weatherDescription = WeatherConditions.getWeatherDescription(this.condition[index]);
+		dailyWeatherForecast.weatherCode = this.weatherCode[index];
+
+		dailyWeatherForecast.temperatureMorning = this.temperatures[dayMoments + MORNING];
+		dailyWeatherForecast.temperatureDay = this.temperatures[dayMoments + DAY];
+		dailyWeatherForecast.temperatureEvening = this.temperatures[dayMoments + EVENING];
+		dailyWeatherForecast.temperatureNight = this.temperatures[dayMoments + NIGHT];
+		dailyWeatherForecast.temperatureMinimum = this.temperatureMinimum[index];
+		dailyWeatherForecast.temperatureMaximum = this.temperatureMaximum[index];
+		dailyWeatherForecast.temperatureMorningFeelsLike = this.temperaturesFeelsLike[dayMoments + MORNING];
+		dailyWeatherForecast.temperatureDayFeelsLike = this.temperaturesFeelsLike[dayMoments + DAY];
+		dailyWeatherForecast.temperatureEveningFeelsLike = this.temperaturesFeelsLike[dayMoments + EVENING];
+		dailyWeatherForecast.temperatureNightFeelsLike = this.temperaturesFeelsLike[dayMoments + NIGHT];
+
+		dailyWeatherForecast.pressure = this.pressure[index];
+		dailyWeatherForecast.humidity = this.humidity[index];
+		dailyWeatherForecast.dewPoint = this.dewPoint[index];
+		dailyWeatherForecast.cloudiness = this.cloudiness[index];
+		dailyWeatherForecast.sunrise = this.sunrise[index];
+		dailyWeatherForecast.sunset = this.sunset[index];
+		dailyWeatherForecast.uvIndex = this.uvIndex[index];
+		dailyWeatherForecast.moonrise = this.moonrise[index];
+		dailyWeatherForecast.moonset = this.moonset[index];
+		dailyWeatherForecast.moonPhase = this.moonPhase[index];
+		dailyWeatherForecast.windSpeed = this.windSpeed[index];
+		dailyWeatherForecast.windGustSpeed = this.windGustSpeed[index];
+		dailyWeatherForecast.windDirection = this.windDirection[index];
+		dailyWeatherForecast.pop = this.pop[index];
+		dailyWeatherForecast.rain = this.rain[index];
+		dailyWeatherForecast.snow = this.snow[index];
+
+		return dailyWeatherForecast;
+	}
+
+
+	/**
+	 * toArrayList()
+	 * <p>
+	 * Used to build the forecast objects of every day
+	 * </p>
+	 *
+	 * @return A new ArrayList of new DailyWeatherForecast
+	 */
+	@NonNull
+	public ArrayList<DailyWeatherForecast> toArrayList() {
+		ArrayList<DailyWeatherForecast> dailyWeatherForecastArrayList = new ArrayList<>(size());
+		for (int index = 0; index < size(); index++) {
+			dailyWeatherForecastArrayList.add(get(index));
+		}
+		return dailyWeatherForecastArrayList;
+	}
+
+
+	/**
+	 * Builder
+	 * <p>
+	 * Used to decode daily forecasts straight into columns, without a forecast object per day<br>
+	 * A day is started with addDay(), the setters give the values of the last day started, values not given are 0<br>
+	 * Columns grow if more days than the capacity are added, the builder must not be used after build()
+	 * </p>
+	 */
+	public static final class Builder {
+
+		//  Fields OWM always sends, one bit each in the order of REQUIRED_OWM_FIELDS
+		private static final int OWM_DT = 1;
+		private static final int OWM_WEATHER = 1 << 1;
+		private static final int OWM_TEMP = 1 << 2;
+		private static final int OWM_FEELS_LIKE = 1 << 3;
+		private static final int OWM_PRESSURE = 1 << 4;
+		private static final int OWM_HUMIDITY = 1 << 5;
+		private static final int OWM_DEW_POINT = 1 << 6;
+		private static final int OWM_CLOUDS = 1 << 7;
+		private static final int OWM_SUNRISE = 1 << 8;
+		private static final int OWM_SUNSET = 1 << 9;
+		private static final int OWM_UVI = 1 << 10;
+		private static final int OWM_MOONRISE = 1 << 11;
+		private static final int OWM_MOONSET = 1 << 12;
+		private static final int OWM_MOON_PHASE = 1 << 13;
+		private static final int OWM_WIND_SPEED = 1 << 14;
+		private static final int OWM_WIND_DEG = 1 << 15;
+		private static final int OWM_POP = 1 << 16;
+		private static final String[] REQUIRED_OWM_FIELDS = {"dt", "weather", "temp", "feels_like", "pressure",
+				"humidity", "dew_point", "clouds", "sunrise", "sunset", "uvi", "moonrise", "moonset", "moon_phase",
+				"wind_speed", "wind_deg", "pop"};
+
+		//  Temperatures OWM always sends, one bit each in the order of REQUIRED_OWM_TEMPERATURES
+		private static final int OWM_TEMP_MORN = 1;
+		private static final int OWM_TEMP_DAY = 1 << 1;
+		private static final int OWM_TEMP_EVE = 1 << 2;
+		private static final int OWM_TEMP_NIGHT = 1 << 3;
+		private static final int OWM_TEMP_MIN = 1 << 4;
+		private static final int OWM_TEMP_MAX = 1 << 5;
+		private static final String[] REQUIRED_OWM_TEMPERATURES = {"morn", "day", "eve", "night", "min", "max"};
+
+		//  Feels like temperatures OWM always sends, one bit each in the order of REQUIRED_OWM_TEMPERATURES_FEELS_LIKE
+		private static final int OWM_FEELS_LIKE_MORN = 1;
+		private static final int OWM_FEELS_LIKE_DAY = 1 << 1;
+		private static final int OWM_FEELS_LIKE_EVE = 1 << 2;
+		private static final int OWM_FEELS_LIKE_NIGHT = 1 << 3;
+		private static final String[] REQUIRED_OWM_TEMPERATURES_FEELS_LIKE = {"morn", "day", "eve", "night"};
+
+		private int size;
+
+		private long[] dt;
+		private int[] condition;
+		private int[] weatherCode;
+		private float[] temperatures;
+		private float[] temperatureMinimum;
+		private float[] temperatureMaximum;
+		private float[] temperaturesFeelsLike;
+		private int[] pressure;
+		private int[] humidity;
+		private float[] dewPoint;
+		private int[] cloudiness;
+		private long[] sunrise;
+		private long[] sunset;
+		private int[] uvIndex;
+		private long[] moonrise;
+		private long[] moonset;
+		private float[] moonPhase;
+		private float[] windSpeed;
+		private float[] windGustSpeed;
+		private short[] windDirection;
+		private float[] pop;
+		private float[] rain;
+		private float[] snow;
+
+
+		/**
+		 * Builder Constructor
+		 * <p>
+		 * Just the constructor of the builder
+		 * </p>
+		 *
+		 * @param capacity Number of days expected
+		 */
+		public Builder(int capacity) {
+			this.size = 0;
+			this.dt = new long[capacity];
+			this.condition = new int[capacity];
+			this.weatherCode = new int[capacity];
+			this.temperatures = new float[capacity * DAY_MOMENTS];
+			this.temperatureMinimum = new float[capacity];
+			this.temperatureMaximum = new float[capacity];
+			this.temperaturesFeelsLike = new float[capacity * DAY_MOMENTS];
+			this.pressure = new int[capacity];
+			this.humidity = new int[capacity];
+			this.dewPoint = new float[capacity];
+			this.cloudiness = new int[capacity];
+			this.sunrise = new long[capacity];
+			this.sunset = new long[capacity];
+			this.uvIndex = new int[capacity];
+			this.moonrise = new long[capacity];
+			this.moonset = new long[capacity];
+			this.moonPhase = new float[capacity];
+			this.windSpeed = new float[capacity];
+			this.windGustSpeed = new float[capacity];
+			this.windDirection = new short[capacity];
+			this.pop = new float[capacity];
+			this.rain = new float[capacity];
+			this.snow = new float[capacity];
+		}
+
+
+		/**
+		 * addDay()
+		 * <p>
+		 * Used to start a new day, it has no weather condition until setCondition() is called
+		 * </p>
+		 *
+		 * @return This builder
+		 */
+		public Builder addDay() {
+			if (size == dt.length) resize(Math.max(1, size * 2));
+			condition[size] = WeatherConditions.UNKNOWN;
+			size++;
+			return this;
+		}
+
+
+		/**
+		 * addOWMData(@NonNull JsonReader dailyWeather) throws IOException
+		 * <p>
+		 * Used to decode a day of a One Call response and add it
+		 * </p>
+		 *
+		 * @param dailyWeather JsonReader positioned on the day object
+		 * @return This builder
+		 * @throws IOException If the day object is malformed or misses a field OWM always sends
+		 */
+		public Builder addOWMData(@NonNull JsonReader dailyWeather) throws IOException {
+			addDay();
+
+			int readFields = 0;
+
+			dailyWeather.beginObject();
+			while (dailyWeather.hasNext()) {
+				switch (dailyWeather.nextName()) {
+					//  Time
+					case "dt":
+						setDt(dailyWeather.nextLong() * 1000);
+						readFields |= OWM_DT;
+						break;
+
+					//    Weather descriptions
+					case "weather":
+						setCondition(OWMJsonReader.nextCondition(dailyWeather));
+						readFields |= OWM_WEATHER;
+						break;
+
+					//  Temperatures
+					case "temp":
+						readOWMTemperatures(dailyWeather);
+						readFields |= OWM_TEMP;
+						break;
+
+					//  Feels Like Temperatures
+					case "feels_like":
+						readOWMTemperaturesFeelsLike(dailyWeather);
+						readFields |= OWM_FEELS_LIKE;
+						break;
+
+					//  Pressure, Humidity, dewPoint
+					case "pressure":
+						setPressure(OWMJsonReader.nextInt(dailyWeather));
+						readFields |= OWM_PRESSURE;
+						break;
+					case "humidity":
+						setHumidity(OWMJsonReader.nextInt(dailyWeather));
+						readFields |= OWM_HUMIDITY;
+						break;
+					case "dew_point":
+						setDewPoint(OWMJsonReader.nextFloat(dailyWeather));
+						readFields |= OWM_DEW_POINT;
+						break;
+
+					//  Sky
+					case "clouds":
+						setCloudiness(OWMJsonReader.nextInt(dailyWeather));
+						readFields |= OWM_CLOUDS;
+						break;
+					case "sunrise":
+						setSunrise(dailyWeather.nextLong() * 1000);
+						readFields |= OWM_SUNRISE;
+						break;
+					case "sunset":
+						setSunset(dailyWeather.nextLong() * 1000);
+						readFields |= OWM_SUNSET;
+						break;
+					case "uvi":
+						setUvIndex(OWMJsonReader.nextInt(dailyWeather));
+						readFields |= OWM_UVI;
+						break;
+
+					//  Moon
+					case "moonrise":
+						setMoonrise(dailyWeather.nextLong() * 1000);
+						readFields |= OWM_MOONRISE;
+						break;
+					case "moonset":
+						setMoonset(dailyWeather.nextLong() * 1000);
+						readFields |= OWM_MOONSET;
+						break;
+					case "moon_phase":
+						setMoonPhase(OWMJsonReader.nextFloat(dailyWeather));
+						readFields |= OWM_MOON_PHASE;
+						break;
+
+					//  Wind
+					case "wind_speed":
+						setWindSpeed(OWMJsonReader.nextFloat(dailyWeather));
+						readFields |= OWM_WIND_SPEED;
+						break;
+					case "wind_deg":
+						setWindDirection((short) OWMJsonReader.nextInt(dailyWeather));
+						readFields |= OWM_WIND_DEG;
+						break;
+					////    Wind Gusts
+					case "wind_gust":
+						setWindGustSpeed(OWMJsonReader.nextFloat(dailyWeather));
+						break;
+
+					//  Precipitations
+					////    PoP -   Probability of Precipitations
+					case "pop":
+						setPop(OWMJsonReader.nextFloat(dailyWeather));
+						readFields |= OWM_POP;
+						break;
+					////    Rain
+					case "rain":
+						setRain(OWMJsonReader.nextFloat(dailyWeather));
+						break;
+					////    Snow
+					case "snow":
+						setSnow(OWMJsonReader.nextFloat(dailyWeather));
+						break;
+
+					default:
+						dailyWeather.skipValue();
+						break;
+				}
+			}
+			dailyWeather.endObject();
+			OWMJsonReader.checkRequiredFields(readFields, REQUIRED_OWM_FIELDS, "daily");
+			return this;
+		}
+
+		private void readOWMTemperatures(JsonReader temperatures) throws IOException {
+			int readFields = 0;
+
+			temperatures.beginObject();
+			while (temperatures.hasNext()) {
+				switch (temperatures.nextName()) {
+					case "morn":
+						setTemperature(MORNING, OWMJsonReader.nextFloat(temperatures));
+						readFields |= OWM_TEMP_MORN;
+						break;
+					case "day":
+						setTemperature(DAY, OWMJsonReader.nextFloat(temperatures));
+						readFields |= OWM_TEMP_DAY;
+						break;
+					case "eve":
+						setTemperature(EVENING, OWMJsonReader.nextFloat(temperatures));
+						readFields |= OWM_TEMP_EVE;
+						break;
+					case "night":
+						setTemperature(NIGHT, OWMJsonReader.nextFloat(temperatures));
+						readFields |= OWM_TEMP_NIGHT;
+						break;
+					case "min":
+						setTemperatureMinimum(OWMJsonReader.nextFloat(temperatures));
+						readFields |= OWM_TEMP_MIN;
+						break;
+					case "max":
+						setTemperatureMaximum(OWMJsonReader.nextFloat(temperatures));
+						readFields |= OWM_TEMP_MAX;
+						break;
+					default:
+						temperatures.skipValue();
+						break;
+				}
+			}
+			temperatures.endObject();
+			OWMJsonReader.checkRequiredFields(readFields, REQUIRED_OWM_TEMPERATURES, "temp");
+		}
+
+		private void readOWMTemperaturesFeelsLike(JsonReader temperaturesFeelsLike) throws IOException {
+			int readFields = 0;
+
+			temperaturesFeelsLike.beginObject();
+			while (temperaturesFeelsLike.hasNext()) {
+				switch (temperaturesFeelsLike.nextName()) {
+					case "morn":
+						setTemperatureFeelsLike(MORNING, OWMJsonReader.nextFloat(temperaturesFeelsLike));
+						readFields |= OWM_FEELS_LIKE_MORN;
+						break;
+					case "day":
+						setTemperatureFeelsLike(DAY, OWMJsonReader.nextFloat(temperaturesFeelsLike));
+						readFields |= OWM_FEELS_LIKE_DAY;
+						break;
+					case "eve":
+						setTemperatureFeelsLike(EVENING, OWMJsonReader.nextFloat(temperaturesFeelsLike));
+						readFields |= OWM_FEELS_LIKE_EVE;
+						break;
+					case "night":
+						setTemperatureFeelsLike(NIGHT, OWMJsonReader.nextFloat(temperaturesFeelsLike));
+						readFields |= OWM_FEELS_LIKE_NIGHT;
+						break;
+					default:
+						temperaturesFeelsLike.skipValue();
+						break;
+				}
+			}
+			temperaturesFeelsLike.endObject();
+			OWMJsonReader.checkRequiredFields(readFields, REQUIRED_OWM_TEMPERATURES_FEELS_LIKE, "feels_like");
+		}
+
+
+		public Builder setDt(long dt) {
+			this.dt[size - 1] = dt;
+			return this;
+		}
+
+		/**
+		 * setCondition(int conditionId)
+		 * <p>
+		 * Used to give the weather condition of the day, its weather code is set with it
+		 * </p>
+		 *
+		 * @param conditionId Id given by WeatherConditions.intern()
+		 * @return This builder
+		 */
+		public Builder setCondition(int conditionId) {
+			this.condition[size - 1] = conditionId;
+			this.weatherCode[size - 1] = WeatherConditions.getWeatherCode(conditionId);
+			return this;
+		}
+
+		/**
+		 * setTemperature(int dayMoment, float temperature)
+		 * <p>
+		 * Used to give the temperature of a moment of the day
+		 * </p>
+		 *
+		 * @param dayMoment   MORNING, DAY, EVENING or NIGHT
+		 * @param temperature The temperature
+		 * @return This builder
+		 */
+		public Builder setTemperature(int dayMoment, float temperature) {
+			this.temperatures[(size - 1) * DAY_MOMENTS + dayMoment] = temperature;
+			return this;
+		}
+
+		/**
+		 * setTemperatureFeelsLike(int dayMoment, float temperatureFeelsLike)
+		 * <p>
+		 * Used to give the feels like temperature of a moment of the day
+		 * </p>
+		 *
+		 * @param dayMoment            MORNING, DAY, EVENING or NIGHT
+		 * @param temperatureFeelsLike The feels like temperature
+		 * @return This builder
+		 */
+		public Builder setTemperatureFeelsLike(int dayMoment, float temperatureFeelsLike) {
+			this.temperaturesFeelsLike[(size - 1) * DAY_MOMENTS + dayMoment] = temperatureFeelsLike;
+			return this;
+		}
+
+		public Builder setTemperatureMinimum(float temperatureMinimum) {
+			this.temperatureMinimum[size - 1] = temperatureMinimum;
+			return this;
+		}
+
+		public Builder setTemperatureMaximum(float temperatureMaximum) {
+			this.temperatureMaximum[size - 1] = temperatureMaximum;
+			return this;
+		}
+
+		public Builder setPressure(int pressure) {
+			this.pressure[size - 1] = pressure;
+			return this;
+		}
+
+		public Builder setHumidity(int humidity) {
+			this.humidity[size - 1] = humidity;
+			return this;
+		}
+
+		public Builder setDewPoint(float dewPoint) {
+			this.dewPoint[size - 1] = dewPoint;
+			return this;
+		}
+
+		public Builder setCloudiness(int cloudiness) {
+			this.cloudiness[size - 1] = cloudiness;
+			return this;
+		}
+
+		public Builder setSunrise(long sunrise) {
+			this.sunrise[size - 1] = sunrise;
+			return this;
+		}
+
+		public Builder setSunset(long sunset) {
+			this.sunset[size - 1] = sunset;
+			return this;
+		}
+
+		public Builder setUvIndex(int uvIndex) {
+			this.uvIndex[size - 1] = uvIndex;
+			return this;
+		}
+
+		public Builder setMoonrise(long moonrise) {
+			this.moonrise[size - 1] = moonrise;
+			return this;
+		}
+
+		public Builder setMoonset(long moonset) {
+			this.moonset[size - 1] = moonset;
+			return this;
+		}
+
+		public Builder setMoonPhase(float moonPhase) {
+			this.moonPhase[size - 1] = moonPhase;
+			return this;
+		}
+
+		public Builder setWindSpeed(float windSpeed) {
+			this.windSpeed[size - 1] = windSpeed;
+			return this;
+		}
+
+		public Builder setWindGustSpeed(float windGustSpeed) {
+			this.windGustSpeed[size - 1] = windGustSpeed;
+			return this;
+		}
+
+		public Builder setWindDirection(short windDirection) {
+			this.windDirection[size - 1] = windDirection;
+			return this;
+		}
+
+		public Builder setPop(float pop) {
+			this.pop[size - 1] = pop;
+			return this;
+		}
+
+		public Builder setRain(float rain) {
+			this.rain[size - 1] = rain;
+			return this;
+		}
+
+		public Builder setSnow(float snow) {
+			this.snow[size - 1] = snow;
+			return this;
+		}
+
+
+		/**
+		 * build()
+		 * <p>
+		 * Used to get the columns of the days added, the builder must not be used after
+		 * </p>
+		 *
+		 * @return The columns
+		 */
+		@NonNull
+		public DailyForecastColumns build() {
+			if (size != dt.length) resize(size);
+			return new DailyForecastColumns(this);
+		}
+
+		private void resize(int capacity) {
+			this.dt = Arrays.copyOf(this.dt, capacity);
+			this.condition = Arrays.copyOf(this.condition, capacity);
+			this.weatherCode = Arrays.copyOf(this.weatherCode, capacity);
+			this.temperatures = Arrays.copyOf(this.temperatures, capacity * DAY_MOMENTS);
+			this.temperatureMinimum = Arrays.copyOf(this.temperatureMinimum, capacity);
+			this.temperatureMaximum = Arrays.copyOf(this.temperatureMaximum, capacity);
+			this.temperaturesFeelsLike = Arrays.copyOf(this.temperaturesFeelsLike, capacity * DAY_MOMENTS);
+			this.pressure = Arrays.copyOf(this.pressure, capacity);
+			this.humidity = Arrays.copyOf(this.humidity, capacity);
+			this.dewPoint = Arrays.copyOf(this.dewPoint, capacity);
+			this.cloudiness = Arrays.copyOf(this.cloudiness, capacity);
+			this.sunrise = Arrays.copyOf(this.sunrise, capacity);
+			this.sunset = Arrays.copyOf(this.sunset, capacity);
+			this.uvIndex = Arrays.copyOf(this.uvIndex, capacity);
+			this.moonrise = Arrays.copyOf(this.moonrise, capacity);
+			this.moonset = Arrays.copyOf(this.moonset, capacity);
+			this.moonPhase = Arrays.copyOf(this.moonPhase, capacity);
+			this.windSpeed = Arrays.copyOf(this.windSpeed, capacity);
+			this.windGustSpeed = Arrays.copyOf(this.windGustSpeed, capacity);
+			this.windDirection = Arrays.copyOf(this.windDirection, capacity);
+			this.pop = Arrays.copyOf(this.pop, capacity);
+			this.rain = Arrays.copyOf(this.rain, capacity);
+			this.snow = Arrays.copyOf(this.snow, capacity);
+		}
+	}
+}
@@ -1,11 +1,11 @@
 package fr.qgdev.openweather.weather;
 
+
 import androidx.annotation.NonNull;
 
 import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.math.BigDecimal;
 
 public class DailyWeatherForecast {
 
@@ -99,23 +99,23 @@ public class DailyWeatherForecast {
 		this.weatherCode = dailyWeatherForecast.getInt("weather_code");
 
 		//  Temperatures
-		this.temperatureMorning = BigDecimal.valueOf(dailyWeatherForecast.getDouble("temperature_morning")).floatValue();
-		this.temperatureDay = BigDecimal.valueOf(dailyWeatherForecast.getDouble("temperature_day")).floatValue();
-		this.temperatureEvening = BigDecimal.valueOf(dailyWeatherForecast.getDouble("temperature_evening")).floatValue();
-		this.temperatureNight = BigDecimal.valueOf(dailyWeatherForecast.getDouble("temperature_night")).floatValue();
-		this.temperatureMinimum = BigDecimal.valueOf(dailyWeatherForecast.getDouble("temperature_minimum")).floatValue();
-		this.temperatureMaximum = BigDecimal.valueOf(dailyWeatherForecast.getDouble("temperature_maximum")).floatValue();
+		this.temperatureMorning = OWMDecimal.toFloat(dailyWeatherForecast.getDouble("temperature_morning"));
+		this.temperatureDay = OWMDecimal.toFloat(dailyWeatherForecast.getDouble("temperature_day"));
+		this.temperatureEvening = OWMDecimal.toFloat(dailyWeatherForecast.getDouble("temperature_evening"));
+		this.temperatureNight = OWMDecimal.toFloat(dailyWeatherForecast.getDouble("temperature_night"));
+		this.temperatureMinimum = OWMDecimal.toFloat(dailyWeatherForecast.getDouble("temperature_minimum"));
+		this.temperatureMaximum = OWMDecimal.toFloat(dailyWeatherForecast.getDouble("temperature_maximum"));
 
 		//  Feels Like Temperatures
-		this.temperatureMorningFeelsLike = BigDecimal.valueOf(dailyWeatherForecast.getDouble("temperature_feelslike_morning")).floatValue();
-		this.temperatureDayFeelsLike = BigDecimal.valueOf(dailyWeatherForecast.getDouble("temperature_feelslike_day")).floatValue();
-		this.temperatureEveningFeelsLike = BigDecimal.valueOf(dailyWeatherForecast.getDouble("temperature_feelslike_evening")).floatValue();
-		this.temperatureNightFeelsLike = BigDecimal.valueOf(dailyWeatherForecast.getDouble("temperature_feelslike_night")).floatValue();
+		this.temperatureMorningFeelsLike = OWMDecimal.toFloat(dailyWeatherForecast.getDouble("temperature_feelslike_morning"));
+		this.temperatureDayFeelsLike = OWMDecimal.toFloat(dailyWeatherForecast.getDouble("temperature_feelslike_day"));
+		this.temperatureEveningFeelsLike = OWMDecimal.toFloat(dailyWeatherForecast.getDouble("temperature_feelslike_evening"));
+		this.temperatureNightFeelsLike = OWMDecimal.toFloat(dailyWeatherForecast.getDouble("temperature_feelslike_night"));
 
 		//  Pressure, Humidity, dewPoint
 		this.pressure = dailyWeatherForecast.getInt("pressure");
 		this.humidity = dailyWeatherForecast.getInt("humidity");
-		this.dewPoint = BigDecimal.valueOf(dailyWeatherForecast.getDouble("dew_point")).floatValue();
+		this.dewPoint = OWMDecimal.toFloat(dailyWeatherForecast.getDouble("dew_point"));
 
 		//  Sky
 		this.cloudiness = dailyWeatherForecast.getInt("cloudiness");
@@ -130,7 +130,7 @@ public class DailyWeatherForecast {
 		if (dailyWeatherForecast.has("moonrise") && dailyWeatherForecast.has("moonset") && dailyWeatherForecast.has("moon_phase")) {
 			this.moonrise = dailyWeatherForecast.getInt("moonrise");
 			this.moonset = dailyWeatherForecast.getInt("moonset");
-			this.moonPhase = BigDecimal.valueOf(dailyWeatherForecast.getDouble("moon_phase")).floatValue();
+			this.moonPhase = OWMDecimal.toFloat(dailyWeatherForecast.getDouble("moon_phase"));
 		} else {
 			this.moonrise = 0;
 			this.moonset = 0;
@@ -138,17 +138,17 @@ public class DailyWeatherForecast {
 		}
 
 		//  Wind
-		this.windSpeed = BigDecimal.valueOf(dailyWeatherForecast.getDouble("wind_speed")).floatValue();
-		this.windDirection = BigDecimal.valueOf(dailyWeatherForecast.getInt("wind_direction")).shortValue();
-		this.windGustSpeed = BigDecimal.valueOf(dailyWeatherForecast.getDouble("wind_gust_speed")).floatValue();
+		this.windSpeed = OWMDecimal.toFloat(dailyWeatherForecast.getDouble("wind_speed"));
+		this.windDirection = (short) dailyWeatherForecast.getInt("wind_direction");
+		this.windGustSpeed = OWMDecimal.toFloat(dailyWeatherForecast.getDouble("wind_gust_speed"));
 
 		//  Precipitations
 		////    PoP -   Probability of Precipitations
-		this.pop = BigDecimal.valueOf(dailyWeatherForecast.getDouble("pop")).floatValue();
+		this.pop = OWMDecimal.toFloat(dailyWeatherForecast.getDouble("pop"));
 		////    Rain
-		this.rain = BigDecimal.valueOf(dailyWeatherForecast.getDouble("rain")).floatValue();
+		this.rain = OWMDecimal.toFloat(dailyWeatherForecast.getDouble("rain"));
 		////    Snow
-		this.snow = BigDecimal.valueOf(dailyWeatherForecast.getDouble("snow")).floatValue();
+		this.snow = OWMDecimal.toFloat(dailyWeatherForecast.getDouble("snow"));
 	}
 
 	public void fillWithOWMData(JSONObject dailyWeather) throws JSONException {
@@ -163,58 +163,58 @@ public class DailyWeatherForecast {
 
 		//  Temperatures
 		JSONObject dailyWeatherTemperaturesJSON = dailyWeather.getJSONObject("temp");
-		this.temperatureMorning = BigDecimal.valueOf(dailyWeatherTemperaturesJSON.getDouble("morn")).floatValue();
-		this.temperatureDay = BigDecimal.valueOf(dailyWeatherTemperaturesJSON.getDouble("day")).floatValue();
-		this.temperatureEvening = BigDecimal.valueOf(dailyWeatherTemperaturesJSON.getDouble("eve")).floatValue();
-		this.temperatureNight = BigDecimal.valueOf(dailyWeatherTemperaturesJSON.getDouble("night")).floatValue();
-		this.temperatureMinimum = BigDecimal.valueOf(dailyWeatherTemperaturesJSON.getDouble("min")).floatValue();
-		this.temperatureMaximum = BigDecimal.valueOf(dailyWeatherTemperaturesJSON.getDouble("max")).floatValue();
+		this.temperatureMorning = OWMDecimal.toFloat(dailyWeatherTemperaturesJSON.getDouble("morn"));
+		this.temperatureDay = OWMDecimal.toFloat(dailyWeatherTemperaturesJSON.getDouble("day"));
+		this.temperatureEvening = OWMDecimal.toFloat(dailyWeatherTemperaturesJSON.getDouble("eve"));
+		this.temperatureNight = OWMDecimal.toFloat(dailyWeatherTemperaturesJSON.getDouble("night"));
+		this.temperatureMinimum = OWMDecimal.toFloat(dailyWeatherTemperaturesJSON.getDouble("min"));
+		this.temperatureMaximum = OWMDecimal.toFloat(dailyWeatherTemperaturesJSON.getDouble("max"));
 
 		//  Feels Like Temperatures
 		JSONObject dailyWeatherTemperaturesFeelsLikeJSON = dailyWeather.getJSONObject("feels_like");
-		this.temperatureMorningFeelsLike = BigDecimal.valueOf(dailyWeatherTemperaturesFeelsLikeJSON.getDouble("morn")).floatValue();
-		this.temperatureDayFeelsLike = BigDecimal.valueOf(dailyWeatherTemperaturesFeelsLikeJSON.getDouble("day")).floatValue();
-		this.temperatureEveningFeelsLike = BigDecimal.valueOf(dailyWeatherTemperaturesFeelsLikeJSON.getDouble("eve")).floatValue();
-		this.temperatureNightFeelsLike = BigDecimal.valueOf(dailyWeatherTemperaturesFeelsLikeJSON.getDouble("night")).floatValue();
+		this.temperatureMorningFeelsLike = OWMDecimal.toFloat(dailyWeatherTemperaturesFeelsLikeJSON.getDouble("morn"));
+		this.temperatureDayFeelsLike = OWMDecimal.toFloat(dailyWeatherTemperaturesFeelsLikeJSON.getDouble("day"));
+		this.temperatureEveningFeelsLike = OWMDecimal.toFloat(dailyWeatherTemperaturesFeelsLikeJSON.getDouble("eve"));
+		this.temperatureNightFeelsLike = OWMDecimal.toFloat(dailyWeatherTemperaturesFeelsLikeJSON.getDouble("night"));
 
 		//  Pressure, Humidity, dewPoint
 		this.pressure = dailyWeather.getInt("pressure");
 		this.humidity = dailyWeather.getInt("humidity");
-		this.dewPoint = BigDecimal.valueOf(dailyWeather.getDouble("dew_point")).floatValue();
+		this.dewPoint = OWMDecimal.toFloat(dailyWeather.getDouble("dew_point"));
 
 		//  Sky
 		this.cloudiness = dailyWeather.getInt("clouds");
 		this.sunrise = dailyWeather.getLong("sunrise") * 1000;
 		this.sunset = dailyWeather.getLong("sunset") * 1000;
-		this.uvIndex = BigDecimal.valueOf(dailyWeather.getDouble("uvi")).intValue();
+		this.uvIndex = (int) dailyWeather.getDouble("uvi");
 
 		//  Moon
 		this.moonrise = dailyWeather.getLong("moonrise") * 1000;
 		this.moonset = dailyWeather.getLong("moonset") * 1000;
-		this.moonPhase = BigDecimal.valueOf(dailyWeather.getDouble("moon_phase")).floatValue();
+		this.moonPhase = OWMDecimal.toFloat(dailyWeather.getDouble("moon_phase"));
 
 		//  Wind
-		this.windSpeed = BigDecimal.valueOf(dailyWeather.getDouble("wind_speed")).floatValue();
-		this.windDirection = BigDecimal.valueOf(dailyWeather.getInt("wind_deg")).shortValue();
+		this.windSpeed = OWMDecimal.toFloat(dailyWeather.getDouble("wind_speed"));
+		this.windDirection = (short) dailyWeather.getInt("wind_deg");
 		////    Wind Gusts
 		if (dailyWeather.has("wind_gust")) {
-			this.windGustSpeed = BigDecimal.valueOf(dailyWeather.getDouble("wind_gust")).floatValue();
+			this.windGustSpeed = OWMDecimal.toFloat(dailyWeather.getDouble("wind_gust"));
 		} else {
 			this.windGustSpeed = 0;
 		}
 
 		//  Precipitations
 		////    PoP -   Probability of Precipitations
-		this.pop = BigDecimal.valueOf(dailyWeather.getDouble("pop")).floatValue();
+		this.pop = OWMDecimal.toFloat(dailyWeather.getDouble("pop"));
 		////    Rain
 		if (dailyWeather.has("rain")) {
-			this.rain = BigDecimal.valueOf(dailyWeather.getDouble("rain")).floatValue();
+			this.rain = OWMDecimal.toFloat(dailyWeather.getDouble("rain"));
 		} else {
 			this.rain = 0;
 		}
 		////    Snow
 		if (dailyWeather.has("snow")) {
-			this.snow = BigDecimal.valueOf(dailyWeather.getDouble("snow")).floatValue();
+			this.snow = OWMDecimal.toFloat(dailyWeather.getDouble("snow"));
 		} else {
 			this.snow = 0;
 		}
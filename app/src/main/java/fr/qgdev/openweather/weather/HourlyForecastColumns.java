@@ -0,0 +1,544 @@
+package fr.qgdev.openweather.weather;
+
+import android.util.JsonReader;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * HourlyForecastColumns
+ * <p>
+ * Hourly forecasts stored as one primitive array per attribute instead of one object per hour<br>
+ * Weather and weather description texts are replaced by the id of their condition in WeatherConditions<br>
+ * Forecasts are decoded straight into columns with a Builder<br>
+ * Columns are never modified after the construction, so they can be shared between places and read directly to draw graphs,
+ * they must not be modified by readers
+ * </p>
+ *
+ * @author Quentin GOMES DOS REIS
+ * @version 1
+ * @see HourlyWeatherForecast
+ * @see WeatherConditions
+ */
+public final class HourlyForecastColumns {
+
+	public static final HourlyForecastColumns EMPTY = new HourlyForecastColumns(Collections.emptyList());
+
+	public final long[] dt;
+
+	public final int[] condition;
+	public final int[] weatherCode;
+
+	public final float[] temperature;
+	public final float[] temperatureFeelsLike;
+
+	public final int[] pressure;
+	public final int[] humidity;
+	public final float[] dewPoint;
+
+	public final int[] cloudiness;
+	public final int[] visibility;
+	public final int[] uvIndex;
+
+	public final float[] windSpeed;
+	public final float[] windGustSpeed;
+	public final short[] windDirection;
+
+	public final float[] pop;
+	public final float[] rain;
+	public final float[] snow;
+
+
+	/**
+	 * HourlyForecastColumns Constructor
+	 * <p>
+	 * Build the columns from hourly forecast objects
+	 * </p>
+	 *
+	 * @param hourlyWeatherForecastList Forecasts sorted by hour
+	 */
+	public HourlyForecastColumns(@NonNull List<HourlyWeatherForecast> hourlyWeatherForecastList) {
+		int size = hourlyWeatherForecastList.size();
+
+		this.dt = new long[size];
+		this.condition = new int[size];
+		this.weatherCode = new int[size];
+		this.temperature = new float[size];
+		this.temperatureFeelsLike = new float[size];
+		this.pressure = new int[size];
+		this.humidity = new int[size];
+		this.dewPoint = new float[size];
+		this.cloudiness = new int[size];
+		this.visibility = new int[size];
+		this.uvIndex = new int[size];
+		this.windSpeed = new float[size];
+		this.windGustSpeed = new float[size];
+		this.windDirection = new short[size];
+		this.pop = new float[size];
+		this.rain = new float[size];
+		this.snow = new float[size];
+
+		for (int index = 0; index < size; index++) {
+			HourlyWeatherForecast hourlyWeatherForecast = hourlyWeatherForecastList.get(index);
+
+			this.dt[index] = hourlyWeatherForecast.dt;
+			this.condition[index] = WeatherConditions.intern(hourlyWeatherForecast.weatherCode, hourlyWeatherForecast.weather, hourlyWeatherForecast.weatherDescription);
+			this.weatherCode[index] = hourlyWeatherForecast.weatherCode;
+			this.temperature[index] = hourlyWeatherForecast.temperature;
+			this.temperatureFeelsLike[index] = hourlyWeatherForecast.temperatureFeelsLike;
+			this.pressure[index] = hourlyWeatherForecast.pressure;
+			this.humidity[index] = hourlyWeatherForecast.humidity;
+			this.dewPoint[index] = hourlyWeatherForecast.dewPoint;
+			this.cloudiness[index] = hourlyWeatherForecast.cloudiness;
+			this.visibility[index] = hourlyWeatherForecast.visibility;
+			this.uvIndex[index] = hourlyWeatherForecast.uvIndex;
+			this.windSpeed[index] = hourlyWeatherForecast.windSpeed;
+			this.windGustSpeed[index] = hourlyWeatherForecast.windGustSpeed;
+			this.windDirection[index] = hourlyWeatherForecast.windDirection;
+			this.pop[index] = hourlyWeatherForecast.pop;
+			this.rain[index] = hourlyWeatherForecast.rain;
+			this.snow[index] = hourlyWeatherForecast.snow;
+		}
+	}
+
+
+	/**
+	 * HourlyForecastColumns Constructor
+	 * <p>
+	 * Take the columns of a builder, they must already be trimmed to its size
+	 * </p>
+	 *
+	 * @param builder The builder of the columns
+	 */
+	private HourlyForecastColumns(@NonNull Builder builder) {
+		this.dt = builder.dt;
+		this.condition = builder.condition;
+		this.weatherCode = builder.weatherCode;
+		this.temperature = builder.temperature;
+		this.temperatureFeelsLike = builder.temperatureFeelsLike;
+		this.pressure = builder.pressure;
+		this.humidity = builder.humidity;
+		this.dewPoint = builder.dewPoint;
+		this.cloudiness = builder.cloudiness;
+		this.visibility = builder.visibility;
+		this.uvIndex = builder.uvIndex;
+		this.windSpeed = builder.windSpeed;
+		this.windGustSpeed = builder.windGustSpeed;
+		this.windDirection = builder.windDirection;
+		this.pop = builder.pop;
+		this.rain = builder.rain;
+		this.snow = builder.snow;
+	}
+
+
+	/**
+	 * size()
+	 * <p>
+	 * Used to get the number of hours stored
+	 * </p>
+	 *
+	 * @return The number of hours
+	 */
+	public int size() {
+		return this.dt.length;
+	}
+
+
+	/**
+	 * isEmpty()
+	 * <p>
+	 * Used to know if there is no hour stored
+	 * </p>
+	 *
+	 * @return True if there is no hour
+	 */
+	public boolean isEmpty() {
+		return this.dt.length == 0;
+	}
+
+
+	/**
+	 * get(int index)
+	 * <p>
+	 * Used to build the forecast object of an hour
+	 * </p>
+	 *
+	 * @param index Index of the hour
+	 * @return A new HourlyWeatherForecast with the values of the hour
+	 */
+	@NonNull
+	public HourlyWeatherForecast get(int index) {
+		HourlyWeatherForecast hourlyWeatherForecast = new HourlyWeatherForecast();
+
+		hourlyWeatherForecast.dt = this.dt[index];
+		hourlyWeatherForecast.weather = WeatherConditions.getWeather(this.condition[index]);
+		hourlyWeatherForecast.weatherDescription = WeatherConditions.getWeatherDescription(this.condition[index]);
+		hourlyWeatherForecast.weatherCode = this.weatherCode[index];
+		hourlyWeatherForecast.temperature = this.temperature[index];
+		hourlyWeatherForecast.temperatureFeelsLike = this.temperatureFeelsLike[index];
+		hourlyWeatherForecast.pressure = this.pressure[index];
+		hourlyWeatherForecast.humidity = this.humidity[index];
+		hourlyWeatherForecast.dewPoint = this.dewPoint[index];
+		hourlyWeatherForecast.cloudiness = this.cloudiness[index];
+		hourlyWeatherForecast.visibility = this.visibility[index];
+		hourlyWeatherForecast.uvIndex = this.uvIndex[index];
+		hourlyWeatherForecast.windSpeed = this.windSpeed[index];
+		hourlyWeatherForecast.windGustSpeed = this.windGustSpeed[index];
+		hourlyWeatherForecast.windDirection = this.windDirection[index];
+		hourlyWeatherForecast.pop = this.pop[index];
+		hourlyWeatherForecast.rain = this.rain[index];
+		hourlyWeatherForecast.snow = this.snow[index];
+
+		return hourlyWeatherForecast;
+	}
+
+
+	/**
+	 * toArrayList()
+	 * <p>
+	 * Used to build the forecast objects of every hour
+	 * </p>
+	 *
+	 * @return A new ArrayList of new HourlyWeatherForecast
+	 */
+	@NonNull
+	public ArrayList<HourlyWeatherForecast> toArrayList() {
+		ArrayList<HourlyWeatherForecast> hourlyWeatherForecastArrayList = new ArrayList<>(size());
+		for (int index = 0; index < size(); index++) {
+			hourlyWeatherForecastArrayList.add(get(index));
+		}
+		return hourlyWeatherForecastArrayList;
+	}
+
+
+	/**
+	 * Builder
+	 * <p>
+	 * Used to decode hourly forecasts straight into columns, without a forecast object per hour<br>
+	 * An hour is started with addHour(), the setters give the values of the last hour started, values not given are 0<br>
+	 * Columns grow if more hours than the capacity are added, the builder must not be used after build()
+	 * </p>
+	 */
+	public static final class Builder {
+
+		//  Fields OWM always sends, one bit each in the order of REQUIRED_OWM_FIELDS
+		private static final int OWM_DT = 1;
+		private static final int OWM_WEATHER = 1 << 1;
+		private static final int OWM_TEMP = 1 << 2;
+		private static final int OWM_FEELS_LIKE = 1 << 3;
+		private static final int OWM_PRESSURE = 1 << 4;
+		private static final int OWM_HUMIDITY = 1 << 5;
+		private static final int OWM_DEW_POINT = 1 << 6;
+		private static final int OWM_VISIBILITY = 1 << 7;
+		private static final int OWM_CLOUDS = 1 << 8;
+		private static final int OWM_UVI = 1 << 9;
+		private static final int OWM_WIND_SPEED = 1 << 10;
+		private static final int OWM_WIND_DEG = 1 << 11;
+		private static final int OWM_POP = 1 << 12;
+		private static final String[] REQUIRED_OWM_FIELDS = {"dt", "weather", "temp", "feels_like", "pressure",
+				"humidity", "dew_point", "visibility", "clouds", "uvi", "wind_speed", "wind_deg", "pop"};
+
+		private int size;
+
+		private long[] dt;
+		private int[] condition;
+		private int[] weatherCode;
+		private float[] temperature;
+		private float[] temperatureFeelsLike;
+		private int[] pressure;
+		private int[] humidity;
+		private float[] dewPoint;
+		private int[] cloudiness;
+		private int[] visibility;
+		private int[] uvIndex;
+		private float[] windSpeed;
+		private float[] windGustSpeed;
+		private short[] windDirection;
+		private float[] pop;
+		private float[] rain;
+		private float[] snow;
+
+
+		/**
+		 * Builder Constructor
+		 * <p>
+		 * Just the constructor of the builder
+		 * </p>
+		 *
+		 * @param capacity Number of hours expected
+		 */
+		public Builder(int capacity) {
+			this.size = 0;
+			this.dt = new long[capacity];
+			this.condition = new int[capacity];
+			this.weatherCode = new int[capacity];
+			this.temperature = new float[capacity];
+			this.temperatureFeelsLike = new float[capacity];
+			this.pressure = new int[capacity];
+			this.humidity = new int[capacity];
+			this.dewPoint = new float[capacity];
+			this.cloudiness = new int[capacity];
+			this.visibility = new int[capacity];
+			this.uvIndex = new int[capacity];
+			this.windSpeed = new float[capacity];
+			this.windGustSpeed = new float[capacity];
+			this.windDirection = new short[capacity];
+			this.pop = new float[capacity];
+			this.rain = new float[capacity];
+			this.snow = new float[capacity];
+		}
+
+
+		/**
+		 * addHour()
+		 * <p>
+		 * Used to start a new hour, it has no weather condition until setCondition() is called
+		 * </p>
+		 *
+		 * @return This builder
+		 */
+		public Builder addHour() {
+			if (size == dt.length) resize(Math.max(1, size * 2));
+			condition[size] = WeatherConditions.UNKNOWN;
+			size++;
+			return this;
+		}
+
+
+		/**
+		 * addOWMData(@NonNull JsonReader hourlyWeather) throws IOException
+		 * <p>
+		 * Used to decode an hour of a One Call response and add it
+		 * </p>
+		 *
+		 * @param hourlyWeather JsonReader positioned on the hour object
+		 * @return This builder
+		 * @throws IOException If the hour object is malformed or misses a field OWM always sends
+		 */
+		public Builder addOWMData(@NonNull JsonReader hourlyWeather) throws IOException {
+			addHour();
+
+			int readFields = 0;
+
+			hourlyWeather.beginObject();
+			while (hourlyWeather.hasNext()) {
+				switch (hourlyWeather.nextName()) {
+					//  Time
+					case "dt":
+						setDt(hourlyWeather.nextLong() * 1000);
+						readFields |= OWM_DT;
+						break;
+
+					//    Weather descriptions
+					case "weather":
+						setCondition(OWMJsonReader.nextCondition(hourlyWeather));
+						readFields |= OWM_WEATHER;
+						break;
+
+					//  Temperatures
+					case "temp":
+						setTemperature(OWMJsonReader.nextFloat(hourlyWeather));
+						readFields |= OWM_TEMP;
+						break;
+					case "feels_like":
+						setTemperatureFeelsLike(OWMJsonReader.nextFloat(hourlyWeather));
+						readFields |= OWM_FEELS_LIKE;
+						break;
+
+					//  Pressure, Humidity, Visibility, cloudiness, dewPoint and uvIndex
+					case "pressure":
+						setPressure(OWMJsonReader.nextInt(hourlyWeather));
+						readFields |= OWM_PRESSURE;
+						break;
+					case "humidity":
+						setHumidity(OWMJsonReader.nextInt(hourlyWeather));
+						readFields |= OWM_HUMIDITY;
+						break;
+					case "dew_point":
+						setDewPoint(OWMJsonReader.nextFloat(hourlyWeather));
+						readFields |= OWM_DEW_POINT;
+						break;
+					case "visibility":
+						setVisibility(OWMJsonReader.nextInt(hourlyWeather));
+						readFields |= OWM_VISIBILITY;
+						break;
+					case "clouds":
+						setCloudiness(OWMJsonReader.nextInt(hourlyWeather));
+						readFields |= OWM_CLOUDS;
+						break;
+					case "uvi":
+						setUvIndex(OWMJsonReader.nextInt(hourlyWeather));
+						readFields |= OWM_UVI;
+						break;
+
+					//  Wind
+					case "wind_speed":
+						setWindSpeed(OWMJsonReader.nextFloat(hourlyWeather));
+						readFields |= OWM_WIND_SPEED;
+						break;
+					case "wind_deg":
+						setWindDirection((short) OWMJsonReader.nextInt(hourlyWeather));
+						readFields |= OWM_WIND_DEG;
+						break;
+					////    Wind Gusts
+					case "wind_gust":
+						setWindGustSpeed(OWMJsonReader.nextFloat(hourlyWeather));
+						break;
+
+					//  Precipitations
+					////    PoP -   Probability of Precipitations
+					case "pop":
+						setPop(OWMJsonReader.nextFloat(hourlyWeather));
+						readFields |= OWM_POP;
+						break;
+					////    Rain
+					case "rain":
+						setRain(OWMJsonReader.nextOneHourValue(hourlyWeather));
+						break;
+					////    Snow
+					case "snow":
+						setSnow(OWMJsonReader.nextOneHourValue(hourlyWeather));
+						break;
+
+					default:
+						hourlyWeather.skipValue();
+						break;
+				}
+			}
+			hourlyWeather.endObject();
+			OWMJsonReader.checkRequiredFields(readFields, REQUIRED_OWM_FIELDS, "hourly");
+			return this;
+		}
+
+
+		public Builder setDt(long dt) {
+			this.dt[size - 1] = dt;
+			return this;
+		}
+
+		/**
+		 * setCondition(int conditionId)
+		 * <p>
+		 * Used to give the weather condition of the hour, its weather code is set with it
+		 * </p>
+		 *
+		 * @param conditionId Id given by WeatherConditions.intern()
+		 * @return This builder
+		 */
+		public Builder setCondition(int conditionId) {
+			this.condition[size - 1] = conditionId;
+			this.weatherCode[size - 1] = WeatherConditions.getWeatherCode(conditionId);
+			return this;
+		}
+
+		public Builder setTemperature(float temperature) {
+			this.temperature[size - 1] = temperature;
+			return this;
+		}
+
+		public Builder setTemperatureFeelsLike(float temperatureFeelsLike) {
+			this.temperatureFeelsLike[size - 1] = temperatureFeelsLike;
+			return this;
+		}
+
+		public Builder setPressure(int pressure) {
+			this.pressure[size - 1] = pressure;
+			return this;
+		}
+
+		public Builder setHumidity(int humidity) {
+			this.humidity[size - 1] = humidity;
+			return this;
+		}
+
+		public Builder setDewPoint(float dewPoint) {
+			this.dewPoint[size - 1] = dewPoint;
+			return this;
+		}
+
+		public Builder setCloudiness(int cloudiness) {
+			this.cloudiness[size - 1] = cloudiness;
+			return this;
+		}
+
+		public Builder setVisibility(int visibility) {
+			this.visibility[size - 1] = visibility;
+			return this;
+		}
+
+		public Builder setUvIndex(int uvIndex) {
+			this.uvIndex[size - 1] = uvIndex;
+			return this;
+		}
+
+		public Builder setWindSpeed(float windSpeed) {
+			this.windSpeed[size - 1] = windSpeed;
+			return this;
+		}
+
+		public Builder setWindGustSpeed(float windGustSpeed) {
+			this.windGustSpeed[size - 1] = windGustSpeed;
+			return this;
+		}
+
+		public Builder setWindDirection(short windDirection) {
+			this.windDirection[size - 1] = windDirection;
+			return this;
+		}
+
+		public Builder setPop(float pop) {
+			this.pop[size - 1] = pop;
+			return this;
+		}
+
+		public Builder setRain(float rain) {
+			this.rain[size - 1] = rain;
+			return this;
+		}
+
+		public Builder setSnow(float snow) {
+			this.snow[size - 1] = snow;
+			return this;
+		}
+
+
+		/**
+		 * build()
+		 * <p>
+		 * Used to get the columns of the hours added, the builder must not be used after
+		 * </p>
+		 *
+		 * @return The columns
+		 */
+		@NonNull
+		public HourlyForecastColumns build() {
+			if (size != dt.length) resize(size);
+			return new HourlyForecastColumns(this);
+		}
+
+		private void resize(int capacity) {
+			this.dt = Arrays.copyOf(this.dt, capacity);
+			this.condition = Arrays.copyOf(this.condition, capacity);
+			this.weatherCode = Arrays.copyOf(this.weatherCode, capacity);
+			this.temperature = Arrays.copyOf(this.temperature, capacity);
+			this.temperatureFeelsLike = Arrays.copyOf(this.temperatureFeelsLike, capacity);
+			this.pressure = Arrays.copyOf(this.pressure, capacity);
+			this.humidity = Arrays.copyOf(this.humidity, capacity);
+			this.dewPoint = Arrays.copyOf(this.dewPoint, capacity);
+			this.cloudiness = Arrays.copyOf(this.cloudiness, capacity);
+			this.visibility = Arrays.copyOf(this.visibility, capacity);
+			this.uvIndex = Arrays.copyOf(this.uvIndex, capacity);
+			this.windSpeed = Arrays.copyOf(this.windSpeed, capacity);
+			this.windGustSpeed = Arrays.copyOf(this.windGustSpeed, capacity);
+			this.windDirection = Arrays.copyOf(this.windDirection, capacity);
+			this.pop = Arrays.copyOf(this.pop, capacity);
+			this.rain = Arrays.copyOf(this.rain, capacity);
+			this.snow = Arrays.copyOf(this.snow, capacity);
+		}
+	}
+}
@@ -1,11 +1,11 @@
 package fr.qgdev.openweather.weather;
 
+
 import androidx.annotation.NonNull;
 
 import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.math.BigDecimal;
 
 public class HourlyWeatherForecast {
 
@@ -71,13 +71,13 @@ public class HourlyWeatherForecast {
         this.weatherCode = hourlyWeatherForecast.getInt("weather_code");
 
         //  Temperatures
-        this.temperature = BigDecimal.valueOf(hourlyWeatherForecast.getDouble("temperature")).floatValue();
-        this.temperatureFeelsLike = BigDecimal.valueOf(hourlyWeatherForecast.getDouble("temperature_feels_like")).floatValue();
+        this.temperature = OWMDecimal.toFloat(hourlyWeatherForecast.getDouble("temperature"));
+        this.temperatureFeelsLike = OWMDecimal.toFloat(hourlyWeatherForecast.getDouble("temperature_feels_like"));
 
         //  Pressure, Humidity, dew point, Cloudiness, Visibility
         this.pressure = hourlyWeatherForecast.getInt("pressure");
         this.humidity = hourlyWeatherForecast.getInt("humidity");
-        this.dewPoint = BigDecimal.valueOf(hourlyWeatherForecast.getDouble("dew_point")).floatValue();
+        this.dewPoint = OWMDecimal.toFloat(hourlyWeatherForecast.getDouble("dew_point"));
         this.cloudiness = hourlyWeatherForecast.getInt("cloudiness");
         this.visibility = hourlyWeatherForecast.getInt("visibility");
         //  To assure retrocompatibility with older versions
@@ -85,17 +85,17 @@ public class HourlyWeatherForecast {
         else this.uvIndex = 0;
 
         //  Wind
-        this.windSpeed = BigDecimal.valueOf(hourlyWeatherForecast.getDouble("wind_speed")).floatValue();
-        this.windGustSpeed = BigDecimal.valueOf(hourlyWeatherForecast.getDouble("wind_gust_speed")).floatValue();
-        this.windDirection = BigDecimal.valueOf(hourlyWeatherForecast.getInt("wind_direction")).shortValue();
+        this.windSpeed = OWMDecimal.toFloat(hourlyWeatherForecast.getDouble("wind_speed"));
+        this.windGustSpeed = OWMDecimal.toFloat(hourlyWeatherForecast.getDouble("wind_gust_speed"));
+        this.windDirection = (short) hourlyWeatherForecast.getInt("wind_direction");
 
         //  Precipitations
         ////    PoP -   Probability of Precipitations
-        this.pop = BigDecimal.valueOf(hourlyWeatherForecast.getDouble("pop")).floatValue();
+        this.pop = OWMDecimal.toFloat(hourlyWeatherForecast.getDouble("pop"));
         ////    Rain
-        this.rain = BigDecimal.valueOf(hourlyWeatherForecast.getDouble("rain")).floatValue();
+        this.rain = OWMDecimal.toFloat(hourlyWeatherForecast.getDouble("rain"));
         ////    Snow
-        this.snow = BigDecimal.valueOf(hourlyWeatherForecast.getDouble("snow")).floatValue();
+        this.snow = OWMDecimal.toFloat(hourlyWeatherForecast.getDouble("snow"));
     }
 
     public void fillWithOWMData(JSONObject hourlyWeather) throws JSONException
@@ -110,39 +110,39 @@ public class HourlyWeatherForecast {
         this.weatherCode = hourlyForecastWeatherDescriptionsJSON.getInt("id");
 
         //  Temperatures
-        this.temperature = BigDecimal.valueOf(hourlyWeather.getDouble("temp")).floatValue();
-        this.temperatureFeelsLike = BigDecimal.valueOf(hourlyWeather.getDouble("feels_like")).floatValue();
+        this.temperature = OWMDecimal.toFloat(hourlyWeather.getDouble("temp"));
+        this.temperatureFeelsLike = OWMDecimal.toFloat(hourlyWeather.getDouble("feels_like"));
 
         //  Pressure, Humidity, Visibility, cloudiness, dewPoint and uvIndex
         this.pressure = hourlyWeather.getInt("pressure");
         this.humidity = hourlyWeather.getInt("humidity");
-        this.dewPoint = BigDecimal.valueOf(hourlyWeather.getDouble("dew_point")).floatValue();
+        this.dewPoint = OWMDecimal.toFloat(hourlyWeather.getDouble("dew_point"));
         this.visibility = hourlyWeather.getInt("visibility");
         this.cloudiness = hourlyWeather.getInt("clouds");
-        this.uvIndex = BigDecimal.valueOf(hourlyWeather.getDouble("uvi")).intValue();
+        this.uvIndex = (int) hourlyWeather.getDouble("uvi");
 
         //  Wind
-        this.windSpeed = BigDecimal.valueOf(hourlyWeather.getDouble("wind_speed")).floatValue();
-        this.windDirection = BigDecimal.valueOf(hourlyWeather.getInt("wind_deg")).shortValue();
+        this.windSpeed = OWMDecimal.toFloat(hourlyWeather.getDouble("wind_speed"));
+        this.windDirection = (short) hourlyWeather.getInt("wind_deg");
         ////    Wind Gusts
         if (hourlyWeather.has("wind_gust")) {
-            this.windGustSpeed = BigDecimal.valueOf(hourlyWeather.getDouble("wind_gust")).floatValue();
+            this.windGustSpeed = OWMDecimal.toFloat(hourlyWeather.getDouble("wind_gust"));
         } else {
             this.windGustSpeed = 0;
         }
 
         //  Precipitations
         ////    PoP -   Probability of Precipitations
-        this.pop = BigDecimal.valueOf(hourlyWeather.getDouble("pop")).floatValue();
+        this.pop = OWMDecimal.toFloat(hourlyWeather.getDouble("pop"));
         ////    Rain
         if (hourlyWeather.has("rain") && hourlyWeather.getJSONObject("rain").has("1h")) {
-            this.rain = BigDecimal.valueOf(hourlyWeather.getJSONObject("rain").getDouble("1h")).floatValue();
+            this.rain = OWMDecimal.toFloat(hourlyWeather.getJSONObject("rain").getDouble("1h"));
         } else {
             this.rain = 0;
         }
         ////    Snow
         if (hourlyWeather.has("snow") && hourlyWeather.getJSONObject("snow").has("1h")) {
-            this.snow = BigDecimal.valueOf(hourlyWeather.getJSONObject("snow").getDouble("1h")).floatValue();
+            this.snow = OWMDecimal.toFloat(hourlyWeather.getJSONObject("snow").getDouble("1h"));
         } else {
             this.snow = 0;
         }
@@ -1,14 +1,21 @@
 package fr.qgdev.openweather.weather;
 
+import android.util.JsonReader;
+
 import androidx.annotation.NonNull;
 
 import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.math.BigDecimal;
+import java.io.IOException;
 
 public class MinutelyWeatherForecast {
 
+	//  Fields OWM always sends, one bit each in the order of REQUIRED_OWM_FIELDS
+	private static final int OWM_DT = 1;
+	private static final int OWM_PRECIPITATION = 1 << 1;
+	private static final String[] REQUIRED_OWM_FIELDS = {"dt", "precipitation"};
+
 	public long dt;
 	public float precipitation;
 
@@ -24,12 +31,35 @@ public class MinutelyWeatherForecast {
 
 	public MinutelyWeatherForecast(JSONObject minutelyWeatherForecast) throws JSONException {
 		this.dt = minutelyWeatherForecast.getLong("dt");
-		this.precipitation = BigDecimal.valueOf(minutelyWeatherForecast.getDouble("precipitation")).floatValue();
+		this.precipitation = OWMDecimal.toFloat(minutelyWeatherForecast.getDouble("precipitation"));
 	}
 
 	public void fillWithOWMData(JSONObject minutelyWeather) throws JSONException {
 		this.dt = minutelyWeather.getLong("dt") * 1000;
-		this.precipitation = BigDecimal.valueOf(minutelyWeather.getDouble("precipitation")).floatValue();
+		this.precipitation = OWMDecimal.toFloat(minutelyWeather.getDouble("precipitation"));
+	}
+
+	public void fillWithOWMData(JsonReader minutelyWeather) throws IOException {
+		int readFields = 0;
+
+		minutelyWeather.beginObject();
+		while (minutelyWeather.hasNext()) {
+			switch (minutelyWeather.nextName()) {
+				case "dt":
+					this.dt = minutelyWeather.nextLong() * 1000;
+					readFields |= OWM_DT;
+					break;
+				case "precipitation":
+					this.precipitation = OWMJsonReader.nextFloat(minutelyWeather);
+					readFields |= OWM_PRECIPITATION;
+					break;
+				default:
+					minutelyWeather.skipValue();
+					break;
+			}
+		}
+		minutelyWeather.endObject();
+		OWMJsonReader.checkRequiredFields(readFields, REQUIRED_OWM_FIELDS, "minutely");
 	}
 
     public JSONObject getJSONObject() throws JSONException
@@ -0,0 +1,43 @@
+package fr.qgdev.openweather.weather;
+
+/**
+ * OWMDecimal
+ * <p>
+ * Conversion of the decimal values sent by OpenWeatherMap to the float fields of the weather classes<br>
+ * It gives the same float as BigDecimal.valueOf(value).floatValue(), the float nearest to the decimal form of the double,
+ * without allocating anything
+ * </p>
+ *
+ * @author Quentin GOMES DOS REIS
+ * @version 1
+ */
+final class OWMDecimal {
+
+    private OWMDecimal() {
+    }
+
+    /**
+     * toFloat(double value)
+     * <p>
+     * A double is rounded once to a float, like its decimal form would be<br>
+     * A negative zero becomes 0 because BigDecimal has no negative zero<br>
+     * Only a double exactly halfway between two floats can be rounded differently from its decimal form,
+     * this case is never sent by OWM but is still solved through the decimal form
+     * </p>
+     *
+     * @param value The decoded double
+     * @return The nearest float of the decimal form of value
+     */
+    static float toFloat(double value) {
+        float floatValue = (float) value;
+        double lowerError = value - floatValue;
+        //  + 0 turns -0 into 0 like BigDecimal does
+        if (lowerError == 0 || Float.isInfinite(floatValue)) return floatValue + 0.0f;
+
+        //  Both differences are exact, value and the two floats are close enough
+        float otherFloatValue = Math.nextAfter(floatValue, value);
+        if (otherFloatValue - value != lowerError) return floatValue;
+
+        return Float.parseFloat(Double.toString(value));
+    }
+}
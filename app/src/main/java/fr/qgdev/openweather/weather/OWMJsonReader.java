@@ -0,0 +1,170 @@
+package fr.qgdev.openweather.weather;
+
+import android.util.JsonReader;
+import android.util.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * OWMJsonReader
+ * <p>
+ * Small set of helpers used by the weather classes to read OpenWeatherMap values directly from a JsonReader<br>
+ * They reproduce the conversions done with JSONObject getters so both decoding paths give the same values
+ * </p>
+ *
+ * @author Quentin GOMES DOS REIS
+ * @version 2
+ * @see JsonReader
+ */
+final class OWMJsonReader {
+
+    //  Fields of a weather condition, in the order of CONDITION_FIELDS
+    static final int CONDITION_MAIN = 1;
+    static final int CONDITION_DESCRIPTION = 1 << 1;
+    static final int CONDITION_ID = 1 << 2;
+    static final String[] CONDITION_FIELDS = {"main", "description", "id"};
+
+    private OWMJsonReader() {
+    }
+
+    /**
+     * checkRequiredFields(int readFields, @NonNull String[] requiredFields, @NonNull String objectName) throws IOException
+     * <p>
+     * Used at the end of an object to verify that every field OWM always sends was read, like JSONObject getters do<br>
+     * Bit i of readFields is set when requiredFields[i] is read
+     * </p>
+     *
+     * @param readFields     Bitmask of the required fields read
+     * @param requiredFields Names of the required fields, in the order of their bit
+     * @param objectName     Name of the object, used in the error message
+     * @throws IOException If a required field was not read
+     */
+    static void checkRequiredFields(int readFields, String[] requiredFields, String objectName) throws IOException {
+        int missingFields = ~readFields & ((1 << requiredFields.length) - 1);
+        if (missingFields != 0) {
+            throw new IOException(objectName + " has no " + requiredFields[Integer.numberOfTrailingZeros(missingFields)] + " field");
+        }
+    }
+
+    /**
+     * nextInt(@NonNull JsonReader reader) throws IOException
+     * <p>
+     * Read a number and truncate it to an int like JSONObject.getInt() does<br>
+     * OWM sometimes sends decimal values (like uvi) where an int is stored
+     * </p>
+     *
+     * @param reader JsonReader positioned on a number
+     * @return The truncated value
+     * @throws IOException If the value is not a number
+     */
+    static int nextInt(JsonReader reader) throws IOException {
+        return (int) reader.nextDouble();
+    }
+
+    /**
+     * nextFloat(@NonNull JsonReader reader) throws IOException
+     * <p>
+     * Read a number and convert it to a float
+     * </p>
+     *
+     * @param reader JsonReader positioned on a number
+     * @return The value as a float
+     * @throws IOException If the value is not a number
+     */
+    static float nextFloat(JsonReader reader) throws IOException {
+        return OWMDecimal.toFloat(reader.nextDouble());
+    }
+
+    /**
+     * nextOneHourValue(@NonNull JsonReader reader) throws IOException
+     * <p>
+     * Read a precipitation object like {"1h": 0.25} and return the 1h value<br>
+     * If there is no 1h value, 0 is returned
+     * </p>
+     *
+     * @param reader JsonReader positioned on the precipitation object
+     * @return The 1h precipitation value or 0
+     * @throws IOException If the object is malformed
+     */
+    static float nextOneHourValue(JsonReader reader) throws IOException {
+        float value = 0;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("1h")) {
+                value = nextFloat(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return value;
+    }
+
+    /**
+     * nextString(@NonNull JsonReader reader) throws IOException
+     * <p>
+     * Read a string value, a JSON null is read as an empty string
+     * </p>
+     *
+     * @param reader JsonReader positioned on a string
+     * @return The string value
+     * @throws IOException If the value is not a string
+     */
+    static String nextString(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return "";
+        }
+        return reader.nextString();
+    }
+
+    /**
+     * nextCondition(@NonNull JsonReader reader) throws IOException
+     * <p>
+     * Read a weather description array and give the id of its first condition in WeatherConditions<br>
+     * The first condition must have its main, description and id fields
+     * </p>
+     *
+     * @param reader JsonReader positioned on the weather description array
+     * @return The id of the condition
+     * @throws IOException If the array is malformed, empty or its first condition misses a field
+     */
+    static int nextCondition(JsonReader reader) throws IOException {
+        String weather = "";
+        String weatherDescription = "";
+        int weatherCode = 0;
+        int readFields = 0;
+
+        reader.beginArray();
+        //  Get only the first station
+        if (!reader.hasNext()) throw new IOException("weather has no condition");
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "main":
+                    weather = nextString(reader);
+                    readFields |= CONDITION_MAIN;
+                    break;
+                case "description":
+                    weatherDescription = nextString(reader);
+                    readFields |= CONDITION_DESCRIPTION;
+                    break;
+                case "id":
+                    weatherCode = nextInt(reader);
+                    readFields |= CONDITION_ID;
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        checkRequiredFields(readFields, CONDITION_FIELDS, "weather");
+        while (reader.hasNext()) reader.skipValue();
+        reader.endArray();
+
+        return WeatherConditions.intern(weatherCode, weather, weatherDescription);
+    }
+}
@@ -1,11 +1,15 @@
 package fr.qgdev.openweather.weather;
 
+import android.util.JsonReader;
+
 import androidx.annotation.NonNull;
 
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
 import java.util.Date;
+import java.util.Objects;
 
 public class WeatherAlert {
     private String sender;
@@ -14,6 +18,14 @@ public class WeatherAlert {
     private long end_dt;
     private String description;
 
+    //  Fields OWM always sends, one bit each in the order of REQUIRED_OWM_FIELDS
+    private static final int OWM_SENDER_NAME = 1;
+    private static final int OWM_EVENT = 1 << 1;
+    private static final int OWM_START = 1 << 2;
+    private static final int OWM_END = 1 << 3;
+    private static final int OWM_DESCRIPTION = 1 << 4;
+    private static final String[] REQUIRED_OWM_FIELDS = {"sender_name", "event", "start", "end", "description"};
+
     public WeatherAlert(){}
 
     public WeatherAlert(String sender, String event, long start_dt, long end_dt, String description) {
@@ -42,6 +54,42 @@ public class WeatherAlert {
         this.description = weatherAlert.getString("description");
     }
 
+    public void fillWithOWMData(JsonReader weatherAlert) throws IOException
+    {
+        int readFields = 0;
+
+        weatherAlert.beginObject();
+        while (weatherAlert.hasNext()) {
+            switch (weatherAlert.nextName()) {
+                case "sender_name":
+                    this.sender = OWMJsonReader.nextString(weatherAlert);
+                    readFields |= OWM_SENDER_NAME;
+                    break;
+                case "event":
+                    this.event = OWMJsonReader.nextString(weatherAlert);
+                    readFields |= OWM_EVENT;
+                    break;
+                case "start":
+                    this.start_dt = weatherAlert.nextLong() * 1000;
+                    readFields |= OWM_START;
+                    break;
+                case "end":
+                    this.end_dt = weatherAlert.nextLong() * 1000;
+                    readFields |= OWM_END;
+                    break;
+                case "description":
+                    this.description = OWMJsonReader.nextString(weatherAlert);
+                    readFields |= OWM_DESCRIPTION;
+                    break;
+                default:
+                    weatherAlert.skipValue();
+                    break;
+            }
+        }
+        weatherAlert.endObject();
+        OWMJsonReader.checkRequiredFields(readFields, REQUIRED_OWM_FIELDS, "alert");
+    }
+
     public String getSender() {
         return sender;
     }
@@ -87,4 +135,21 @@ public class WeatherAlert {
     public WeatherAlert clone() {
         return new WeatherAlert(this.sender, this.event, this.start_dt, this.end_dt, this.description);
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof WeatherAlert)) return false;
+        WeatherAlert that = (WeatherAlert) o;
+        return start_dt == that.start_dt &&
+                end_dt == that.end_dt &&
+                Objects.equals(sender, that.sender) &&
+                Objects.equals(event, that.event) &&
+                Objects.equals(description, that.description);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(sender, event, start_dt, end_dt);
+    }
 }
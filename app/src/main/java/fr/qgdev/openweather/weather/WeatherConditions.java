@@ -0,0 +1,125 @@
+package fr.qgdev.openweather.weather;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Objects;
+
+/**
+ * WeatherConditions
+ * <p>
+ * Process wide table of the weather conditions sent by OpenWeatherMap<br>
+ * A condition is the weather code with its weather and weather description texts, each distinct condition is stored once
+ * and forecasts only keep its id
+ * </p>
+ *
+ * @author Quentin GOMES DOS REIS
+ * @version 1
+ * @see HourlyForecastColumns
+ * @see DailyForecastColumns
+ */
+public final class WeatherConditions {
+
+	private static final HashMap<Condition, Integer> conditionIds = new HashMap<>();
+	private static final ArrayList<Condition> conditions = new ArrayList<>();
+
+	//  Condition of a forecast OWM sent without weather, the texts are empty like in the weather classes
+	public static final int UNKNOWN = intern(0, "", "");
+
+
+	private WeatherConditions() {
+	}
+
+
+	/**
+	 * intern(int weatherCode, String weather, String weatherDescription)
+	 * <p>
+	 * Used to get the id of a condition, the condition is added to the table the first time it is seen
+	 * </p>
+	 *
+	 * @param weatherCode        The OWM weather code
+	 * @param weather            The weather text
+	 * @param weatherDescription The weather description text
+	 * @return The id of the condition
+	 */
+	public static synchronized int intern(int weatherCode, String weather, String weatherDescription) {
+		Condition condition = new Condition(weatherCode, weather, weatherDescription);
+		Integer conditionId = conditionIds.get(condition);
+
+		if (conditionId == null) {
+			conditionId = conditions.size();
+			conditions.add(condition);
+			conditionIds.put(condition, conditionId);
+		}
+		return conditionId;
+	}
+
+
+	/**
+	 * getWeather(int conditionId)
+	 * <p>
+	 * Used to get the weather text of a condition
+	 * </p>
+	 *
+	 * @param conditionId Id given by intern
+	 * @return The weather text
+	 */
+	public static synchronized String getWeather(int conditionId) {
+		return conditions.get(conditionId).weather;
+	}
+
+
+	/**
+	 * getWeatherCode(int conditionId)
+	 * <p>
+	 * Used to get the OWM weather code of a condition
+	 * </p>
+	 *
+	 * @param conditionId Id given by intern
+	 * @return The OWM weather code
+	 */
+	public static synchronized int getWeatherCode(int conditionId) {
+		return conditions.get(conditionId).weatherCode;
+	}
+
+
+	/**
+	 * getWeatherDescription(int conditionId)
+	 * <p>
+	 * Used to get the weather description text of a condition
+	 * </p>
+	 *
+	 * @param conditionId Id given by intern
+	 * @return The weather description text
+	 */
+	public static synchronized String getWeatherDescription(int conditionId) {
+		return conditions.get(conditionId).weatherDescription;
+	}
+
+
+	private static final class Condition {
+		private final int weatherCode;
+		private final String weather;
+		private final String weatherDescription;
+
+		private Condition(int weatherCode, String weather, String weatherDescription) {
+			this.weatherCode = weatherCode;
+			this.weather = weather;
+			this.weatherDescription = weatherDescription;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (!(o instanceof Condition)) return false;
+			Condition condition = (Condition) o;
+			return weatherCode == condition.weatherCode &&
+					Objects.equals(weather, condition.weather) &&
+					Objects.equals(weatherDescription, condition.weatherDescription);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(weatherCode, weather, weatherDescription);
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package fr.qgdev.openweather;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Numbers appended by NumberAppender must be the ones String.format gives
+ */
+public class NumberAppenderTest {
+
+	private static final Locale[] LOCALES = {Locale.US, Locale.FRANCE, new Locale("ar", "EG")};
+
+	private static final float[] VALUES = {0F, -0F, 0.25F, -0.25F, 0.125F, 0.005F, 0.05F, 0.5F, 1.5F, 2.5F, -2.5F,
+			0.95F, 9.995F, 99.95F, -0.04F, 1013.25F, 29.92F, 273.15F, 100000F, 123456.79F, 1.0E9F, -1.0E9F,
+			3.0E15F, 1.0E30F, Float.MIN_VALUE, Float.MAX_VALUE, -Float.MAX_VALUE,
+			Float.NaN, Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY};
+
+
+	@Test
+	public void appendFloat_sameAsStringFormat() {
+		for (Locale locale : LOCALES) {
+			NumberAppender numberAppender = new NumberAppender(locale);
+			for (float value : VALUES) {
+				assertFloatFormat(locale, numberAppender, value);
+			}
+		}
+	}
+
+	@Test
+	public void appendFloat_randomValues_sameAsStringFormat() {
+		Random random = new Random(42);
+
+		for (Locale locale : LOCALES) {
+			NumberAppender numberAppender = new NumberAppender(locale);
+			for (int index = 0; index < 5000; index++) {
+				//  Weather values and values with a lot of decimals
+				assertFloatFormat(locale, numberAppender, (random.nextFloat() - 0.5F) * 2000F);
+				assertFloatFormat(locale, numberAppender, Math.round(random.nextFloat() * 100000F) / 1000F + 0.0005F);
+				assertFloatFormat(locale, numberAppender, Float.intBitsToFloat(random.nextInt()));
+			}
+		}
+	}
+
+	@Test
+	public void appendInt_sameAsStringFormat() {
+		Random random = new Random(42);
+
+		for (Locale locale : LOCALES) {
+			NumberAppender numberAppender = new NumberAppender(locale);
+			for (float value : new float[]{0F, -0F, 0.9F, -0.9F, 25.7F, -25.7F, 2.147483647E9F, -2.147483648E9F, 5.0E9F, -5.0E9F}) {
+				assertIntFormat(locale, numberAppender, value);
+			}
+			for (int index = 0; index < 5000; index++) {
+				assertIntFormat(locale, numberAppender, (random.nextFloat() - 0.5F) * 2000F);
+			}
+		}
+	}
+
+	@Test
+	public void append_keepsWhatIsAlreadyInBuilder() {
+		NumberAppender numberAppender = new NumberAppender(Locale.US);
+		StringBuilder stringBuilder = new StringBuilder("Wind ");
+
+		numberAppender.appendFloat(stringBuilder, 12.345F, 1).append(" km/h, ");
+		numberAppender.appendInt(stringBuilder, 270F).append('°');
+
+		assertEquals("Wind 12.3 km/h, 270°", stringBuilder.toString());
+	}
+
+
+	private static void assertFloatFormat(Locale locale, NumberAppender numberAppender, float value) {
+		for (int decimals = 0; decimals <= NumberAppender.MAX_DECIMALS; decimals++) {
+			assertEquals(locale + " " + value + " " + decimals,
+					String.format(locale, "%." + decimals + "f", value),
+					numberAppender.appendFloat(new StringBuilder(), value, decimals).toString());
+		}
+	}
+
+	private static void assertIntFormat(Locale locale, NumberAppender numberAppender, float value) {
+		assertEquals(locale + " " + value,
+				String.format(locale, "%d", BigDecimal.valueOf(value).intValue()),
+				numberAppender.appendInt(new StringBuilder(), value).toString());
+	}
+}
@@ -0,0 +1,57 @@
+package fr.qgdev.openweather;
+
+import com.android.volley.Cache;
+import com.android.volley.NetworkResponse;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * OWM responses are cached with the times of their endpoint, even when the server asks to not store them
+ */
+public class OWMCachePolicyTest {
+
+	private static final byte[] DATA = "{\"lat\":48.85}".getBytes();
+
+
+	@Test
+	public void noStoreResponse_isCachedWithItsValidators() {
+		Map<String, String> headers = new HashMap<>();
+		headers.put("Cache-Control", "no-store");
+		headers.put("ETag", "\"owm\"");
+		headers.put("Last-Modified", "Sun, 17 Apr 2022 09:00:00 GMT");
+		headers.put("Date", "Sun, 17 Apr 2022 10:00:00 GMT");
+
+		long before = System.currentTimeMillis();
+		Cache.Entry entry = OWMCachePolicy.parseCacheHeaders(new NetworkResponse(DATA, headers), OWMCachePolicy.ONE_CALL_SOFT_TTL, OWMCachePolicy.ONE_CALL_TTL);
+
+		assertArrayEquals(DATA, entry.data);
+		assertEquals("\"owm\"", entry.etag);
+		assertEquals(1650186000000L, entry.lastModified);
+		assertEquals(1650189600000L, entry.serverDate);
+		assertTrue(entry.softTtl >= before + OWMCachePolicy.ONE_CALL_SOFT_TTL);
+		assertTrue(entry.ttl >= before + OWMCachePolicy.ONE_CALL_TTL);
+		assertEquals(headers, entry.responseHeaders);
+	}
+
+	@Test
+	public void response_hasTheTimesOfItsEndpoint() {
+		Map<String, String> headers = new HashMap<>();
+		headers.put("Cache-Control", "max-age=600");
+		headers.put("Date", "Sun, 17 Apr 2022 10:00:00 GMT");
+
+		long before = System.currentTimeMillis();
+		Cache.Entry entry = OWMCachePolicy.parseCacheHeaders(new NetworkResponse(DATA, headers), OWMCachePolicy.AIR_QUALITY_SOFT_TTL, OWMCachePolicy.AIR_QUALITY_TTL);
+		long after = System.currentTimeMillis();
+
+		assertEquals(1650189600000L, entry.serverDate);
+		assertTrue(entry.softTtl >= before + OWMCachePolicy.AIR_QUALITY_SOFT_TTL && entry.softTtl <= after + OWMCachePolicy.AIR_QUALITY_SOFT_TTL);
+		assertTrue(entry.ttl >= before + OWMCachePolicy.AIR_QUALITY_TTL && entry.ttl <= after + OWMCachePolicy.AIR_QUALITY_TTL);
+	}
+}
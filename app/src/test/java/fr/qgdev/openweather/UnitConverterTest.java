@@ -0,0 +1,82 @@
+package fr.qgdev.openweather;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Values converted with the tables of UnitConverter must be the ones given by the former conversions
+ */
+public class UnitConverterTest {
+
+	private static final String[] CARDINAL_POINTS = {"N", "NNE", "NE", "ENE", "E", "ESE", "SE", "SSE",
+			"S", "SSW", "SW", "WSW", "W", "WNW", "NW", "NNW"};
+
+
+	@Test
+	public void defaultUnits_metricCelsiusHectopascalCardinal() {
+		UnitConverter unitConverter = new UnitConverter("", "", "", "", CARDINAL_POINTS);
+
+		assertEquals("°C", unitConverter.getTemperatureUnit());
+		assertEquals("mm", unitConverter.getShortDistanceUnit());
+		assertEquals("km", unitConverter.getDistanceUnit());
+		assertEquals("km/h", unitConverter.getSpeedUnit());
+		assertEquals("hPa", unitConverter.getPressureUnit());
+		assertEquals(0, unitConverter.getPressureDecimals());
+		assertFalse(unitConverter.isDirectionInDegrees());
+	}
+
+	@Test
+	public void conversions_sameAsFormerFormulas() {
+		UnitConverter metric = new UnitConverter("", "", UnitConverter.MILLIBAR, "", CARDINAL_POINTS);
+		UnitConverter imperial = new UnitConverter(UnitConverter.FAHRENHEIT, UnitConverter.IMPERIAL, UnitConverter.PSI, UnitConverter.ANGULAR, CARDINAL_POINTS);
+		UnitConverter inchesOfMercury = new UnitConverter("", "", UnitConverter.INCH_OF_MERCURY, "", CARDINAL_POINTS);
+		Random random = new Random(42);
+
+		assertTrue(imperial.isDirectionInDegrees());
+		for (int index = 0; index < 10000; index++) {
+			float value = random.nextFloat() * 2000F;
+
+			assertEquals(value - 273.15F, metric.convertTemperature(value), 0F);
+			assertEquals((value - 273.15F) * (9F / 5F) + 32, imperial.convertTemperature(value), 0F);
+			assertEquals(value, metric.convertShortDistance(value), 0F);
+			assertEquals(value * 0.0393701F, imperial.convertShortDistance(value), 0F);
+			assertEquals(value / 1000F, metric.convertDistance(value), 0F);
+			assertEquals(value * 0.000621371F, imperial.convertDistance(value), 0F);
+			assertEquals(value * 3.6F, metric.convertSpeed(value), 0F);
+			assertEquals(value * 2.23694F, imperial.convertSpeed(value), 0F);
+			assertEquals(value, metric.convertPressure(value), 0F);
+			assertEquals(value * 0.0145038F, imperial.convertPressure(value), 0F);
+			assertEquals(value * 0.02953F, inchesOfMercury.convertPressure(value), 0F);
+		}
+	}
+
+	@Test
+	public void cardinalPoints_sameAsFormerBoundaries() {
+		UnitConverter unitConverter = new UnitConverter("", "", "", "", CARDINAL_POINTS);
+
+		for (short direction = 0; direction <= 360; direction++) {
+			assertEquals(String.valueOf(direction), formerCardinalPoint(direction), unitConverter.getCardinalPoint(direction));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void missingCardinalPoints_throws() {
+		new UnitConverter("", "", "", "", new String[]{"N", "E", "S", "W"});
+	}
+
+
+	//  Each cardinal point covers 22.5°, the north is centered on 0°
+	private static String formerCardinalPoint(short direction) {
+		if (direction > 348.75 || direction < 11.25) return CARDINAL_POINTS[0];
+		for (int index = 1; index < CARDINAL_POINTS.length; index++) {
+			if (direction > index * 22.5 - 11.25 && direction < index * 22.5 + 11.25)
+				return CARDINAL_POINTS[index];
+		}
+		return "N/A";
+	}
+}
@@ -0,0 +1,92 @@
+package fr.qgdev.openweather.adapter;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import fr.qgdev.openweather.Place;
+import fr.qgdev.openweather.weather.AirQuality;
+import fr.qgdev.openweather.weather.CurrentWeather;
+import fr.qgdev.openweather.weather.HourlyForecastColumns;
+import fr.qgdev.openweather.weather.HourlyWeatherForecast;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Only the sections of a place that changed must be bound again
+ */
+public class PlaceCardStateTest {
+
+	private Place place;
+
+	@Before
+	public void setUp() {
+		place = new Place("Paris", "FR");
+
+		CurrentWeather currentWeather = new CurrentWeather();
+		currentWeather.temperature = 290.5F;
+		currentWeather.weatherDescription = "clear sky";
+		place.setCurrentWeather(currentWeather);
+	}
+
+	@Test
+	public void unboundCard_bindsAllSections() {
+		assertEquals(PlaceCardState.ALL_SECTIONS, PlaceCardState.getChangedSections(null, new PlaceCardState(place)));
+	}
+
+	@Test
+	public void sameData_bindsNothing() {
+		PlaceCardState previous = new PlaceCardState(place);
+
+		//  Same values in new objects, like a refresh bringing nothing new
+		place.setCurrentWeather(place.getCurrentWeather());
+		place.setAirQuality(place.getAirQuality());
+		place.setWeatherAlertsArrayList(new ArrayList<>());
+
+		assertEquals(0, PlaceCardState.getChangedSections(previous, new PlaceCardState(place)));
+	}
+
+	@Test
+	public void currentWeatherChange_bindsCurrentWeatherOnly() {
+		PlaceCardState previous = new PlaceCardState(place);
+
+		CurrentWeather currentWeather = place.getCurrentWeather();
+		currentWeather.temperature += 1;
+		place.setCurrentWeather(currentWeather);
+
+		assertEquals(PlaceCardState.CURRENT_WEATHER, PlaceCardState.getChangedSections(previous, new PlaceCardState(place)));
+	}
+
+	@Test
+	public void airQualityChange_bindsAirQualityOnly() {
+		PlaceCardState previous = new PlaceCardState(place);
+
+		AirQuality airQuality = place.getAirQuality();
+		airQuality.aqi = 3;
+		place.setAirQuality(airQuality);
+
+		assertEquals(PlaceCardState.AIR_QUALITY, PlaceCardState.getChangedSections(previous, new PlaceCardState(place)));
+	}
+
+	@Test
+	public void newHourlyForecasts_bindHourlyForecastOnly() {
+		PlaceCardState previous = new PlaceCardState(place);
+
+		ArrayList<HourlyWeatherForecast> hourlyWeatherForecastArrayList = new ArrayList<>();
+		hourlyWeatherForecastArrayList.add(new HourlyWeatherForecast());
+		place.setHourlyForecastColumns(new HourlyForecastColumns(hourlyWeatherForecastArrayList));
+
+		assertEquals(PlaceCardState.HOURLY_FORECAST, PlaceCardState.getChangedSections(previous, new PlaceCardState(place)));
+	}
+
+	@Test
+	public void timeZoneChange_bindsEverythingShownWithDates() {
+		PlaceCardState previous = new PlaceCardState(place);
+
+		place.setTimeZoneOffset(3600);
+
+		assertEquals(PlaceCardState.CURRENT_WEATHER | PlaceCardState.HOURLY_FORECAST | PlaceCardState.DAILY_FORECAST,
+				PlaceCardState.getChangedSections(previous, new PlaceCardState(place)));
+	}
+}
@@ -0,0 +1,132 @@
+package fr.qgdev.openweather.customView;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import fr.qgdev.openweather.Place;
+import fr.qgdev.openweather.weather.HourlyForecastColumns;
+import fr.qgdev.openweather.weather.HourlyWeatherForecast;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Graphs of a place must be prepared once for each forecast, and graphs of replaced forecasts must never be shown
+ */
+public class ForecastGraphRendererTest {
+
+	private final AtomicInteger preparedGraphs = new AtomicInteger();
+	private final CountDownLatch preparationAllowed = new CountDownLatch(1);
+	//  Tasks posted to the main thread, run by the test which plays the main thread
+	private final BlockingQueue<Runnable> mainTasks = new LinkedBlockingQueue<>();
+	private final List<Place> renderedPlaces = new ArrayList<>();
+
+	private ExecutorService executor;
+	private ForecastGraphRenderer forecastGraphRenderer;
+
+
+	@Before
+	public void setUp() {
+		executor = Executors.newSingleThreadExecutor();
+		forecastGraphRenderer = new ForecastGraphRenderer(placeGraphs -> {
+			try {
+				preparationAllowed.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			preparedGraphs.incrementAndGet();
+		}, executor, mainTasks::add, renderedPlaces::add);
+	}
+
+	@After
+	public void tearDown() {
+		forecastGraphRenderer.release();
+	}
+
+	@Test
+	public void render_preparesGraphsOnceForTheSameForecasts() throws InterruptedException {
+		Place place = createPlace();
+
+		forecastGraphRenderer.render(place);
+		forecastGraphRenderer.render(place);
+		forecastGraphRenderer.render(place);
+		preparationAllowed.countDown();
+		takeMainTask().run();
+
+		assertEquals(1, preparedGraphs.get());
+		assertEquals(Collections.singletonList(place), renderedPlaces);
+
+		//  Graphs are ready, rendering again does nothing
+		forecastGraphRenderer.render(place);
+		assertNull(mainTasks.poll(100, TimeUnit.MILLISECONDS));
+		assertEquals(1, preparedGraphs.get());
+	}
+
+	@Test
+	public void graphsOfReplacedForecasts_areDropped() throws InterruptedException {
+		Place place = createPlace();
+		preparationAllowed.countDown();
+
+		forecastGraphRenderer.render(place);
+		Runnable staleGraphs = takeMainTask();
+		//  Forecasts are updated before the first graphs reach the main thread
+		place.setHourlyForecastColumns(createHourlyForecastColumns());
+		forecastGraphRenderer.render(place);
+		Runnable currentGraphs = takeMainTask();
+
+		staleGraphs.run();
+		assertTrue(renderedPlaces.isEmpty());
+
+		currentGraphs.run();
+		assertEquals(2, preparedGraphs.get());
+		assertEquals(Collections.singletonList(place), renderedPlaces);
+	}
+
+	@Test
+	public void release_dropsGraphsBeingPrepared() throws InterruptedException {
+		Place place = createPlace();
+		forecastGraphRenderer.render(place);
+
+		forecastGraphRenderer.release();
+		preparationAllowed.countDown();
+		Runnable mainTask = mainTasks.poll(1, TimeUnit.SECONDS);
+		if (mainTask != null) mainTask.run();
+		forecastGraphRenderer.render(place);
+
+		assertTrue(renderedPlaces.isEmpty());
+		assertTrue(executor.isShutdown());
+	}
+
+
+	private Runnable takeMainTask() throws InterruptedException {
+		Runnable mainTask = mainTasks.poll(5, TimeUnit.SECONDS);
+		assertNotNull("Graphs were not prepared", mainTask);
+		return mainTask;
+	}
+
+	private static Place createPlace() {
+		Place place = new Place("Paris", "FR");
+		place.setHourlyForecastColumns(createHourlyForecastColumns());
+		return place;
+	}
+
+	private static HourlyForecastColumns createHourlyForecastColumns() {
+		ArrayList<HourlyWeatherForecast> hourlyWeatherForecastArrayList = new ArrayList<>();
+		hourlyWeatherForecastArrayList.add(new HourlyWeatherForecast());
+		return new HourlyForecastColumns(hourlyWeatherForecastArrayList);
+	}
+}
@@ -0,0 +1,29 @@
+package fr.qgdev.openweather.customView;
+
+import org.junit.Test;
+
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Moon phases sent by OpenWeatherMap must be drawn from their bucket without any change
+ */
+public class ForecastRenderCacheTest {
+
+	@Test
+	public void moonPhaseBuckets_keepOWMPrecision() {
+		for (int hundredth = 0; hundredth <= ForecastRenderCache.MOON_PHASE_BUCKETS; hundredth++) {
+			float moonPhase = Float.parseFloat(String.format(Locale.ROOT, "%.2f", hundredth / 100D));
+			int bucket = ForecastRenderCache.getMoonPhaseBucket(moonPhase);
+
+			assertEquals(hundredth, bucket);
+			assertEquals(moonPhase, ForecastRenderCache.getBucketMoonPhase(bucket), 0);
+		}
+	}
+
+	@Test
+	public void moonPhaseBuckets_keepHalfMoon() {
+		assertEquals(0.5F, ForecastRenderCache.getBucketMoonPhase(ForecastRenderCache.getMoonPhaseBucket(0.5F)), 0);
+	}
+}
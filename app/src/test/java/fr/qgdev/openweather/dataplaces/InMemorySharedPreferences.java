@@ -0,0 +1,169 @@
+package fr.qgdev.openweather.dataplaces;
+
+import android.content.SharedPreferences;
+
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * InMemorySharedPreferences
+ * <p>
+ * SharedPreferences kept in a HashMap, so tests and benchmarks of DataPlaces don't use the XML file of Android<br>
+ * Commits and applies are immediate, listeners are called like Android does<br>
+ * Also compiled by the benchmark module
+ * </p>
+ */
+public final class InMemorySharedPreferences implements SharedPreferences {
+
+	private final Map<String, Object> values = new HashMap<>();
+	private final List<OnSharedPreferenceChangeListener> listeners = new ArrayList<>();
+
+
+	@Override
+	public Map<String, ?> getAll() {
+		return new HashMap<>(values);
+	}
+
+	@Nullable
+	@Override
+	public String getString(String key, @Nullable String defValue) {
+		Object value = values.get(key);
+		return value != null ? (String) value : defValue;
+	}
+
+	@Nullable
+	@Override
+	@SuppressWarnings("unchecked")
+	public Set<String> getStringSet(String key, @Nullable Set<String> defValues) {
+		Object value = values.get(key);
+		return value != null ? (Set<String>) value : defValues;
+	}
+
+	@Override
+	public int getInt(String key, int defValue) {
+		Object value = values.get(key);
+		return value != null ? (Integer) value : defValue;
+	}
+
+	@Override
+	public long getLong(String key, long defValue) {
+		Object value = values.get(key);
+		return value != null ? (Long) value : defValue;
+	}
+
+	@Override
+	public float getFloat(String key, float defValue) {
+		Object value = values.get(key);
+		return value != null ? (Float) value : defValue;
+	}
+
+	@Override
+	public boolean getBoolean(String key, boolean defValue) {
+		Object value = values.get(key);
+		return value != null ? (Boolean) value : defValue;
+	}
+
+	@Override
+	public boolean contains(String key) {
+		return values.containsKey(key);
+	}
+
+	@Override
+	public Editor edit() {
+		return new InMemoryEditor();
+	}
+
+	@Override
+	public void registerOnSharedPreferenceChangeListener(OnSharedPreferenceChangeListener listener) {
+		listeners.add(listener);
+	}
+
+	@Override
+	public void unregisterOnSharedPreferenceChangeListener(OnSharedPreferenceChangeListener listener) {
+		listeners.remove(listener);
+	}
+
+
+	private final class InMemoryEditor implements Editor {
+
+		private final Map<String, Object> modifications = new HashMap<>();
+		private boolean clear;
+
+		@Override
+		public Editor putString(String key, @Nullable String value) {
+			modifications.put(key, value);
+			return this;
+		}
+
+		@Override
+		public Editor putStringSet(String key, @Nullable Set<String> values) {
+			modifications.put(key, values != null ? new HashSet<>(values) : null);
+			return this;
+		}
+
+		@Override
+		public Editor putInt(String key, int value) {
+			modifications.put(key, value);
+			return this;
+		}
+
+		@Override
+		public Editor putLong(String key, long value) {
+			modifications.put(key, value);
+			return this;
+		}
+
+		@Override
+		public Editor putFloat(String key, float value) {
+			modifications.put(key, value);
+			return this;
+		}
+
+		@Override
+		public Editor putBoolean(String key, boolean value) {
+			modifications.put(key, value);
+			return this;
+		}
+
+		@Override
+		public Editor remove(String key) {
+			//  Like Android, a null value removes the key
+			modifications.put(key, null);
+			return this;
+		}
+
+		@Override
+		public Editor clear() {
+			clear = true;
+			return this;
+		}
+
+		@Override
+		public boolean commit() {
+			if (clear) values.clear();
+
+			for (Map.Entry<String, Object> modification : modifications.entrySet()) {
+				if (modification.getValue() == null) values.remove(modification.getKey());
+				else values.put(modification.getKey(), modification.getValue());
+
+				for (OnSharedPreferenceChangeListener listener : listeners) {
+					listener.onSharedPreferenceChanged(InMemorySharedPreferences.this, modification.getKey());
+				}
+			}
+			modifications.clear();
+			clear = false;
+			return true;
+		}
+
+		@Override
+		public void apply() {
+			commit();
+		}
+	}
+}
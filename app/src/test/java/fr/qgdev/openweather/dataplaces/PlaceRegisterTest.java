@@ -0,0 +1,130 @@
+package fr.qgdev.openweather.dataplaces;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * The register read again from the storage must be the one kept in memory
+ */
+public class PlaceRegisterTest {
+
+	private static final String LIST_KEY = "places_list";
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private InMemorySharedPreferences sharedPreferences;
+	private final ArrayDeque<Runnable> compactions = new ArrayDeque<>();
+
+
+	@Before
+	public void setUp() {
+		sharedPreferences = new InMemorySharedPreferences();
+	}
+
+	@Test
+	public void changes_areReplayedFromTheChangeLog() {
+		PlaceRegister placeRegister = createRegister();
+		placeRegister.add("PARIS/FR");
+		placeRegister.add("OSLO/NO");
+		placeRegister.add("LIMA/PE");
+		placeRegister.move(2, 0);
+		placeRegister.remove("OSLO/NO");
+		placeRegister.add("ROME/IT");
+
+		PlaceRegister readRegister = createRegister();
+		assertEquals(Arrays.asList("LIMA/PE", "PARIS/FR", "ROME/IT"), readRegister.getKeys());
+		assertEquals(1, readRegister.indexOf("PARIS/FR"));
+		assertEquals(-1, readRegister.indexOf("OSLO/NO"));
+		assertFalse(readRegister.contains("OSLO/NO"));
+
+		//  Replayed changes are compacted in background
+		assertEquals(1, compactions.size());
+	}
+
+	@Test
+	public void positions_followMoves() {
+		PlaceRegister placeRegister = createRegister();
+		for (int index = 0; index < 10; index++) {
+			placeRegister.add("PLACE/" + index);
+		}
+
+		placeRegister.move(1, 7);
+		placeRegister.move(8, 2);
+		placeRegister.remove("PLACE/5");
+
+		for (int position = 0; position < placeRegister.size(); position++) {
+			assertEquals(position, placeRegister.indexOf(placeRegister.get(position)));
+		}
+	}
+
+	@Test
+	public void compaction_storesTheListAndDeletesOldLogs() {
+		PlaceRegister placeRegister = createRegister();
+		for (int index = 0; index < PlaceRegister.COMPACTION_THRESHOLD; index++) {
+			placeRegister.add("PLACE/" + index);
+		}
+		assertEquals(1, compactions.size());
+
+		//  Changes done before the compaction runs are in the compacted list, later ones in the new change log
+		placeRegister.move(0, 1);
+		compactions.poll().run();
+		placeRegister.remove("PLACE/2");
+
+		assertEquals(PlaceRegister.COMPACTION_THRESHOLD, sharedPreferences.getString(LIST_KEY, "").split(",").length);
+		assertEquals(1, temporaryFolder.getRoot().listFiles().length);
+		assertEquals(placeRegister.getKeys(), createRegister().getKeys());
+		assertEquals("PLACE/1", placeRegister.get(0));
+	}
+
+	@Test
+	public void listOfOlderVersions_isRead() {
+		sharedPreferences.edit().putString(LIST_KEY, "[\"PARIS/FR\",\"OSLO/NO\"]").commit();
+
+		PlaceRegister placeRegister = createRegister();
+		placeRegister.add("LIMA/PE");
+
+		assertEquals(Arrays.asList("PARIS/FR", "OSLO/NO", "LIMA/PE"), createRegister().getKeys());
+	}
+
+	@Test
+	public void incompleteLastRecord_isIgnored() throws IOException {
+		PlaceRegister placeRegister = createRegister();
+		placeRegister.add("PARIS/FR");
+		placeRegister.add("OSLO/NO");
+
+		File logFile = temporaryFolder.getRoot().listFiles()[0];
+		byte[] log = Files.readAllBytes(logFile.toPath());
+		Files.write(logFile.toPath(), Arrays.copyOf(log, log.length - 3));
+
+		PlaceRegister readRegister = createRegister();
+		assertEquals(Arrays.asList("PARIS/FR"), readRegister.getKeys());
+
+		readRegister.add("LIMA/PE");
+		assertEquals(Arrays.asList("PARIS/FR", "LIMA/PE"), createRegister().getKeys());
+	}
+
+	@Test(expected = ArrayIndexOutOfBoundsException.class)
+	public void moveOutOfBounds_throws() {
+		PlaceRegister placeRegister = createRegister();
+		placeRegister.add("PARIS/FR");
+
+		placeRegister.move(0, 1);
+	}
+
+
+	private PlaceRegister createRegister() {
+		return new PlaceRegister(sharedPreferences, LIST_KEY, temporaryFolder.getRoot(), compactions::add);
+	}
+}
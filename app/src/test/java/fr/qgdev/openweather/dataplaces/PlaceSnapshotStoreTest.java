@@ -0,0 +1,216 @@
+package fr.qgdev.openweather.dataplaces;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import fr.qgdev.openweather.Place;
+import fr.qgdev.openweather.weather.CurrentWeather;
+import fr.qgdev.openweather.weather.HourlyForecastColumns;
+import fr.qgdev.openweather.weather.HourlyWeatherForecast;
+import fr.qgdev.openweather.weather.WeatherAlert;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * The place index must give back what the collapsed cards show, without the forecasts
+ */
+public class PlaceSnapshotStoreTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private PlaceSnapshotStore placeSnapshotStore;
+
+
+	@Before
+	public void setUp() {
+		placeSnapshotStore = new PlaceSnapshotStore(temporaryFolder.getRoot());
+	}
+
+	@Test
+	public void summary_keepsCurrentWeatherAndAlertsButNotForecasts() throws IOException {
+		Place place = createPlace("Paris", "FR", 290.5F);
+
+		assertTrue(placeSnapshotStore.updateIndex(Collections.singletonMap("PARIS/FR", PlaceSnapshotStore.encodeSummary(place)), Collections.emptySet()));
+		Place summary = placeSnapshotStore.readIndex().get("PARIS/FR");
+
+		assertFalse(summary.areForecastsLoaded());
+		assertEquals("Paris", summary.getCity());
+		assertEquals(place.getLastUpdate(), summary.getLastUpdate());
+		assertEquals(place.getCurrentWeather().temperature, summary.getCurrentWeather().temperature, 0F);
+		assertEquals(place.getCurrentWeather().weatherDescription, summary.getCurrentWeather().weatherDescription);
+		assertEquals(1, summary.getWeatherAlertsArrayList().size());
+		assertEquals(0, summary.getHourlyForecastColumns().size());
+	}
+
+	@Test
+	public void updateIndex_replacesAndRemovesOnlyGivenPlaces() throws IOException {
+		placeSnapshotStore.updateIndex(Collections.singletonMap("PARIS/FR", PlaceSnapshotStore.encodeSummary(createPlace("Paris", "FR", 290F))), Collections.emptySet());
+		placeSnapshotStore.updateIndex(Collections.singletonMap("OSLO/NO", PlaceSnapshotStore.encodeSummary(createPlace("Oslo", "NO", 270F))), Collections.emptySet());
+		placeSnapshotStore.updateIndex(Collections.singletonMap("PARIS/FR", PlaceSnapshotStore.encodeSummary(createPlace("Paris", "FR", 295F))), Collections.emptySet());
+
+		Map<String, Place> placeIndex = placeSnapshotStore.readIndex();
+		assertEquals(2, placeIndex.size());
+		assertEquals(295F, placeIndex.get("PARIS/FR").getCurrentWeather().temperature, 0F);
+		assertEquals(270F, placeIndex.get("OSLO/NO").getCurrentWeather().temperature, 0F);
+
+		placeSnapshotStore.updateIndex(Collections.emptyMap(), Collections.singleton("PARIS/FR"));
+		assertEquals(Collections.singleton("OSLO/NO"), placeSnapshotStore.readIndex().keySet());
+	}
+
+	@Test
+	public void snapshot_stillHasForecasts() throws IOException {
+		Place place = createPlace("Paris", "FR", 290.5F);
+
+		assertTrue(placeSnapshotStore.write("PARIS/FR", place));
+		Place storedPlace = placeSnapshotStore.read("PARIS/FR");
+
+		assertTrue(storedPlace.areForecastsLoaded());
+		assertEquals(2, storedPlace.getHourlyForecastColumns().size());
+		assertEquals(1, storedPlace.getWeatherAlertsArrayList().size());
+	}
+
+	@Test
+	public void missingIndex_isEmpty() throws IOException {
+		assertTrue(placeSnapshotStore.readIndex().isEmpty());
+	}
+
+	@Test(expected = IOException.class)
+	public void truncatedIndex_throws() throws IOException {
+		placeSnapshotStore.updateIndex(Collections.singletonMap("PARIS/FR", PlaceSnapshotStore.encodeSummary(createPlace("Paris", "FR", 290F))), Collections.emptySet());
+
+		File indexFile = new File(temporaryFolder.getRoot(), "places.index");
+		byte[] index = Files.readAllBytes(indexFile.toPath());
+		Files.write(indexFile.toPath(), Arrays.copyOf(index, index.length / 2));
+
+		placeSnapshotStore.readIndex();
+	}
+
+	@Test
+	public void writeBatch_replacesSnapshotsAndIndex() throws IOException {
+		writeBatch(createPlace("Paris", "FR", 290F), createPlace("Oslo", "NO", 270F));
+		writeBatch(createPlace("Paris", "FR", 295F), createPlace("Oslo", "NO", 275F));
+
+		assertEquals(295F, placeSnapshotStore.read("PARIS/FR").getCurrentWeather().temperature, 0F);
+		assertEquals(275F, placeSnapshotStore.read("OSLO/NO").getCurrentWeather().temperature, 0F);
+		assertEquals(275F, placeSnapshotStore.readIndex().get("OSLO/NO").getCurrentWeather().temperature, 0F);
+		assertTrue(getTemporaryFiles().isEmpty());
+	}
+
+	@Test
+	public void writeBatch_failingBeforeCommit_replacesNothing() throws IOException {
+		writeBatch(createPlace("Paris", "FR", 290F), createPlace("Oslo", "NO", 270F));
+		//  The temporary file of Oslo cannot be written
+		assertTrue(new File(temporaryFolder.getRoot(), "OSLO%2FNO.snapshot.tmp").mkdir());
+
+		assertFalse(placeSnapshotStore.writeBatch(
+				createSnapshots(createPlace("Paris", "FR", 295F), createPlace("Oslo", "NO", 275F)),
+				createSummaries(createPlace("Paris", "FR", 295F), createPlace("Oslo", "NO", 275F))));
+
+		assertEquals(290F, placeSnapshotStore.read("PARIS/FR").getCurrentWeather().temperature, 0F);
+		assertEquals(270F, placeSnapshotStore.read("OSLO/NO").getCurrentWeather().temperature, 0F);
+		assertEquals(290F, placeSnapshotStore.readIndex().get("PARIS/FR").getCurrentWeather().temperature, 0F);
+		assertTrue(getTemporaryFiles().isEmpty());
+	}
+
+	@Test
+	public void writeBatch_failingAfterCommit_isCompletedBeforeNextRead() throws IOException {
+		writeBatch(createPlace("Paris", "FR", 290F), createPlace("Oslo", "NO", 270F));
+		//  The snapshot of Oslo cannot be replaced
+		File snapshotFile = new File(temporaryFolder.getRoot(), "OSLO%2FNO.snapshot");
+		assertTrue(snapshotFile.delete());
+		assertTrue(new File(snapshotFile, "blocking").mkdirs());
+
+		writeBatch(createPlace("Paris", "FR", 295F), createPlace("Oslo", "NO", 275F));
+		try {
+			placeSnapshotStore.readIndex();
+			fail("Read while the batch is not completed");
+		} catch (IOException e) {
+			//  Nothing is read while the snapshots and the index disagree
+		}
+
+		assertTrue(new File(snapshotFile, "blocking").delete());
+		assertTrue(snapshotFile.delete());
+		assertEquals(295F, placeSnapshotStore.read("PARIS/FR").getCurrentWeather().temperature, 0F);
+		assertEquals(275F, placeSnapshotStore.read("OSLO/NO").getCurrentWeather().temperature, 0F);
+		assertEquals(275F, placeSnapshotStore.readIndex().get("OSLO/NO").getCurrentWeather().temperature, 0F);
+		assertTrue(getTemporaryFiles().isEmpty());
+	}
+
+	@Test
+	public void temporaryFilesOfAnInterruptedWrite_areDeleted() throws IOException {
+		writeBatch(createPlace("Paris", "FR", 290F));
+		File temporaryFile = new File(temporaryFolder.getRoot(), "PARIS%2FFR.snapshot.tmp");
+		Files.write(temporaryFile.toPath(), new byte[]{1, 2, 3});
+
+		PlaceSnapshotStore reopenedPlaceSnapshotStore = new PlaceSnapshotStore(temporaryFolder.getRoot());
+		assertEquals(290F, reopenedPlaceSnapshotStore.read("PARIS/FR").getCurrentWeather().temperature, 0F);
+		assertFalse(temporaryFile.exists());
+	}
+
+
+	private void writeBatch(Place... places) {
+		assertTrue(placeSnapshotStore.writeBatch(createSnapshots(places), createSummaries(places)));
+	}
+
+	private static Map<String, ByteBuffer> createSnapshots(Place... places) {
+		Map<String, ByteBuffer> snapshots = new LinkedHashMap<>();
+		for (Place place : places) {
+			snapshots.put(place.getCity().toUpperCase() + "/" + place.getCountryCode(), PlaceSnapshotStore.encode(place));
+		}
+		return snapshots;
+	}
+
+	private static Map<String, ByteBuffer> createSummaries(Place... places) {
+		Map<String, ByteBuffer> summaries = new LinkedHashMap<>();
+		for (Place place : places) {
+			summaries.put(place.getCity().toUpperCase() + "/" + place.getCountryCode(), PlaceSnapshotStore.encodeSummary(place));
+		}
+		return summaries;
+	}
+
+	private List<String> getTemporaryFiles() {
+		List<String> temporaryFiles = new ArrayList<>();
+		for (String fileName : temporaryFolder.getRoot().list()) {
+			if (fileName.endsWith(".tmp") || fileName.equals("places.batch")) temporaryFiles.add(fileName);
+		}
+		return temporaryFiles;
+	}
+
+	private static Place createPlace(String city, String countryCode, float temperature) {
+		Place place = new Place(city, countryCode);
+		place.setLastUpdate(1650000000000L);
+
+		CurrentWeather currentWeather = new CurrentWeather();
+		currentWeather.temperature = temperature;
+		currentWeather.weatherDescription = "clear sky";
+		place.setCurrentWeather(currentWeather);
+
+		ArrayList<HourlyWeatherForecast> hourlyWeatherForecastArrayList = new ArrayList<>();
+		hourlyWeatherForecastArrayList.add(new HourlyWeatherForecast());
+		hourlyWeatherForecastArrayList.add(new HourlyWeatherForecast());
+		place.setHourlyForecastColumns(new HourlyForecastColumns(hourlyWeatherForecastArrayList));
+
+		ArrayList<WeatherAlert> weatherAlertArrayList = new ArrayList<>();
+		weatherAlertArrayList.add(new WeatherAlert("Météo-France", "Orage", 1650000000L, 1650003600L, "Orages violents"));
+		place.setWeatherAlertsArrayList(weatherAlertArrayList);
+
+		return place;
+	}
+}
@@ -0,0 +1,96 @@
+package fr.qgdev.openweather.weather;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Forecasts stored in columns must give back exactly the forecast objects they were built from
+ */
+public class ForecastColumnsTest {
+
+	private ArrayList<HourlyWeatherForecast> hourlyWeatherForecastArrayList;
+	private ArrayList<DailyWeatherForecast> dailyWeatherForecastArrayList;
+
+	@Before
+	public void setUp() throws IOException, JSONException {
+		JSONObject oneCall = new JSONObject(WeatherDecodeRegressionTest.read("fixtures/onecall.json"));
+
+		hourlyWeatherForecastArrayList = new ArrayList<>();
+		JSONArray hourly = oneCall.getJSONArray("hourly");
+		for (int i = 0; i < hourly.length(); i++) {
+			HourlyWeatherForecast hourlyWeatherForecast = new HourlyWeatherForecast();
+			hourlyWeatherForecast.fillWithOWMData(hourly.getJSONObject(i));
+			hourlyWeatherForecastArrayList.add(hourlyWeatherForecast);
+		}
+
+		dailyWeatherForecastArrayList = new ArrayList<>();
+		JSONArray daily = oneCall.getJSONArray("daily");
+		for (int i = 0; i < daily.length(); i++) {
+			DailyWeatherForecast dailyWeatherForecast = new DailyWeatherForecast();
+			dailyWeatherForecast.fillWithOWMData(daily.getJSONObject(i));
+			dailyWeatherForecastArrayList.add(dailyWeatherForecast);
+		}
+	}
+
+	@Test
+	public void hourlyColumns_giveBackSameForecasts() throws IllegalAccessException {
+		HourlyForecastColumns hourlyForecastColumns = new HourlyForecastColumns(hourlyWeatherForecastArrayList);
+
+		assertEquals(hourlyWeatherForecastArrayList.size(), hourlyForecastColumns.size());
+		assertEquals(dump(hourlyWeatherForecastArrayList), dump(hourlyForecastColumns.toArrayList()));
+	}
+
+	@Test
+	public void dailyColumns_giveBackSameForecasts() throws IllegalAccessException {
+		DailyForecastColumns dailyForecastColumns = new DailyForecastColumns(dailyWeatherForecastArrayList);
+
+		assertEquals(dailyWeatherForecastArrayList.size(), dailyForecastColumns.size());
+		assertEquals(dump(dailyWeatherForecastArrayList), dump(dailyForecastColumns.toArrayList()));
+	}
+
+	@Test
+	public void dailyColumns_sortTemperaturesByDayMoments() {
+		DailyForecastColumns dailyForecastColumns = new DailyForecastColumns(dailyWeatherForecastArrayList);
+		DailyWeatherForecast dailyWeatherForecast = dailyWeatherForecastArrayList.get(1);
+		int dayMoments = DailyForecastColumns.DAY_MOMENTS;
+
+		assertEquals(dailyWeatherForecastArrayList.size() * DailyForecastColumns.DAY_MOMENTS, dailyForecastColumns.temperatures.length);
+		assertEquals(dailyWeatherForecast.temperatureMorning, dailyForecastColumns.temperatures[dayMoments + DailyForecastColumns.MORNING], 0);
+		assertEquals(dailyWeatherForecast.temperatureDay, dailyForecastColumns.temperatures[dayMoments + DailyForecastColumns.DAY], 0);
+		assertEquals(dailyWeatherForecast.temperatureEvening, dailyForecastColumns.temperatures[dayMoments + DailyForecastColumns.EVENING], 0);
+		assertEquals(dailyWeatherForecast.temperatureNightFeelsLike, dailyForecastColumns.temperaturesFeelsLike[dayMoments + DailyForecastColumns.NIGHT], 0);
+	}
+
+	@Test
+	public void weatherConditions_areStoredOnce() {
+		HourlyWeatherForecast hourlyWeatherForecast = hourlyWeatherForecastArrayList.get(0);
+		int conditionId = WeatherConditions.intern(hourlyWeatherForecast.weatherCode, hourlyWeatherForecast.weather, hourlyWeatherForecast.weatherDescription);
+
+		assertEquals(conditionId, WeatherConditions.intern(hourlyWeatherForecast.weatherCode, new String(hourlyWeatherForecast.weather), new String(hourlyWeatherForecast.weatherDescription)));
+		assertNotEquals(conditionId, WeatherConditions.intern(hourlyWeatherForecast.weatherCode + 1, hourlyWeatherForecast.weather, hourlyWeatherForecast.weatherDescription));
+
+		HourlyForecastColumns hourlyForecastColumns = new HourlyForecastColumns(hourlyWeatherForecastArrayList);
+		assertEquals(conditionId, hourlyForecastColumns.condition[0]);
+		assertSame(hourlyForecastColumns.get(0).weather, new HourlyForecastColumns(hourlyWeatherForecastArrayList).get(0).weather);
+	}
+
+
+	private static List<String> dump(List<?> forecasts) throws IllegalAccessException {
+		List<String> lines = new ArrayList<>();
+		for (int i = 0; i < forecasts.size(); i++) {
+			WeatherDecodeRegressionTest.dump(String.valueOf(i), forecasts.get(i), lines);
+		}
+		return lines;
+	}
+}
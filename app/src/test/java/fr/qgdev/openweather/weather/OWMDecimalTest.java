@@ -0,0 +1,66 @@
+package fr.qgdev.openweather.weather;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * OWMDecimal.toFloat() must give the same bits as BigDecimal.valueOf(value).floatValue(), the former decoding
+ */
+public class OWMDecimalTest {
+
+	private static void assertSameAsBigDecimal(double value) {
+		int expected = Float.floatToRawIntBits(BigDecimal.valueOf(value).floatValue());
+		int actual = Float.floatToRawIntBits(OWMDecimal.toFloat(value));
+		assertEquals("Value " + value, expected, actual);
+	}
+
+	@Test
+	public void owmLikeValues_areEqual() {
+		//  Temperatures in Kelvin, speeds, precipitations and pollutant concentrations with up to 3 decimals
+		for (int unscaled = -400_000; unscaled <= 400_000; unscaled++) {
+			assertSameAsBigDecimal(unscaled / 100.0);
+			assertSameAsBigDecimal(unscaled / 1000.0);
+			assertSameAsBigDecimal(Double.parseDouble(BigDecimal.valueOf(unscaled, 2).toString()));
+		}
+	}
+
+	@Test
+	public void randomValues_areEqual() {
+		Random random = new Random(42);
+		for (int i = 0; i < 1_000_000; i++) {
+			double value = Double.longBitsToDouble(random.nextLong());
+			//  NaN and infinities cannot be sent in JSON
+			if (!Double.isNaN(value) && !Double.isInfinite(value)) assertSameAsBigDecimal(value);
+			assertSameAsBigDecimal((random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(20) - 10));
+		}
+	}
+
+	@Test
+	public void halfwayValues_areEqual() {
+		Random random = new Random(42);
+		for (int i = 0; i < 100_000; i++) {
+			//  Exactly halfway between a float and the next one
+			float floatValue = Float.intBitsToFloat(random.nextInt() & 0x7F7FFFFF);
+			double halfway = ((double) floatValue + (double) Math.nextUp(floatValue)) / 2;
+			assertSameAsBigDecimal(halfway);
+			assertSameAsBigDecimal(-halfway);
+			//  Next to the halfway value
+			assertSameAsBigDecimal(Math.nextUp(halfway));
+			assertSameAsBigDecimal(Math.nextDown(halfway));
+		}
+	}
+
+	@Test
+	public void specialValues_areEqual() {
+		double[] values = {0.0, -0.0, Double.MIN_VALUE, -Double.MIN_VALUE, Float.MIN_VALUE, Float.MIN_VALUE / 2.0,
+				Float.MIN_NORMAL, Float.MAX_VALUE, -Float.MAX_VALUE, Double.MAX_VALUE, 16777217.0, 0.1, 292.55};
+
+		for (double value : values) {
+			assertSameAsBigDecimal(value);
+		}
+	}
+}
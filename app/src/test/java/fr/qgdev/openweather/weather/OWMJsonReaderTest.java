@@ -0,0 +1,141 @@
+package fr.qgdev.openweather.weather;
+
+import android.util.JsonReader;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Decoding with a JsonReader must fail like the JSONObject getters when OWM doesn't send a field it always sends,
+ * instead of leaving the value at 0
+ */
+public class OWMJsonReaderTest {
+
+	private JSONObject oneCall;
+
+	@Before
+	public void setUp() throws IOException, JSONException {
+		oneCall = new JSONObject(WeatherDecodeRegressionTest.read("fixtures/onecall.json"));
+	}
+
+	@Test
+	public void completePayload_isDecoded() throws IOException, JSONException {
+		new CurrentWeather().fillWithOWMData(reader(oneCall.getJSONObject("current")));
+		new MinutelyWeatherForecast().fillWithOWMData(reader(oneCall.getJSONArray("minutely").getJSONObject(0)));
+		new WeatherAlert().fillWithOWMData(reader(oneCall.getJSONArray("alerts").getJSONObject(0)));
+
+		HourlyForecastColumns.Builder hourlyBuilder = new HourlyForecastColumns.Builder(1);
+		hourlyBuilder.addOWMData(reader(oneCall.getJSONArray("hourly").getJSONObject(0)));
+		assertEquals(1, hourlyBuilder.build().size());
+
+		DailyForecastColumns.Builder dailyBuilder = new DailyForecastColumns.Builder(1);
+		dailyBuilder.addOWMData(reader(oneCall.getJSONArray("daily").getJSONObject(0)));
+		assertEquals(1, dailyBuilder.build().size());
+	}
+
+	@Test
+	public void optionalFields_canBeMissing() throws IOException, JSONException {
+		JSONObject current = oneCall.getJSONObject("current");
+		current.remove("uvi");
+		current.remove("wind_deg");
+		current.remove("wind_gust");
+		current.remove("rain");
+
+		CurrentWeather currentWeather = new CurrentWeather();
+		currentWeather.fillWithOWMData(reader(current));
+		assertEquals(0, currentWeather.uvIndex);
+		assertEquals(0, currentWeather.rain, 0);
+	}
+
+	@Test
+	public void currentWithoutHumidity_isRejected() throws JSONException {
+		JSONObject current = oneCall.getJSONObject("current");
+		current.remove("humidity");
+
+		assertRejected("humidity", () -> new CurrentWeather().fillWithOWMData(reader(current)));
+	}
+
+	@Test
+	public void conditionWithoutId_isRejected() throws JSONException {
+		JSONObject current = oneCall.getJSONObject("current");
+		current.getJSONArray("weather").getJSONObject(0).remove("id");
+
+		assertRejected("id", () -> new CurrentWeather().fillWithOWMData(reader(current)));
+	}
+
+	@Test
+	public void emptyConditions_areRejected() throws JSONException {
+		JSONObject hour = oneCall.getJSONArray("hourly").getJSONObject(0);
+		hour.put("weather", new JSONArray());
+
+		assertRejected("condition", () -> new HourlyForecastColumns.Builder(1).addOWMData(reader(hour)));
+	}
+
+	@Test
+	public void minuteWithoutPrecipitation_isRejected() throws JSONException {
+		JSONObject minute = oneCall.getJSONArray("minutely").getJSONObject(0);
+		minute.remove("precipitation");
+
+		assertRejected("precipitation", () -> new MinutelyWeatherForecast().fillWithOWMData(reader(minute)));
+	}
+
+	@Test
+	public void hourWithoutPop_isRejected() throws JSONException {
+		JSONObject hour = oneCall.getJSONArray("hourly").getJSONObject(0);
+		hour.remove("pop");
+
+		assertRejected("pop", () -> new HourlyForecastColumns.Builder(1).addOWMData(reader(hour)));
+	}
+
+	@Test
+	public void dayWithoutMinimumTemperature_isRejected() throws JSONException {
+		JSONObject day = oneCall.getJSONArray("daily").getJSONObject(0);
+		day.getJSONObject("temp").remove("min");
+
+		assertRejected("min", () -> new DailyForecastColumns.Builder(1).addOWMData(reader(day)));
+	}
+
+	@Test
+	public void dayWithoutSunrise_isRejected() throws JSONException {
+		JSONObject day = oneCall.getJSONArray("daily").getJSONObject(0);
+		day.remove("sunrise");
+
+		assertRejected("sunrise", () -> new DailyForecastColumns.Builder(1).addOWMData(reader(day)));
+	}
+
+	@Test
+	public void alertWithoutEnd_isRejected() throws JSONException {
+		JSONObject alert = oneCall.getJSONArray("alerts").getJSONObject(0);
+		alert.remove("end");
+
+		assertRejected("end", () -> new WeatherAlert().fillWithOWMData(reader(alert)));
+	}
+
+
+	private interface Decoding {
+		void decode() throws IOException;
+	}
+
+	private static void assertRejected(String missingField, Decoding decoding) {
+		try {
+			decoding.decode();
+			fail("Decoded without " + missingField);
+		} catch (IOException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains(missingField));
+		}
+	}
+
+	private static JsonReader reader(JSONObject object) {
+		return new JsonReader(new StringReader(object.toString()));
+	}
+}
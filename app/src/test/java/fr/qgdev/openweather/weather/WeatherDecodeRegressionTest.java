@@ -0,0 +1,166 @@
+package fr.qgdev.openweather.weather;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Decoding of the weather classes must give exactly the values recorded in decode_golden.txt<br>
+ * The golden file was written with the BigDecimal decoding, floats are compared with their raw bits
+ */
+public class WeatherDecodeRegressionTest {
+
+	private static final String GOLDEN = "fixtures/decode_golden.txt";
+
+	private JSONObject oneCall;
+	private JSONObject airPollution;
+
+	@Before
+	public void setUp() throws IOException, JSONException {
+		oneCall = new JSONObject(read("fixtures/onecall.json"));
+		airPollution = new JSONObject(read("fixtures/air_pollution.json"));
+	}
+
+	@Test
+	public void owmDecoding_isBitForBitEqual() throws Exception {
+		assertGolden("owm", decodeOWM());
+	}
+
+	@Test
+	public void storedDecoding_isBitForBitEqual() throws Exception {
+		List<Object> stored = new ArrayList<>();
+		for (Object decoded : decodeOWM()) {
+			stored.add(decodeStored(decoded));
+		}
+		assertGolden("stored", stored);
+	}
+
+
+	private List<Object> decodeOWM() throws JSONException {
+		List<Object> decoded = new ArrayList<>();
+
+		CurrentWeather currentWeather = new CurrentWeather();
+		currentWeather.fillWithOWMData(oneCall.getJSONObject("current"));
+		decoded.add(currentWeather);
+
+		JSONArray minutely = oneCall.getJSONArray("minutely");
+		for (int i = 0; i < minutely.length(); i++) {
+			MinutelyWeatherForecast minutelyWeatherForecast = new MinutelyWeatherForecast();
+			minutelyWeatherForecast.fillWithOWMData(minutely.getJSONObject(i));
+			decoded.add(minutelyWeatherForecast);
+		}
+
+		JSONArray hourly = oneCall.getJSONArray("hourly");
+		for (int i = 0; i < hourly.length(); i++) {
+			HourlyWeatherForecast hourlyWeatherForecast = new HourlyWeatherForecast();
+			hourlyWeatherForecast.fillWithOWMData(hourly.getJSONObject(i));
+			decoded.add(hourlyWeatherForecast);
+		}
+
+		JSONArray daily = oneCall.getJSONArray("daily");
+		for (int i = 0; i < daily.length(); i++) {
+			DailyWeatherForecast dailyWeatherForecast = new DailyWeatherForecast();
+			dailyWeatherForecast.fillWithOWMData(daily.getJSONObject(i));
+			decoded.add(dailyWeatherForecast);
+		}
+
+		JSONArray alerts = oneCall.getJSONArray("alerts");
+		for (int i = 0; i < alerts.length(); i++) {
+			WeatherAlert weatherAlert = new WeatherAlert();
+			weatherAlert.fillWithOWMData(alerts.getJSONObject(i));
+			decoded.add(weatherAlert);
+		}
+
+		AirQuality airQuality = new AirQuality();
+		airQuality.fillWithOWMData(airPollution);
+		decoded.add(airQuality);
+
+		return decoded;
+	}
+
+	//  Through the JSON form used to store places
+	private static Object decodeStored(Object decoded) throws JSONException {
+		if (decoded instanceof CurrentWeather)
+			return new CurrentWeather(((CurrentWeather) decoded).getJSONObject());
+		if (decoded instanceof MinutelyWeatherForecast)
+			return new MinutelyWeatherForecast(((MinutelyWeatherForecast) decoded).getJSONObject());
+		if (decoded instanceof HourlyWeatherForecast)
+			return new HourlyWeatherForecast(((HourlyWeatherForecast) decoded).getJSONObject());
+		if (decoded instanceof DailyWeatherForecast)
+			return new DailyWeatherForecast(((DailyWeatherForecast) decoded).getJSONObject());
+		if (decoded instanceof WeatherAlert)
+			return new WeatherAlert(((WeatherAlert) decoded).getJSONObject());
+		return new AirQuality(((AirQuality) decoded).getJSONObject());
+	}
+
+
+	private static void assertGolden(String prefix, List<Object> decoded) throws IOException, IllegalAccessException {
+		List<String> expected = new ArrayList<>();
+		for (String line : read(GOLDEN).split("\n")) {
+			if (line.startsWith(prefix + " ")) expected.add(line);
+		}
+
+		List<String> actual = new ArrayList<>();
+		for (int i = 0; i < decoded.size(); i++) {
+			dump(prefix + " " + i, decoded.get(i), actual);
+		}
+
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i), actual.get(i));
+		}
+	}
+
+	/**
+	 * Write every instance field of object as "prefix Class.field=value", floats and doubles as raw bits
+	 */
+	static void dump(String prefix, Object object, List<String> lines) throws IllegalAccessException {
+		Field[] fields = object.getClass().getDeclaredFields();
+		Arrays.sort(fields, Comparator.comparing(Field::getName));
+
+		for (Field field : fields) {
+			if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) continue;
+			field.setAccessible(true);
+
+			String value;
+			if (field.getType() == float.class) {
+				value = Integer.toHexString(Float.floatToRawIntBits(field.getFloat(object)));
+			} else if (field.getType() == double.class) {
+				value = Long.toHexString(Double.doubleToRawLongBits(field.getDouble(object)));
+			} else {
+				//  One line per field, even for multiline alert descriptions
+				value = String.valueOf(field.get(object)).replace("\\", "\\\\").replace("\n", "\\n");
+			}
+			lines.add(prefix + " " + object.getClass().getSimpleName() + "." + field.getName() + "=" + value);
+		}
+	}
+
+	static String read(String name) throws IOException {
+		try (InputStream inputStream = WeatherDecodeRegressionTest.class.getClassLoader().getResourceAsStream(name)) {
+			if (inputStream == null) throw new IOException("Missing resource " + name);
+
+			ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = inputStream.read(buffer)) != -1) {
+				outputStream.write(buffer, 0, read);
+			}
+			return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package fr.qgdev.openweather.benchmark;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.content.SharedPreferences;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+import fr.qgdev.openweather.dataplaces.InMemorySharedPreferences;
+
+/**
+ * BenchmarkContext
+ * <p>
+ * The only parts of a Context used by DataPlaces: in-memory SharedPreferences and a files directory
+ * </p>
+ */
+final class BenchmarkContext extends ContextWrapper {
+
+	private final File filesDir;
+	private final Map<String, SharedPreferences> sharedPreferences = new HashMap<>();
+
+
+	BenchmarkContext(File filesDir) {
+		super(null);
+		this.filesDir = filesDir;
+	}
+
+	@Override
+	public SharedPreferences getSharedPreferences(String name, int mode) {
+		SharedPreferences preferences = sharedPreferences.get(name);
+		if (preferences == null) {
+			preferences = new InMemorySharedPreferences();
+			sharedPreferences.put(name, preferences);
+		}
+		return preferences;
+	}
+
+	@Override
+	public File getFilesDir() {
+		return filesDir;
+	}
+
+	@Override
+	public Context getApplicationContext() {
+		return this;
+	}
+}
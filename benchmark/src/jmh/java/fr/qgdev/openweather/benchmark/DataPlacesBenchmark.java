@@ -0,0 +1,71 @@
+package fr.qgdev.openweather.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import fr.qgdev.openweather.Place;
+import fr.qgdev.openweather.dataplaces.DataPlaces;
+
+/**
+ * DataPlacesBenchmark
+ * <p>
+ * Cold load of all the stored places<br>
+ * The register is kept in InMemorySharedPreferences, place data are read from a temporary files directory
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DataPlacesBenchmark {
+
+	@Param({"1", "5", "10"})
+	public int placesCount;
+
+	private File filesDir;
+	private DataPlaces dataPlaces;
+
+
+	@Setup
+	public void setup() throws Exception {
+		filesDir = Files.createTempDirectory("openweather-benchmark").toFile();
+		dataPlaces = new DataPlaces(new BenchmarkContext(filesDir));
+
+		for (int i = 0; i < placesCount; i++) {
+			if (!dataPlaces.addPlace(Fixtures.createPlace("Paris " + i, "FR"))) {
+				throw new IllegalStateException("Place " + i + " cannot be stored");
+			}
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		deleteRecursively(filesDir);
+	}
+
+
+	@Benchmark
+	public ArrayList<Place> getAllPlacesStored() throws Exception {
+		return dataPlaces.getAllPlacesStored();
+	}
+
+
+	private static void deleteRecursively(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) deleteRecursively(child);
+		}
+		file.delete();
+	}
+}
@@ -0,0 +1,116 @@
+package fr.qgdev.openweather.benchmark;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+
+import fr.qgdev.openweather.Place;
+import fr.qgdev.openweather.weather.AirQuality;
+import fr.qgdev.openweather.weather.CurrentWeather;
+import fr.qgdev.openweather.weather.DailyForecastColumns;
+import fr.qgdev.openweather.weather.DailyWeatherForecast;
+import fr.qgdev.openweather.weather.HourlyForecastColumns;
+import fr.qgdev.openweather.weather.HourlyWeatherForecast;
+import fr.qgdev.openweather.weather.MinutelyWeatherForecast;
+import fr.qgdev.openweather.weather.WeatherAlert;
+
+/**
+ * Fixtures
+ * <p>
+ * Recorded OpenWeatherMap responses used by the benchmarks<br>
+ * -  onecall.json: One Call response of Paris with minutely forecast and one alert<br>
+ * -  air_pollution.json: Air pollution response of Paris
+ * </p>
+ */
+final class Fixtures {
+
+	static final String ONE_CALL = "fixtures/onecall.json";
+	static final String AIR_POLLUTION = "fixtures/air_pollution.json";
+
+
+	private Fixtures() {
+	}
+
+
+	static String read(String name) throws IOException {
+		try (InputStream inputStream = Fixtures.class.getClassLoader().getResourceAsStream(name)) {
+			if (inputStream == null) throw new IOException("Missing fixture " + name);
+
+			ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = inputStream.read(buffer)) != -1) {
+				outputStream.write(buffer, 0, read);
+			}
+			return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+		}
+	}
+
+
+	/**
+	 * createPlace(String city, String countryCode)
+	 * <p>
+	 * Used to get a place filled like after a refresh, with the data of the fixtures
+	 * </p>
+	 */
+	static Place createPlace(String city, String countryCode) throws IOException, JSONException {
+		JSONObject oneCall = new JSONObject(read(ONE_CALL));
+		JSONObject airPollution = new JSONObject(read(AIR_POLLUTION));
+
+		Place place = new Place(city, countryCode);
+		place.setLatitude(oneCall.getDouble("lat"));
+		place.setLongitude(oneCall.getDouble("lon"));
+		place.setTimeZoneOffset(oneCall.getInt("timezone_offset"));
+
+		CurrentWeather currentWeather = new CurrentWeather();
+		currentWeather.fillWithOWMData(oneCall.getJSONObject("current"));
+		place.setCurrentWeather(currentWeather);
+		place.setLastUpdate(currentWeather.dt);
+		place.setLastUpdateDate(new Date(currentWeather.dt));
+
+		AirQuality airQuality = new AirQuality();
+		airQuality.fillWithOWMData(airPollution);
+		place.setAirQuality(airQuality);
+
+		JSONArray minutely = oneCall.getJSONArray("minutely");
+		ArrayList<MinutelyWeatherForecast> minutelyWeatherForecastArrayList = new ArrayList<>(minutely.length());
+		for (int i = 0; i < minutely.length(); i++) {
+			minutelyWeatherForecastArrayList.add(new MinutelyWeatherForecast());
+			minutelyWeatherForecastArrayList.get(i).fillWithOWMData(minutely.getJSONObject(i));
+		}
+		place.setMinutelyWeatherForecastArrayList(minutelyWeatherForecastArrayList);
+
+		JSONArray hourly = oneCall.getJSONArray("hourly");
+		ArrayList<HourlyWeatherForecast> hourlyWeatherForecastArrayList = new ArrayList<>(hourly.length());
+		for (int i = 0; i < hourly.length(); i++) {
+			hourlyWeatherForecastArrayList.add(new HourlyWeatherForecast());
+			hourlyWeatherForecastArrayList.get(i).fillWithOWMData(hourly.getJSONObject(i));
+		}
+		place.setHourlyForecastColumns(new HourlyForecastColumns(hourlyWeatherForecastArrayList));
+
+		JSONArray daily = oneCall.getJSONArray("daily");
+		ArrayList<DailyWeatherForecast> dailyWeatherForecastArrayList = new ArrayList<>(daily.length());
+		for (int i = 0; i < daily.length(); i++) {
+			dailyWeatherForecastArrayList.add(new DailyWeatherForecast());
+			dailyWeatherForecastArrayList.get(i).fillWithOWMData(daily.getJSONObject(i));
+		}
+		place.setDailyForecastColumns(new DailyForecastColumns(dailyWeatherForecastArrayList));
+
+		JSONArray alerts = oneCall.getJSONArray("alerts");
+		ArrayList<WeatherAlert> weatherAlertArrayList = new ArrayList<>(alerts.length());
+		for (int i = 0; i < alerts.length(); i++) {
+			weatherAlertArrayList.add(new WeatherAlert());
+			weatherAlertArrayList.get(i).fillWithOWMData(alerts.getJSONObject(i));
+		}
+		place.setWeatherAlertsArrayList(weatherAlertArrayList);
+
+		return place;
+	}
+}
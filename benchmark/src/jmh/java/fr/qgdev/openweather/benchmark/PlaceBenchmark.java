@@ -0,0 +1,49 @@
+package fr.qgdev.openweather.benchmark;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import fr.qgdev.openweather.Place;
+
+/**
+ * PlaceBenchmark
+ * <p>
+ * Conversion of a complete place from and to its stored JSON form
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PlaceBenchmark {
+
+	private Place place;
+	private JSONObject placeObjectJSON;
+
+
+	@Setup
+	public void setup() throws IOException, JSONException {
+		place = Fixtures.createPlace("Paris", "FR");
+		placeObjectJSON = place.getPlaceObjectJSON();
+	}
+
+
+	@Benchmark
+	public Place placeFromJSONObject() throws JSONException {
+		return new Place(placeObjectJSON);
+	}
+
+	@Benchmark
+	public JSONObject placeGetPlaceObjectJSON() throws JSONException {
+		return place.getPlaceObjectJSON();
+	}
+}
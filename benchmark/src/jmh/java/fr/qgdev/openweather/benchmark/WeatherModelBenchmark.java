@@ -0,0 +1,246 @@
+package fr.qgdev.openweather.benchmark;
+
+import android.util.JsonReader;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import fr.qgdev.openweather.Place;
+import fr.qgdev.openweather.weather.AirQuality;
+import fr.qgdev.openweather.weather.CurrentWeather;
+import fr.qgdev.openweather.weather.DailyForecastColumns;
+import fr.qgdev.openweather.weather.DailyWeatherForecast;
+import fr.qgdev.openweather.weather.HourlyForecastColumns;
+import fr.qgdev.openweather.weather.HourlyWeatherForecast;
+import fr.qgdev.openweather.weather.MinutelyWeatherForecast;
+import fr.qgdev.openweather.weather.WeatherAlert;
+
+/**
+ * WeatherModelBenchmark
+ * <p>
+ * Decoding and encoding of the classes of fr.qgdev.openweather.weather with the recorded fixtures<br>
+ * -  fillWithOWMData benchmarks decode every entry of the fixture, like a refresh does<br>
+ * -  JsonReader benchmarks include the creation of the reader over the part of the response, hourly and daily forecasts
+ * are decoded into columns like a refresh does<br>
+ * -  getJSONObject benchmarks encode every entry, like a save does
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class WeatherModelBenchmark {
+
+	private JSONObject currentJSON;
+	private JSONArray minutelyJSON;
+	private JSONArray hourlyJSON;
+	private JSONArray dailyJSON;
+	private JSONArray alertsJSON;
+	private JSONObject airPollutionJSON;
+
+	private String currentString;
+	private String minutelyString;
+	private String hourlyString;
+	private String dailyString;
+	private String alertsString;
+
+	private Place place;
+
+
+	@Setup
+	public void setup() throws IOException, JSONException {
+		JSONObject oneCall = new JSONObject(Fixtures.read(Fixtures.ONE_CALL));
+		currentJSON = oneCall.getJSONObject("current");
+		minutelyJSON = oneCall.getJSONArray("minutely");
+		hourlyJSON = oneCall.getJSONArray("hourly");
+		dailyJSON = oneCall.getJSONArray("daily");
+		alertsJSON = oneCall.getJSONArray("alerts");
+		airPollutionJSON = new JSONObject(Fixtures.read(Fixtures.AIR_POLLUTION));
+
+		currentString = currentJSON.toString();
+		minutelyString = minutelyJSON.toString();
+		hourlyString = hourlyJSON.toString();
+		dailyString = dailyJSON.toString();
+		alertsString = alertsJSON.toString();
+
+		place = Fixtures.createPlace("Paris", "FR");
+	}
+
+
+	//  fillWithOWMData(JSONObject)
+	//________________________________________________________________
+	//
+
+	@Benchmark
+	public CurrentWeather currentWeatherFillWithOWMDataJSONObject() throws JSONException {
+		CurrentWeather currentWeather = new CurrentWeather();
+		currentWeather.fillWithOWMData(currentJSON);
+		return currentWeather;
+	}
+
+	@Benchmark
+	public void minutelyWeatherForecastFillWithOWMDataJSONObject(Blackhole blackhole) throws JSONException {
+		for (int i = 0; i < minutelyJSON.length(); i++) {
+			MinutelyWeatherForecast minutelyWeatherForecast = new MinutelyWeatherForecast();
+			minutelyWeatherForecast.fillWithOWMData(minutelyJSON.getJSONObject(i));
+			blackhole.consume(minutelyWeatherForecast);
+		}
+	}
+
+	@Benchmark
+	public void hourlyWeatherForecastFillWithOWMDataJSONObject(Blackhole blackhole) throws JSONException {
+		for (int i = 0; i < hourlyJSON.length(); i++) {
+			HourlyWeatherForecast hourlyWeatherForecast = new HourlyWeatherForecast();
+			hourlyWeatherForecast.fillWithOWMData(hourlyJSON.getJSONObject(i));
+			blackhole.consume(hourlyWeatherForecast);
+		}
+	}
+
+	@Benchmark
+	public void dailyWeatherForecastFillWithOWMDataJSONObject(Blackhole blackhole) throws JSONException {
+		for (int i = 0; i < dailyJSON.length(); i++) {
+			DailyWeatherForecast dailyWeatherForecast = new DailyWeatherForecast();
+			dailyWeatherForecast.fillWithOWMData(dailyJSON.getJSONObject(i));
+			blackhole.consume(dailyWeatherForecast);
+		}
+	}
+
+	@Benchmark
+	public void weatherAlertFillWithOWMDataJSONObject(Blackhole blackhole) throws JSONException {
+		for (int i = 0; i < alertsJSON.length(); i++) {
+			WeatherAlert weatherAlert = new WeatherAlert();
+			weatherAlert.fillWithOWMData(alertsJSON.getJSONObject(i));
+			blackhole.consume(weatherAlert);
+		}
+	}
+
+	@Benchmark
+	public AirQuality airQualityFillWithOWMDataJSONObject() throws JSONException {
+		AirQuality airQuality = new AirQuality();
+		airQuality.fillWithOWMData(airPollutionJSON);
+		return airQuality;
+	}
+
+
+	//  fillWithOWMData(JsonReader)
+	//________________________________________________________________
+	//
+
+	@Benchmark
+	public CurrentWeather currentWeatherFillWithOWMDataJsonReader() throws IOException {
+		try (JsonReader reader = new JsonReader(new StringReader(currentString))) {
+			CurrentWeather currentWeather = new CurrentWeather();
+			currentWeather.fillWithOWMData(reader);
+			return currentWeather;
+		}
+	}
+
+	@Benchmark
+	public void minutelyWeatherForecastFillWithOWMDataJsonReader(Blackhole blackhole) throws IOException {
+		try (JsonReader reader = new JsonReader(new StringReader(minutelyString))) {
+			reader.beginArray();
+			while (reader.hasNext()) {
+				MinutelyWeatherForecast minutelyWeatherForecast = new MinutelyWeatherForecast();
+				minutelyWeatherForecast.fillWithOWMData(reader);
+				blackhole.consume(minutelyWeatherForecast);
+			}
+			reader.endArray();
+		}
+	}
+
+	@Benchmark
+	public HourlyForecastColumns hourlyForecastColumnsAddOWMDataJsonReader() throws IOException {
+		try (JsonReader reader = new JsonReader(new StringReader(hourlyString))) {
+			HourlyForecastColumns.Builder hourlyForecastColumnsBuilder = new HourlyForecastColumns.Builder(48);
+			reader.beginArray();
+			while (reader.hasNext()) {
+				hourlyForecastColumnsBuilder.addOWMData(reader);
+			}
+			reader.endArray();
+			return hourlyForecastColumnsBuilder.build();
+		}
+	}
+
+	@Benchmark
+	public DailyForecastColumns dailyForecastColumnsAddOWMDataJsonReader() throws IOException {
+		try (JsonReader reader = new JsonReader(new StringReader(dailyString))) {
+			DailyForecastColumns.Builder dailyForecastColumnsBuilder = new DailyForecastColumns.Builder(8);
+			reader.beginArray();
+			while (reader.hasNext()) {
+				dailyForecastColumnsBuilder.addOWMData(reader);
+			}
+			reader.endArray();
+			return dailyForecastColumnsBuilder.build();
+		}
+	}
+
+	@Benchmark
+	public void weatherAlertFillWithOWMDataJsonReader(Blackhole blackhole) throws IOException {
+		try (JsonReader reader = new JsonReader(new StringReader(alertsString))) {
+			reader.beginArray();
+			while (reader.hasNext()) {
+				WeatherAlert weatherAlert = new WeatherAlert();
+				weatherAlert.fillWithOWMData(reader);
+				blackhole.consume(weatherAlert);
+			}
+			reader.endArray();
+		}
+	}
+
+
+	//  getJSONObject()
+	//________________________________________________________________
+	//
+
+	@Benchmark
+	public JSONObject currentWeatherGetJSONObject() throws JSONException {
+		return place.getCurrentWeather().getJSONObject();
+	}
+
+	@Benchmark
+	public void minutelyWeatherForecastGetJSONObject(Blackhole blackhole) throws JSONException {
+		for (MinutelyWeatherForecast minutelyWeatherForecast : place.getMinutelyWeatherForecastArrayList()) {
+			blackhole.consume(minutelyWeatherForecast.getJSONObject());
+		}
+	}
+
+	@Benchmark
+	public void hourlyWeatherForecastGetJSONObject(Blackhole blackhole) throws JSONException {
+		HourlyForecastColumns hourlyForecastColumns = place.getHourlyForecastColumns();
+		for (int hour = 0; hour < hourlyForecastColumns.size(); hour++) {
+			blackhole.consume(hourlyForecastColumns.get(hour).getJSONObject());
+		}
+	}
+
+	@Benchmark
+	public void dailyWeatherForecastGetJSONObject(Blackhole blackhole) throws JSONException {
+		DailyForecastColumns dailyForecastColumns = place.getDailyForecastColumns();
+		for (int day = 0; day < dailyForecastColumns.size(); day++) {
+			blackhole.consume(dailyForecastColumns.get(day).getJSONObject());
+		}
+	}
+
+	@Benchmark
+	public void weatherAlertGetJSONObject(Blackhole blackhole) throws JSONException {
+		for (WeatherAlert weatherAlert : place.getWeatherAlertsArrayList()) {
+			blackhole.consume(weatherAlert.getJSONObject());
+		}
+	}
+
+	@Benchmark
+	public JSONObject airQualityGetJSONObject() throws JSONException {
+		return place.getAirQuality().getJSONObject();
+	}
+}
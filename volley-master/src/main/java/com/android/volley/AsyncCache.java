@@ -39,5 +39,45 @@ public abstract class AsyncCache {
      */
     public abstract void put(String key, Cache.Entry entry, OnPutCompleteCallback callback);
 
-    // TODO(#181): Implement the rest.
+    public interface OnWriteOperationCompleteCallback {
+        /** Invoked when the change to the cache is complete. */
+        void onWriteOperationComplete();
+    }
+
+    /**
+     * Performs any potentially long-running actions needed to initialize the cache, and calls
+     * {@link OnWriteOperationCompleteCallback#onWriteOperationComplete} once the cache can be
+     * used.
+     *
+     * @param callback Callback that will be notified when the cache is initialized
+     */
+    public abstract void initialize(OnWriteOperationCompleteCallback callback);
+
+    /**
+     * Invalidates an entry in the cache, and calls {@link
+     * OnWriteOperationCompleteCallback#onWriteOperationComplete} after the operation is finished.
+     *
+     * @param key Cache key
+     * @param fullExpire True to fully expire the entry, false to soft expire
+     * @param callback Callback that will be notified when the entry has been invalidated
+     */
+    public abstract void invalidate(
+            String key, boolean fullExpire, OnWriteOperationCompleteCallback callback);
+
+    /**
+     * Removes an entry from the cache, and calls {@link
+     * OnWriteOperationCompleteCallback#onWriteOperationComplete} after the operation is finished.
+     *
+     * @param key Cache key
+     * @param callback Callback that will be notified when the entry has been removed
+     */
+    public abstract void remove(String key, OnWriteOperationCompleteCallback callback);
+
+    /**
+     * Empties the cache, and calls {@link
+     * OnWriteOperationCompleteCallback#onWriteOperationComplete} after the operation is finished.
+     *
+     * @param callback Callback that will be notified when the cache has been emptied
+     */
+    public abstract void clear(OnWriteOperationCompleteCallback callback);
 }
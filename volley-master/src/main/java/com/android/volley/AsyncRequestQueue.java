@@ -0,0 +1,341 @@
+/*
+ * Copyright (C) 2011 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.volley;
+
+import android.os.Handler;
+import android.os.Looper;
+import androidx.annotation.Nullable;
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * A request dispatch queue which looks up responses in an {@link AsyncCache} instead of a {@link
+ * Cache}.
+ *
+ * <p>No cache dispatcher thread is started: each lookup is a callback from the cache, and cached
+ * responses are parsed and delivered from the thread completing the lookup. Requests added before
+ * the cache is initialized are looked up once it is.
+ *
+ * <p>Network responses are put into the cache without waiting for the write to complete. {@link
+ * #getCache()} returns a {@link Cache} backed by the asynchronous cache, whose {@link Cache#get}
+ * blocks until the lookup completes.
+ */
+public class AsyncRequestQueue extends RequestQueue {
+
+    /** Number of network request dispatcher threads to start. */
+    private static final int DEFAULT_NETWORK_THREAD_POOL_SIZE = 4;
+
+    private static final AsyncCache.OnPutCompleteCallback NO_OP_PUT_CALLBACK =
+            new AsyncCache.OnPutCompleteCallback() {
+                @Override
+                public void onPutComplete() {}
+            };
+
+    private static final AsyncCache.OnWriteOperationCompleteCallback NO_OP_WRITE_CALLBACK =
+            new AsyncCache.OnWriteOperationCompleteCallback() {
+                @Override
+                public void onWriteOperationComplete() {}
+            };
+
+    /** Cache used to look up and store responses. */
+    private final AsyncCache mAsyncCache;
+
+    /** Manages requests waiting for a request with the same cache key already in flight. */
+    private final WaitingRequestManager mWaitingRequestManager;
+
+    /** Guards the cache initialization state and the requests waiting for it. */
+    private final Object mCacheInitializationLock = new Object();
+
+    private boolean mCacheInitializationStarted = false;
+
+    private boolean mCacheInitialized = false;
+
+    /** Requests added before the cache was initialized, looked up once it is. */
+    private final List<Request<?>> mRequestsAwaitingCacheInitialization = new ArrayList<>();
+
+    /**
+     * Creates the worker pool. Processing will not begin until {@link #start()} is called.
+     *
+     * @param asyncCache An AsyncCache to use for persisting responses to disk
+     * @param network A Network interface for performing HTTP requests
+     * @param threadPoolSize Number of network dispatcher threads to create
+     * @param delivery A ResponseDelivery interface for posting responses and errors
+     */
+    public AsyncRequestQueue(
+            AsyncCache asyncCache,
+            Network network,
+            int threadPoolSize,
+            ResponseDelivery delivery) {
+        super(new AsyncCacheAdapter(asyncCache), network, threadPoolSize, delivery);
+        mAsyncCache = asyncCache;
+        mWaitingRequestManager =
+                new WaitingRequestManager(
+                        /* cacheDispatcher= */ null, getNetworkQueue(), getResponseDelivery());
+    }
+
+    /**
+     * Creates the worker pool. Processing will not begin until {@link #start()} is called.
+     *
+     * @param asyncCache An AsyncCache to use for persisting responses to disk
+     * @param network A Network interface for performing HTTP requests
+     * @param threadPoolSize Number of network dispatcher threads to create
+     */
+    public AsyncRequestQueue(AsyncCache asyncCache, Network network, int threadPoolSize) {
+        this(
+                asyncCache,
+                network,
+                threadPoolSize,
+                new ExecutorDelivery(new Handler(Looper.getMainLooper())));
+    }
+
+    /**
+     * Creates the worker pool. Processing will not begin until {@link #start()} is called.
+     *
+     * @param asyncCache An AsyncCache to use for persisting responses to disk
+     * @param network A Network interface for performing HTTP requests
+     */
+    public AsyncRequestQueue(AsyncCache asyncCache, Network network) {
+        this(asyncCache, network, DEFAULT_NETWORK_THREAD_POOL_SIZE);
+    }
+
+    /** Starts the network dispatchers, and initializes the cache the first time it is called. */
+    @Override
+    public void start() {
+        stop(); // Make sure any currently running dispatchers are stopped.
+        startNetworkDispatchers();
+
+        synchronized (mCacheInitializationLock) {
+            if (mCacheInitializationStarted) {
+                return;
+            }
+            mCacheInitializationStarted = true;
+        }
+        mAsyncCache.initialize(
+                new AsyncCache.OnWriteOperationCompleteCallback() {
+                    @Override
+                    public void onWriteOperationComplete() {
+                        List<Request<?>> requests;
+                        synchronized (mCacheInitializationLock) {
+                            mCacheInitialized = true;
+                            requests = new ArrayList<>(mRequestsAwaitingCacheInitialization);
+                            mRequestsAwaitingCacheInitialization.clear();
+                        }
+                        for (Request<?> request : requests) {
+                            lookUpInCache(request);
+                        }
+                    }
+                });
+    }
+
+    @Override
+    <T> void beginRequest(Request<T> request) {
+        // If the request is uncacheable, skip the cache and go straight to the network.
+        if (!request.shouldCache()) {
+            sendRequestOverNetwork(request);
+            return;
+        }
+        synchronized (mCacheInitializationLock) {
+            if (!mCacheInitialized) {
+                mRequestsAwaitingCacheInitialization.add(request);
+                return;
+            }
+        }
+        lookUpInCache(request);
+    }
+
+    /** Looks up the response of a request in the cache, as {@link CacheDispatcher} does. */
+    private void lookUpInCache(final Request<?> request) {
+        request.addMarker("cache-queue-take");
+        request.sendEvent(RequestEvent.REQUEST_CACHE_LOOKUP_STARTED);
+
+        // If the request has been canceled, don't bother dispatching it.
+        if (request.isCanceled()) {
+            request.finish("cache-discard-canceled");
+            request.sendEvent(RequestEvent.REQUEST_CACHE_LOOKUP_FINISHED);
+            return;
+        }
+
+        mAsyncCache.get(
+                request.getCacheKey(),
+                new AsyncCache.OnGetCompleteCallback() {
+                    @Override
+                    public void onGetComplete(@Nullable Cache.Entry entry) {
+                        try {
+                            handleCachedEntry(request, entry);
+                        } finally {
+                            request.sendEvent(RequestEvent.REQUEST_CACHE_LOOKUP_FINISHED);
+                        }
+                    }
+                });
+    }
+
+    private void handleCachedEntry(final Request<?> request, @Nullable Cache.Entry entry) {
+        if (entry == null) {
+            request.addMarker("cache-miss");
+            // Cache miss; send off to the network dispatcher.
+            if (!mWaitingRequestManager.maybeAddToWaitingRequests(request)) {
+                sendRequestOverNetwork(request);
+            }
+            return;
+        }
+
+        // If it is completely expired, just send it to the network.
+        if (entry.isExpired()) {
+            request.addMarker("cache-hit-expired");
+            request.setCacheEntry(entry);
+            if (!mWaitingRequestManager.maybeAddToWaitingRequests(request)) {
+                sendRequestOverNetwork(request);
+            }
+            return;
+        }
+
+        // We have a cache hit; parse its data for delivery back to the request.
+        request.addMarker("cache-hit");
+        Response<?> response =
+                request.parseNetworkResponse(
+                        new NetworkResponse(
+                                HttpURLConnection.HTTP_OK,
+                                entry.data,
+                                /* notModified= */ false,
+                                /* networkTimeMs= */ 0,
+                                getAllResponseHeaders(entry)));
+        request.addMarker("cache-hit-parsed");
+
+        if (!response.isSuccess()) {
+            request.addMarker("cache-parsing-failed");
+            mAsyncCache.invalidate(
+                    request.getCacheKey(), /* fullExpire= */ true, NO_OP_WRITE_CALLBACK);
+            request.setCacheEntry(null);
+            if (!mWaitingRequestManager.maybeAddToWaitingRequests(request)) {
+                sendRequestOverNetwork(request);
+            }
+            return;
+        }
+        if (!entry.refreshNeeded()) {
+            // Completely unexpired cache hit. Just deliver the response.
+            getResponseDelivery().postResponse(request, response);
+        } else {
+            // Soft-expired cache hit. We can deliver the cached response,
+            // but we need to also send the request to the network for
+            // refreshing.
+            request.addMarker("cache-hit-refresh-needed");
+            request.setCacheEntry(entry);
+            // Mark the response as intermediate.
+            response.intermediate = true;
+
+            if (!mWaitingRequestManager.maybeAddToWaitingRequests(request)) {
+                // Post the intermediate response back to the user and have
+                // the delivery then forward the request along to the network.
+                getResponseDelivery()
+                        .postResponse(
+                                request,
+                                response,
+                                new Runnable() {
+                                    @Override
+                                    public void run() {
+                                        sendRequestOverNetwork(request);
+                                    }
+                                });
+            } else {
+                // request has been added to list of waiting requests
+                // to receive the network response from the first request once it returns.
+                getResponseDelivery().postResponse(request, response);
+            }
+        }
+    }
+
+    /**
+     * Returns all headers of a cache entry, built from {@link Cache.Entry#responseHeaders} when the
+     * {@link Cache} did not fill {@link Cache.Entry#allResponseHeaders}.
+     */
+    @Nullable
+    private static List<Header> getAllResponseHeaders(Cache.Entry entry) {
+        if (entry.allResponseHeaders != null || entry.responseHeaders == null) {
+            return entry.allResponseHeaders;
+        }
+        List<Header> allResponseHeaders = new ArrayList<>(entry.responseHeaders.size());
+        for (Map.Entry<String, String> header : entry.responseHeaders.entrySet()) {
+            allResponseHeaders.add(new Header(header.getKey(), header.getValue()));
+        }
+        return allResponseHeaders;
+    }
+
+    /**
+     * {@link Cache} backed by an {@link AsyncCache}, used by the network dispatchers to store
+     * responses. Changes return without waiting for the asynchronous cache, while {@link #get}
+     * blocks until the lookup completes.
+     */
+    private static class AsyncCacheAdapter implements Cache {
+
+        private final AsyncCache mAsyncCache;
+
+        AsyncCacheAdapter(AsyncCache asyncCache) {
+            mAsyncCache = asyncCache;
+        }
+
+        @Override
+        @Nullable
+        public Entry get(String key) {
+            final Entry[] result = new Entry[1];
+            final CountDownLatch latch = new CountDownLatch(1);
+            mAsyncCache.get(
+                    key,
+                    new AsyncCache.OnGetCompleteCallback() {
+                        @Override
+                        public void onGetComplete(@Nullable Entry entry) {
+                            result[0] = entry;
+                            latch.countDown();
+                        }
+                    });
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                // Restore the interrupted status
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            return result[0];
+        }
+
+        @Override
+        public void put(String key, Entry entry) {
+            mAsyncCache.put(key, entry, NO_OP_PUT_CALLBACK);
+        }
+
+        /** Does nothing, {@link AsyncRequestQueue#start()} initializes the cache. */
+        @Override
+        public void initialize() {}
+
+        @Override
+        public void invalidate(String key, boolean fullExpire) {
+            mAsyncCache.invalidate(key, fullExpire, NO_OP_WRITE_CALLBACK);
+        }
+
+        @Override
+        public void remove(String key) {
+            mAsyncCache.remove(key, NO_OP_WRITE_CALLBACK);
+        }
+
+        @Override
+        public void clear() {
+            mAsyncCache.clear(NO_OP_WRITE_CALLBACK);
+        }
+    }
+}
@@ -25,6 +25,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -173,8 +174,11 @@ public class RequestQueue {
         // Create the cache dispatcher and start it.
         mCacheDispatcher = new CacheDispatcher(mCacheQueue, mNetworkQueue, mCache, mDelivery);
         mCacheDispatcher.start();
+        startNetworkDispatchers();
+    }
 
-        // Create network dispatchers (and corresponding threads) up to the pool size.
+    /** Creates network dispatchers (and corresponding threads) up to the pool size. */
+    void startNetworkDispatchers() {
         for (int i = 0; i < mDispatchers.length; i++) {
             NetworkDispatcher networkDispatcher =
                     new NetworkDispatcher(mNetworkQueue, mNetwork, mCache, mDelivery);
@@ -263,13 +267,33 @@ public class RequestQueue {
         request.addMarker("add-to-queue");
         sendRequestEvent(request, RequestEvent.REQUEST_QUEUED);
 
+        beginRequest(request);
+        return request;
+    }
+
+    /** Sends a request added to the queue to the cache or to the network. */
+    <T> void beginRequest(Request<T> request) {
         // If the request is uncacheable, skip the cache queue and go straight to the network.
         if (!request.shouldCache()) {
-            mNetworkQueue.add(request);
-            return request;
+            sendRequestOverNetwork(request);
+        } else {
+            mCacheQueue.add(request);
         }
-        mCacheQueue.add(request);
-        return request;
+    }
+
+    /** Sends a request to the network dispatchers. */
+    <T> void sendRequestOverNetwork(Request<T> request) {
+        mNetworkQueue.add(request);
+    }
+
+    /** Gets the queue of requests going out to the network. */
+    BlockingQueue<Request<?>> getNetworkQueue() {
+        return mNetworkQueue;
+    }
+
+    /** Gets the {@link ResponseDelivery} used to post responses. */
+    ResponseDelivery getResponseDelivery() {
+        return mDelivery;
     }
 
     /**
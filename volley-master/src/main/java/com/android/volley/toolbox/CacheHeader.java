@@ -6,7 +6,9 @@ import com.android.volley.Header;
 import com.android.volley.VolleyLog;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Collections;
 import java.util.List;
 
@@ -115,10 +117,45 @@ class CacheHeader {
                 key, etag, serverDate, lastModified, ttl, softTtl, allResponseHeaders);
     }
 
+    /**
+     * Reads the header from the position of a buffer, in the layout written by {@link
+     * #writeHeader(OutputStream)}. The buffer is switched to little-endian order and its position
+     * is left at the end of the header.
+     *
+     * @param buffer The buffer to read from.
+     * @throws IOException if fails to read header
+     */
+    static CacheHeader readHeader(ByteBuffer buffer) throws IOException {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            int magic = buffer.getInt();
+            if (magic != CACHE_MAGIC) {
+                throw new IOException();
+            }
+            String key = DiskBasedCacheUtility.readString(buffer);
+            String etag = DiskBasedCacheUtility.readString(buffer);
+            long serverDate = buffer.getLong();
+            long lastModified = buffer.getLong();
+            long ttl = buffer.getLong();
+            long softTtl = buffer.getLong();
+            List<Header> allResponseHeaders = DiskBasedCacheUtility.readHeaderList(buffer);
+            return new CacheHeader(
+                    key, etag, serverDate, lastModified, ttl, softTtl, allResponseHeaders);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Incomplete header");
+        }
+    }
+
     /** Creates a cache entry for the specified data. */
     Cache.Entry toCacheEntry(byte[] data) {
         Cache.Entry e = new Cache.Entry();
         e.data = data;
+        copyTo(e);
+        return e;
+    }
+
+    /** Copies this header, but not the data it describes, into a cache entry. */
+    void copyTo(Cache.Entry e) {
         e.etag = etag;
         e.serverDate = serverDate;
         e.lastModified = lastModified;
@@ -126,7 +163,6 @@ class CacheHeader {
         e.softTtl = softTtl;
         e.responseHeaders = HttpHeaderParser.toHeaderMap(allResponseHeaders);
         e.allResponseHeaders = Collections.unmodifiableList(allResponseHeaders);
-        return e;
     }
 
     /** Writes the contents of this CacheHeader to the specified OutputStream. */
@@ -148,8 +184,12 @@ class CacheHeader {
         }
     }
 
-    /** Writes the contents of this CacheHeader to the specified ByteBuffer. */
+    /**
+     * Writes the contents of this CacheHeader to the specified ByteBuffer, in the little-endian
+     * order of {@link #writeHeader(OutputStream)}. The order of the buffer is changed.
+     */
     void writeHeader(ByteBuffer buffer) throws IOException {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
         buffer.putInt(CACHE_MAGIC);
         DiskBasedCacheUtility.writeString(buffer, key);
         DiskBasedCacheUtility.writeString(buffer, etag);
@@ -0,0 +1,530 @@
+/*
+ * Copyright (C) 2011 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.volley.toolbox;
+
+import android.text.TextUtils;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.android.volley.Cache;
+import com.android.volley.VolleyLog;
+import com.android.volley.toolbox.DiskBasedCache.CountingInputStream;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache implementation that caches files directly onto the hard disk in the specified directory,
+ * like {@link DiskBasedCache}, but which can be used by many threads at the same time.
+ *
+ * <p>Entries share a fixed number of locks chosen from the hash of their file name, so keys which
+ * share a file also share a lock. An entry is written to a temporary file outside of any lock and
+ * the lock is only held to rename it and to update the index, so reads never take a lock and never
+ * see a partially written entry.
+ *
+ * <p>Least recently used ordering is approximate: each entry remembers when it was last written or
+ * read, and only one thread at a time prunes the oldest entries. Entries put while pruning is
+ * running may let the cache exceed its maximum size until the next put prunes it again.
+ *
+ * <p>This cache uses the same file format as {@link DiskBasedCache}.
+ */
+public class ConcurrentDiskBasedCache implements Cache {
+
+    /** Number of locks guarding the files of the cache, must be a power of two. */
+    @VisibleForTesting static final int LOCK_STRIPES = 32;
+
+    /** Suffix of the files entries are written to before they are renamed. */
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
+    /** Map of the Key, IndexEntry pairs */
+    private final ConcurrentHashMap<String, IndexEntry> mEntries =
+            new ConcurrentHashMap<>(16, .75f, LOCK_STRIPES);
+
+    /** Locks guarding the files of the cache, see {@link #getLock(String)}. */
+    private final ReentrantLock[] mLocks = new ReentrantLock[LOCK_STRIPES];
+
+    /** Total amount of space currently used by the cache in bytes. */
+    private final AtomicLong mTotalSize = new AtomicLong();
+
+    /** Whether a thread is pruning the cache. */
+    private final AtomicBoolean mPruning = new AtomicBoolean();
+
+    /** The supplier for the root directory to use for the cache. */
+    private final FileSupplier mRootDirectorySupplier;
+
+    /** The maximum size of the cache in bytes. */
+    private final int mMaxCacheSizeInBytes;
+
+    /**
+     * Constructs an instance of the ConcurrentDiskBasedCache at the specified directory.
+     *
+     * @param rootDirectory The root directory of the cache.
+     * @param maxCacheSizeInBytes The maximum size of the cache in bytes. Note that the cache may
+     *     briefly exceed this size on disk when writing a new entry that pushes it over the limit
+     *     until the ensuing pruning completes.
+     */
+    public ConcurrentDiskBasedCache(final File rootDirectory, int maxCacheSizeInBytes) {
+        this(
+                new FileSupplier() {
+                    @Override
+                    public File get() {
+                        return rootDirectory;
+                    }
+                },
+                maxCacheSizeInBytes);
+    }
+
+    /**
+     * Constructs an instance of the ConcurrentDiskBasedCache at the specified directory.
+     *
+     * @param rootDirectorySupplier The supplier for the root directory of the cache.
+     * @param maxCacheSizeInBytes The maximum size of the cache in bytes. Note that the cache may
+     *     briefly exceed this size on disk when writing a new entry that pushes it over the limit
+     *     until the ensuing pruning completes.
+     */
+    public ConcurrentDiskBasedCache(FileSupplier rootDirectorySupplier, int maxCacheSizeInBytes) {
+        mRootDirectorySupplier = rootDirectorySupplier;
+        mMaxCacheSizeInBytes = maxCacheSizeInBytes;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            mLocks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Constructs an instance of the ConcurrentDiskBasedCache at the specified directory using the
+     * default maximum cache size of 5MB.
+     *
+     * @param rootDirectory The root directory of the cache.
+     */
+    public ConcurrentDiskBasedCache(File rootDirectory) {
+        this(rootDirectory, DiskBasedCacheUtility.DEFAULT_DISK_USAGE_BYTES);
+    }
+
+    /**
+     * Constructs an instance of the ConcurrentDiskBasedCache at the specified directory using the
+     * default maximum cache size of 5MB.
+     *
+     * @param rootDirectorySupplier The supplier for the root directory of the cache.
+     */
+    public ConcurrentDiskBasedCache(FileSupplier rootDirectorySupplier) {
+        this(rootDirectorySupplier, DiskBasedCacheUtility.DEFAULT_DISK_USAGE_BYTES);
+    }
+
+    /** Clears the cache. Deletes all cached files from disk. */
+    @Override
+    public void clear() {
+        // Locks are always taken in the same order, and no other thread holds more than one.
+        for (ReentrantLock lock : mLocks) {
+            lock.lock();
+        }
+        try {
+            File[] files = mRootDirectorySupplier.get().listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    file.delete();
+                }
+            }
+            mEntries.clear();
+            mTotalSize.set(0);
+        } finally {
+            for (ReentrantLock lock : mLocks) {
+                lock.unlock();
+            }
+        }
+        VolleyLog.d("Cache cleared.");
+    }
+
+    /** Returns the cache entry with the specified key if it exists, null otherwise. */
+    @Override
+    public Entry get(String key) {
+        IndexEntry entry = mEntries.get(key);
+        // if the entry does not exist, return.
+        if (entry == null) {
+            return null;
+        }
+        File file = DiskBasedCacheUtility.getFileForKey(key, mRootDirectorySupplier);
+        try {
+            // The file may be replaced while it is read, the length must be the one of the file
+            // which is opened.
+            FileInputStream fis = new FileInputStream(file);
+            CountingInputStream cis;
+            try {
+                cis =
+                        new CountingInputStream(
+                                new BufferedInputStream(fis), fis.getChannel().size());
+            } catch (IOException e) {
+                fis.close();
+                throw e;
+            }
+            try {
+                CacheHeader entryOnDisk = CacheHeader.readHeader(cis);
+                if (!TextUtils.equals(key, entryOnDisk.key)) {
+                    // File was shared by two keys and now holds data for a different entry!
+                    VolleyLog.d(
+                            "%s: key=%s, found=%s", file.getAbsolutePath(), key, entryOnDisk.key);
+                    // Remove key whose contents on disk have been replaced.
+                    removeEntry(key, entry, /* deleteFile= */ false);
+                    return null;
+                }
+                byte[] data = DiskBasedCache.streamToBytes(cis, cis.bytesRemaining());
+                entry.lastAccess = System.nanoTime();
+                // The header read is the one of the data, even if the entry was put again since.
+                return entryOnDisk.toCacheEntry(data);
+            } finally {
+                // Any IOException thrown here is handled by the below catch block by design.
+                //noinspection ThrowFromFinallyBlock
+                cis.close();
+            }
+        } catch (IOException e) {
+            VolleyLog.d("%s: %s", file.getAbsolutePath(), e.toString());
+            removeEntry(key, entry, /* deleteFile= */ true);
+            return null;
+        }
+    }
+
+    /**
+     * Initializes the ConcurrentDiskBasedCache by scanning for all files currently in the specified
+     * root directory. Creates the root directory if necessary.
+     *
+     * <p>Entries put while the cache is initialized are kept over the ones found on disk.
+     */
+    @Override
+    public void initialize() {
+        File rootDirectory = mRootDirectorySupplier.get();
+        if (!rootDirectory.exists()) {
+            if (!rootDirectory.mkdirs()) {
+                VolleyLog.e("Unable to create cache dir %s", rootDirectory.getAbsolutePath());
+            }
+            return;
+        }
+        File[] files = rootDirectory.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            // Journal of a DiskBasedCache which used the same directory, it is not an entry.
+            if (DiskBasedCacheJournal.isJournalFile(file)) {
+                continue;
+            }
+            // Left by a put which did not end, or by a put running right now which will fail.
+            if (file.getName().endsWith(TEMPORARY_FILE_SUFFIX)) {
+                //noinspection ResultOfMethodCallIgnored
+                file.delete();
+                continue;
+            }
+            ReentrantLock lock = getLock(file.getName());
+            lock.lock();
+            try {
+                long entrySize = file.length();
+                CountingInputStream cis =
+                        new CountingInputStream(
+                                new BufferedInputStream(new FileInputStream(file)), entrySize);
+                try {
+                    CacheHeader header = CacheHeader.readHeader(cis);
+                    header.size = entrySize;
+                    if (mEntries.putIfAbsent(header.key, new IndexEntry(header)) == null) {
+                        mTotalSize.addAndGet(entrySize);
+                    }
+                } finally {
+                    // Any IOException thrown here is handled by the below catch block by design.
+                    //noinspection ThrowFromFinallyBlock
+                    cis.close();
+                }
+            } catch (IOException e) {
+                //noinspection ResultOfMethodCallIgnored
+                file.delete();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Invalidates an entry in the cache.
+     *
+     * @param key Cache key
+     * @param fullExpire True to fully expire the entry, false to soft expire
+     */
+    @Override
+    public void invalidate(String key, boolean fullExpire) {
+        IndexEntry indexEntry = mEntries.get(key);
+        if (indexEntry == null) {
+            return;
+        }
+        // Read and written without the lock, like a put.
+        Entry entry = get(key);
+        if (entry == null) {
+            return;
+        }
+        entry.softTtl = 0;
+        if (fullExpire) {
+            entry.ttl = 0;
+        }
+        afterWrite(write(key, entry, indexEntry));
+    }
+
+    /** Puts the entry with the specified key into the cache. */
+    @Override
+    public void put(String key, Entry entry) {
+        if (DiskBasedCacheUtility.wouldBePruned(
+                mTotalSize.get(), entry.data.length, mMaxCacheSizeInBytes)) {
+            return;
+        }
+        afterWrite(write(key, entry, /* expected= */ null));
+    }
+
+    /** Removes the specified key from the cache if it exists. */
+    @Override
+    public void remove(String key) {
+        String filename = DiskBasedCacheUtility.getFilenameForKey(key);
+        boolean deleted;
+        ReentrantLock lock = getLock(filename);
+        lock.lock();
+        try {
+            deleted = new File(mRootDirectorySupplier.get(), filename).delete();
+            IndexEntry removed = mEntries.remove(key);
+            if (removed != null) {
+                mTotalSize.addAndGet(-removed.header.size);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (!deleted) {
+            VolleyLog.d(
+                    "Could not delete cache entry for key=%s, filename=%s", key, filename);
+        }
+    }
+
+    /** Returns a file object for the given cache key. */
+    public File getFileForKey(String key) {
+        return DiskBasedCacheUtility.getFileForKey(key, mRootDirectorySupplier);
+    }
+
+    /**
+     * Writes the entry to a temporary file and renames it to the file of the key.
+     *
+     * <p>Must not be called while the lock of an other key is held.
+     *
+     * @param key The key of the entry.
+     * @param entry The entry to write.
+     * @param expected The entry of the key which is replaced, or null to replace any entry. If the
+     *     entry of the key is not this one anymore, it was put or removed since it was read, and
+     *     the temporary file is deleted so that newer change is kept.
+     * @return false if the entry could not be written.
+     */
+    private boolean write(String key, Entry entry, @Nullable IndexEntry expected) {
+        File file = DiskBasedCacheUtility.getFileForKey(key, mRootDirectorySupplier);
+        // Only one put per thread at a time, so the name is not used by an other put.
+        File temporaryFile =
+                new File(
+                        file.getPath()
+                                + "."
+                                + Thread.currentThread().getId()
+                                + TEMPORARY_FILE_SUFFIX);
+        try {
+            BufferedOutputStream fos =
+                    new BufferedOutputStream(new FileOutputStream(temporaryFile));
+            CacheHeader header = new CacheHeader(key, entry);
+            try {
+                boolean success = header.writeHeader(fos);
+                if (!success) {
+                    VolleyLog.d("Failed to write header for %s", file.getAbsolutePath());
+                    throw new IOException();
+                }
+                fos.write(entry.data);
+            } finally {
+                //noinspection ThrowFromFinallyBlock
+                fos.close();
+            }
+            header.size = temporaryFile.length();
+
+            boolean replaced;
+            ReentrantLock lock = getLock(file.getName());
+            lock.lock();
+            try {
+                replaced = expected != null && mEntries.get(key) != expected;
+                if (!replaced) {
+                    if (!temporaryFile.renameTo(file)) {
+                        throw new IOException(
+                                "Could not rename " + temporaryFile.getAbsolutePath());
+                    }
+                    IndexEntry previous = mEntries.put(key, new IndexEntry(header));
+                    mTotalSize.addAndGet(
+                            previous == null ? header.size : header.size - previous.header.size);
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (replaced && !temporaryFile.delete()) {
+                VolleyLog.d("Could not clean up file %s", temporaryFile.getAbsolutePath());
+            }
+            return true;
+        } catch (IOException e) {
+            boolean deleted = temporaryFile.delete();
+            if (!deleted) {
+                VolleyLog.d("Could not clean up file %s", temporaryFile.getAbsolutePath());
+            }
+            return false;
+        }
+    }
+
+    /** Prunes the cache after a successful write, re-initializes it after a failed one. */
+    private void afterWrite(boolean written) {
+        if (written) {
+            pruneIfNeeded();
+        } else {
+            initializeIfRootDirectoryDeleted();
+        }
+    }
+
+    /**
+     * Removes the entry of the key if it was not replaced since it was read.
+     *
+     * @param key The key of the entry.
+     * @param entry The entry which was read.
+     * @param deleteFile True to delete the file of the entry too.
+     */
+    private void removeEntry(String key, IndexEntry entry, boolean deleteFile) {
+        File file = DiskBasedCacheUtility.getFileForKey(key, mRootDirectorySupplier);
+        ReentrantLock lock = getLock(file.getName());
+        lock.lock();
+        try {
+            if (mEntries.remove(key, entry)) {
+                mTotalSize.addAndGet(-entry.header.size);
+                if (deleteFile && !file.delete()) {
+                    VolleyLog.d(
+                            "Could not delete cache entry for key=%s, filename=%s",
+                            key, file.getName());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Prunes the least recently used entries if the cache is too large. Nothing is done if an
+     * other thread is already pruning.
+     */
+    private void pruneIfNeeded() {
+        if (!DiskBasedCacheUtility.wouldExceedCacheSize(mTotalSize.get(), mMaxCacheSizeInBytes)) {
+            return;
+        }
+        if (!mPruning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            if (VolleyLog.DEBUG) {
+                VolleyLog.v("Pruning old cache entries.");
+            }
+            long before = mTotalSize.get();
+            int prunedFiles = 0;
+            long startTime = System.nanoTime();
+
+            // Access times are copied so they do not change while they are sorted.
+            List<PruneCandidate> candidates = new ArrayList<>(mEntries.size());
+            for (Map.Entry<String, IndexEntry> entry : mEntries.entrySet()) {
+                candidates.add(new PruneCandidate(entry.getKey(), entry.getValue()));
+            }
+            Collections.sort(candidates, PruneCandidate.LEAST_RECENTLY_USED_FIRST);
+
+            for (PruneCandidate candidate : candidates) {
+                if (!DiskBasedCacheUtility.doesDataExceedHighWaterMark(
+                        mTotalSize.get(), mMaxCacheSizeInBytes)) {
+                    break;
+                }
+                removeEntry(candidate.key, candidate.entry, /* deleteFile= */ true);
+                prunedFiles++;
+            }
+
+            if (VolleyLog.DEBUG) {
+                VolleyLog.v(
+                        "pruned %d files, %d bytes, %d ms",
+                        prunedFiles,
+                        (mTotalSize.get() - before),
+                        (System.nanoTime() - startTime) / 1000000);
+            }
+        } finally {
+            mPruning.set(false);
+        }
+    }
+
+    /** Re-initialize the cache if the directory was deleted. */
+    private void initializeIfRootDirectoryDeleted() {
+        if (!mRootDirectorySupplier.get().exists()) {
+            VolleyLog.d("Re-initializing cache after external clearing.");
+            mEntries.clear();
+            mTotalSize.set(0);
+            initialize();
+        }
+    }
+
+    /** Returns the lock guarding the file with the given name. */
+    private ReentrantLock getLock(String filename) {
+        int hash = filename.hashCode();
+        // Spread the higher bits, as file names are made of two hash codes.
+        hash ^= (hash >>> 16);
+        return mLocks[hash & (LOCK_STRIPES - 1)];
+    }
+
+    /** Header of an entry with the time of its last use. */
+    private static class IndexEntry {
+        final CacheHeader header;
+
+        /** Value of {@link System#nanoTime()} when the entry was last written or read. */
+        volatile long lastAccess;
+
+        IndexEntry(CacheHeader header) {
+            this.header = header;
+            this.lastAccess = System.nanoTime();
+        }
+    }
+
+    /** Entry which may be pruned, with the time of its last use when pruning started. */
+    private static class PruneCandidate {
+        static final Comparator<PruneCandidate> LEAST_RECENTLY_USED_FIRST =
+                new Comparator<PruneCandidate>() {
+                    @Override
+                    public int compare(PruneCandidate first, PruneCandidate second) {
+                        // Compared by difference, nanoTime values may overflow.
+                        long difference = first.lastAccess - second.lastAccess;
+                        return difference < 0 ? -1 : (difference > 0 ? 1 : 0);
+                    }
+                };
+
+        final String key;
+        final IndexEntry entry;
+        final long lastAccess;
+
+        PruneCandidate(String key, IndexEntry entry) {
+            this.key = key;
+            this.entry = entry;
+            this.lastAccess = entry.lastAccess;
+        }
+    }
+}
@@ -16,46 +16,91 @@ import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * AsyncCache implementation that uses Java NIO's AsynchronousFileChannel to perform asynchronous
  * disk reads and writes.
+ *
+ * <p>This cache uses the same file format as {@link DiskBasedCache}. Entries are written to a
+ * temporary file which is renamed once it is complete, so reads never see a partially written
+ * entry.
  */
 @RequiresApi(Build.VERSION_CODES.O)
 public class DiskBasedAsyncCache extends AsyncCache {
 
-    /** Map of the Key, CacheHeader pairs */
+    /** Number of bytes read from each file to find its header during initialization. */
+    private static final int INITIAL_HEADER_READ_SIZE = 4 * 1024;
+
+    /** Map of the Key, CacheHeader pairs, guarded by this. */
     private final Map<String, CacheHeader> mEntries = new LinkedHashMap<>(16, .75f, true);
 
     /** The supplier for the root directory to use for the cache. */
     private final FileSupplier mRootDirectorySupplier;
 
-    /** Total amount of space currently used by the cache in bytes. */
+    /** Total amount of space currently used by the cache in bytes, guarded by this. */
     private long mTotalSize = 0;
 
     /** The maximum size of the cache in bytes. */
     private final int mMaxCacheSizeInBytes;
 
+    /** Used to give each write its own temporary file. */
+    private final AtomicInteger mWriteCount = new AtomicInteger();
+
+    /** Executor deleting the files of removed entries, off the thread asking for the removal. */
+    private final Executor mDeleteExecutor;
+
     /**
      * Constructs an instance of the DiskBasedAsyncCache at the specified directory.
      *
      * @param rootDirectory The root directory of the cache.
      */
     public DiskBasedAsyncCache(final File rootDirectory, int maxCacheSizeInBytes) {
-        mRootDirectorySupplier =
+        this(
                 new FileSupplier() {
                     @Override
                     public File get() {
                         return rootDirectory;
                     }
-                };
+                },
+                maxCacheSizeInBytes);
+    }
+
+    /**
+     * Constructs an instance of the DiskBasedAsyncCache at the specified directory.
+     *
+     * @param rootDirectorySupplier The supplier for the root directory of the cache.
+     */
+    public DiskBasedAsyncCache(FileSupplier rootDirectorySupplier, int maxCacheSizeInBytes) {
+        this(rootDirectorySupplier, maxCacheSizeInBytes, newDeleteExecutor());
+    }
+
+    /**
+     * Constructs an instance of the DiskBasedAsyncCache at the specified directory.
+     *
+     * @param rootDirectorySupplier The supplier for the root directory of the cache.
+     * @param deleteExecutor The executor deleting the files of removed entries and of a cleared
+     *     cache.
+     */
+    public DiskBasedAsyncCache(
+            FileSupplier rootDirectorySupplier, int maxCacheSizeInBytes, Executor deleteExecutor) {
+        mRootDirectorySupplier = rootDirectorySupplier;
         mMaxCacheSizeInBytes = maxCacheSizeInBytes;
+        mDeleteExecutor = deleteExecutor;
     }
 
     /** Returns the cache entry with the specified key if it exists, null otherwise. */
     @Override
-    public void get(String key, final OnGetCompleteCallback callback) {
-        final CacheHeader entry = mEntries.get(key);
+    public void get(final String key, final OnGetCompleteCallback callback) {
+        final CacheHeader entry;
+        synchronized (this) {
+            entry = mEntries.get(key);
+        }
         // if the entry does not exist, return null.
         if (entry == null) {
             callback.onGetComplete(null);
@@ -71,7 +116,10 @@ public class DiskBasedAsyncCache extends AsyncCache {
                     AsynchronousFileChannel.open(path, StandardOpenOption.READ);
             channel = afc;
             int headerSize = entry.getHeaderSize();
-            final int size = (int) file.length() - headerSize;
+            final int size = (int) entry.size - headerSize;
+            if (afc.size() != entry.size) {
+                throw new IOException("size=" + afc.size() + ", expected=" + entry.size);
+            }
             final ByteBuffer buffer = ByteBuffer.allocate(size);
             afc.read(
                     /* destination= */ buffer,
@@ -102,6 +150,8 @@ public class DiskBasedAsyncCache extends AsyncCache {
         } catch (IOException e) {
             VolleyLog.e(e, "Failed to read file %s", file.getAbsolutePath());
             closeChannel(channel, "IOException");
+            // The file is missing or was replaced by another cache
+            removeEntry(key, entry);
             callback.onGetComplete(null);
         }
     }
@@ -109,20 +159,32 @@ public class DiskBasedAsyncCache extends AsyncCache {
     /** Puts the cache entry with a specified key into the cache. */
     @Override
     public void put(final String key, Cache.Entry entry, final OnPutCompleteCallback callback) {
-        if (DiskBasedCacheUtility.wouldBePruned(
-                mTotalSize, entry.data.length, mMaxCacheSizeInBytes)) {
-            return;
+        synchronized (this) {
+            if (DiskBasedCacheUtility.wouldBePruned(
+                    mTotalSize, entry.data.length, mMaxCacheSizeInBytes)) {
+                callback.onPutComplete();
+                return;
+            }
         }
 
         final File file = DiskBasedCacheUtility.getFileForKey(key, mRootDirectorySupplier);
-        Path path = Paths.get(file.getPath());
+        final File temporaryFile =
+                new File(
+                        file.getPath()
+                                + "."
+                                + mWriteCount.incrementAndGet()
+                                + DiskBasedCacheUtility.TEMPORARY_SUFFIX);
+        Path path = Paths.get(temporaryFile.getPath());
 
         // channel we can close after IOException
         AsynchronousFileChannel channel = null;
         try {
             final AsynchronousFileChannel afc =
                     AsynchronousFileChannel.open(
-                            path, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+                            path,
+                            StandardOpenOption.WRITE,
+                            StandardOpenOption.CREATE,
+                            StandardOpenOption.TRUNCATE_EXISTING);
             channel = afc;
             final CacheHeader header = new CacheHeader(key, entry);
             int headerSize = header.getHeaderSize();
@@ -143,22 +205,14 @@ public class DiskBasedAsyncCache extends AsyncCache {
                                     VolleyLog.e(
                                             "File changed while writing: %s",
                                             file.getAbsolutePath());
-                                    deleteFile(file);
+                                    deleteFile(temporaryFile);
                                     callback.onPutComplete();
                                     return;
                                 }
                                 header.size = resultLen;
-                                mTotalSize =
-                                        DiskBasedCacheUtility.putEntry(
-                                                key, header, mTotalSize, mEntries);
-                                mTotalSize =
-                                        DiskBasedCacheUtility.pruneIfNeeded(
-                                                mTotalSize,
-                                                mMaxCacheSizeInBytes,
-                                                mEntries,
-                                                mRootDirectorySupplier);
+                                commit(key, header, temporaryFile, file);
                             } else {
-                                deleteFile(file);
+                                deleteFile(temporaryFile);
                             }
 
                             callback.onPutComplete();
@@ -167,33 +221,262 @@ public class DiskBasedAsyncCache extends AsyncCache {
                         @Override
                         public void failed(Throwable throwable, Void ignore) {
                             VolleyLog.e(
-                                    throwable, "Failed to read file %s", file.getAbsolutePath());
-                            deleteFile(file);
+                                    throwable, "Failed to write file %s", file.getAbsolutePath());
+                            closeChannel(afc, "failed write");
+                            deleteFile(temporaryFile);
                             callback.onPutComplete();
-                            closeChannel(afc, "failed read");
                         }
                     });
         } catch (IOException e) {
             if (closeChannel(channel, "IOException")) {
-                deleteFile(file);
+                deleteFile(temporaryFile);
             }
+            initializeIfRootDirectoryDeleted();
             callback.onPutComplete();
         }
     }
 
-    public void initialize() {
-        // TODO (sphill99): #181
+    /**
+     * Initializes the DiskBasedAsyncCache by reading the header of all files currently in the
+     * specified root directory. Creates the root directory if necessary.
+     */
+    @Override
+    public void initialize(final OnWriteOperationCompleteCallback callback) {
+        synchronized (this) {
+            mEntries.clear();
+            mTotalSize = 0;
+        }
+        File rootDirectory = mRootDirectorySupplier.get();
+        if (!rootDirectory.exists()) {
+            if (!rootDirectory.mkdirs()) {
+                VolleyLog.e("Unable to create cache dir %s", rootDirectory.getAbsolutePath());
+            }
+            callback.onWriteOperationComplete();
+            return;
+        }
+        File[] files = rootDirectory.listFiles();
+        if (files == null || files.length == 0) {
+            callback.onWriteOperationComplete();
+            return;
+        }
+        final AtomicInteger remainingFiles = new AtomicInteger(files.length);
+        Runnable onFileRead =
+                new Runnable() {
+                    @Override
+                    public void run() {
+                        if (remainingFiles.decrementAndGet() == 0) {
+                            callback.onWriteOperationComplete();
+                        }
+                    }
+                };
+        for (File file : files) {
+            if (DiskBasedCacheJournal.isJournalFile(file)) {
+                // Journal of a DiskBasedCache which used the same directory, it is not an entry
+                onFileRead.run();
+            } else if (file.getName().endsWith(DiskBasedCacheUtility.TEMPORARY_SUFFIX)) {
+                // Entry which was being written when the process died
+                //noinspection ResultOfMethodCallIgnored
+                file.delete();
+                onFileRead.run();
+            } else {
+                readHeader(file, INITIAL_HEADER_READ_SIZE, onFileRead);
+            }
+        }
+    }
+
+    /** Invalidates an entry in the cache. */
+    @Override
+    public void invalidate(
+            final String key,
+            final boolean fullExpire,
+            final OnWriteOperationCompleteCallback callback) {
+        get(
+                key,
+                new OnGetCompleteCallback() {
+                    @Override
+                    public void onGetComplete(@Nullable Cache.Entry entry) {
+                        if (entry == null) {
+                            callback.onWriteOperationComplete();
+                            return;
+                        }
+                        entry.softTtl = 0;
+                        if (fullExpire) {
+                            entry.ttl = 0;
+                        }
+                        put(
+                                key,
+                                entry,
+                                new OnPutCompleteCallback() {
+                                    @Override
+                                    public void onPutComplete() {
+                                        callback.onWriteOperationComplete();
+                                    }
+                                });
+                    }
+                });
+    }
+
+    /**
+     * Removes the specified key from the cache if it exists. Lookups miss the entry as soon as this
+     * returns, its file is deleted on the delete executor before the callback is called.
+     */
+    @Override
+    public void remove(final String key, final OnWriteOperationCompleteCallback callback) {
+        synchronized (this) {
+            mTotalSize = DiskBasedCacheUtility.removeEntry(key, mTotalSize, mEntries);
+        }
+        mDeleteExecutor.execute(
+                new Runnable() {
+                    @Override
+                    public void run() {
+                        deleteFileUnlessInUse(
+                                DiskBasedCacheUtility.getFileForKey(key, mRootDirectorySupplier));
+                        callback.onWriteOperationComplete();
+                    }
+                });
+    }
+
+    /**
+     * Clears the cache. Lookups miss every entry as soon as this returns, cached files are deleted
+     * from disk on the delete executor before the callback is called.
+     */
+    @Override
+    public void clear(final OnWriteOperationCompleteCallback callback) {
+        synchronized (this) {
+            mEntries.clear();
+            mTotalSize = 0;
+        }
+        mDeleteExecutor.execute(
+                new Runnable() {
+                    @Override
+                    public void run() {
+                        File[] files = mRootDirectorySupplier.get().listFiles();
+                        if (files != null) {
+                            for (File file : files) {
+                                deleteFileUnlessInUse(file);
+                            }
+                        }
+                        VolleyLog.d("Cache cleared.");
+                        callback.onWriteOperationComplete();
+                    }
+                });
+    }
+
+    /**
+     * Reads the header at the start of a file into the entries map, or deletes the file if it is
+     * not a cache entry, then runs onFileRead.
+     *
+     * @param file The file to read.
+     * @param length Number of bytes to read, the whole file is read again if the header is longer.
+     * @param onFileRead Runnable run once the file is read or deleted.
+     */
+    private void readHeader(final File file, final int length, final Runnable onFileRead) {
+        Path path = Paths.get(file.getPath());
+
+        // channel we can close after IOException
+        AsynchronousFileChannel channel = null;
+        try {
+            final AsynchronousFileChannel afc =
+                    AsynchronousFileChannel.open(path, StandardOpenOption.READ);
+            channel = afc;
+            final long fileSize = afc.size();
+            if (fileSize > Integer.MAX_VALUE) {
+                throw new IOException("File too large: " + fileSize);
+            }
+            final ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(fileSize, length));
+            afc.read(
+                    /* destination= */ buffer,
+                    /* position= */ 0,
+                    /* attachment= */ null,
+                    new CompletionHandler<Integer, Void>() {
+                        @Override
+                        public void completed(Integer result, Void v) {
+                            closeChannel(afc, "completed header read");
+                            buffer.flip();
+                            try {
+                                CacheHeader header = CacheHeader.readHeader(buffer);
+                                header.size = fileSize;
+                                synchronized (DiskBasedAsyncCache.this) {
+                                    mTotalSize =
+                                            DiskBasedCacheUtility.putEntry(
+                                                    header.key, header, mTotalSize, mEntries);
+                                }
+                            } catch (IOException e) {
+                                if (buffer.limit() < fileSize) {
+                                    // The header is longer than what was read
+                                    readHeader(file, (int) fileSize, onFileRead);
+                                    return;
+                                }
+                                //noinspection ResultOfMethodCallIgnored
+                                file.delete();
+                            }
+                            onFileRead.run();
+                        }
+
+                        @Override
+                        public void failed(Throwable exc, Void ignore) {
+                            closeChannel(afc, "failed header read");
+                            //noinspection ResultOfMethodCallIgnored
+                            file.delete();
+                            onFileRead.run();
+                        }
+                    });
+        } catch (IOException e) {
+            closeChannel(channel, "IOException");
+            //noinspection ResultOfMethodCallIgnored
+            file.delete();
+            onFileRead.run();
+        }
+    }
+
+    /** Replaces the file of an entry by its written temporary file, then prunes the cache. */
+    private synchronized void commit(
+            String key, CacheHeader header, File temporaryFile, File file) {
+        if (!temporaryFile.renameTo(file)) {
+            VolleyLog.e("Unable to rename %s", temporaryFile.getAbsolutePath());
+            deleteFile(temporaryFile);
+            return;
+        }
+        mTotalSize = DiskBasedCacheUtility.putEntry(key, header, mTotalSize, mEntries);
+        mTotalSize =
+                DiskBasedCacheUtility.pruneIfNeeded(
+                        mTotalSize, mMaxCacheSizeInBytes, mEntries, mRootDirectorySupplier);
+    }
+
+    /** Removes the entry unless it was replaced since it was read. */
+    private synchronized void removeEntry(String key, CacheHeader entry) {
+        if (mEntries.get(key) == entry) {
+            mTotalSize = DiskBasedCacheUtility.removeEntry(key, mTotalSize, mEntries);
+        }
+    }
+
+    /**
+     * Deletes a file unless it became the file of an entry put since the removal, which happens
+     * under the lock like the rename committing a put.
+     */
+    private synchronized void deleteFileUnlessInUse(File file) {
+        for (String key : mEntries.keySet()) {
+            if (file.getName().equals(DiskBasedCacheUtility.getFilenameForKey(key))) {
+                return;
+            }
+        }
+        if (!file.delete()) {
+            VolleyLog.d("Could not delete cache file %s", file.getAbsolutePath());
+        }
     }
 
     /** Re-initialize the cache if the directory was deleted. */
-    private void initializeIfRootDirectoryDeleted() {
-        if (mRootDirectorySupplier.get().exists()) {
+    private synchronized void initializeIfRootDirectoryDeleted() {
+        File rootDirectory = mRootDirectorySupplier.get();
+        if (rootDirectory.exists()) {
             return;
         }
         VolleyLog.d("Re-initializing cache after external clearing.");
         mEntries.clear();
         mTotalSize = 0;
-        initialize();
+        if (!rootDirectory.mkdirs()) {
+            VolleyLog.e("Unable to create cache dir %s", rootDirectory.getAbsolutePath());
+        }
     }
 
     /**
@@ -218,6 +501,27 @@ public class DiskBasedAsyncCache extends AsyncCache {
     }
 
     /** Deletes the specified file, and reinitializes the root if it was deleted. */
+    /** Returns the default delete executor, whose single thread stops once it is idle. */
+    private static Executor newDeleteExecutor() {
+        ThreadPoolExecutor executor =
+                new ThreadPoolExecutor(
+                        /* corePoolSize= */ 1,
+                        /* maximumPoolSize= */ 1,
+                        /* keepAliveTime= */ 60,
+                        TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<Runnable>(),
+                        new ThreadFactory() {
+                            @Override
+                            public Thread newThread(Runnable runnable) {
+                                Thread thread = new Thread(runnable, "Volley-DiskCacheDelete");
+                                thread.setDaemon(true);
+                                return thread;
+                            }
+                        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     private void deleteFile(File file) {
         boolean deleted = file.delete();
         if (!deleted) {
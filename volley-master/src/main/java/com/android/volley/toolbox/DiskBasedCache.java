@@ -17,6 +17,7 @@
 package com.android.volley.toolbox;
 
 import android.text.TextUtils;
+import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 import com.android.volley.Cache;
 import com.android.volley.VolleyLog;
@@ -31,7 +32,13 @@ import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -39,6 +46,11 @@ import java.util.Map;
  * The default disk usage size is 5MB, but is configurable.
  *
  * <p>This cache supports the {@link Entry#allResponseHeaders} headers field.
+ *
+ * <p>Changes to the cache are appended to a journal file in the same directory, which is read
+ * instead of the cached files when the cache is initialized. Entries whose file was removed or
+ * replaced by another cache sharing the directory are then dropped, but files it added are not
+ * read, so the directory should only be shared with another cache implementation to migrate it.
  */
 public class DiskBasedCache implements Cache {
 
@@ -54,6 +66,9 @@ public class DiskBasedCache implements Cache {
     /** The maximum size of the cache in bytes. */
     private final int mMaxCacheSizeInBytes;
 
+    /** Journal of the changes to the cache, used to rebuild the entries map on initialization. */
+    private final DiskBasedCacheJournal mJournal;
+
     /**
      * Constructs an instance of the DiskBasedCache at the specified directory.
      *
@@ -71,6 +86,7 @@ public class DiskBasedCache implements Cache {
                     }
                 };
         mMaxCacheSizeInBytes = maxCacheSizeInBytes;
+        mJournal = new DiskBasedCacheJournal(mRootDirectorySupplier);
     }
 
     /**
@@ -84,6 +100,7 @@ public class DiskBasedCache implements Cache {
     public DiskBasedCache(FileSupplier rootDirectorySupplier, int maxCacheSizeInBytes) {
         mRootDirectorySupplier = rootDirectorySupplier;
         mMaxCacheSizeInBytes = maxCacheSizeInBytes;
+        mJournal = new DiskBasedCacheJournal(mRootDirectorySupplier);
     }
 
     /**
@@ -109,6 +126,7 @@ public class DiskBasedCache implements Cache {
     /** Clears the cache. Deletes all cached files from disk. */
     @Override
     public synchronized void clear() {
+        mJournal.close();
         File[] files = mRootDirectorySupplier.get().listFiles();
         if (files != null) {
             for (File file : files) {
@@ -117,6 +135,8 @@ public class DiskBasedCache implements Cache {
         }
         mEntries.clear();
         mTotalSize = 0;
+        // Starts an empty journal
+        mJournal.rebuild(mEntries);
         VolleyLog.d("Cache cleared.");
     }
 
@@ -141,9 +161,16 @@ public class DiskBasedCache implements Cache {
                             "%s: key=%s, found=%s", file.getAbsolutePath(), key, entryOnDisk.key);
                     // Remove key whose contents on disk have been replaced.
                     mTotalSize = DiskBasedCacheUtility.removeEntry(key, mTotalSize, mEntries);
+                    mJournal.recordRemove(key);
                     return null;
                 }
+                if (file.length() != entry.size) {
+                    // File was not completely written before the process died
+                    throw new IOException("size=" + file.length() + ", expected=" + entry.size);
+                }
                 byte[] data = streamToBytes(cis, cis.bytesRemaining());
+                mJournal.recordRead(key);
+                compactJournalIfNeeded();
                 return entry.toCacheEntry(data);
             } finally {
                 // Any IOException thrown here is handled by the below catch block by design.
@@ -158,8 +185,53 @@ public class DiskBasedCache implements Cache {
     }
 
     /**
-     * Initializes the DiskBasedCache by scanning for all files currently in the specified root
-     * directory. Creates the root directory if necessary.
+     * Returns the cache entry with the specified key if it exists, null otherwise, with its data
+     * read from the memory-mapped cache file instead of being copied into a byte array.
+     *
+     * <p>The data stays readable after the entry is replaced or removed from the cache.
+     *
+     * <p>Requests still read the cache through {@link #get(String)}: the cache dispatcher needs an
+     * {@link Entry}, whose data is a byte array, so mapping the file would not save the copy.
+     * This method is for callers which can use the data as a buffer, like a parser reading it in
+     * place.
+     */
+    @Nullable
+    public synchronized MappedEntry getMapped(String key) {
+        CacheHeader entry = mEntries.get(key);
+        // if the entry does not exist, return.
+        if (entry == null) {
+            return null;
+        }
+        File file = DiskBasedCacheUtility.getFileForKey(key, mRootDirectorySupplier);
+        try {
+            ByteBuffer buffer = mapFile(file);
+            CacheHeader entryOnDisk = CacheHeader.readHeader(buffer);
+            if (!TextUtils.equals(key, entryOnDisk.key)) {
+                // File was shared by two keys and now holds data for a different entry!
+                VolleyLog.d("%s: key=%s, found=%s", file.getAbsolutePath(), key, entryOnDisk.key);
+                // Remove key whose contents on disk have been replaced.
+                mTotalSize = DiskBasedCacheUtility.removeEntry(key, mTotalSize, mEntries);
+                mJournal.recordRemove(key);
+                return null;
+            }
+            if (buffer.capacity() != entry.size) {
+                // File was not completely written before the process died
+                throw new IOException("size=" + buffer.capacity() + ", expected=" + entry.size);
+            }
+            mJournal.recordRead(key);
+            compactJournalIfNeeded();
+            return new MappedEntry(entry, buffer.slice().asReadOnlyBuffer());
+        } catch (IOException e) {
+            VolleyLog.d("%s: %s", file.getAbsolutePath(), e.toString());
+            remove(key);
+            return null;
+        }
+    }
+
+    /**
+     * Initializes the DiskBasedCache by reading the journal of the specified root directory, or by
+     * scanning for all files currently in it if there is no readable journal. Creates the root
+     * directory if necessary.
      */
     @Override
     public synchronized void initialize() {
@@ -168,6 +240,15 @@ public class DiskBasedCache implements Cache {
             if (!rootDirectory.mkdirs()) {
                 VolleyLog.e("Unable to create cache dir %s", rootDirectory.getAbsolutePath());
             }
+            mJournal.rebuild(mEntries);
+            return;
+        }
+        mEntries.clear();
+        mTotalSize = 0;
+        if (mJournal.readInto(mEntries)) {
+            for (CacheHeader entry : mEntries.values()) {
+                mTotalSize += entry.size;
+            }
             return;
         }
         File[] files = rootDirectory.listFiles();
@@ -175,6 +256,15 @@ public class DiskBasedCache implements Cache {
             return;
         }
         for (File file : files) {
+            if (DiskBasedCacheJournal.isJournalFile(file)) {
+                continue;
+            }
+            if (file.getName().endsWith(DiskBasedCacheUtility.TEMPORARY_SUFFIX)) {
+                // Entry which was being written when the process died
+                //noinspection ResultOfMethodCallIgnored
+                file.delete();
+                continue;
+            }
             try {
                 long entrySize = file.length();
                 CountingInputStream cis =
@@ -195,6 +285,8 @@ public class DiskBasedCache implements Cache {
                 file.delete();
             }
         }
+        // Caches written before the journal existed, or whose journal was lost, get a new one
+        mJournal.rebuild(mEntries);
     }
 
     /**
@@ -224,8 +316,12 @@ public class DiskBasedCache implements Cache {
         }
 
         File file = DiskBasedCacheUtility.getFileForKey(key, mRootDirectorySupplier);
+        // The file is replaced rather than overwritten, as it may still be mapped by getMapped()
+        File temporaryFile =
+                DiskBasedCacheUtility.getTemporaryFileForKey(key, mRootDirectorySupplier);
+        mJournal.recordDirty(key);
         try {
-            BufferedOutputStream fos = new BufferedOutputStream(createOutputStream(file));
+            BufferedOutputStream fos = new BufferedOutputStream(createOutputStream(temporaryFile));
             CacheHeader e = new CacheHeader(key, entry);
             boolean success = e.writeHeader(fos);
             if (!success) {
@@ -235,15 +331,35 @@ public class DiskBasedCache implements Cache {
             }
             fos.write(entry.data);
             fos.close();
-            e.size = file.length();
+            e.size = temporaryFile.length();
+            if (!temporaryFile.renameTo(file)) {
+                throw new IOException("Unable to rename " + temporaryFile.getAbsolutePath());
+            }
             mTotalSize = DiskBasedCacheUtility.putEntry(key, e, mTotalSize, mEntries);
+            mJournal.recordPut(e);
+            List<String> prunedKeys = new ArrayList<>();
             mTotalSize =
                     DiskBasedCacheUtility.pruneIfNeeded(
-                            mTotalSize, mMaxCacheSizeInBytes, mEntries, mRootDirectorySupplier);
+                            mTotalSize,
+                            mMaxCacheSizeInBytes,
+                            mEntries,
+                            mRootDirectorySupplier,
+                            prunedKeys);
+            for (String prunedKey : prunedKeys) {
+                mJournal.recordRemove(prunedKey);
+            }
+            compactJournalIfNeeded();
         } catch (IOException e) {
-            boolean deleted = file.delete();
+            boolean deleted = temporaryFile.delete();
             if (!deleted) {
-                VolleyLog.d("Could not clean up file %s", file.getAbsolutePath());
+                VolleyLog.d("Could not clean up file %s", temporaryFile.getAbsolutePath());
+            }
+            // The file of the previous entry for this key, if any, was not replaced
+            CacheHeader previous = mEntries.get(key);
+            if (previous != null) {
+                mJournal.recordPut(previous);
+            } else {
+                mJournal.recordRemove(key);
             }
             initializeIfRootDirectoryDeleted();
         }
@@ -254,6 +370,8 @@ public class DiskBasedCache implements Cache {
     public synchronized void remove(String key) {
         boolean deleted = DiskBasedCacheUtility.getFileForKey(key, mRootDirectorySupplier).delete();
         mTotalSize = DiskBasedCacheUtility.removeEntry(key, mTotalSize, mEntries);
+        mJournal.recordRemove(key);
+        compactJournalIfNeeded();
         if (!deleted) {
             VolleyLog.d(
                     "Could not delete cache entry for key=%s, filename=%s",
@@ -261,6 +379,54 @@ public class DiskBasedCache implements Cache {
         }
     }
 
+    /**
+     * Cache entry returned by {@link #getMapped(String)}, whose data is a read-only buffer over the
+     * mapped cache file. It is not an {@link Entry} since {@link Entry#data} would have to be copied
+     * from the mapped file up front; {@link #toEntry()} makes that copy when it is needed.
+     */
+    public static class MappedEntry {
+        /** Metadata of the entry, without its data. */
+        private final CacheHeader mHeader;
+
+        private final ByteBuffer mBody;
+
+        /** The entry with its data copied, created by the first call to {@link #toEntry()}. */
+        @Nullable private Entry mEntry;
+
+        MappedEntry(CacheHeader header, ByteBuffer body) {
+            mHeader = header;
+            mBody = body;
+        }
+
+        /** Returns the data of the entry as a read-only buffer positioned at its start. */
+        public ByteBuffer getBody() {
+            return mBody.duplicate();
+        }
+
+        /** True if the entry is expired. */
+        public boolean isExpired() {
+            return mHeader.ttl < System.currentTimeMillis();
+        }
+
+        /** True if a refresh is needed from the original data source. */
+        public boolean refreshNeeded() {
+            return mHeader.softTtl < System.currentTimeMillis();
+        }
+
+        /**
+         * Returns the entry with its data, copied from the mapped file on the first call. The same
+         * entry is returned by later calls.
+         */
+        public synchronized Entry toEntry() {
+            if (mEntry == null) {
+                byte[] data = new byte[mBody.remaining()];
+                mBody.duplicate().get(data);
+                mEntry = mHeader.toCacheEntry(data);
+            }
+            return mEntry;
+        }
+    }
+
     /** Represents a supplier for {@link File}s. */
     public interface FileSupplier extends com.android.volley.toolbox.FileSupplier {}
 
@@ -269,6 +435,13 @@ public class DiskBasedCache implements Cache {
         return new File(mRootDirectorySupplier.get(), DiskBasedCacheUtility.getFilenameForKey(key));
     }
 
+    /** Rewrites the journal once most of its records do not change the entries map anymore. */
+    private void compactJournalIfNeeded() {
+        if (mJournal.needsCompaction(mEntries.size())) {
+            mJournal.rebuild(mEntries);
+        }
+    }
+
     /** Re-initialize the cache if the directory was deleted. */
     private void initializeIfRootDirectoryDeleted() {
         if (!mRootDirectorySupplier.get().exists()) {
@@ -297,6 +470,21 @@ public class DiskBasedCache implements Cache {
         return bytes;
     }
 
+    @VisibleForTesting
+    @SuppressWarnings("TryFinallyCanBeTryWithResources")
+    MappedByteBuffer mapFile(File file) throws IOException {
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        try {
+            // The mapping stays valid once the file is closed
+            return randomAccessFile
+                    .getChannel()
+                    .map(FileChannel.MapMode.READ_ONLY, 0, randomAccessFile.length());
+        } finally {
+            //noinspection ThrowFromFinallyBlock
+            randomAccessFile.close();
+        }
+    }
+
     @VisibleForTesting
     InputStream createInputStream(File file) throws FileNotFoundException {
         return new FileInputStream(file);
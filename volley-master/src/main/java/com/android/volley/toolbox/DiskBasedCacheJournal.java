@@ -0,0 +1,348 @@
+/*
+ * Copyright (C) 2011 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.volley.toolbox;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.android.volley.VolleyLog;
+import com.android.volley.toolbox.DiskBasedCache.CountingInputStream;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Append-only journal of the entries of a {@link DiskBasedCache}, in the root directory of the
+ * cache.
+ *
+ * <p>Each put, remove and read of an entry appends a record, so the index of the cache can be
+ * rebuilt with one sequential read of the journal instead of reading the header of every cached
+ * file. Records are:
+ *
+ * <ul>
+ *   <li>DIRTY, written before an entry file is written. An entry whose last record is DIRTY may
+ *       not have been completely written, it is deleted when the journal is read.
+ *   <li>PUT, written once an entry file is written, with the size of the file and its header.
+ *   <li>REMOVE, written when an entry is removed or pruned.
+ *   <li>READ, written when an entry is read, to keep the least recently used order.
+ * </ul>
+ *
+ * <p>Records which do not change the index anymore are counted, and the journal is rewritten with
+ * one PUT record per entry once there are too many of them.
+ *
+ * <p>This class is not thread safe, {@link DiskBasedCache} only uses it while holding its lock.
+ */
+class DiskBasedCacheJournal {
+
+    /** Name of the journal file. Entry file names are only made of digits and '-'. */
+    static final String JOURNAL_FILE_NAME = "journal";
+
+    /** Name of the file the journal is rewritten to before replacing it. */
+    static final String JOURNAL_TEMPORARY_FILE_NAME = "journal.tmp";
+
+    /** Number of records which do not change the index after which the journal is compacted. */
+    @VisibleForTesting static final int COMPACTION_THRESHOLD = 2000;
+
+    /** Magic number for current version of journal file format. */
+    private static final int JOURNAL_MAGIC = 0x20220301;
+
+    private static final int DIRTY = 1;
+    private static final int PUT = 2;
+    private static final int REMOVE = 3;
+    private static final int READ = 4;
+
+    /** The supplier for the root directory of the cache. */
+    private final FileSupplier mRootDirectorySupplier;
+
+    /** Stream appending records to the journal, null if the journal is not open. */
+    @Nullable private OutputStream mWriter;
+
+    /**
+     * Estimate of the number of records which do not change the index anymore, every record
+     * appended since the journal was read or compacted is counted.
+     */
+    private int mRedundantRecords;
+
+    DiskBasedCacheJournal(FileSupplier rootDirectorySupplier) {
+        mRootDirectorySupplier = rootDirectorySupplier;
+    }
+
+    /** Returns whether the file belongs to the journal rather than to a cache entry. */
+    static boolean isJournalFile(File file) {
+        String name = file.getName();
+        return JOURNAL_FILE_NAME.equals(name) || JOURNAL_TEMPORARY_FILE_NAME.equals(name);
+    }
+
+    /**
+     * Reads the journal into the entries map, in least recently used order, and opens it to append
+     * the next records.
+     *
+     * <p>Files of entries which were not completely written are deleted. If the journal ends with
+     * an incomplete record, the records before it are kept and the journal is rewritten.
+     *
+     * @param entries Map of the entries in the cache, which must be empty.
+     * @return false if there is no readable journal, the cache must then be read from its files.
+     */
+    boolean readInto(Map<String, CacheHeader> entries) {
+        close();
+        File journalFile = getJournalFile();
+        if (!journalFile.exists()) {
+            return false;
+        }
+
+        boolean complete = true;
+        int records = 0;
+        Set<String> dirtyKeys = new HashSet<>();
+        try {
+            CountingInputStream cis =
+                    new CountingInputStream(
+                            new BufferedInputStream(new FileInputStream(journalFile)),
+                            journalFile.length());
+            try {
+                if (DiskBasedCacheUtility.readInt(cis) != JOURNAL_MAGIC) {
+                    VolleyLog.d("Ignoring journal with unknown format");
+                    return false;
+                }
+                while (cis.bytesRemaining() > 0) {
+                    try {
+                        readRecord(cis, entries, dirtyKeys);
+                        records++;
+                    } catch (IOException e) {
+                        // Only the last record can be incomplete, written when the process died
+                        VolleyLog.d("Incomplete journal record: %s", e.toString());
+                        complete = false;
+                        break;
+                    }
+                }
+            } finally {
+                // Any IOException thrown here is handled by the below catch block by design.
+                //noinspection ThrowFromFinallyBlock
+                cis.close();
+            }
+        } catch (IOException e) {
+            VolleyLog.d("Unable to read journal: %s", e.toString());
+            entries.clear();
+            return false;
+        }
+
+        for (String key : dirtyKeys) {
+            entries.remove(key);
+            //noinspection ResultOfMethodCallIgnored
+            DiskBasedCacheUtility.getFileForKey(key, mRootDirectorySupplier).delete();
+            //noinspection ResultOfMethodCallIgnored
+            DiskBasedCacheUtility.getTemporaryFileForKey(key, mRootDirectorySupplier).delete();
+        }
+        boolean stale = removeStaleEntries(entries);
+        mRedundantRecords = records - entries.size();
+        if (!complete || !dirtyKeys.isEmpty() || stale || needsCompaction(entries.size())) {
+            rebuild(entries);
+        } else {
+            open();
+        }
+        return true;
+    }
+
+    /**
+     * Removes the entries whose file was deleted or replaced without a record in the journal, by
+     * an other cache implementation which used the same directory for example. Only the size of
+     * each file is checked, files added to the directory without a record are not read.
+     *
+     * @return true if an entry was removed
+     */
+    private boolean removeStaleEntries(Map<String, CacheHeader> entries) {
+        boolean stale = false;
+        Iterator<CacheHeader> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            CacheHeader entry = iterator.next();
+            File file = DiskBasedCacheUtility.getFileForKey(entry.key, mRootDirectorySupplier);
+            // The length of a missing file is 0
+            if (file.length() != entry.size) {
+                iterator.remove();
+                //noinspection ResultOfMethodCallIgnored
+                file.delete();
+                stale = true;
+            }
+        }
+        return stale;
+    }
+
+    /** Records that the file of an entry is about to be written. */
+    void recordDirty(String key) {
+        appendKeyRecord(DIRTY, key);
+    }
+
+    /** Records that the file of an entry was written, the size of the entry must be set. */
+    void recordPut(CacheHeader entry) {
+        if (mWriter == null) {
+            return;
+        }
+        try {
+            mWriter.write(PUT);
+            DiskBasedCacheUtility.writeLong(mWriter, entry.size);
+            // Flushes the writer
+            if (!entry.writeHeader(mWriter)) {
+                throw new IOException();
+            }
+            mRedundantRecords++;
+        } catch (IOException e) {
+            onWriteFailed(e);
+        }
+    }
+
+    /** Records that an entry was removed. */
+    void recordRemove(String key) {
+        appendKeyRecord(REMOVE, key);
+    }
+
+    /** Records that an entry was read. */
+    void recordRead(String key) {
+        appendKeyRecord(READ, key);
+    }
+
+    /**
+     * Returns whether there are enough records which do not change the index for the journal to
+     * be compacted.
+     */
+    boolean needsCompaction(int entryCount) {
+        return mRedundantRecords >= COMPACTION_THRESHOLD && mRedundantRecords >= entryCount;
+    }
+
+    /**
+     * Replaces the journal by one holding a PUT record for each entry, in least recently used
+     * order, and opens it to append the next records.
+     */
+    void rebuild(Map<String, CacheHeader> entries) {
+        close();
+        File temporaryFile = new File(mRootDirectorySupplier.get(), JOURNAL_TEMPORARY_FILE_NAME);
+        try {
+            OutputStream os = new BufferedOutputStream(new FileOutputStream(temporaryFile));
+            try {
+                DiskBasedCacheUtility.writeInt(os, JOURNAL_MAGIC);
+                for (CacheHeader entry : entries.values()) {
+                    os.write(PUT);
+                    DiskBasedCacheUtility.writeLong(os, entry.size);
+                    if (!entry.writeHeader(os)) {
+                        throw new IOException();
+                    }
+                }
+            } finally {
+                // Any IOException thrown here is handled by the below catch block by design.
+                //noinspection ThrowFromFinallyBlock
+                os.close();
+            }
+            if (!temporaryFile.renameTo(getJournalFile())) {
+                throw new IOException("Unable to rename " + temporaryFile.getAbsolutePath());
+            }
+        } catch (IOException e) {
+            VolleyLog.d("Unable to write journal: %s", e.toString());
+            //noinspection ResultOfMethodCallIgnored
+            temporaryFile.delete();
+            // Without a journal the next initialization reads the cached files
+            //noinspection ResultOfMethodCallIgnored
+            getJournalFile().delete();
+            return;
+        }
+        mRedundantRecords = 0;
+        open();
+    }
+
+    /** Closes the journal, records are not written until it is read or rebuilt. */
+    void close() {
+        if (mWriter == null) {
+            return;
+        }
+        try {
+            mWriter.close();
+        } catch (IOException e) {
+            VolleyLog.d("Unable to close journal: %s", e.toString());
+        }
+        mWriter = null;
+    }
+
+    private static void readRecord(
+            CountingInputStream cis, Map<String, CacheHeader> entries, Set<String> dirtyKeys)
+            throws IOException {
+        int type = cis.read();
+        switch (type) {
+            case DIRTY:
+                dirtyKeys.add(DiskBasedCacheUtility.readString(cis));
+                break;
+            case PUT:
+                long size = DiskBasedCacheUtility.readLong(cis);
+                CacheHeader entry = CacheHeader.readHeader(cis);
+                entry.size = size;
+                dirtyKeys.remove(entry.key);
+                // The map is in access order, the entry is moved to the end
+                entries.put(entry.key, entry);
+                break;
+            case REMOVE:
+                String key = DiskBasedCacheUtility.readString(cis);
+                dirtyKeys.remove(key);
+                entries.remove(key);
+                break;
+            case READ:
+                // The map is in access order, the entry is moved to the end
+                entries.get(DiskBasedCacheUtility.readString(cis));
+                break;
+            default:
+                throw new IOException("Unknown journal record " + type);
+        }
+    }
+
+    private void appendKeyRecord(int type, String key) {
+        if (mWriter == null) {
+            return;
+        }
+        try {
+            mWriter.write(type);
+            DiskBasedCacheUtility.writeString(mWriter, key);
+            // Records only need to reach the file system, not the disk, to survive the process
+            mWriter.flush();
+            mRedundantRecords++;
+        } catch (IOException e) {
+            onWriteFailed(e);
+        }
+    }
+
+    private void onWriteFailed(IOException e) {
+        // A journal missing records cannot be trusted anymore
+        VolleyLog.d("Unable to append to journal: %s", e.toString());
+        close();
+        //noinspection ResultOfMethodCallIgnored
+        getJournalFile().delete();
+    }
+
+    private void open() {
+        try {
+            mWriter = new BufferedOutputStream(new FileOutputStream(getJournalFile(), true));
+        } catch (IOException e) {
+            VolleyLog.d("Unable to open journal: %s", e.toString());
+            mWriter = null;
+        }
+    }
+
+    private File getJournalFile() {
+        return new File(mRootDirectorySupplier.get(), JOURNAL_FILE_NAME);
+    }
+}
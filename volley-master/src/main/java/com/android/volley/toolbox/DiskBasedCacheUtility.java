@@ -25,6 +25,9 @@ class DiskBasedCacheUtility {
     /** High water mark percentage for the cache */
     static final float HYSTERESIS_FACTOR = 0.9f;
 
+    /** Suffix of the files entries are written to before they are renamed. */
+    static final String TEMPORARY_SUFFIX = ".tmp";
+
     /**
      * Creates a pseudo-unique filename for the specified cache key.
      *
@@ -43,6 +46,11 @@ class DiskBasedCacheUtility {
         return new File(rootDirectorySupplier.get(), getFilenameForKey(key));
     }
 
+    /** Returns the file an entry is written to before it replaces the file for the given key. */
+    static File getTemporaryFileForKey(String key, FileSupplier rootDirectorySupplier) {
+        return new File(rootDirectorySupplier.get(), getFilenameForKey(key) + TEMPORARY_SUFFIX);
+    }
+
     static boolean wouldExceedCacheSize(long newTotalSize, long maxCacheSize) {
         return newTotalSize > maxCacheSize;
     }
@@ -82,6 +90,31 @@ class DiskBasedCacheUtility {
             int maxCacheSizeInBytes,
             Map<String, CacheHeader> entries,
             FileSupplier rootDirectorySupplier) {
+        return pruneIfNeeded(
+                totalSize,
+                maxCacheSizeInBytes,
+                entries,
+                rootDirectorySupplier,
+                /* prunedKeys= */ null);
+    }
+
+    /**
+     * Prunes the cache if needed. This method modifies the entries map by removing the pruned
+     * entries.
+     *
+     * @param totalSize The total size of the cache.
+     * @param maxCacheSizeInBytes Maximum size of the cache.
+     * @param entries Map of the entries in the cache.
+     * @param rootDirectorySupplier The supplier for the root directory to use for the cache.
+     * @param prunedKeys If not null, receives the keys of the pruned entries.
+     * @return The updated totalSize.
+     */
+    static long pruneIfNeeded(
+            long totalSize,
+            int maxCacheSizeInBytes,
+            Map<String, CacheHeader> entries,
+            FileSupplier rootDirectorySupplier,
+            @Nullable List<String> prunedKeys) {
         if (!wouldExceedCacheSize(totalSize, maxCacheSizeInBytes)) {
             return totalSize;
         }
@@ -106,6 +139,9 @@ class DiskBasedCacheUtility {
                         e.key, getFilenameForKey(e.key));
             }
             iterator.remove();
+            if (prunedKeys != null) {
+                prunedKeys.add(e.key);
+            }
             prunedFiles++;
 
             if (!doesDataExceedHighWaterMark(totalSize, maxCacheSizeInBytes)) {
@@ -236,6 +272,21 @@ class DiskBasedCacheUtility {
         return new String(b, "UTF-8");
     }
 
+    /**
+     * Reads a string written by {@link #writeString(OutputStream, String)} from a buffer in
+     * little-endian order.
+     */
+    static String readString(ByteBuffer buffer) throws IOException {
+        long n = buffer.getLong();
+        // Length cannot be negative or greater than bytes remaining.
+        if (n < 0 || n > buffer.remaining()) {
+            throw new IOException("readString length=" + n + ", remaining=" + buffer.remaining());
+        }
+        byte[] b = new byte[(int) n];
+        buffer.get(b);
+        return new String(b, "UTF-8");
+    }
+
     static void writeHeaderList(@Nullable List<Header> headers, OutputStream os)
             throws IOException {
         if (headers != null) {
@@ -277,6 +328,25 @@ class DiskBasedCacheUtility {
         return result;
     }
 
+    /**
+     * Reads a header list written by {@link #writeHeaderList(List, OutputStream)} from a buffer in
+     * little-endian order.
+     */
+    static List<Header> readHeaderList(ByteBuffer buffer) throws IOException {
+        int size = buffer.getInt();
+        if (size < 0) {
+            throw new IOException("readHeaderList size=" + size);
+        }
+        List<Header> result =
+                (size == 0) ? Collections.<Header>emptyList() : new ArrayList<Header>();
+        for (int i = 0; i < size; i++) {
+            String name = readString(buffer).intern();
+            String value = readString(buffer).intern();
+            result.add(new Header(name, value));
+        }
+        return result;
+    }
+
     static int headerListSize(@Nullable List<Header> headers) throws IOException {
         if (headers == null) {
             return 4;
@@ -284,6 +354,8 @@ class DiskBasedCacheUtility {
         int bytes = 4;
 
         for (Header header : headers) {
+            // Each string is written with its length as a long
+            bytes += 16;
             bytes += header.getName().getBytes("UTF-8").length;
             bytes += header.getValue().getBytes("UTF-8").length;
         }
@@ -0,0 +1,379 @@
+/*
+ * Copyright (C) 2011 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.volley.toolbox;
+
+import androidx.annotation.Nullable;
+import com.android.volley.Cache;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Cache implementation that keeps the most recently used entries in memory in front of another
+ * cache, usually a {@link DiskBasedCache}.
+ *
+ * <p>Entries read from the other cache are kept in memory, so repeated lookups of the same key
+ * are served without reading the disk. The memory used is bounded by the total size of the data
+ * of the entries it holds; entries larger than that bound are only put into the other cache.
+ *
+ * <p>In write-through mode, the default, changes are made to the other cache before the method
+ * making them returns. In write-behind mode, they are made on an {@link Executor}, so a put only
+ * waits for the memory cache. An entry evicted from memory before it was written to the other
+ * cache may then be missing, or be an older version, until the write completes.
+ *
+ * <p>A lookup reading the other cache does not keep the entry in memory if the key was changed
+ * while it was read, or has a change not yet made to the other cache, so a concurrent put,
+ * invalidate, remove or clear is not undone.
+ *
+ * <p>Entries returned by {@link #get(String)} are copies which share the data of the cached entry,
+ * which must not be modified.
+ */
+public class TwoTierCache implements Cache {
+
+    /** Map of the Key, Entry pairs kept in memory, in least recently used order. */
+    private final Map<String, Entry> mEntries = new LinkedHashMap<>(16, .75f, true);
+
+    /** Total size of the data of the entries kept in memory in bytes. */
+    private long mTotalSize = 0;
+
+    /** The cache behind the memory cache. */
+    private final Cache mDiskCache;
+
+    /** The maximum size of the data kept in memory in bytes. */
+    private final int mMaxMemorySizeInBytes;
+
+    /** Lookups reading the disk cache, by key. */
+    private final Map<String, DiskRead> mDiskReads = new HashMap<>();
+
+    /** Number of changes not yet made to the disk cache, by key. */
+    private final Map<String, Integer> mPendingDiskChanges = new HashMap<>();
+
+    /** Number of clears not yet made to the disk cache. */
+    private int mPendingDiskClears = 0;
+
+    /** Executor running the changes to the disk cache in write-behind mode, null otherwise. */
+    @Nullable private final Executor mDiskExecutor;
+
+    private long mMemoryHitCount;
+    private long mMemoryMissCount;
+    private long mDiskHitCount;
+    private long mDiskMissCount;
+
+    /**
+     * Constructs a write-through instance of the TwoTierCache.
+     *
+     * @param diskCache The cache behind the memory cache.
+     * @param maxMemorySizeInBytes The maximum size of the data kept in memory in bytes.
+     */
+    public TwoTierCache(Cache diskCache, int maxMemorySizeInBytes) {
+        this(diskCache, maxMemorySizeInBytes, /* diskExecutor= */ null);
+    }
+
+    /**
+     * Constructs an instance of the TwoTierCache.
+     *
+     * @param diskCache The cache behind the memory cache.
+     * @param maxMemorySizeInBytes The maximum size of the data kept in memory in bytes.
+     * @param diskExecutor The executor making the changes to the disk cache in write-behind mode,
+     *     which must run tasks one at a time in the order they are submitted, or null for
+     *     write-through mode.
+     */
+    public TwoTierCache(
+            Cache diskCache, int maxMemorySizeInBytes, @Nullable Executor diskExecutor) {
+        mDiskCache = diskCache;
+        mMaxMemorySizeInBytes = maxMemorySizeInBytes;
+        mDiskExecutor = diskExecutor;
+    }
+
+    @Override
+    @Nullable
+    public Entry get(String key) {
+        DiskRead read;
+        long generation;
+        synchronized (this) {
+            Entry entry = mEntries.get(key);
+            if (entry != null) {
+                mMemoryHitCount++;
+                return copyOf(entry);
+            }
+            mMemoryMissCount++;
+            read = mDiskReads.get(key);
+            if (read == null) {
+                read = new DiskRead();
+                mDiskReads.put(key, read);
+            }
+            read.readers++;
+            generation = read.generation;
+        }
+
+        Entry entry = mDiskCache.get(key);
+        synchronized (this) {
+            if (--read.readers == 0) {
+                mDiskReads.remove(key);
+            }
+            if (entry == null) {
+                mDiskMissCount++;
+                return null;
+            }
+            mDiskHitCount++;
+            // Unless the key was changed while the disk was read, or the disk is not up to date
+            if (read.generation == generation
+                    && !hasPendingDiskChange(key)
+                    && !mEntries.containsKey(key)) {
+                putInMemory(key, copyOf(entry));
+            }
+        }
+        return entry;
+    }
+
+    @Override
+    public void put(final String key, final Entry entry) {
+        synchronized (this) {
+            putInMemory(key, copyOf(entry));
+            startChange(key);
+        }
+        runOnDisk(
+                key,
+                new Runnable() {
+                    @Override
+                    public void run() {
+                        mDiskCache.put(key, entry);
+                    }
+                });
+    }
+
+    /** Initializes the cache behind the memory cache, on the calling thread. */
+    @Override
+    public void initialize() {
+        mDiskCache.initialize();
+    }
+
+    @Override
+    public void invalidate(final String key, final boolean fullExpire) {
+        synchronized (this) {
+            Entry entry = mEntries.get(key);
+            if (entry != null) {
+                // Copied, as callers may still use the entry they got
+                Entry invalidated = copyOf(entry);
+                invalidated.softTtl = 0;
+                if (fullExpire) {
+                    invalidated.ttl = 0;
+                }
+                mEntries.put(key, invalidated);
+            }
+            startChange(key);
+        }
+        runOnDisk(
+                key,
+                new Runnable() {
+                    @Override
+                    public void run() {
+                        mDiskCache.invalidate(key, fullExpire);
+                    }
+                });
+    }
+
+    @Override
+    public void remove(final String key) {
+        synchronized (this) {
+            removeFromMemory(key);
+            startChange(key);
+        }
+        runOnDisk(
+                key,
+                new Runnable() {
+                    @Override
+                    public void run() {
+                        mDiskCache.remove(key);
+                    }
+                });
+    }
+
+    @Override
+    public void clear() {
+        synchronized (this) {
+            mEntries.clear();
+            mTotalSize = 0;
+            startChange(/* key= */ null);
+        }
+        runOnDisk(
+                /* key= */ null,
+                new Runnable() {
+                    @Override
+                    public void run() {
+                        mDiskCache.clear();
+                    }
+                });
+    }
+
+    /** Returns the number of lookups served from memory. */
+    public synchronized long getMemoryHitCount() {
+        return mMemoryHitCount;
+    }
+
+    /** Returns the number of lookups which were not in memory and went to the disk cache. */
+    public synchronized long getMemoryMissCount() {
+        return mMemoryMissCount;
+    }
+
+    /** Returns the number of lookups served from the disk cache. */
+    public synchronized long getDiskHitCount() {
+        return mDiskHitCount;
+    }
+
+    /** Returns the number of lookups found neither in memory nor in the disk cache. */
+    public synchronized long getDiskMissCount() {
+        return mDiskMissCount;
+    }
+
+    /** Returns the total size of the data kept in memory in bytes. */
+    public synchronized long getMemorySize() {
+        return mTotalSize;
+    }
+
+    /**
+     * Makes a change started with {@link #startChange(String)} to the disk cache, then ends it.
+     *
+     * @param key The key changed, or null for all keys.
+     */
+    private void runOnDisk(@Nullable final String key, final Runnable change) {
+        Runnable changeThenEnd =
+                new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            change.run();
+                        } finally {
+                            synchronized (TwoTierCache.this) {
+                                endChange(key);
+                            }
+                        }
+                    }
+                };
+        if (mDiskExecutor == null) {
+            changeThenEnd.run();
+        } else {
+            mDiskExecutor.execute(changeThenEnd);
+        }
+    }
+
+    /**
+     * Records a change made to memory which is not yet made to the disk cache, so lookups do not
+     * keep the entry they read from the disk until it is.
+     *
+     * @param key The key changed, or null for all keys.
+     */
+    private void startChange(@Nullable String key) {
+        if (key == null) {
+            mPendingDiskClears++;
+        } else {
+            Integer pending = mPendingDiskChanges.get(key);
+            mPendingDiskChanges.put(key, pending == null ? 1 : pending + 1);
+        }
+        bumpGenerations(key);
+    }
+
+    /**
+     * Records that a change was made to the disk cache. Lookups which were reading the disk
+     * meanwhile may have read the previous entry, so their generation is bumped again.
+     *
+     * @param key The key changed, or null for all keys.
+     */
+    private void endChange(@Nullable String key) {
+        if (key == null) {
+            mPendingDiskClears--;
+        } else {
+            int pending = mPendingDiskChanges.get(key);
+            if (pending == 1) {
+                mPendingDiskChanges.remove(key);
+            } else {
+                mPendingDiskChanges.put(key, pending - 1);
+            }
+        }
+        bumpGenerations(key);
+    }
+
+    private boolean hasPendingDiskChange(String key) {
+        return mPendingDiskClears > 0 || mPendingDiskChanges.containsKey(key);
+    }
+
+    /**
+     * Bumps the generation of the lookups reading the key, so they do not keep what they read.
+     *
+     * @param key The key changed, or null for all keys.
+     */
+    private void bumpGenerations(@Nullable String key) {
+        if (key == null) {
+            for (DiskRead read : mDiskReads.values()) {
+                read.generation++;
+            }
+            return;
+        }
+        DiskRead read = mDiskReads.get(key);
+        if (read != null) {
+            read.generation++;
+        }
+    }
+
+    /** Keeps the entry in memory, then evicts the least recently used entries over the limit. */
+    private void putInMemory(String key, Entry entry) {
+        removeFromMemory(key);
+        if (entry.data.length > mMaxMemorySizeInBytes) {
+            return;
+        }
+        mEntries.put(key, entry);
+        mTotalSize += entry.data.length;
+
+        Iterator<Entry> iterator = mEntries.values().iterator();
+        while (mTotalSize > mMaxMemorySizeInBytes && iterator.hasNext()) {
+            mTotalSize -= iterator.next().data.length;
+            iterator.remove();
+        }
+    }
+
+    private void removeFromMemory(String key) {
+        Entry removed = mEntries.remove(key);
+        if (removed != null) {
+            mTotalSize -= removed.data.length;
+        }
+    }
+
+    /** Lookups of a key reading the disk cache at the same time. */
+    private static class DiskRead {
+        /** Number of lookups reading the key. */
+        int readers;
+
+        /** Bumped each time the key is changed while it is read. */
+        long generation;
+    }
+
+    /** Returns a copy of the entry sharing its data and headers. */
+    private static Entry copyOf(Entry entry) {
+        Entry copy = new Entry();
+        copy.data = entry.data;
+        copy.etag = entry.etag;
+        copy.serverDate = entry.serverDate;
+        copy.lastModified = entry.lastModified;
+        copy.ttl = entry.ttl;
+        copy.softTtl = entry.softTtl;
+        copy.responseHeaders = entry.responseHeaders;
+        copy.allResponseHeaders = entry.allResponseHeaders;
+        return copy;
+    }
+}
@@ -21,6 +21,7 @@ import android.content.pm.PackageInfo;
 import android.content.pm.PackageManager.NameNotFoundException;
 import android.net.http.AndroidHttpClient;
 import android.os.Build;
+import com.android.volley.Cache;
 import com.android.volley.Network;
 import com.android.volley.RequestQueue;
 import java.io.File;
@@ -38,6 +39,27 @@ public class Volley {
      * @return A started {@link RequestQueue} instance.
      */
     public static RequestQueue newRequestQueue(Context context, BaseHttpStack stack) {
+        return newRequestQueue(newDiskBasedCache(context), newNetwork(context, stack));
+    }
+
+    /**
+     * Creates a default instance of the worker pool whose cache keeps the most recently used
+     * entries in memory, and calls {@link RequestQueue#start()} on it.
+     *
+     * @param context A {@link Context} to use for creating the cache dir.
+     * @param stack A {@link BaseHttpStack} to use for the network, or null for default.
+     * @param memoryCacheSizeInBytes The maximum size of the data kept in memory in bytes.
+     * @return A started {@link RequestQueue} instance.
+     * @see TwoTierCache
+     */
+    public static RequestQueue newRequestQueue(
+            Context context, BaseHttpStack stack, int memoryCacheSizeInBytes) {
+        return newRequestQueue(
+                new TwoTierCache(newDiskBasedCache(context), memoryCacheSizeInBytes),
+                newNetwork(context, stack));
+    }
+
+    private static Network newNetwork(Context context, BaseHttpStack stack) {
         BasicNetwork network;
         if (stack == null) {
             if (Build.VERSION.SDK_INT >= 9) {
@@ -63,8 +85,7 @@ public class Volley {
         } else {
             network = new BasicNetwork(stack);
         }
-
-        return newRequestQueue(context, network);
+        return network;
     }
 
     /**
@@ -82,10 +103,10 @@ public class Volley {
         if (stack == null) {
             return newRequestQueue(context, (BaseHttpStack) null);
         }
-        return newRequestQueue(context, new BasicNetwork(stack));
+        return newRequestQueue(newDiskBasedCache(context), new BasicNetwork(stack));
     }
 
-    private static RequestQueue newRequestQueue(Context context, Network network) {
+    private static Cache newDiskBasedCache(Context context) {
         final Context appContext = context.getApplicationContext();
         // Use a lazy supplier for the cache directory so that newRequestQueue() can be called on
         // main thread without causing strict mode violation.
@@ -101,7 +122,11 @@ public class Volley {
                         return cacheDir;
                     }
                 };
-        RequestQueue queue = new RequestQueue(new DiskBasedCache(cacheSupplier), network);
+        return new DiskBasedCache(cacheSupplier);
+    }
+
+    private static RequestQueue newRequestQueue(Cache cache, Network network) {
+        RequestQueue queue = new RequestQueue(cache, network);
         queue.start();
         return queue;
     }
@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2011 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.volley;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import androidx.annotation.Nullable;
+import com.android.volley.mock.MockRequest;
+import com.android.volley.utils.CacheTestUtils;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.robolectric.RobolectricTestRunner;
+
+/** Unit tests for AsyncRequestQueue, with an in-memory AsyncCache. */
+@RunWith(RobolectricTestRunner.class)
+@SuppressWarnings("rawtypes")
+public class AsyncRequestQueueTest {
+
+    private @Mock ResponseDelivery mDelivery;
+    private @Mock Network mNetwork;
+    private FakeAsyncCache mCache;
+    private AsyncRequestQueue mQueue;
+    private MockRequest mRequest;
+
+    @Before
+    public void setUp() throws Exception {
+        initMocks(this);
+        mCache = new FakeAsyncCache();
+        mQueue = new AsyncRequestQueue(mCache, mNetwork, 0, mDelivery);
+        mRequest = new MockRequest();
+        mRequest.setCacheKey("key");
+    }
+
+    @Test
+    public void cacheHitIsDeliveredWithoutNetwork() throws Exception {
+        mCache.entries.put("key", CacheTestUtils.makeRandomCacheEntry(null));
+        startAndInitialize();
+
+        mQueue.add(mRequest);
+
+        assertTrue(mRequest.parseResponse_called);
+        verify(mDelivery).postResponse(any(Request.class), any(Response.class));
+        assertTrue(mQueue.getNetworkQueue().isEmpty());
+    }
+
+    @Test
+    public void cacheMissGoesToNetwork() throws Exception {
+        startAndInitialize();
+
+        mQueue.add(mRequest);
+
+        assertSame(mRequest, mQueue.getNetworkQueue().peek());
+        assertFalse(mRequest.parseResponse_called);
+    }
+
+    @Test
+    public void expiredCacheHitGoesToNetwork() throws Exception {
+        Cache.Entry entry = CacheTestUtils.makeRandomCacheEntry(null, true, true);
+        mCache.entries.put("key", entry);
+        startAndInitialize();
+
+        mQueue.add(mRequest);
+
+        assertSame(mRequest, mQueue.getNetworkQueue().peek());
+        assertSame(entry, mRequest.getCacheEntry());
+        verify(mDelivery, never()).postResponse(any(Request.class), any(Response.class));
+    }
+
+    @Test
+    public void softExpiredCacheHitIsDeliveredThenGoesToNetwork() throws Exception {
+        mCache.entries.put("key", CacheTestUtils.makeRandomCacheEntry(null, false, true));
+        startAndInitialize();
+
+        mQueue.add(mRequest);
+
+        ArgumentCaptor<Runnable> runnable = ArgumentCaptor.forClass(Runnable.class);
+        verify(mDelivery).postResponse(any(Request.class), any(Response.class), runnable.capture());
+        assertTrue(mQueue.getNetworkQueue().isEmpty());
+        runnable.getValue().run();
+        assertSame(mRequest, mQueue.getNetworkQueue().peek());
+    }
+
+    @Test
+    public void requestsWaitForCacheInitialization() throws Exception {
+        mCache.entries.put("key", CacheTestUtils.makeRandomCacheEntry(null));
+        mQueue.start();
+
+        mQueue.add(mRequest);
+        assertFalse(mRequest.parseResponse_called);
+
+        mCache.initializeCallback.onWriteOperationComplete();
+        assertTrue(mRequest.parseResponse_called);
+        verify(mDelivery).postResponse(any(Request.class), any(Response.class));
+    }
+
+    @Test
+    public void uncacheableRequestSkipsCache() throws Exception {
+        mRequest.setShouldCache(false);
+        mQueue.start();
+
+        mQueue.add(mRequest);
+
+        assertSame(mRequest, mQueue.getNetworkQueue().peek());
+    }
+
+    @Test
+    public void duplicateRequestWaitsForFirstOne() throws Exception {
+        startAndInitialize();
+        MockRequest duplicate = new MockRequest();
+        duplicate.setCacheKey("key");
+
+        mQueue.add(mRequest);
+        mQueue.add(duplicate);
+
+        assertSame(mRequest, mQueue.getNetworkQueue().poll());
+        assertNull(mQueue.getNetworkQueue().peek());
+    }
+
+    @Test
+    public void cacheAdapterForwardsToAsyncCache() throws Exception {
+        Cache.Entry entry = CacheTestUtils.makeRandomCacheEntry(null);
+
+        mQueue.getCache().put("key", entry);
+        assertSame(entry, mQueue.getCache().get("key"));
+        mQueue.getCache().remove("key");
+        assertNull(mQueue.getCache().get("key"));
+    }
+
+    private void startAndInitialize() {
+        mQueue.start();
+        mCache.initializeCallback.onWriteOperationComplete();
+    }
+
+    /** AsyncCache completing operations on the calling thread, except for initialization. */
+    private static class FakeAsyncCache extends AsyncCache {
+        final Map<String, Cache.Entry> entries = new HashMap<>();
+        @Nullable OnWriteOperationCompleteCallback initializeCallback;
+
+        @Override
+        public void get(String key, OnGetCompleteCallback callback) {
+            callback.onGetComplete(entries.get(key));
+        }
+
+        @Override
+        public void put(String key, Cache.Entry entry, OnPutCompleteCallback callback) {
+            entries.put(key, entry);
+            callback.onPutComplete();
+        }
+
+        @Override
+        public void initialize(OnWriteOperationCompleteCallback callback) {
+            initializeCallback = callback;
+        }
+
+        @Override
+        public void invalidate(
+                String key, boolean fullExpire, OnWriteOperationCompleteCallback callback) {
+            Cache.Entry entry = entries.get(key);
+            if (entry != null) {
+                entry.softTtl = 0;
+                if (fullExpire) {
+                    entry.ttl = 0;
+                }
+            }
+            callback.onWriteOperationComplete();
+        }
+
+        @Override
+        public void remove(String key, OnWriteOperationCompleteCallback callback) {
+            entries.remove(key);
+            callback.onWriteOperationComplete();
+        }
+
+        @Override
+        public void clear(OnWriteOperationCompleteCallback callback) {
+            entries.clear();
+            callback.onWriteOperationComplete();
+        }
+    }
+}
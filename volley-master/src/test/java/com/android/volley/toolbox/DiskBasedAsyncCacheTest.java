@@ -0,0 +1,298 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.volley.toolbox;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import androidx.annotation.Nullable;
+import com.android.volley.AsyncCache;
+import com.android.volley.Cache;
+import com.android.volley.Header;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 26)
+public class DiskBasedAsyncCacheTest {
+
+    private static final int MAX_SIZE = 1024 * 1024;
+
+    private DiskBasedAsyncCache cache;
+
+    @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Before
+    public void setup() throws InterruptedException {
+        cache = new DiskBasedAsyncCache(temporaryFolder.getRoot(), MAX_SIZE);
+        initialize(cache);
+    }
+
+    @Test
+    public void testPutGetRoundTrip() throws InterruptedException {
+        Cache.Entry entry = randomData(1023);
+        entry.allResponseHeaders = new ArrayList<>();
+        entry.allResponseHeaders.add(new Header("Name", "Value"));
+        put("key", entry);
+
+        assertThatEntriesAreEqual(get("key"), entry);
+        assertThat(get("key").allResponseHeaders, is(entry.allResponseHeaders));
+        assertThat(get("key2"), is(nullValue()));
+    }
+
+    @Test
+    public void testPutReplacesLongerEntry() throws InterruptedException {
+        put("key", randomData(1023));
+        Cache.Entry entry = randomData(511);
+        put("key", entry);
+
+        assertThatEntriesAreEqual(get("key"), entry);
+        assertThat(temporaryFolder.getRoot().listFiles().length, is(1));
+    }
+
+    @Test
+    public void testInitializeReadsFilesWrittenByDiskBasedCache()
+            throws InterruptedException, IOException {
+        DiskBasedCache syncCache = new DiskBasedCache(temporaryFolder.getRoot(), MAX_SIZE);
+        syncCache.initialize();
+        Cache.Entry entry = randomData(1023);
+        syncCache.put("key", entry);
+        // Header longer than what is read at first during initialization
+        Cache.Entry largeHeaderEntry = randomData(255);
+        largeHeaderEntry.allResponseHeaders = new ArrayList<>();
+        largeHeaderEntry.allResponseHeaders.add(new Header("Large", new String(new char[8192])));
+        syncCache.put("key2", largeHeaderEntry);
+        // Not a cache entry
+        assertThat(new File(temporaryFolder.getRoot(), "leftover.tmp").createNewFile(), is(true));
+
+        DiskBasedAsyncCache reinitialized =
+                new DiskBasedAsyncCache(temporaryFolder.getRoot(), MAX_SIZE);
+        initialize(reinitialized);
+        cache = reinitialized;
+
+        assertThatEntriesAreEqual(get("key"), entry);
+        assertThat(get("key2").allResponseHeaders, is(largeHeaderEntry.allResponseHeaders));
+        assertThat(new File(temporaryFolder.getRoot(), "leftover.tmp").exists(), is(false));
+        // The journal of DiskBasedCache is not read as an entry
+        assertThat(
+                new File(temporaryFolder.getRoot(), DiskBasedCacheJournal.JOURNAL_FILE_NAME)
+                        .exists(),
+                is(true));
+    }
+
+    @Test
+    public void testFilesWrittenAreReadByDiskBasedCache() throws InterruptedException {
+        Cache.Entry entry = randomData(1023);
+        entry.allResponseHeaders = new ArrayList<>();
+        entry.allResponseHeaders.add(new Header("Name", "Value"));
+        put("key", entry);
+
+        DiskBasedCache syncCache = new DiskBasedCache(temporaryFolder.getRoot(), MAX_SIZE);
+        syncCache.initialize();
+
+        assertThatEntriesAreEqual(syncCache.get("key"), entry);
+        assertThat(syncCache.get("key").allResponseHeaders, is(entry.allResponseHeaders));
+    }
+
+    @Test
+    public void testRemove() throws InterruptedException {
+        put("key", randomData(511));
+        put("key2", randomData(511));
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        cache.remove("key", countDownOnComplete(latch));
+        await(latch);
+
+        assertThat(get("key"), is(nullValue()));
+        assertThat(get("key2"), is(notNullValue()));
+    }
+
+    @Test
+    public void testClear() throws InterruptedException {
+        put("key", randomData(511));
+        put("key2", randomData(511));
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        cache.clear(countDownOnComplete(latch));
+        await(latch);
+
+        assertThat(get("key"), is(nullValue()));
+        assertThat(get("key2"), is(nullValue()));
+        assertThat(temporaryFolder.getRoot().listFiles().length, is(0));
+    }
+
+    @Test
+    public void testRemoveAndClearDeleteFilesOnDeleteExecutor() throws InterruptedException {
+        final List<Runnable> deletes = new ArrayList<>();
+        cache =
+                new DiskBasedAsyncCache(
+                        new FileSupplier() {
+                            @Override
+                            public File get() {
+                                return temporaryFolder.getRoot();
+                            }
+                        },
+                        MAX_SIZE,
+                        new Executor() {
+                            @Override
+                            public void execute(Runnable command) {
+                                deletes.add(command);
+                            }
+                        });
+        initialize(cache);
+        put("key", randomData(511));
+        put("key2", randomData(511));
+
+        CountDownLatch latch = new CountDownLatch(1);
+        cache.remove("key", countDownOnComplete(latch));
+
+        // The entry is gone at once, its file stays until the delete executor runs
+        assertThat(get("key"), is(nullValue()));
+        assertThat(temporaryFolder.getRoot().listFiles().length, is(2));
+        assertThat(latch.getCount(), is(1L));
+        deletes.remove(0).run();
+        await(latch);
+        assertThat(temporaryFolder.getRoot().listFiles().length, is(1));
+
+        latch = new CountDownLatch(1);
+        cache.clear(countDownOnComplete(latch));
+        assertThat(get("key2"), is(nullValue()));
+        // An entry put before the delete runs keeps its file
+        Cache.Entry entry = randomData(255);
+        put("key2", entry);
+        deletes.remove(0).run();
+        await(latch);
+
+        assertThatEntriesAreEqual(get("key2"), entry);
+        assertThat(temporaryFolder.getRoot().listFiles().length, is(1));
+    }
+
+    @Test
+    public void testInvalidate() throws InterruptedException {
+        Cache.Entry entry = randomData(32);
+        entry.softTtl = 8889999;
+        entry.ttl = 9999999;
+        put("key", entry);
+
+        CountDownLatch latch = new CountDownLatch(1);
+        cache.invalidate("key", /* fullExpire= */ false, countDownOnComplete(latch));
+        await(latch);
+        entry.softTtl = 0; // expired
+        assertThatEntriesAreEqual(get("key"), entry);
+
+        latch = new CountDownLatch(1);
+        cache.invalidate("key", /* fullExpire= */ true, countDownOnComplete(latch));
+        await(latch);
+        entry.ttl = 0; // expired
+        assertThatEntriesAreEqual(get("key"), entry);
+    }
+
+    @Test
+    public void testInvalidateMissingEntry() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        cache.invalidate("key", /* fullExpire= */ true, countDownOnComplete(latch));
+        await(latch);
+
+        assertThat(get("key"), is(nullValue()));
+    }
+
+    /* Test helpers */
+
+    private static void initialize(DiskBasedAsyncCache cache) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        cache.initialize(countDownOnComplete(latch));
+        await(latch);
+    }
+
+    private void put(String key, Cache.Entry entry) throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        cache.put(
+                key,
+                entry,
+                new AsyncCache.OnPutCompleteCallback() {
+                    @Override
+                    public void onPutComplete() {
+                        latch.countDown();
+                    }
+                });
+        await(latch);
+    }
+
+    @Nullable
+    private Cache.Entry get(String key) throws InterruptedException {
+        final List<Cache.Entry> result = new ArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(1);
+        cache.get(
+                key,
+                new AsyncCache.OnGetCompleteCallback() {
+                    @Override
+                    public void onGetComplete(@Nullable Cache.Entry entry) {
+                        result.add(entry);
+                        latch.countDown();
+                    }
+                });
+        await(latch);
+        return result.get(0);
+    }
+
+    private static AsyncCache.OnWriteOperationCompleteCallback countDownOnComplete(
+            final CountDownLatch latch) {
+        return new AsyncCache.OnWriteOperationCompleteCallback() {
+            @Override
+            public void onWriteOperationComplete() {
+                latch.countDown();
+            }
+        };
+    }
+
+    private static void await(CountDownLatch latch) throws InterruptedException {
+        assertThat(latch.await(5, TimeUnit.SECONDS), is(true));
+    }
+
+    private void assertThatEntriesAreEqual(Cache.Entry actual, Cache.Entry expected) {
+        assertThat(actual.data, is(equalTo(expected.data)));
+        assertThat(actual.etag, is(equalTo(expected.etag)));
+        assertThat(actual.lastModified, is(equalTo(expected.lastModified)));
+        assertThat(actual.serverDate, is(equalTo(expected.serverDate)));
+        assertThat(actual.softTtl, is(equalTo(expected.softTtl)));
+        assertThat(actual.ttl, is(equalTo(expected.ttl)));
+    }
+
+    private Cache.Entry randomData(int length) {
+        Cache.Entry entry = new Cache.Entry();
+        byte[] data = new byte[length];
+        new Random(42).nextBytes(data); // explicit seed for reproducible results
+        entry.data = data;
+        return entry;
+    }
+}
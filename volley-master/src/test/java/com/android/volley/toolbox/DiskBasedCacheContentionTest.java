@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.volley.toolbox;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+import android.util.Log;
+import com.android.volley.Cache;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/**
+ * Runs the {@link DiskBasedCacheTest} operations from many threads against {@link DiskBasedCache}
+ * and {@link ConcurrentDiskBasedCache}, and logs the throughput of each cache.
+ *
+ * <p>This is a benchmark, skipped unless the tests are run with {@code -Pvolley.benchmarks}.
+ * Timings are only logged, not asserted, as they depend on the machine running the tests.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 16)
+public class DiskBasedCacheContentionTest {
+
+    private static final String TAG = "DiskBasedCacheContention";
+
+    private static final int MAX_SIZE = 1024 * 1024;
+
+    private static final int THREADS = 16;
+
+    private static final int OPERATIONS_PER_THREAD = 100;
+
+    private static final int KEYS = 64;
+
+    @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Before
+    public void setUp() {
+        assumeTrue(Boolean.getBoolean("volley.benchmarks"));
+    }
+
+    @Test
+    public void readMostly() throws Exception {
+        // Like the CacheDispatcher: most requests are served from the cache
+        compare("read mostly", /* readPercent= */ 90, /* entrySize= */ 2 * 1024);
+    }
+
+    @Test
+    public void writeHeavy() throws Exception {
+        // Like the NetworkDispatchers refreshing expired entries
+        compare("write heavy", /* readPercent= */ 50, /* entrySize= */ 2 * 1024);
+    }
+
+    @Test
+    public void largeEntriesWithPruning() throws Exception {
+        // Entries large enough for the cache to be pruned while it is used
+        compare("pruning", /* readPercent= */ 70, /* entrySize= */ MAX_SIZE / 24);
+    }
+
+    private void compare(String scenario, int readPercent, int entrySize) throws Exception {
+        // Warm up both caches so neither is measured while the code is being compiled
+        run(new DiskBasedCache(temporaryFolder.newFolder(), MAX_SIZE), readPercent, entrySize);
+        run(
+                new ConcurrentDiskBasedCache(temporaryFolder.newFolder(), MAX_SIZE),
+                readPercent,
+                entrySize);
+
+        long diskBasedCacheTime =
+                run(
+                        new DiskBasedCache(temporaryFolder.newFolder(), MAX_SIZE),
+                        readPercent,
+                        entrySize);
+        long concurrentCacheTime =
+                run(
+                        new ConcurrentDiskBasedCache(temporaryFolder.newFolder(), MAX_SIZE),
+                        readPercent,
+                        entrySize);
+
+        int operations = THREADS * OPERATIONS_PER_THREAD;
+        Log.i(
+                TAG,
+                String.format(
+                        "%s, %d threads: DiskBasedCache %d ops/s, "
+                                + "ConcurrentDiskBasedCache %d ops/s",
+                        scenario,
+                        THREADS,
+                        operations * 1000000000L / diskBasedCacheTime,
+                        operations * 1000000000L / concurrentCacheTime));
+    }
+
+    /** Runs the operations on the cache and returns the time they took in nanoseconds. */
+    private static long run(final Cache cache, final int readPercent, final int entrySize)
+            throws Exception {
+        cache.initialize();
+        for (int i = 0; i < KEYS; i++) {
+            cache.put("key" + i, versionedData("key" + i, new Random(i), entrySize));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Future<Void>> results = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            final int seed = thread;
+            results.add(
+                    executor.submit(
+                            new Callable<Void>() {
+                                @Override
+                                public Void call() throws InterruptedException {
+                                    Random random = new Random(seed);
+                                    start.await();
+                                    for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                                        String key = "key" + random.nextInt(KEYS);
+                                        int operation = random.nextInt(100);
+                                        if (operation < readPercent) {
+                                            assertIsVersionOf(key, cache.get(key));
+                                        } else if (operation < readPercent + 5) {
+                                            cache.invalidate(key, random.nextBoolean());
+                                        } else if (operation < readPercent + 8) {
+                                            cache.remove(key);
+                                        } else {
+                                            cache.put(
+                                                    key, versionedData(key, random, entrySize));
+                                        }
+                                    }
+                                    return null;
+                                }
+                            }));
+        }
+
+        long startTime = System.nanoTime();
+        start.countDown();
+        for (Future<Void> result : results) {
+            result.get();
+        }
+        long time = System.nanoTime() - startTime;
+        executor.shutdown();
+        return time;
+    }
+
+    private static Cache.Entry versionedData(String key, Random random, int entrySize) {
+        Cache.Entry entry = new Cache.Entry();
+        entry.etag = key + "/" + random.nextLong();
+        entry.data = new byte[entrySize];
+        new Random(entry.etag.hashCode()).nextBytes(entry.data);
+        entry.ttl = Long.MAX_VALUE;
+        entry.softTtl = Long.MAX_VALUE;
+        return entry;
+    }
+
+    private static void assertIsVersionOf(String key, Cache.Entry entry) {
+        if (entry == null) {
+            return;
+        }
+        assertThat(entry.etag.startsWith(key + "/"), is(true));
+        byte[] expected = new byte[entry.data.length];
+        new Random(entry.etag.hashCode()).nextBytes(expected);
+        assertThat(entry.data, is(equalTo(expected)));
+    }
+}
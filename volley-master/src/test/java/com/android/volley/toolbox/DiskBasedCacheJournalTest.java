@@ -0,0 +1,249 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.volley.toolbox;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import com.android.volley.Cache;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.LinkedHashMap;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 16)
+public class DiskBasedCacheJournalTest {
+
+    private static final int MAX_SIZE = 1024 * 1024;
+
+    private DiskBasedCache cache;
+
+    @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Before
+    public void setup() {
+        cache = new DiskBasedCache(temporaryFolder.getRoot(), MAX_SIZE);
+        cache.initialize();
+    }
+
+    @Test
+    public void testInitializeDoesNotReadCachedFiles() throws IOException {
+        Cache.Entry entry = randomData(1023);
+        cache.put("key", entry);
+        cache.put("key2", randomData(511));
+
+        DiskBasedCache reinitialized = spy(new DiskBasedCache(temporaryFolder.getRoot()));
+        reinitialized.initialize();
+
+        verify(reinitialized, never()).createInputStream(any(File.class));
+        assertThatEntriesAreEqual(reinitialized.get("key"), entry);
+        assertThat(reinitialized.get("key2"), is(notNullValue()));
+    }
+
+    @Test
+    public void testRemovedEntriesAreNotReinitialized() {
+        cache.put("key", randomData(1023));
+        cache.put("key2", randomData(511));
+        cache.remove("key");
+
+        DiskBasedCache reinitialized = new DiskBasedCache(temporaryFolder.getRoot());
+        reinitialized.initialize();
+
+        assertThat(reinitialized.get("key"), is(nullValue()));
+        assertThat(reinitialized.get("key2"), is(notNullValue()));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedOrderIsReinitialized() {
+        // Three entries fill 90% of the cache, a fourth one prunes the least recently used
+        cache.put("first", randomData(300 * 1024));
+        cache.put("second", randomData(300 * 1024));
+        cache.put("third", randomData(300 * 1024));
+        assertThat(cache.get("first"), is(notNullValue()));
+
+        DiskBasedCache reinitialized = new DiskBasedCache(temporaryFolder.getRoot(), MAX_SIZE);
+        reinitialized.initialize();
+        reinitialized.put("fourth", randomData(300 * 1024));
+
+        assertThat(reinitialized.get("second"), is(nullValue()));
+        assertThat(reinitialized.get("first"), is(notNullValue()));
+        assertThat(reinitialized.get("third"), is(notNullValue()));
+        assertThat(reinitialized.get("fourth"), is(notNullValue()));
+    }
+
+    @Test
+    public void testIncompletelyWrittenEntryIsDeleted() throws IOException {
+        cache.put("key", randomData(1023));
+        File file = cache.getFileForKey("key");
+
+        // Process died while overwriting the entry
+        DiskBasedCacheJournal journal =
+                new DiskBasedCacheJournal(
+                        new FileSupplier() {
+                            @Override
+                            public File get() {
+                                return temporaryFolder.getRoot();
+                            }
+                        });
+        assertThat(journal.readInto(new LinkedHashMap<String, CacheHeader>()), is(true));
+        journal.recordDirty("key");
+        journal.close();
+        truncate(file, 100);
+
+        DiskBasedCache reinitialized = new DiskBasedCache(temporaryFolder.getRoot());
+        reinitialized.initialize();
+
+        assertThat(reinitialized.get("key"), is(nullValue()));
+        assertThat(file.exists(), is(false));
+    }
+
+    @Test
+    public void testIncompleteLastRecordIsIgnored() throws IOException {
+        Cache.Entry entry = randomData(1023);
+        cache.put("key", entry);
+        cache.put("key2", randomData(511));
+
+        File journalFile = getJournalFile();
+        truncate(journalFile, journalFile.length() - 3);
+
+        DiskBasedCache reinitialized = new DiskBasedCache(temporaryFolder.getRoot());
+        reinitialized.initialize();
+        assertThatEntriesAreEqual(reinitialized.get("key"), entry);
+        assertThat(reinitialized.get("key2"), is(nullValue()));
+
+        // The journal was rewritten, next records are read again
+        reinitialized.put("key3", randomData(255));
+        DiskBasedCache readAgain = new DiskBasedCache(temporaryFolder.getRoot());
+        readAgain.initialize();
+        assertThatEntriesAreEqual(readAgain.get("key"), entry);
+        assertThat(readAgain.get("key3"), is(notNullValue()));
+    }
+
+    @Test
+    public void testJournalIsCompacted() {
+        Cache.Entry entry = randomData(1023);
+        cache.put("key", entry);
+        for (int i = 0; i < DiskBasedCacheJournal.COMPACTION_THRESHOLD; i++) {
+            cache.get("key");
+        }
+
+        // One READ record is 12 bytes, only the PUT record of the entry is left
+        assertThat(getJournalFile().length(), is(lessThan(256L)));
+
+        DiskBasedCache reinitialized = new DiskBasedCache(temporaryFolder.getRoot());
+        reinitialized.initialize();
+        assertThatEntriesAreEqual(reinitialized.get("key"), entry);
+    }
+
+    @Test
+    public void testCachedFilesAreReadWithoutJournal() {
+        Cache.Entry entry = randomData(1023);
+        cache.put("key", entry);
+
+        // Cache written before the journal existed
+        assertThat(getJournalFile().delete(), is(true));
+
+        DiskBasedCache reinitialized = new DiskBasedCache(temporaryFolder.getRoot());
+        reinitialized.initialize();
+        assertThatEntriesAreEqual(reinitialized.get("key"), entry);
+        assertThat(getJournalFile().exists(), is(true));
+    }
+
+    @Test
+    public void testClearResetsJournal() {
+        cache.put("key", randomData(1023));
+        cache.clear();
+        cache.put("key2", randomData(511));
+
+        DiskBasedCache reinitialized = new DiskBasedCache(temporaryFolder.getRoot());
+        reinitialized.initialize();
+        assertThat(reinitialized.get("key"), is(nullValue()));
+        assertThat(reinitialized.get("key2"), is(notNullValue()));
+    }
+
+    @Test
+    public void testEntriesChangedWithoutJournalAreDropped() {
+        cache.put("key", randomData(1023));
+        Cache.Entry entry = randomData(511);
+        cache.put("key2", entry);
+        cache.put("key3", randomData(255));
+
+        // An other cache implementation used the same directory
+        Cache concurrentCache = new ConcurrentDiskBasedCache(temporaryFolder.getRoot(), MAX_SIZE);
+        concurrentCache.initialize();
+        concurrentCache.remove("key");
+        concurrentCache.put("key3", randomData(127));
+
+        DiskBasedCache reinitialized = new DiskBasedCache(temporaryFolder.getRoot());
+        reinitialized.initialize();
+        assertThat(reinitialized.get("key"), is(nullValue()));
+        assertThatEntriesAreEqual(reinitialized.get("key2"), entry);
+        assertThat(reinitialized.get("key3"), is(nullValue()));
+        assertThat(cache.getFileForKey("key3").exists(), is(false));
+    }
+
+    /* Test helpers */
+
+    private File getJournalFile() {
+        return new File(temporaryFolder.getRoot(), DiskBasedCacheJournal.JOURNAL_FILE_NAME);
+    }
+
+    @SuppressWarnings("TryFinallyCanBeTryWithResources")
+    private static void truncate(File file, long length) throws IOException {
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+        try {
+            randomAccessFile.setLength(length);
+        } finally {
+            //noinspection ThrowFromFinallyBlock
+            randomAccessFile.close();
+        }
+    }
+
+    private void assertThatEntriesAreEqual(Cache.Entry actual, Cache.Entry expected) {
+        assertThat(actual.data, is(equalTo(expected.data)));
+        assertThat(actual.etag, is(equalTo(expected.etag)));
+        assertThat(actual.lastModified, is(equalTo(expected.lastModified)));
+        assertThat(actual.serverDate, is(equalTo(expected.serverDate)));
+        assertThat(actual.softTtl, is(equalTo(expected.softTtl)));
+        assertThat(actual.ttl, is(equalTo(expected.ttl)));
+    }
+
+    private Cache.Entry randomData(int length) {
+        Cache.Entry entry = new Cache.Entry();
+        byte[] data = new byte[length];
+        new Random(42).nextBytes(data); // explicit seed for reproducible results
+        entry.data = data;
+        return entry;
+    }
+}
@@ -21,6 +21,7 @@ import static org.hamcrest.Matchers.emptyArray;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -36,10 +37,12 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.EOFException;
 import java.io.File;
+import java.io.FileFilter;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Random;
 import org.junit.After;
@@ -296,8 +299,7 @@ public class DiskBasedCacheTest {
         assertThatEntriesAreEqual(cache.get("key"), entry);
 
         // Overwrite the magic header
-        File cacheFolder = temporaryFolder.getRoot();
-        File file = cacheFolder.listFiles()[0];
+        File file = listCachedFiles()[0];
         FileOutputStream fos = new FileOutputStream(file);
         try {
             DiskBasedCacheUtility.writeInt(fos, 0); // overwrite magic
@@ -319,8 +321,7 @@ public class DiskBasedCacheTest {
         assertThatEntriesAreEqual(cache.get("key"), entry);
 
         // Access the cached file
-        File cacheFolder = temporaryFolder.getRoot();
-        File file = cacheFolder.listFiles()[0];
+        File file = listCachedFiles()[0];
         FileOutputStream fos = new FileOutputStream(file);
         try {
             // Overwrite with a different key
@@ -498,6 +499,62 @@ public class DiskBasedCacheTest {
         assertThatEntriesAreEqual(cache.get("key2"), entry);
     }
 
+    @Test
+    public void testGetMapped() {
+        Cache.Entry entry = randomData(1023);
+        entry.etag = "etag";
+        entry.ttl = 9876543L;
+        entry.responseHeaders = new HashMap<>();
+        entry.responseHeaders.put("fruit", "banana");
+        cache.put("key", entry);
+
+        DiskBasedCache.MappedEntry mappedEntry = ((DiskBasedCache) cache).getMapped("key");
+
+        ByteBuffer body = mappedEntry.getBody();
+        assertThat(body.isReadOnly(), is(true));
+        byte[] bodyBytes = new byte[body.remaining()];
+        body.get(bodyBytes);
+        assertThat(bodyBytes, is(equalTo(entry.data)));
+        assertThat(mappedEntry.isExpired(), is(entry.isExpired()));
+        assertThat(mappedEntry.refreshNeeded(), is(entry.refreshNeeded()));
+        assertThatEntriesAreEqual(mappedEntry.toEntry(), entry);
+        // The data is copied once
+        assertThat(mappedEntry.toEntry(), is(sameInstance(mappedEntry.toEntry())));
+        assertThat(((DiskBasedCache) cache).getMapped("unknown-key"), is(nullValue()));
+    }
+
+    @Test
+    public void testGetMappedAfterEntryIsReplaced() {
+        Cache.Entry entry = randomData(1023);
+        cache.put("key", entry);
+        DiskBasedCache.MappedEntry mappedEntry = ((DiskBasedCache) cache).getMapped("key");
+
+        // The mapped file is replaced, not truncated
+        cache.put("key", randomData(10));
+        cache.remove("key");
+
+        assertThat(mappedEntry.toEntry().data, is(equalTo(entry.data)));
+    }
+
+    @Test
+    @SuppressWarnings("TryFinallyCanBeTryWithResources")
+    public void testGetMappedBadMagic() throws IOException {
+        cache.put("key", randomData(1023));
+
+        // Overwrite the magic header
+        File file = listCachedFiles()[0];
+        FileOutputStream fos = new FileOutputStream(file);
+        try {
+            DiskBasedCacheUtility.writeInt(fos, 0); // overwrite magic
+        } finally {
+            //noinspection ThrowFromFinallyBlock
+            fos.close();
+        }
+
+        assertThat(((DiskBasedCache) cache).getMapped("key"), is(nullValue()));
+        assertThat(listCachedFiles(), is(emptyArray()));
+    }
+
     /* Test helpers */
 
     private void assertThatEntriesAreEqual(Cache.Entry actual, Cache.Entry expected) {
@@ -519,7 +576,15 @@ public class DiskBasedCacheTest {
     }
 
     private File[] listCachedFiles() {
-        return temporaryFolder.getRoot().listFiles();
+        return temporaryFolder
+                .getRoot()
+                .listFiles(
+                        new FileFilter() {
+                            @Override
+                            public boolean accept(File file) {
+                                return !DiskBasedCacheJournal.isJournalFile(file);
+                            }
+                        });
     }
 
     private int getEntrySizeOnDisk(String key) {
@@ -18,11 +18,14 @@ package com.android.volley.toolbox;
 
 import static org.junit.Assert.assertEquals;
 
+import com.android.volley.Cache;
 import com.android.volley.Header;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.EOFException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.List;
 import org.junit.Rule;
@@ -146,4 +149,43 @@ public class DiskBasedCacheUtilityTest {
         assertEquals(DiskBasedCacheUtility.readHeaderList(cis), emptyValue);
         assertEquals(DiskBasedCacheUtility.readHeaderList(cis), sameKeys);
     }
+
+    @Test
+    public void testReadHeaderFromBuffer() throws IOException {
+        // The buffer is read with the layout of the stream
+        List<Header> headers = new ArrayList<>();
+        headers.add(new Header("fruit", "banana"));
+        Cache.Entry entry = new Cache.Entry();
+        entry.etag = "etag";
+        entry.serverDate = 1234567L;
+        entry.ttl = 9876543L;
+        entry.allResponseHeaders = headers;
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        new CacheHeader("key", entry).writeHeader(baos);
+        baos.write(42);
+
+        ByteBuffer buffer = ByteBuffer.wrap(baos.toByteArray());
+        CacheHeader header = CacheHeader.readHeader(buffer);
+
+        assertEquals("key", header.key);
+        assertEquals("etag", header.etag);
+        assertEquals(1234567L, header.serverDate);
+        assertEquals(9876543L, header.ttl);
+        assertEquals(headers, header.allResponseHeaders);
+        assertEquals(1, buffer.remaining());
+    }
+
+    @Test
+    public void testReadStringFromBufferWithExcessiveLength() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putLong(5).flip();
+        exception.expect(IOException.class);
+        DiskBasedCacheUtility.readString(buffer);
+    }
+
+    @Test
+    public void testReadIncompleteHeaderFromBuffer() throws IOException {
+        exception.expect(IOException.class);
+        CacheHeader.readHeader(ByteBuffer.allocate(2));
+    }
 }
@@ -0,0 +1,257 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.volley.toolbox;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.android.volley.Cache;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 16)
+public class TwoTierCacheTest {
+
+    private static final int MAX_MEMORY_SIZE = 100;
+
+    @Mock private Cache mDiskCache;
+
+    private TwoTierCache cache;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        cache = new TwoTierCache(mDiskCache, MAX_MEMORY_SIZE);
+    }
+
+    @Test
+    public void putWritesThroughAndIsReadFromMemory() {
+        Cache.Entry entry = entryOfSize(10);
+        cache.put("key", entry);
+        verify(mDiskCache).put("key", entry);
+
+        Cache.Entry cached = cache.get("key");
+
+        assertThat(cached.data, is(sameInstance(entry.data)));
+        assertThat(cached.etag, is(equalTo(entry.etag)));
+        verify(mDiskCache, never()).get("key");
+        assertThat(cache.getMemoryHitCount(), is(1L));
+        assertThat(cache.getMemoryMissCount(), is(0L));
+    }
+
+    @Test
+    public void diskHitIsKeptInMemory() {
+        Cache.Entry entry = entryOfSize(10);
+        when(mDiskCache.get("key")).thenReturn(entry);
+
+        assertThat(cache.get("key").data, is(sameInstance(entry.data)));
+        assertThat(cache.get("key").data, is(sameInstance(entry.data)));
+
+        verify(mDiskCache, times(1)).get("key");
+        assertThat(cache.getMemoryHitCount(), is(1L));
+        assertThat(cache.getMemoryMissCount(), is(1L));
+        assertThat(cache.getDiskHitCount(), is(1L));
+        assertThat(cache.getDiskMissCount(), is(0L));
+    }
+
+    @Test
+    public void missInBothTiers() {
+        assertThat(cache.get("key"), is(nullValue()));
+
+        assertThat(cache.getMemoryMissCount(), is(1L));
+        assertThat(cache.getDiskMissCount(), is(1L));
+    }
+
+    @Test
+    public void leastRecentlyUsedEntryIsEvicted() {
+        cache.put("first", entryOfSize(40));
+        cache.put("second", entryOfSize(40));
+        cache.get("first");
+        cache.put("third", entryOfSize(40));
+
+        assertThat(cache.getMemorySize(), is(80L));
+        cache.get("first");
+        cache.get("third");
+        verify(mDiskCache, never()).get("first");
+        cache.get("second");
+        verify(mDiskCache).get("second");
+    }
+
+    @Test
+    public void entryLargerThanMemoryIsOnlyOnDisk() {
+        Cache.Entry entry = entryOfSize(MAX_MEMORY_SIZE + 1);
+        cache.put("key", entry);
+
+        verify(mDiskCache).put("key", entry);
+        assertThat(cache.getMemorySize(), is(0L));
+    }
+
+    @Test
+    public void invalidateDoesNotChangeReturnedEntries() {
+        Cache.Entry entry = entryOfSize(10);
+        entry.ttl = Long.MAX_VALUE;
+        entry.softTtl = Long.MAX_VALUE;
+        cache.put("key", entry);
+        Cache.Entry cached = cache.get("key");
+
+        cache.invalidate("key", /* fullExpire= */ true);
+
+        verify(mDiskCache).invalidate("key", true);
+        assertThat(cached.ttl, is(Long.MAX_VALUE));
+        assertThat(cache.get("key").ttl, is(0L));
+        assertThat(cache.get("key").softTtl, is(0L));
+    }
+
+    @Test
+    public void removeAndClearReachBothTiers() {
+        cache.put("key", entryOfSize(10));
+        cache.put("key2", entryOfSize(10));
+
+        cache.remove("key");
+        verify(mDiskCache).remove("key");
+        cache.clear();
+        verify(mDiskCache).clear();
+
+        assertThat(cache.getMemorySize(), is(0L));
+        assertThat(cache.get("key2"), is(nullValue()));
+    }
+
+    @Test
+    public void writeBehindDefersDiskChanges() {
+        final List<Runnable> diskChanges = new ArrayList<>();
+        cache =
+                new TwoTierCache(
+                        mDiskCache,
+                        MAX_MEMORY_SIZE,
+                        new Executor() {
+                            @Override
+                            public void execute(Runnable command) {
+                                diskChanges.add(command);
+                            }
+                        });
+        Cache.Entry entry = entryOfSize(10);
+
+        cache.put("key", entry);
+        cache.remove("key2");
+
+        verify(mDiskCache, never()).put("key", entry);
+        assertThat(cache.get("key").data, is(sameInstance(entry.data)));
+        assertThat(diskChanges.size(), is(2));
+
+        for (Runnable diskChange : diskChanges) {
+            diskChange.run();
+        }
+        verify(mDiskCache).put("key", entry);
+        verify(mDiskCache).remove("key2");
+    }
+
+    @Test
+    public void removeDuringDiskReadIsNotUndone() throws Exception {
+        final Cache.Entry entry = entryOfSize(10);
+        final CountDownLatch readStarted = new CountDownLatch(1);
+        final CountDownLatch removed = new CountDownLatch(1);
+        when(mDiskCache.get("key"))
+                .thenAnswer(
+                        new Answer<Cache.Entry>() {
+                            @Override
+                            public Cache.Entry answer(InvocationOnMock invocation)
+                                    throws InterruptedException {
+                                readStarted.countDown();
+                                assertThat(removed.await(5, TimeUnit.SECONDS), is(true));
+                                return entry;
+                            }
+                        })
+                .thenReturn(null);
+        final Cache.Entry[] read = new Cache.Entry[1];
+        Thread reader =
+                new Thread(
+                        new Runnable() {
+                            @Override
+                            public void run() {
+                                read[0] = cache.get("key");
+                            }
+                        });
+
+        reader.start();
+        assertThat(readStarted.await(5, TimeUnit.SECONDS), is(true));
+        cache.remove("key");
+        removed.countDown();
+        reader.join(5000);
+
+        assertThat(read[0].data, is(sameInstance(entry.data)));
+        assertThat(cache.getMemorySize(), is(0L));
+        assertThat(cache.get("key"), is(nullValue()));
+    }
+
+    @Test
+    public void diskReadIsNotKeptBeforeWriteBehindChangeIsMade() {
+        final List<Runnable> diskChanges = new ArrayList<>();
+        cache =
+                new TwoTierCache(
+                        mDiskCache,
+                        MAX_MEMORY_SIZE,
+                        new Executor() {
+                            @Override
+                            public void execute(Runnable command) {
+                                diskChanges.add(command);
+                            }
+                        });
+        when(mDiskCache.get("key")).thenReturn(entryOfSize(10));
+
+        cache.remove("key");
+        cache.get("key");
+        assertThat(cache.getMemorySize(), is(0L));
+
+        diskChanges.get(0).run();
+        cache.get("key");
+        assertThat(cache.getMemorySize(), is(10L));
+    }
+
+    @Test
+    public void initializeInitializesDiskCache() {
+        cache.initialize();
+
+        verify(mDiskCache).initialize();
+    }
+
+    private static Cache.Entry entryOfSize(int size) {
+        Cache.Entry entry = new Cache.Entry();
+        entry.data = new byte[size];
+        entry.etag = "etag";
+        return entry;
+    }
+}